@@ -71,16 +71,19 @@ public class OAuth2RequestAuthorizationStrategy extends AbstractAuthorizationStr
 
     private final RestTemplateService restTemplateService;
     private final ModelMapper modelMapper;
+    private final OAuth2TokenCache tokenCache;
 
     /**
      * Constructor for OAuth2RequestAuthorizationStrategy.
      */
     public OAuth2RequestAuthorizationStrategy(RestTemplateService restTemplateService,
                                               EncryptionService encryptionService,
-                                              ModelMapper modelMapper) {
+                                              ModelMapper modelMapper,
+                                              OAuth2TokenCache tokenCache) {
         super(encryptionService);
         this.restTemplateService = restTemplateService;
         this.modelMapper = modelMapper;
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -126,9 +129,8 @@ public class OAuth2RequestAuthorizationStrategy extends AbstractAuthorizationStr
             default:
                 ExceptionUtils.throwWithLog(log, new ItfLiteRequestIllegalAuthorizationGrantTypeException(grantType));
         }
-        OAuth2AuthrizationResponse response = performAuthorization(request.getProjectId(),
-                url, params);
-        String authHeader = response.getAccessToken();
+        String authHeader = tokenCache.getAccessToken(request.getProjectId(), oAuth2Authorization,
+                () -> performAuthorization(request.getProjectId(), url, params));
         if (StringUtils.isNotEmpty(headerPrefix)) {
             authHeader = AUTH_HEADER_PREFIX_PATTERN.formatted(headerPrefix, authHeader);
         }
@@ -177,7 +179,8 @@ public class OAuth2RequestAuthorizationStrategy extends AbstractAuthorizationStr
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
         HttpEntity<MultiValueMap<String, String>> params = new HttpEntity<>(map, headers);
         Class<OAuth2AuthrizationResponse> responseType = OAuth2AuthrizationResponse.class;
-        return restTemplateService.restTemplate(projectId).postForEntity(url, params, responseType).getBody();
+        return restTemplateService.execute(projectId,
+                restTemplate -> restTemplate.postForEntity(url, params, responseType).getBody());
     }
 
     @Override
@@ -0,0 +1,201 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.components.auth;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.qubership.atp.itf.lite.backend.configuration.OAuth2TokenCacheProperties;
+import org.qubership.atp.itf.lite.backend.enums.CacheKeys;
+import org.qubership.atp.itf.lite.backend.enums.auth.OAuth2GrantType;
+import org.qubership.atp.itf.lite.backend.model.api.request.auth.OAuth2AuthorizationSaveRequest;
+import org.qubership.atp.itf.lite.backend.model.api.response.auth.OAuth2AuthrizationResponse;
+import org.qubership.atp.itf.lite.backend.model.api.response.auth.OAuth2CachedToken;
+import org.qubership.atp.itf.lite.backend.service.MetricService;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.hash.Hashing;
+import com.hazelcast.map.IMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of OAuth2 access tokens received by client and password credentials grants.
+ * Token is kept until expires_in of token response minus safety margin ends,
+ * concurrent requests for the same token wait for one call to token url.
+ */
+@Component
+@Slf4j
+public class OAuth2TokenCache {
+
+    public static final String CACHE_NAME = "oauth2-token";
+    private static final String KEY_DELIMITER = "\u0000";
+
+    private final OAuth2TokenCacheProperties properties;
+    private final CacheManager cacheManager;
+    private final MetricService metricService;
+    private final Cache<String, OAuth2CachedToken> tokens;
+    private final Map<String, CompletableFuture<OAuth2CachedToken>> refreshes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     */
+    public OAuth2TokenCache(OAuth2TokenCacheProperties properties, CacheManager cacheManager,
+                            MetricService metricService) {
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        this.metricService = metricService;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(Expiry.creating((String key, OAuth2CachedToken token) ->
+                        Duration.ofMillis(Math.max(token.getTimeToLiveMs(), 0))))
+                .build();
+    }
+
+    /**
+     * Get access token from cache or from token url if there is no valid cached token.
+     *
+     * @param projectId     project id
+     * @param authorization decrypted OAuth2 authorization
+     * @param tokenLoader   performs call to token url
+     * @return access token
+     */
+    public String getAccessToken(UUID projectId, OAuth2AuthorizationSaveRequest authorization,
+                                 Supplier<OAuth2AuthrizationResponse> tokenLoader) {
+        if (!properties.isEnabled() || authorization.isDisableTokenCache()) {
+            return tokenLoader.get().getAccessToken();
+        }
+        String key = buildKey(projectId, authorization);
+        OAuth2CachedToken token = getCachedToken(key);
+        if (nonNull(token)) {
+            metricService.registerCacheHit(CACHE_NAME);
+            return token.getAccessToken();
+        }
+        metricService.registerCacheMiss(CACHE_NAME);
+        CompletableFuture<OAuth2CachedToken> refresh = new CompletableFuture<>();
+        CompletableFuture<OAuth2CachedToken> runningRefresh = refreshes.putIfAbsent(key, refresh);
+        if (nonNull(runningRefresh)) {
+            log.debug("Wait for OAuth2 token requested by another execution");
+            return join(runningRefresh).getAccessToken();
+        }
+        try {
+            token = store(key, tokenLoader.get());
+            refresh.complete(token);
+            return token.getAccessToken();
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            refreshes.remove(key, refresh);
+        }
+    }
+
+    /**
+     * Build cache key as hash of authorization parameters identifying token.
+     * Secrets are part of the key, so token received with old credentials isn't reused after their change.
+     *
+     * @param projectId     project id
+     * @param authorization decrypted OAuth2 authorization
+     * @return cache key
+     */
+    public static String buildKey(UUID projectId, OAuth2AuthorizationSaveRequest authorization) {
+        OAuth2GrantType grantType = authorization.getGrantType();
+        String source = Stream.of(projectId, authorization.getUrl(), grantType, authorization.getClientId(),
+                        authorization.getUsername(), authorization.getScope(), authorization.getClientSecret(),
+                        authorization.getPassword())
+                .map(value -> Objects.toString(value, ""))
+                .collect(Collectors.joining(KEY_DELIMITER));
+        return Hashing.sha256().hashString(source, StandardCharsets.UTF_8).toString();
+    }
+
+    private OAuth2CachedToken getCachedToken(String key) {
+        OAuth2CachedToken token = tokens.getIfPresent(key);
+        if (isValid(token)) {
+            return token;
+        }
+        IMap<String, OAuth2CachedToken> sharedTokens = getSharedTokens();
+        if (nonNull(sharedTokens)) {
+            token = sharedTokens.get(key);
+            if (isValid(token)) {
+                tokens.put(key, token);
+                return token;
+            }
+        }
+        return null;
+    }
+
+    private OAuth2CachedToken store(String key, OAuth2AuthrizationResponse response) {
+        Long expiresIn = response.getExpiresIn();
+        long timeToLiveSec = isNull(expiresIn) ? 0 : expiresIn - properties.getExpirySafetyMarginSec();
+        OAuth2CachedToken token = new OAuth2CachedToken(response.getAccessToken(),
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeToLiveSec));
+        if (timeToLiveSec <= 0) {
+            // without expires_in token lifetime is unknown, such tokens are not cached
+            log.debug("OAuth2 token response has no expires_in long enough to cache token");
+            return token;
+        }
+        tokens.put(key, token);
+        IMap<String, OAuth2CachedToken> sharedTokens = getSharedTokens();
+        if (nonNull(sharedTokens)) {
+            sharedTokens.set(key, token, timeToLiveSec, TimeUnit.SECONDS);
+        }
+        return token;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IMap<String, OAuth2CachedToken> getSharedTokens() {
+        if (!properties.isShared()) {
+            return null;
+        }
+        org.springframework.cache.Cache cache = cacheManager.getCache(CacheKeys.Constants.OAUTH2_TOKENS);
+        if (nonNull(cache) && cache.getNativeCache() instanceof IMap) {
+            return (IMap<String, OAuth2CachedToken>) cache.getNativeCache();
+        }
+        return null;
+    }
+
+    private boolean isValid(OAuth2CachedToken token) {
+        return nonNull(token) && !token.isExpired();
+    }
+
+    private OAuth2CachedToken join(CompletableFuture<OAuth2CachedToken> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -17,10 +17,9 @@
 package org.qubership.atp.itf.lite.backend.components.replacer;
 
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.qubership.atp.crypt.exception.AtpDecryptException;
+import org.qubership.atp.itf.lite.backend.components.replacer.ParsedTemplate.Segment;
 import org.qubership.atp.itf.lite.backend.service.EncryptionService;
 import org.springframework.stereotype.Component;
 
@@ -32,8 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ContextVariablesReplacer {
 
-    private static final String CONTEXT_VARIABLE_REGEXP = "\\$\\{([^}]+)}|\\{\\{([^}]+)}}";
-    private static final Pattern pattern = Pattern.compile(CONTEXT_VARIABLE_REGEXP);
+    private static final String MASK = "***";
 
     private final EncryptionService cryptService;
 
@@ -45,32 +43,7 @@ public class ContextVariablesReplacer {
      */
     public String replace(String value,
                           Map<String, Object> context) {
-        Matcher matcher = pattern.matcher(value);
-        while (matcher.find()) {
-            try {
-                String match = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-                String foundParameter = findParameterByName(match.replace("\\\"", ""), context);
-                value = foundParameter == null ? value : value.replace(matcher.group(0), foundParameter);
-            } catch (RuntimeException | AtpDecryptException exception) {
-                String message = "Error occurred while injecting context variable [%s].\n%s\n%s".formatted(
-                        matcher.group(0),
-                        exception.getClass().getName(),
-                        exception.getMessage());
-                log.error(message);
-                throw new RuntimeException(message);
-            }
-        }
-        return value;
-    }
-
-    private String findParameterByName(String parameterName,
-                                       Map<String, Object> context) throws AtpDecryptException {
-        Object foundValue = context.get(parameterName);
-        if (foundValue == null) {
-            log.debug("Parameter %s not found in any variables context".formatted(parameterName));
-            return null;
-        }
-        return cryptService.decryptIfEncrypted(foundValue.toString());
+        return replace(ParsedTemplate.parse(value), context, false);
     }
 
     /**
@@ -81,13 +54,56 @@ public class ContextVariablesReplacer {
      * @param context context variables
      */
     public String replaceMasked(String value, Map<String, Object> context) {
-        Matcher matcher = pattern.matcher(value);
-        while (matcher.find()) {
-            String match = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-            String foundParameter = findParameterByNameMasked(match.replace("\\\"", ""), context);
-            value = foundParameter == null ? value : value.replace(matcher.group(0), foundParameter);
+        return replace(ParsedTemplate.parse(value), context, true);
+    }
+
+    private String replace(ParsedTemplate template, Map<String, Object> context, boolean masked) {
+        if (!template.isWithVariables()) {
+            return template.getSource();
+        }
+        StringBuilder result = new StringBuilder(template.getSource().length());
+        for (Segment segment : template.getSegments()) {
+            String foundParameter = resolve(segment, context, masked);
+            result.append(foundParameter == null ? segment.getText() : foundParameter);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Get value of context variable referenced by segment.
+     *
+     * @param segment template segment
+     * @param context context variables
+     * @param masked  if true returns {@code ***} for encrypted values instead of decrypting them
+     * @return variable value or null if segment isn't variable or variable isn't found
+     */
+    public String resolve(Segment segment, Map<String, Object> context, boolean masked) {
+        if (!segment.isVariable()) {
+            return null;
         }
-        return value;
+        if (masked) {
+            return findParameterByNameMasked(segment.getName(), context);
+        }
+        try {
+            return findParameterByName(segment.getName(), context);
+        } catch (RuntimeException | AtpDecryptException exception) {
+            String message = "Error occurred while injecting context variable [%s].\n%s\n%s".formatted(
+                    segment.getText(),
+                    exception.getClass().getName(),
+                    exception.getMessage());
+            log.error(message);
+            throw new RuntimeException(message);
+        }
+    }
+
+    private String findParameterByName(String parameterName,
+                                       Map<String, Object> context) throws AtpDecryptException {
+        Object foundValue = context.get(parameterName);
+        if (foundValue == null) {
+            log.debug("Parameter %s not found in any variables context".formatted(parameterName));
+            return null;
+        }
+        return cryptService.decryptIfEncrypted(foundValue.toString());
     }
 
     private String findParameterByNameMasked(String parameterName, Map<String, Object> context) {
@@ -96,6 +112,6 @@ public class ContextVariablesReplacer {
             return null;
         }
         String strValue = foundValue.toString();
-        return cryptService.isEncrypted(strValue) ? "***" : strValue;
+        return cryptService.isEncrypted(strValue) ? MASK : strValue;
     }
 }
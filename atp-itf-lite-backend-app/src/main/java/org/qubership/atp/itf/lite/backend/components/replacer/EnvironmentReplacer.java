@@ -18,9 +18,8 @@ package org.qubership.atp.itf.lite.backend.components.replacer;
 
 import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import org.qubership.atp.itf.lite.backend.components.replacer.ParsedTemplate.Segment;
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteRequestEnvironmentNotSpecifiedException;
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteRequestEnvironmentVariableNotFoundException;
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteRequestVariableReplacingException;
@@ -34,10 +33,6 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class EnvironmentReplacer {
 
-    private static final String envName = "name";
-    private static final Pattern envPattern =
-            Pattern.compile("\\$\\{(?i)ENV\\.(?<" + envName + ">[^}]+)\\}");
-
     /**
      * Replace environment variable in text with provided context.
      *
@@ -46,50 +41,51 @@ public class EnvironmentReplacer {
      * @return replaced text.
      */
     public String replace(String text, Map<String, Object> context) {
-        Matcher matcher = envPattern.matcher(text);
-        while (matcher.find()) {
-            if (Objects.isNull(context)) {
-                // environment context is null only if environmentId not specified in request
-                log.error("Found environment variable {}, but environment not specified in request", matcher.group(0));
-                throw new ItfLiteRequestEnvironmentNotSpecifiedException();
-            }
-            text = replace(matcher, text, context);
+        ParsedTemplate template = ParsedTemplate.parse(text);
+        if (!template.isWithVariables()) {
+            return text;
         }
-        return text;
+        StringBuilder result = new StringBuilder(text.length());
+        for (Segment segment : template.getSegments()) {
+            String envValue = resolve(segment, context);
+            result.append(envValue == null ? segment.getText() : envValue);
+        }
+        return result.toString();
     }
 
-
     /**
-     * Replace environment variable in text with provided context.
+     * Get value of environment variable referenced by segment.
      *
-     * @param matcher matcher for replacement
-     * @param value the text value in which need to replace the envs
+     * @param segment template segment
      * @param context context with variables for replacement
-     * @return replaced text.
+     * @return variable value or null if segment isn't environment variable
      */
-    public String replace(Matcher matcher, String value, Map<String, Object> context) {
-        String environmentName = matcher.group(envName).toLowerCase();
+    public String resolve(Segment segment, Map<String, Object> context) {
+        if (!segment.isEnvironment()) {
+            return null;
+        }
+        if (Objects.isNull(context)) {
+            // environment context is null only if environmentId not specified in request
+            log.error("Found environment variable {}, but environment not specified in request", segment.getText());
+            throw new ItfLiteRequestEnvironmentNotSpecifiedException();
+        }
+        String environmentName = segment.getEnvironmentName();
         if (context.containsKey(environmentName)) {
             try {
                 Object envValue = context.get(environmentName);
-                String envValueStr = "null";
-                if (Objects.nonNull(envValue)) {
-                    envValueStr = envValue.toString();
-                }
-                value = value.replace(matcher.group(0), envValueStr);
-                return value;
+                return Objects.nonNull(envValue) ? envValue.toString() : "null";
             } catch (RuntimeException ex) {
                 String message = "Error occurred while injecting environment [%s].\n%s\n%s".formatted(
-                        matcher.group(0),
+                        segment.getText(),
                         ex.getClass().getName(),
                         ex.getMessage());
                 log.error(message);
-                throw new ItfLiteRequestVariableReplacingException(matcher.group(0), ex);
+                throw new ItfLiteRequestVariableReplacingException(segment.getText(), ex);
             }
         } else {
             log.error("Found environment variable {}, but environment does not contain such a variable",
-                    matcher.group(0));
-            throw new ItfLiteRequestEnvironmentVariableNotFoundException(matcher.group(0));
+                    segment.getText());
+            throw new ItfLiteRequestEnvironmentVariableNotFoundException(segment.getText());
         }
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.components.replacer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Text split once into literal parts and variable references, so it can be resolved
+ * with different contexts by one pass over segments.
+ * Supported references are {@code ${name}}, {@code {{name}}} and environment references {@code ${ENV.name}}.
+ */
+@Getter
+public class ParsedTemplate {
+
+    private static final String DOLLAR_OPEN = "${";
+    private static final String BRACES_OPEN = "{{";
+    private static final String ENV_PREFIX = "env.";
+    private static final String ESCAPED_QUOTE = "\\\"";
+
+    private final String source;
+    private final List<Segment> segments;
+    private final boolean withVariables;
+
+    private ParsedTemplate(String source, List<Segment> segments) {
+        this.source = source;
+        this.segments = Collections.unmodifiableList(segments);
+        this.withVariables = segments.stream().anyMatch(Segment::isVariable);
+    }
+
+    /**
+     * Split text into literal and variable segments.
+     *
+     * @param source text with templates
+     * @return parsed template
+     */
+    public static ParsedTemplate parse(String source) {
+        List<Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        int position = 0;
+        int length = source.length();
+        while (position < length - 1) {
+            int end = findReferenceEnd(source, position);
+            if (end < 0) {
+                position++;
+                continue;
+            }
+            if (literalStart < position) {
+                segments.add(Segment.literal(source.substring(literalStart, position)));
+            }
+            segments.add(Segment.variable(source.substring(position, end)));
+            position = end;
+            literalStart = end;
+        }
+        if (literalStart < length) {
+            segments.add(Segment.literal(source.substring(literalStart)));
+        }
+        return new ParsedTemplate(source, segments);
+    }
+
+    /**
+     * Find end of reference started at position.
+     *
+     * @return index after the reference or -1 if there is no reference at position
+     */
+    private static int findReferenceEnd(String source, int position) {
+        if (source.startsWith(DOLLAR_OPEN, position)) {
+            int close = source.indexOf('}', position + DOLLAR_OPEN.length());
+            if (close > position + DOLLAR_OPEN.length()) {
+                return close + 1;
+            }
+        }
+        if (source.startsWith(BRACES_OPEN, position)) {
+            int close = source.indexOf('}', position + BRACES_OPEN.length());
+            if (close > position + BRACES_OPEN.length() && source.startsWith("}}", close)) {
+                return close + 2;
+            }
+        }
+        return -1;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Segment {
+        // literal text or whole reference, e.g. ${name}
+        private final String text;
+        // variable name for context lookup, null for literal
+        private final String name;
+        // lower-cased name of ${ENV.name} reference, null for other segments
+        private final String environmentName;
+
+        static Segment literal(String text) {
+            return new Segment(text, null, null);
+        }
+
+        static Segment variable(String reference) {
+            boolean dollar = reference.startsWith(DOLLAR_OPEN);
+            String content = dollar
+                    ? reference.substring(DOLLAR_OPEN.length(), reference.length() - 1)
+                    : reference.substring(BRACES_OPEN.length(), reference.length() - 2);
+            String environmentName = null;
+            if (dollar && content.length() > ENV_PREFIX.length()
+                    && content.regionMatches(true, 0, ENV_PREFIX, 0, ENV_PREFIX.length())) {
+                environmentName = content.substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT);
+            }
+            return new Segment(reference, content.replace(ESCAPED_QUOTE, ""), environmentName);
+        }
+
+        public boolean isVariable() {
+            return name != null;
+        }
+
+        public boolean isEnvironment() {
+            return environmentName != null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.components.replacer;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.qubership.atp.itf.lite.backend.configuration.TemplateCacheProperties;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps parsed texts of saved requests, so repeated executions of request
+ * (collection iterations, data rows) only look up variables and concatenate segments.
+ */
+@Component
+public class ParsedTemplateCache {
+
+    private final Cache<Key, ParsedTemplate> templates;
+
+    /**
+     * Constructor.
+     */
+    public ParsedTemplateCache(TemplateCacheProperties templateCacheProperties) {
+        // texts of request bodies can be large, so cache is bounded by length of texts, not by their count
+        this.templates = Caffeine.newBuilder()
+                .maximumWeight(templateCacheProperties.getMaxChars())
+                .weigher((Key key, ParsedTemplate template) -> key.text.length())
+                .build();
+    }
+
+    /**
+     * Get parsed text of request field.
+     * Modification date is part of key, so templates of changed request aren't reused and are evicted over time.
+     * Text itself is part of key too, because pre-scripts can change request before resolving.
+     *
+     * @param requestId    request id
+     * @param modifiedWhen request modification date
+     * @param text         field text
+     * @return parsed template
+     */
+    public ParsedTemplate get(UUID requestId, Date modifiedWhen, String text) {
+        return templates.get(new Key(requestId, modifiedWhen.getTime(), text), key -> ParsedTemplate.parse(text));
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class Key {
+        private final UUID requestId;
+        private final long modifiedWhen;
+        private final String text;
+    }
+}
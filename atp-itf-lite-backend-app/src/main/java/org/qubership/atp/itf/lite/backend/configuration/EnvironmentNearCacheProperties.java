@@ -0,0 +1,43 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Configuration
+@ConfigurationProperties(prefix = "atp.itf.lite.environment.near-cache")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EnvironmentNearCacheProperties {
+    // How long parsed environment is reused if change event from environment service is missed
+    private long ttlSec = 300;
+
+    // Max environments kept in memory of pod
+    private long maxSize = 200;
+
+    // How long collection run keeps environment snapshot it started with after last request of run
+    private long runSnapshotTtlSec = 1800;
+
+    // Max collection runs with pinned environment snapshot
+    private long maxRuns = 1000;
+}
@@ -33,6 +33,7 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.gridfs.GridFSBucket;
 import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.connection.ConnectionPoolSettings;
 import com.mongodb.management.JMXConnectionPoolListener;
@@ -87,8 +88,8 @@ public class GridFsConfiguration {
     }
 
     /**
-     * Provides {@link GridFSBucket} for getting files from database. Creates descending index on fs.files collection on
-     * "metadata.requestId" field.
+     * Provides {@link GridFSBucket} for getting files from database. Creates indexes on fs.files collection
+     * for metadata fields files are searched by and on fs.chunks collection for reading chunks of file in order.
      *
      * @return GridFSBucket by specified parameters.
      */
@@ -98,7 +99,12 @@ public class GridFsConfiguration {
         MongoCollection<Document> filesCollection = db.getCollection("fs.files");
         MongoCollection<Document> chunksCollection = db.getCollection("fs.chunks");
         filesCollection.createIndex(Indexes.descending("metadata.logRecordUuid"));
+        filesCollection.createIndex(Indexes.ascending("metadata.requestId"));
+        filesCollection.createIndex(Indexes.ascending("metadata.fileId"));
+        filesCollection.createIndex(Indexes.ascending("metadata.sessionId", "metadata.sessionRequestId"));
+        filesCollection.createIndex(Indexes.ascending("chunkSize"));
         chunksCollection.createIndex(Indexes.descending("files_id"));
+        chunksCollection.createIndex(Indexes.ascending("files_id", "n"), new IndexOptions().unique(true));
         return gridFsBucket;
     }
 }
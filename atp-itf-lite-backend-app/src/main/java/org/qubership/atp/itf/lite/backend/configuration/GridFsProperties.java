@@ -30,6 +30,20 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class GridFsProperties {
+    // chunk size of files with unknown or regular size
     @Value("${gridfs.chunk.size}")
     private Integer chunkSizeBytes;
+    // chunk size of files larger than largeFileThresholdBytes
+    @Value("${gridfs.chunk.large-file.size:1048576}")
+    private Integer largeFileChunkSizeBytes;
+    @Value("${gridfs.chunk.large-file.threshold:16777216}")
+    private Long largeFileThresholdBytes;
+    // files stored with smaller chunks are rewritten by GridFsRechunkJob
+    @Value("${gridfs.rechunk.enabled:true}")
+    private boolean rechunkEnabled;
+    @Value("${gridfs.rechunk.batch.size:100}")
+    private Integer rechunkBatchSize;
+    // rewritten original is kept readable by its id for this time, so opened downloads are finished
+    @Value("${gridfs.rechunk.read-grace.minutes:60}")
+    private Integer rechunkReadGraceMinutes;
 }
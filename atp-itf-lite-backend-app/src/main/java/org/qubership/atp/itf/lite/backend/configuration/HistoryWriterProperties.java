@@ -0,0 +1,47 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Configuration
+@ConfigurationProperties(prefix = "atp.itf.lite.history.writer")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistoryWriterProperties {
+    // Max execution details waiting for persisting, the next ones are persisted on caller thread
+    private int queueCapacity;
+
+    // Max size of response and request bodies of execution details waiting for persisting,
+    // the next ones are persisted on caller thread
+    private int queueCapacityInMb;
+
+    // Max execution details persisted in one transaction with JDBC batching
+    private int batchSize;
+
+    // How long caller waits for free space in queue before persisting details itself
+    private long offerTimeoutMs;
+
+    // How long reader waits for pending execution details of sse id to be persisted
+    private long flushTimeoutMs;
+}
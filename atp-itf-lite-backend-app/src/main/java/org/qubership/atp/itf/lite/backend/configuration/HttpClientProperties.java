@@ -39,6 +39,13 @@ public class HttpClientProperties {
     private int socketTimeout;
 
     private int maxTotalConnections;
+
+    // Max connections per route of one shared client, default of connection manager is used if not positive
+    private int maxConnectionsPerRoute;
     private int defaultKeepAliveTimeMillis;
     private int closeIdleConnectionWaitTimeSecs;
+
+    // Minutes shared clients and compiled SSL contexts are kept, so certificate change is applied
+    // even if pod missed catalogue event; they are kept until eviction if not positive
+    private int sslContextTtlMinutes;
 }
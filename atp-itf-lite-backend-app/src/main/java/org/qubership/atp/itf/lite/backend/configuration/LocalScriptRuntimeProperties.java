@@ -0,0 +1,58 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.configuration;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Configuration
+@ConfigurationProperties(prefix = "atp.itf.lite.script.local-runtime")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LocalScriptRuntimeProperties {
+    // Simple scripts are executed in pod instead of script engine service
+    private boolean enabled = false;
+
+    // Projects using local runtime, all projects if empty
+    private Set<UUID> projectIds = new HashSet<>();
+
+    // Pre-warmed JS engines, max scripts executed in parallel by local runtime
+    private int poolSize = 4;
+
+    // Max time of script execution, script exceeded it is stopped and executed by script engine service
+    private long timeoutMs = 1000;
+
+    // Longer scripts are executed by script engine service
+    private int maxScriptLength = 10000;
+
+    // Scripts for responses with longer body are executed by script engine service
+    private int maxResponseBodySize = 1048576;
+
+    // Max work of script: executed statements, processed values and characters,
+    // script exceeded it is stopped and executed by script engine service
+    private long maxOperations = 1000000;
+}
@@ -0,0 +1,43 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Configuration
+@ConfigurationProperties(prefix = "atp.itf.lite.oauth2.token-cache")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OAuth2TokenCacheProperties {
+    // Reuse OAuth2 access tokens until they expire
+    private boolean enabled = true;
+
+    // Token is dropped from cache this number of seconds before expires_in ends
+    private long expirySafetyMarginSec = 30;
+
+    // Max tokens kept in memory of one pod
+    private long maxSize = 1000;
+
+    // Share tokens between pods through Hazelcast, has effect only when Hazelcast cache is enabled
+    private boolean shared;
+}
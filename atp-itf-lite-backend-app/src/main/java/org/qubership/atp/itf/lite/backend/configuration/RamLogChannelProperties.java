@@ -0,0 +1,43 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Configuration
+@ConfigurationProperties(prefix = "atp.itf.lite.ram.log-channel")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RamLogChannelProperties {
+    // Console logs of collection run are sent to RAM in batches, otherwise each of them is sent immediately
+    private boolean enabled = true;
+
+    // Count of console log entries in batch which causes immediate sending of batch
+    private int batchSize = 100;
+
+    // Max time console log entry waits in batch before sending
+    private long windowMs = 500;
+
+    // How long channel of execution request and test run is kept after last logged step
+    private long ttlSec = 1800;
+}
@@ -31,4 +31,6 @@ import lombok.NoArgsConstructor;
 public class RequestResponseSizeProperties {
     private int requestSizeLimitInMb;
     private int responseSizeLimitInMb;
+    // Response body bigger than this threshold is buffered in temporary file while it is read
+    private int responseInMemoryThresholdInKb;
 }
\ No newline at end of file
@@ -35,4 +35,20 @@ public class SseProperties {
 
     @Value("${atp.itf.lite.sse-ping-timeout:30000}")
     private Long sseEmitterPingTimeout;
+
+    // Max time of sending ping to one emitter, emitter is completed if ping isn't sent in time
+    @Value("${atp.itf.lite.sse-ping-send-timeout:5000}")
+    private long sseEmitterPingSendTimeout;
+
+    // Count of emitters pinged by one task of heartbeat
+    @Value("${atp.itf.lite.sse-ping-batch-size:200}")
+    private int sseEmitterPingBatchSize;
+
+    // Max emitters of one user on pod, the oldest emitter is completed if limit is exceeded
+    @Value("${atp.itf.lite.sse-max-emitters-per-user:20}")
+    private int maxEmittersPerUser;
+
+    // Max emitters on pod, new emitters are rejected if limit is exceeded
+    @Value("${atp.itf.lite.sse-max-emitters:5000}")
+    private int maxEmitters;
 }
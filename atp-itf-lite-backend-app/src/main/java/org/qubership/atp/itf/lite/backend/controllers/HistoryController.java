@@ -23,6 +23,8 @@ import java.util.UUID;
 import org.qubership.atp.integration.configuration.configuration.AuditAction;
 import org.qubership.atp.itf.lite.backend.enums.TransportType;
 import org.qubership.atp.itf.lite.backend.model.api.ApiPath;
+import org.qubership.atp.itf.lite.backend.model.entities.history.CursorPaginatedResponse;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursorSearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryRequestDetailsResponse;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistorySearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.PaginatedResponse;
@@ -40,7 +42,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -60,6 +64,14 @@ public class HistoryController {
         return ResponseEntity.ok(requestExecutionHistoryService.getExecutionHistory(request));
     }
 
+    @AuditAction(auditAction = "Get execution history page by cursor in the '{{#request.projectId}}' project")
+    @PreAuthorize("@entityAccess.checkAccess(#request.getProjectId(),'READ')")
+    @PostMapping(value = ApiPath.CURSOR_PATH)
+    public ResponseEntity<CursorPaginatedResponse<RequestExecution>> getExecutionsHistoryByCursor(
+            @RequestBody @Valid HistoryCursorSearchRequest request) {
+        return ResponseEntity.ok(requestExecutionHistoryService.getExecutionHistoryByCursor(request));
+    }
+
     @AuditAction(auditAction = "Get execution history details for the item '{{#historyItemId}}' "
             + "in the '{{#projectId}}' project")
     @PreAuthorize("@entityAccess.checkAccess(#projectId,'READ')")
@@ -76,9 +88,10 @@ public class HistoryController {
     @GetMapping(value = ApiPath.FILE_PATH + ApiPath.ID_PATH)
     public void getBinaryFileHistory(@PathVariable(ApiPath.ID) UUID fileId,
                                      @RequestHeader(Constants.PROJECT_ID_HEADER_NAME) UUID projectId,
+                                     HttpServletRequest request,
                                      HttpServletResponse response)
             throws IOException {
-        requestExecutionHistoryService.getBinaryFileHistory(fileId, response);
+        requestExecutionHistoryService.getBinaryFileHistory(fileId, request, response);
     }
 
     @AuditAction(auditAction = "Get all executors in the execution history for the '{{#projectId}}' project")
@@ -77,6 +77,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -162,8 +163,9 @@ public class RequestController {
             + "@requestService.getRequest(#requestId).getProjectId(),'READ')")
     @GetMapping(value = ApiPath.REQUEST_ID_PATH + ApiPath.BINARY_PATH)
     public void getRequestBinaryFile(@PathVariable(ApiPath.REQUEST_ID) UUID requestId,
-                                             HttpServletResponse response) throws IOException {
-       requestService.getRequestBinaryFile(requestId, response);
+                                     HttpServletRequest request,
+                                     HttpServletResponse response) throws IOException {
+        requestService.getRequestBinaryFile(requestId, request, response);
     }
 
     @PreAuthorize("@entityAccess.checkAccess("
@@ -456,8 +458,9 @@ public class RequestController {
     @GetMapping(value = ApiPath.REQUEST_ID_PATH + ApiPath.FILE_DOWNLOAD_PATH)
     public void downloadFile(@PathVariable(ApiPath.REQUEST_ID) UUID requestId,
                              @PathVariable(ApiPath.FILE_ID) UUID fileId,
+                             HttpServletRequest request,
                              HttpServletResponse response) throws IOException {
-        requestService.getFile(requestId, fileId, response);
+        requestService.getFile(requestId, fileId, request, response);
     }
 
     @PreAuthorize("@entityAccess.checkAccess(#importContextRequest.getProjectId(),'READ')")
@@ -478,9 +481,10 @@ public class RequestController {
     @GetMapping(value = ApiPath.REQUEST_ID_PATH + ApiPath.DOWNLOAD_RESPONSE_PATH)
     public void downloadResponseAsFile(@PathVariable(ApiPath.REQUEST_ID) UUID requestId,
                                        @RequestParam UUID executionId,
+                                       HttpServletRequest request,
                                        HttpServletResponse response) {
         try {
-            requestService.writeResponseAsFile(requestId, executionId, response);
+            requestService.writeResponseAsFile(requestId, executionId, request, response);
         } catch (Exception e) {
             log.error("Can't download response as file.", e);
             throw new ItfLiteSaveResponseAsFileException();
@@ -17,9 +17,11 @@
 package org.qubership.atp.itf.lite.backend.controllers;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.qubership.atp.integration.configuration.configuration.AuditAction;
 import org.qubership.atp.itf.lite.backend.enums.ImportToolType;
@@ -28,6 +30,8 @@ import org.qubership.atp.itf.lite.backend.model.api.ApiPath;
 import org.qubership.atp.itf.lite.backend.model.api.request.RequestEntitySaveRequest;
 import org.qubership.atp.itf.lite.backend.model.api.request.RequestItfExportRequest;
 import org.qubership.atp.itf.lite.backend.model.api.request.RequestMiaExportRequest;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileData;
+import org.qubership.atp.itf.lite.backend.service.RequestExecutionEngine;
 import org.qubership.atp.itf.lite.backend.service.RequestExportService;
 import org.qubership.atp.itf.lite.backend.service.RequestService;
 import org.qubership.atp.itf.lite.backend.service.SseEmitterService;
@@ -61,6 +65,7 @@ public class SseController {
     private final RequestExportService requestExportService;
     private final SseEmitterService sseEmitterService;
     private final UserService userService;
+    private final RequestExecutionEngine requestExecutionEngine;
 
     /**
      * Endpoint to create SSE-emitter.
@@ -86,29 +91,56 @@ public class SseController {
 
     /**
      * Endpoint to send caught response via created emitter.
+     * Request is executed by {@link RequestExecutionEngine}, servlet thread is released while it is executed.
+     * Uploaded parts are cleaned up when servlet thread is released, so their content is copied before.
      *
      * @param requestId request identifier
+     * @return future completed when execution is finished
+     * @throws IOException if uploaded part can't be read
      */
     @AuditAction(auditAction = "Execute request with id '{{#requestId}}'")
     @PreAuthorize("@entityAccess.checkAccess("
             + "T(org.qubership.atp.itf.lite.backend.utils.UserManagementEntities).REQUEST.getName(),"
             + "@requestService.getRequest(#requestId).getProjectId(),'EXECUTE')")
     @PostMapping(value = ApiPath.REQUESTS_PATH + ApiPath.REQUEST_ID_PATH + ApiPath.EXECUTE_PATH)
-    public void executeRequest(@PathVariable(ApiPath.REQUEST_ID) UUID requestId,
-                               @RequestHeader(value = HttpHeaders.AUTHORIZATION) String token,
-                               @RequestParam(required = false) UUID environmentId,
-                               @RequestParam(required = false) String context,
-                               @RequestParam(required = false) UUID sessionId,
-                               @RequestParam UUID sseId,
-                               @RequestPart(name = "file", required = false) MultipartFile dictionary,
-                               @RequestPart(name = "files", required = false) List<MultipartFile> files,
-                               @RequestPart(name = "requestEntity") @Valid RequestEntitySaveRequest requestEntity) {
+    public CompletableFuture<Void> executeRequest(
+            @PathVariable(ApiPath.REQUEST_ID) UUID requestId,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION) String token,
+            @RequestParam(required = false) UUID environmentId,
+            @RequestParam(required = false) String context,
+            @RequestParam(required = false) UUID sessionId,
+            @RequestParam UUID sseId,
+            @RequestPart(name = "file", required = false) MultipartFile dictionary,
+            @RequestPart(name = "files", required = false) List<MultipartFile> files,
+            @RequestPart(name = "requestEntity") @Valid RequestEntitySaveRequest requestEntity)
+            throws IOException {
         log.debug("Check if request with requestId {} exists", requestId);
         // EntityNotFoundException will be thrown if not found
         RequestRuntimeOptions runtimeOptions = requestService.retrieveRuntimeOptions(requestId);
         requestEntity.setId(requestId);
-        sseEmitterService.processRequestExecution(requestEntity, context, token, sseId,
-                Optional.ofNullable(dictionary), files, environmentId, runtimeOptions, sessionId);
+        Optional<MultipartFile> dictionaryCopy = Optional.ofNullable(copyPart(dictionary));
+        List<MultipartFile> filesCopy = copyParts(files);
+        return requestExecutionEngine.submit(requestEntity.getProjectId(),
+                () -> sseEmitterService.processRequestExecution(requestEntity, context, token, sseId,
+                        dictionaryCopy, filesCopy, environmentId, runtimeOptions, sessionId));
+    }
+
+    private List<MultipartFile> copyParts(List<MultipartFile> parts) throws IOException {
+        if (parts == null) {
+            return null;
+        }
+        List<MultipartFile> copies = new ArrayList<>(parts.size());
+        for (MultipartFile part : parts) {
+            copies.add(copyPart(part));
+        }
+        return copies;
+    }
+
+    private MultipartFile copyPart(MultipartFile part) throws IOException {
+        if (part == null) {
+            return null;
+        }
+        return new FileData(part.getBytes(), part.getOriginalFilename(), part.getContentType());
     }
 
     /**
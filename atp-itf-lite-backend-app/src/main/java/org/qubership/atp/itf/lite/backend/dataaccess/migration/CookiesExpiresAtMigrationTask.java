@@ -0,0 +1,63 @@
+/*
+ * # Copyright 2024-2025 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.dataaccess.migration;
+
+import org.qubership.atp.itf.lite.backend.configuration.SpringLiquibaseBeanAware;
+import org.qubership.atp.itf.lite.backend.service.CookieService;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.exception.SetupException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class CookiesExpiresAtMigrationTask implements CustomTaskChange {
+
+    @Override
+    public void execute(Database database) {
+        log.debug("Trying to execute migration script for setting cookies expiration time");
+        try {
+            SpringLiquibaseBeanAware.getBean(CookieService.class).fillMissingExpiresAt();
+        } catch (Exception err) {
+            log.error("Failed to complete migration script for setting cookies expiration time", err);
+        }
+        log.debug("Migration script have been successfully executed");
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return null;
+    }
+
+    @Override
+    public void setUp() throws SetupException {
+
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return null;
+    }
+}
@@ -37,6 +37,8 @@ import org.qubership.atp.itf.lite.backend.enums.EntityType;
 import org.qubership.atp.itf.lite.backend.model.api.response.GroupResponse;
 import org.qubership.atp.itf.lite.backend.model.entities.Folder;
 import org.qubership.atp.itf.lite.backend.model.entities.Request;
+import org.qubership.atp.itf.lite.backend.service.ProjectTreeCacheService;
+import org.qubership.atp.itf.lite.backend.utils.OrderUtils;
 
 import liquibase.change.custom.CustomTaskChange;
 import liquibase.database.Database;
@@ -70,8 +72,9 @@ public class FolderRequestsOrderMigrationTask implements CustomTaskChange {
                 final GroupResponse tree = buildTree(root, projectFolders, projectRequests);
                 setOrder(tree, toIdEntityMap(projectFolders), toIdEntityMap(projectRequests));
 
-                folderRepository.saveAll(allFolders);
+                folderRepository.saveAll(projectFolders);
                 requestRepository.saveAll(projectRequests);
+                evictProjectTree(projectId);
             }
         } catch (Exception err) {
             log.error("Failed to complete migration script for setting requests and folders order", err);
@@ -79,20 +82,31 @@ public class FolderRequestsOrderMigrationTask implements CustomTaskChange {
         log.debug("Migration script have been successfully executed");
     }
 
+    /**
+     * Orders are saved by repositories directly, so cached tree of project has to be loaded again.
+     */
+    private void evictProjectTree(UUID projectId) {
+        try {
+            SpringLiquibaseBeanAware.getBean(ProjectTreeCacheService.class).evict(projectId);
+        } catch (Exception e) {
+            log.warn("Failed to evict tree snapshot of project {} after order migration", projectId, e);
+        }
+    }
+
     private void setOrder(GroupResponse root, Map<UUID, Folder> folderMap, Map<UUID, Request> requestMap) {
         List<GroupResponse> children = root.getChildren();
         if (!isEmpty(children)) {
-            int order = 0;
+            int position = 0;
             for (GroupResponse child : children) {
                 EntityType type = child.getType();
                 UUID id = child.getId();
                 if (type.equals(EntityType.FOLDER)) {
                     setOrder(child, folderMap, requestMap);
                     Folder folder = folderMap.get(id);
-                    folder.setOrder(order++);
+                    folder.setOrder(OrderUtils.getRebalancedOrder(position++));
                 } else {
                     Request request = requestMap.get(id);
-                    request.setOrder(order++);
+                    request.setOrder(OrderUtils.getRebalancedOrder(position++));
                 }
             }
         }
@@ -17,12 +17,16 @@
 package org.qubership.atp.itf.lite.backend.dataaccess.repository;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
 import org.qubership.atp.itf.lite.backend.model.entities.Cookie;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CookiesRepository extends JpaRepository<Cookie, UUID> {
 
@@ -32,10 +36,18 @@ public interface CookiesRepository extends JpaRepository<Cookie, UUID> {
 
     void removeAllByUserIdAndProjectId(UUID userId, UUID projectId);
 
-    void removeAllByExecutionRequestIdAndTestRunId(UUID executionRequestId, UUID testRunId);
-
     List<Cookie> findAllByUserIdAndProjectId(UUID userId, UUID projectId);
 
+    List<Cookie> findAllByExecutionRequestIdAndTestRunId(UUID executionRequestId, UUID testRunId);
+
+    @Modifying
+    @Query("DELETE FROM Cookie c WHERE c.expiresAt < :date")
+    int deleteAllByExpiresAtBefore(@Param("date") Date date);
+
+    @Query("SELECT c FROM Cookie c WHERE c.expiresAt IS NULL "
+            + "AND (LOWER(c.value) LIKE '%expires=%' OR LOWER(c.value) LIKE '%max-age=%')")
+    List<Cookie> findAllWithoutExpiresAtAndWithExpiresAttribute();
+
     @NativeQuery("select * from cookies "
             + "where execution_request_id = ?1 and (test_run_id = ?2 or test_run_id is null)")
     List<Cookie> findAllByExecutionRequestIdAndTestRunIdOrTestRunIdIsNull(UUID executionRequestId,
@@ -16,6 +16,8 @@
 
 package org.qubership.atp.itf.lite.backend.dataaccess.repository;
 
+import org.qubership.atp.itf.lite.backend.model.entities.history.CursorPaginatedResponse;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursorSearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistorySearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.PaginatedResponse;
 import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecution;
@@ -23,4 +25,6 @@ import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecutio
 public interface CustomRequestExecutionRepository {
 
     PaginatedResponse<RequestExecution> findAllRequestExecutions(HistorySearchRequest request);
+
+    CursorPaginatedResponse<RequestExecution> findRequestExecutionsByCursor(HistoryCursorSearchRequest request);
 }
\ No newline at end of file
@@ -17,11 +17,17 @@
 package org.qubership.atp.itf.lite.backend.dataaccess.repository;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.qubership.atp.itf.lite.backend.enums.HistoryCountMode;
 import org.qubership.atp.itf.lite.backend.enums.SortType;
-import org.qubership.atp.itf.lite.backend.enums.TransportType;
+import org.qubership.atp.itf.lite.backend.model.entities.history.CursorPaginatedResponse;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursor;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursorSearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryFilteringParams;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistorySearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.PaginatedResponse;
@@ -33,6 +39,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.AllArgsConstructor;
@@ -49,6 +56,8 @@ public class CustomRequestExecutionRepositoryImpl implements CustomRequestExecut
     private static final String REQUEST_EXECUTION_FILTER_COLUMN_TRANSPORT_TYPE = "transportType";
     private static final String REQUEST_EXECUTION_FILTER_COLUMN_EXECUTED_WHEN = "executedWhen";
     private static final String REQUEST_EXECUTION_FILTER_COLUMN_TIMESTAMP = "TIMESTAMP";
+    private static final String REQUEST_EXECUTION_FILTER_COLUMN_ID = "id";
+    private static final int APPROXIMATE_COUNT_LIMIT = 10_000;
 
     EntityManager entityManager;
 
@@ -58,28 +67,8 @@ public class CustomRequestExecutionRepositoryImpl implements CustomRequestExecut
         CriteriaQuery<RequestExecution> criteriaQuery = criteriaBuilder.createQuery(RequestExecution.class);
 
         Root<RequestExecution> requestExecution = criteriaQuery.from(RequestExecution.class);
-        List<Predicate> predicates = new ArrayList<>();
-
-        predicates.add(criteriaBuilder.equal(requestExecution
-                .get(REQUEST_EXECUTION_FILTER_COLUMN_PROJECT_ID), request.getProjectId()));
-
-        HistoryFilteringParams historyFilteringParams = request.getFilters();
-
-        List<String> executors = historyFilteringParams.getExecutor();
-        if (CollectionUtils.isNotEmpty(executors)) {
-            CriteriaBuilder.In<String> inClause = criteriaBuilder
-                    .in(requestExecution.get(REQUEST_EXECUTION_FILTER_COLUMN_EXECUTOR));
-            executors.forEach(inClause::value);
-            predicates.add(inClause);
-        }
-
-        List<TransportType> types = historyFilteringParams.getType();
-        if (CollectionUtils.isNotEmpty(types)) {
-            CriteriaBuilder.In<TransportType> inClause = criteriaBuilder
-                    .in(requestExecution.get(REQUEST_EXECUTION_FILTER_COLUMN_TRANSPORT_TYPE));
-            types.forEach(inClause::value);
-            predicates.add(inClause);
-        }
+        List<Predicate> predicates = getFilterPredicates(criteriaBuilder, requestExecution,
+                request.getProjectId(), request.getFilters());
 
         criteriaQuery.where(predicates.toArray(new Predicate[0]));
 
@@ -109,21 +98,139 @@ public class CustomRequestExecutionRepositoryImpl implements CustomRequestExecut
             entityManager.clear();
         }
 
+        long total = countRequestExecutions(request.getProjectId(), request.getFilters());
+        return new PaginatedResponse<>(total, requestExecutionList);
+    }
+
+    @Override
+    public CursorPaginatedResponse<RequestExecution> findRequestExecutionsByCursor(
+            HistoryCursorSearchRequest request) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RequestExecution> criteriaQuery = criteriaBuilder.createQuery(RequestExecution.class);
+
+        Root<RequestExecution> requestExecution = criteriaQuery.from(RequestExecution.class);
+        List<Predicate> predicates = getFilterPredicates(criteriaBuilder, requestExecution,
+                request.getProjectId(), request.getFilters());
+
+        HistoryCursor cursor = request.getCursor();
+        if (Objects.nonNull(cursor) && Objects.nonNull(cursor.getExecutedWhen()) && Objects.nonNull(cursor.getId())) {
+            // rows after cursor in (executed_when desc, id desc) order
+            Path<Date> executedWhen = requestExecution.get(REQUEST_EXECUTION_FILTER_COLUMN_EXECUTED_WHEN);
+            Path<UUID> id = requestExecution.get(REQUEST_EXECUTION_FILTER_COLUMN_ID);
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.lessThan(executedWhen, cursor.getExecutedWhen()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(executedWhen, cursor.getExecutedWhen()),
+                            criteriaBuilder.lessThan(id, cursor.getId()))));
+        }
+
+        criteriaQuery.where(predicates.toArray(new Predicate[0]));
+        criteriaQuery.orderBy(
+                criteriaBuilder.desc(requestExecution.get(REQUEST_EXECUTION_FILTER_COLUMN_EXECUTED_WHEN)),
+                criteriaBuilder.desc(requestExecution.get(REQUEST_EXECUTION_FILTER_COLUMN_ID)));
+
+        int limit = request.getLimit();
+        List<RequestExecution> requestExecutionList;
+        try {
+            // one extra row shows whether the next page exists
+            requestExecutionList = new ArrayList<>(entityManager.createQuery(criteriaQuery)
+                    .setMaxResults(limit + 1)
+                    .getResultList());
+        } finally {
+            entityManager.clear();
+        }
+
+        HistoryCursor nextCursor = null;
+        if (requestExecutionList.size() > limit) {
+            requestExecutionList = new ArrayList<>(requestExecutionList.subList(0, limit));
+            if (!requestExecutionList.isEmpty()) {
+                RequestExecution last = requestExecutionList.get(requestExecutionList.size() - 1);
+                nextCursor = new HistoryCursor(last.getExecutedWhen(), last.getId());
+            }
+        }
+
+        CursorPaginatedResponse<RequestExecution> response = new CursorPaginatedResponse<>();
+        response.setData(requestExecutionList);
+        response.setNextCursor(nextCursor);
+        HistoryCountMode countMode = request.getCountMode();
+        if (HistoryCountMode.EXACT.equals(countMode)) {
+            response.setTotal(countRequestExecutions(request.getProjectId(), request.getFilters()));
+        } else if (HistoryCountMode.APPROXIMATE.equals(countMode)) {
+            long total = countRequestExecutionsUpToLimit(request.getProjectId(), request.getFilters());
+            response.setTotal(Math.min(total, APPROXIMATE_COUNT_LIMIT));
+            response.setTotalApproximate(total > APPROXIMATE_COUNT_LIMIT);
+        }
+        return response;
+    }
+
+    private long countRequestExecutions(UUID projectId, HistoryFilteringParams filters) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> criteriaQueryTotal = criteriaBuilder.createQuery(Long.class);
         Root<RequestExecution> requestExecutionTotal = criteriaQueryTotal.from(RequestExecution.class);
         criteriaQueryTotal.select(criteriaBuilder.count(requestExecutionTotal));
-        List<Predicate> criteriaQueryPredicates = new ArrayList<>();
-        criteriaQueryPredicates.add(criteriaBuilder.equal(requestExecutionTotal
-                .get(REQUEST_EXECUTION_FILTER_COLUMN_PROJECT_ID), request.getProjectId()));
+        List<Predicate> criteriaQueryPredicates = getFilterPredicates(criteriaBuilder, requestExecutionTotal,
+                projectId, filters);
         TypedQuery<Long> query = entityManager.createQuery(criteriaQueryTotal
                 .where(criteriaQueryPredicates.toArray(new Predicate[0])));
-        long total;
         try {
-            total = query.getSingleResult();
+            return query.getSingleResult();
         } finally {
             entityManager.clear();
         }
+    }
 
-        return new PaginatedResponse<>(total, requestExecutionList);
+    /**
+     * Count matched rows by reading at most {@link #APPROXIMATE_COUNT_LIMIT} + 1 ids from index,
+     * so the cost doesn't depend on history size.
+     */
+    private long countRequestExecutionsUpToLimit(UUID projectId, HistoryFilteringParams filters) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> criteriaQueryIds = criteriaBuilder.createQuery(UUID.class);
+        Root<RequestExecution> requestExecutionIds = criteriaQueryIds.from(RequestExecution.class);
+        criteriaQueryIds.select(requestExecutionIds.get(REQUEST_EXECUTION_FILTER_COLUMN_ID));
+        List<Predicate> criteriaQueryPredicates = getFilterPredicates(criteriaBuilder, requestExecutionIds,
+                projectId, filters);
+        TypedQuery<UUID> query = entityManager.createQuery(criteriaQueryIds
+                .where(criteriaQueryPredicates.toArray(new Predicate[0])))
+                .setMaxResults(APPROXIMATE_COUNT_LIMIT + 1);
+        try {
+            return query.getResultList().size();
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private List<Predicate> getFilterPredicates(CriteriaBuilder criteriaBuilder, Root<RequestExecution> root,
+                                                UUID projectId, HistoryFilteringParams filters) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.equal(root.get(REQUEST_EXECUTION_FILTER_COLUMN_PROJECT_ID), projectId));
+        if (Objects.isNull(filters)) {
+            return predicates;
+        }
+
+        addInPredicate(criteriaBuilder, root, REQUEST_EXECUTION_FILTER_COLUMN_EXECUTOR, filters.getExecutor(),
+                predicates);
+        addInPredicate(criteriaBuilder, root, REQUEST_EXECUTION_FILTER_COLUMN_REQUEST_NAME, filters.getRequest(),
+                predicates);
+        addInPredicate(criteriaBuilder, root, REQUEST_EXECUTION_FILTER_COLUMN_TRANSPORT_TYPE, filters.getType(),
+                predicates);
+
+        Path<Date> executedWhen = root.get(REQUEST_EXECUTION_FILTER_COLUMN_EXECUTED_WHEN);
+        if (Objects.nonNull(filters.getExecutedFrom())) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(executedWhen, filters.getExecutedFrom()));
+        }
+        if (Objects.nonNull(filters.getExecutedTo())) {
+            predicates.add(criteriaBuilder.lessThan(executedWhen, filters.getExecutedTo()));
+        }
+        return predicates;
+    }
+
+    private <T> void addInPredicate(CriteriaBuilder criteriaBuilder, Root<RequestExecution> root, String column,
+                                    List<T> values, List<Predicate> predicates) {
+        if (CollectionUtils.isNotEmpty(values)) {
+            CriteriaBuilder.In<T> inClause = criteriaBuilder.in(root.get(column));
+            values.forEach(inClause::value);
+            predicates.add(inClause);
+        }
     }
-}
\ No newline at end of file
+}
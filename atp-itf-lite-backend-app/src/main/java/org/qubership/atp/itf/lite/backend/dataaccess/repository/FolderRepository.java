@@ -22,6 +22,7 @@ import java.util.UUID;
 
 import org.javers.spring.annotation.JaversSpringDataAuditable;
 import org.qubership.atp.itf.lite.backend.model.entities.Folder;
+import org.qubership.atp.itf.lite.backend.model.tree.FolderTreeItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -41,6 +42,11 @@ public interface FolderRepository extends JpaRepository<Folder, UUID>, JpaSpecif
 
     List<Folder> findAllByProjectIdOrderByOrder(UUID projectId);
 
+    @Query(value = "select new org.qubership.atp.itf.lite.backend.model.tree.FolderTreeItem("
+            + "f.id, f.name, f.parentId, f.order, f.createdWhen, f.modifiedWhen, a.type, f.permissionFolderId) "
+            + "from Folder f left join f.authorization a where f.projectId = :projectId")
+    List<FolderTreeItem> findAllTreeItemsByProjectId(UUID projectId);
+
     List<Folder> findAllByIdIn(Set<UUID> ids);
 
     List<Folder> findAllByIdInOrderByOrder(Set<UUID> ids);
@@ -56,6 +62,14 @@ public interface FolderRepository extends JpaRepository<Folder, UUID>, JpaSpecif
     @Query(value = "select max(f.order) from Folder f where f.projectId = :projectId")
     Integer findMaxOrder(UUID projectId);
 
+    @Query(value = "select f.order from Folder f where f.projectId = :projectId and f.parentId = :parentId "
+            + "and f.id <> :excludedId and f.order is not null order by f.order")
+    List<Integer> findSiblingOrders(UUID projectId, UUID parentId, UUID excludedId);
+
+    @Query(value = "select f.order from Folder f where f.projectId = :projectId and f.parentId is null "
+            + "and f.id <> :excludedId and f.order is not null order by f.order")
+    List<Integer> findRootSiblingOrders(UUID projectId, UUID excludedId);
+
     Folder getByProjectIdAndSourceId(UUID projectId, UUID sourceId);
 
     List<Folder> findAllByIdAndName(UUID id, String name);
@@ -16,11 +16,14 @@
 
 package org.qubership.atp.itf.lite.backend.dataaccess.repository;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,13 +43,16 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
 import com.mongodb.client.gridfs.model.GridFSFile;
 import com.mongodb.client.gridfs.model.GridFSUploadOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
 import lombok.extern.slf4j.Slf4j;
 
 @Repository("itf-lite-gridfs-repository")
@@ -72,6 +78,14 @@ public class GridFsRepository {
     private static final String METADATA_FILE_ID = "metadata" + "." + FILE_ID;
     private static final String METADATA_ITF_LITE_DICTIONARY = "metadata" + "." + ITF_LITE_DICTIONARY;
 
+    private static final String ID = "_id";
+    private static final String LENGTH = "length";
+    private static final String CHUNK_SIZE = "chunkSize";
+    private static final String METADATA = "metadata";
+    // metadata of rechunked original is moved here, so original isn't found by metadata ids any more
+    private static final String RECHUNKED_METADATA = "rechunkedMetadata";
+    private static final String RECHUNKED_AT = "rechunkedAt";
+
     private static final String TYPE = "type";
     private static final String CONTENT_TYPE_FILE = "file";
 
@@ -191,7 +205,8 @@ public class GridFsRepository {
      */
     public void saveByFileInfo(FileInfo fileInfo, InputStream inputStream) {
         GridFSUploadOptions uploadOptions = new GridFSUploadOptions()
-                .chunkSizeBytes(gridFsProperties.getChunkSizeBytes())
+                .chunkSizeBytes(Objects.isNull(fileInfo.getSize())
+                        ? gridFsProperties.getChunkSizeBytes() : getChunkSizeBytes(fileInfo.getSize()))
                 .metadata(
                         new Document()
                                 .append(TYPE, CONTENT_TYPE_FILE)
@@ -273,8 +288,14 @@ public class GridFsRepository {
      */
     public ObjectId saveFile(String creationTime, UUID id, String metadataIdName, InputStream fileInputStream,
                              String fileName, UUID fileId) {
+        return saveFile(creationTime, id, metadataIdName, fileInputStream, fileName, fileId,
+                gridFsProperties.getChunkSizeBytes());
+    }
+
+    private ObjectId saveFile(String creationTime, UUID id, String metadataIdName, InputStream fileInputStream,
+                              String fileName, UUID fileId, int chunkSizeBytes) {
         GridFSUploadOptions uploadOptions = new GridFSUploadOptions()
-                .chunkSizeBytes(gridFsProperties.getChunkSizeBytes())
+                .chunkSizeBytes(chunkSizeBytes)
                 .metadata(new Document(TYPE, CONTENT_TYPE_FILE)
                         .append(UPLOAD_DATE, creationTime)
                         .append(CONTENT_TYPE, CONTENT_TYPE_FILE)
@@ -374,6 +395,10 @@ public class GridFsRepository {
      */
     public FileInfo getFileInfo(UUID id, String metaInfoIdName) {
         GridFSFile gridFsFile = findByFilter(getFilter(id, metaInfoIdName));
+        if (gridFsFile == null) {
+            log.debug("File info isn't found by {}:{}", metaInfoIdName, id);
+            return null;
+        }
         Document metadata = gridFsFile.getMetadata();
         if (metadata != null) {
             try {
@@ -580,26 +605,115 @@ public class GridFsRepository {
 
     /**
      * Copy file by request id or request id in metadata.
+     * Chunks are streamed from source file to the copy, file isn't loaded into memory.
      */
     public UUID copyFileWithFileId(UUID fileId, UUID newRequestId) {
         log.debug("Copying file with id {} to request id {}", fileId, newRequestId);
         GridFSFile file = findByFileId(fileId);
         if (Objects.nonNull(file)) {
             UUID newFileId = UUID.randomUUID();
-            FileData fd = createFileDataFromFileInDb(file);
-            saveFileByRequestId(
-                    file.getMetadata().get(UPLOAD_DATE, String.class),
-                    Objects.nonNull(newRequestId) ? newRequestId : file.getMetadata().get(REQUEST_ID,
-                            UUID.class),
-                    new ByteArrayInputStream(fd.getContent()),
-                    file.getFilename(),
-                    newFileId);
+            try (GridFSDownloadStream content = gridFsBucket.openDownloadStream(file.getObjectId())) {
+                saveFile(
+                        file.getMetadata().get(UPLOAD_DATE, String.class),
+                        Objects.nonNull(newRequestId) ? newRequestId : file.getMetadata().get(REQUEST_ID,
+                                UUID.class),
+                        REQUEST_ID,
+                        content,
+                        file.getFilename(),
+                        newFileId,
+                        getChunkSizeBytes(file.getLength()));
+            }
             return newFileId;
         }
         log.warn("File with id {} not found", fileId);
         return null;
     }
 
+    /**
+     * Rewrites files stored with chunks smaller than configured chunk size.
+     * Metadata of file is kept, so file is found by the same metadata ids after rewriting.
+     * Original file stays readable by its id for read grace period, so downloads opened before
+     * rewriting are not broken, and it's removed by one of the next runs.
+     *
+     * @param batchSize max number of files to rewrite
+     * @return number of rewritten files
+     */
+    public int rechunkFiles(int batchSize) {
+        removeRechunkedOriginals();
+        int chunkSizeBytes = gridFsProperties.getChunkSizeBytes();
+        // files stored in one chunk don't get any benefit from rewriting
+        Bson filter = Filters.and(Filters.lt(CHUNK_SIZE, chunkSizeBytes),
+                Filters.exists(RECHUNKED_AT, false),
+                Filters.expr(new Document("$gt", Arrays.asList("$" + LENGTH, "$" + CHUNK_SIZE))));
+        List<GridFSFile> files = gridFsBucket.find(filter).limit(batchSize).into(new ArrayList<>());
+        int rechunked = 0;
+        for (GridFSFile file : files) {
+            try {
+                if (rechunkFile(file)) {
+                    rechunked++;
+                }
+            } catch (MongoException e) {
+                log.error("Failed to rechunk file {}", file.getObjectId(), e);
+            }
+        }
+        return rechunked;
+    }
+
+    private boolean rechunkFile(GridFSFile file) {
+        GridFSUploadOptions uploadOptions = new GridFSUploadOptions()
+                .chunkSizeBytes(getChunkSizeBytes(file.getLength()))
+                .metadata(file.getMetadata());
+        ObjectId newObjectId;
+        try (GridFSDownloadStream content = gridFsBucket.openDownloadStream(file.getObjectId())) {
+            newObjectId = gridFsBucket.uploadFromStream(file.getFilename(), content, uploadOptions);
+        }
+        // copy and original are never found by metadata at the same time: metadata of original is moved
+        // in the same update which checks that original still exists
+        MongoCollection<Document> filesCollection = gridFsMongoDatabase.getCollection("fs.files");
+        UpdateResult result = filesCollection.updateOne(
+                Filters.and(Filters.eq(ID, file.getObjectId()), Filters.exists(METADATA)),
+                Updates.combine(
+                        Updates.rename(METADATA, RECHUNKED_METADATA),
+                        Updates.set(RECHUNKED_AT, new Date())
+                )
+        );
+        if (result.getMatchedCount() == 0) {
+            // file was removed while it was rewritten
+            gridFsBucket.delete(newObjectId);
+            return false;
+        }
+        log.debug("File {} rechunked from {} to {} bytes chunks, new id {}", file.getObjectId(),
+                file.getChunkSize(), uploadOptions.getChunkSizeBytes(), newObjectId);
+        return true;
+    }
+
+    /**
+     * Removes rechunked originals whose read grace period is over.
+     */
+    private void removeRechunkedOriginals() {
+        Date rechunkedBefore = Date.from(Instant.now()
+                .minus(gridFsProperties.getRechunkReadGraceMinutes(), ChronoUnit.MINUTES));
+        List<GridFSFile> originals = gridFsBucket.find(Filters.lt(RECHUNKED_AT, rechunkedBefore))
+                .into(new ArrayList<>());
+        for (GridFSFile original : originals) {
+            try {
+                gridFsBucket.delete(original.getObjectId());
+            } catch (MongoException e) {
+                log.error("Failed to remove rechunked file {}", original.getObjectId(), e);
+            }
+        }
+    }
+
+    /**
+     * Chooses chunk size by file length, large files are stored with larger chunks to reduce number of chunks.
+     */
+    private int getChunkSizeBytes(long fileLength) {
+        if (fileLength > gridFsProperties.getLargeFileThresholdBytes()) {
+            return gridFsProperties.getLargeFileChunkSizeBytes();
+        }
+        return gridFsProperties.getChunkSizeBytes();
+    }
+
     /**
      * Move files from session to request while saving.
      */
@@ -28,8 +28,8 @@ public interface RequestExecutionDetailsRepository extends JpaRepository<Request
 
     RequestExecutionDetails findByRequestExecution(RequestExecution requestExecution);
 
-    @Query(value = "select d from RequestExecutionDetails d where d.requestExecution = (select e "
-            + "from RequestExecution e where e.sseId = :sseId)")
+    @Query(value = "select d from RequestExecutionDetails d join fetch d.requestExecution e "
+            + "where e.sseId = :sseId")
     Optional<RequestExecutionDetails> findByRequestExecutionSseId(UUID sseId);
 
     @Query(value = "select d from RequestExecutionDetails d where d.requestExecution = (select e "
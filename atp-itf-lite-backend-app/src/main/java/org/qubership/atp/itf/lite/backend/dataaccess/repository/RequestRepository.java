@@ -25,6 +25,7 @@ import org.javers.spring.annotation.JaversSpringDataAuditable;
 import org.qubership.atp.itf.lite.backend.enums.TransportType;
 import org.qubership.atp.itf.lite.backend.model.RequestRuntimeOptions;
 import org.qubership.atp.itf.lite.backend.model.entities.Request;
+import org.qubership.atp.itf.lite.backend.model.tree.RequestTreeItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -37,6 +38,13 @@ public interface RequestRepository extends JpaRepository<Request, UUID>, JpaSpec
 
     List<Request> findAllByProjectId(UUID projectId);
 
+    @Query(value = "select new org.qubership.atp.itf.lite.backend.model.tree.RequestTreeItem("
+            + "r.id, r.name, r.folderId, r.order, r.createdWhen, r.modifiedWhen, r.transportType, h.httpMethod, "
+            + "a.type, r.permissionFolderId) "
+            + "from Request r left join r.authorization a left join HttpRequest h on h.id = r.id "
+            + "where r.projectId = :projectId")
+    List<RequestTreeItem> findAllTreeItemsByProjectId(UUID projectId);
+
     Optional<Request> findByProjectIdAndId(UUID projectId, UUID id);
 
     @Query(value = "select new org.qubership.atp.itf.lite.backend.model.RequestRuntimeOptions("
@@ -75,6 +83,14 @@ public interface RequestRepository extends JpaRepository<Request, UUID>, JpaSpec
     @Query(value = "select max(r.order) from Request r where r.projectId = :projectId")
     Integer findMaxOrder(UUID projectId);
 
+    @Query(value = "select r.order from Request r where r.projectId = :projectId and r.folderId = :folderId "
+            + "and r.id <> :excludedId and r.order is not null order by r.order")
+    List<Integer> findSiblingOrders(UUID projectId, UUID folderId, UUID excludedId);
+
+    @Query(value = "select r.order from Request r where r.projectId = :projectId and r.folderId is null "
+            + "and r.id <> :excludedId and r.order is not null order by r.order")
+    List<Integer> findRootSiblingOrders(UUID projectId, UUID excludedId);
+
     Request getByProjectIdAndSourceId(UUID projectId, UUID sourceId);
 
     List<Request> findAllByName(String name);
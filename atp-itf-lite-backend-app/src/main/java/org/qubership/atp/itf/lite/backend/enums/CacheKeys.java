@@ -24,7 +24,9 @@ public enum CacheKeys {
     ENVIRONMENT_SYSTEMS(Constants.ENVIRONMENT_SYSTEMS, 20, TimeUnit.MINUTES, CacheGroups.SYSTEMS),
     PROJECT_CERT(Constants.PROJECT_CERT, 20, TimeUnit.MINUTES, CacheGroups.PROJECTS),
     AUTH_PROJECTS_KEY(Constants.AUTH_PROJECTS_KEY, 2, TimeUnit.MINUTES, CacheGroups.PROJECTS),
-    AUTH_OBJECTS_KEY(Constants.AUTH_OBJECTS_KEY, 2, TimeUnit.MINUTES, CacheGroups.PROJECTS);
+    AUTH_OBJECTS_KEY(Constants.AUTH_OBJECTS_KEY, 2, TimeUnit.MINUTES, CacheGroups.PROJECTS),
+    PROJECT_TREE(Constants.PROJECT_TREE, 30, TimeUnit.MINUTES, CacheGroups.PROJECTS),
+    OAUTH2_TOKENS(Constants.OAUTH2_TOKENS, 60, TimeUnit.MINUTES, CacheGroups.PROJECTS);
 
     @Getter
     private final String key;
@@ -71,5 +73,7 @@ public enum CacheKeys {
         public static final String AUTH_PROJECTS_KEY = "auth_projects";
         public static final String PROJECT_CERT = "ATP_ITF_LITE_PROJECT_CERT";
         public static final String AUTH_OBJECTS_KEY = "auth_objects";
+        public static final String PROJECT_TREE = "ATP_ITF_LITE_PROJECT_TREE";
+        public static final String OAUTH2_TOKENS = "ATP_ITF_LITE_OAUTH2_TOKENS";
     }
 }
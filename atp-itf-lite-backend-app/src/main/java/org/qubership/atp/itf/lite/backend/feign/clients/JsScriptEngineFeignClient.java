@@ -16,11 +16,19 @@
 
 package org.qubership.atp.itf.lite.backend.feign.clients;
 
+import java.util.UUID;
+
 import org.qubership.atp.auth.springbootstarter.config.FeignConfiguration;
 import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptRequestDto;
 import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionExecuteRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionExecuteResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionOpenRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionOpenResponseDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
@@ -36,4 +44,26 @@ public interface JsScriptEngineFeignClient {
     ResponseEntity<PostmanExecuteScriptResponseDto> executePostmanScript(
             @RequestBody(required = false) PostmanExecuteScriptRequestDto postmanExecuteScriptRequestDto
     );
+
+    @PostMapping(
+            value = "/api/v1/script/session",
+            produces = { "application/json" },
+            consumes = { "application/json" }
+    )
+    ResponseEntity<ScriptSessionOpenResponseDto> openScriptSession(
+            @RequestBody ScriptSessionOpenRequestDto scriptSessionOpenRequestDto
+    );
+
+    @PostMapping(
+            value = "/api/v1/script/session/{sessionId}/execute",
+            produces = { "application/json" },
+            consumes = { "application/json" }
+    )
+    ResponseEntity<ScriptSessionExecuteResponseDto> executeScriptInSession(
+            @PathVariable("sessionId") UUID sessionId,
+            @RequestBody ScriptSessionExecuteRequestDto scriptSessionExecuteRequestDto
+    );
+
+    @DeleteMapping(value = "/api/v1/script/session/{sessionId}")
+    ResponseEntity<Void> closeScriptSession(@PathVariable("sessionId") UUID sessionId);
 }
@@ -0,0 +1,59 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.feign.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.Data;
+
+@Data
+public class ScriptSessionExecuteRequestDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+  // sha-256 of script source
+  private String scriptHash;
+  // script source, sent only if session doesn't know script by hash yet
+  private String script;
+  // changes of session context made outside of script engine since previous execution
+  private ScriptContextDeltaDto contextDelta;
+  // request, response and cookies of the step, context maps aren't used
+  private PostmanDto postman;
+
+  public ScriptSessionExecuteRequestDto scriptHash(String scriptHash) {
+    this.scriptHash = scriptHash;
+    return this;
+  }
+
+  public ScriptSessionExecuteRequestDto script(String script) {
+    this.script = script;
+    return this;
+  }
+
+  public ScriptSessionExecuteRequestDto contextDelta(ScriptContextDeltaDto contextDelta) {
+    this.contextDelta = contextDelta;
+    return this;
+  }
+
+  public ScriptSessionExecuteRequestDto postman(PostmanDto postman) {
+    this.postman = postman;
+    return this;
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.feign.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+
+import lombok.Data;
+
+@Data
+public class ScriptSessionOpenRequestDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+  private UUID projectId;
+  // initial context, only globals, collectionVariables, environment, iterationData and variables are used
+  private PostmanDto postman;
+
+  public ScriptSessionOpenRequestDto projectId(UUID projectId) {
+    this.projectId = projectId;
+    return this;
+  }
+
+  public ScriptSessionOpenRequestDto postman(PostmanDto postman) {
+    this.postman = postman;
+    return this;
+  }
+}
@@ -19,6 +19,7 @@ package org.qubership.atp.itf.lite.backend.feign.service;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -32,7 +33,6 @@ import org.qubership.atp.auth.springbootstarter.feign.exception.FeignClientExcep
 import org.qubership.atp.crypt.exception.AtpDecryptException;
 import org.qubership.atp.crypt.exception.AtpEncryptException;
 import org.qubership.atp.itf.lite.backend.enums.ContextType;
-import org.qubership.atp.itf.lite.backend.feign.clients.JsScriptEngineFeignClient;
 import org.qubership.atp.itf.lite.backend.feign.dto.ConsoleLogDto;
 import org.qubership.atp.itf.lite.backend.feign.dto.HeaderDto;
 import org.qubership.atp.itf.lite.backend.feign.dto.HttpResponseExceptionTypeEnum;
@@ -46,6 +46,7 @@ import org.qubership.atp.itf.lite.backend.model.api.request.RequestEntitySaveReq
 import org.qubership.atp.itf.lite.backend.model.api.response.RequestExecutionResponse;
 import org.qubership.atp.itf.lite.backend.model.context.SaveRequestResolvingContext;
 import org.qubership.atp.itf.lite.backend.service.EncryptionService;
+import org.qubership.atp.itf.lite.backend.service.script.LocalScriptRuntime;
 import org.qubership.atp.itf.lite.backend.utils.CookieUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -65,13 +66,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class JsScriptEngineService {
 
-    private final JsScriptEngineFeignClient jsScriptEngineFeignClient;
+    private final ScriptEngineSessionService scriptEngineSessionService;
+    private final LocalScriptRuntime localScriptRuntime;
     private final EncryptionService encryptionService;
-    private final ThreadLocal<List<String>> globalsEncrypted = new ThreadLocal<>();
-    private final ThreadLocal<List<String>> collectionVariablesEncrypted = new ThreadLocal<>();
-    private final ThreadLocal<List<String>> environmentEncrypted = new ThreadLocal<>();
-    private final ThreadLocal<List<String>> iterationDataEncrypted = new ThreadLocal<>();
-    private final ThreadLocal<List<String>> variablesEncrypted = new ThreadLocal<>();
 
     @Value("${atp.itf.lite.js-script.context-logging.enabled:false}")
     private boolean jsScriptContextLoggingEnabled;
@@ -116,10 +113,15 @@ public class JsScriptEngineService {
                                                                  RequestExecutionResponse response,
                                                                  SaveRequestResolvingContext resolvingContext) {
         try {
+            ContextSecrets secrets = new ContextSecrets();
             PostmanExecuteScriptRequestDto postmanExecuteScriptRequestDto =
-                    generateRequestToJsEngine(isPreScript, request, response, resolvingContext);
+                    generateRequestToJsEngine(isPreScript, request, response, resolvingContext, secrets);
             PostmanExecuteScriptResponseDto jsScriptEngineResponse =
-                    jsScriptEngineFeignClient.executePostmanScript(postmanExecuteScriptRequestDto).getBody();
+                    localScriptRuntime.execute(postmanExecuteScriptRequestDto);
+            if (jsScriptEngineResponse == null) {
+                jsScriptEngineResponse = scriptEngineSessionService.execute(resolvingContext.getScriptSessionId(),
+                        postmanExecuteScriptRequestDto);
+            }
 
             // Update context
             assert jsScriptEngineResponse != null;
@@ -130,13 +132,15 @@ public class JsScriptEngineService {
             if (!isPreScript) {
                 response.updateFromPostmanResponse(postmanDto.getPostmanResponse());
             }
-            redactSensitiveValuesInConsoleLogs(jsScriptEngineResponse.getConsoleLogs(), resolvingContext);
-            resolvingContext.setGlobals(updateContext(ContextType.GLOBALS, postmanDto.getGlobals()));
+            redactSensitiveValuesInConsoleLogs(jsScriptEngineResponse.getConsoleLogs(), secrets);
+            resolvingContext.setGlobals(updateContext(ContextType.GLOBALS, postmanDto.getGlobals(), secrets));
             resolvingContext.setCollectionVariables(updateContext(ContextType.COLLECTION_VARIABLES,
-                    postmanDto.getCollectionVariables()));
-            resolvingContext.setEnvironment(updateContext(ContextType.ENVIRONMENT, postmanDto.getEnvironment()));
-            resolvingContext.setIterationData(updateContext(ContextType.ITERATION_DATA, postmanDto.getIterationData()));
-            resolvingContext.setVariables(updateContext(ContextType.VARIABLES, postmanDto.getVariables()));
+                    postmanDto.getCollectionVariables(), secrets));
+            resolvingContext.setEnvironment(updateContext(ContextType.ENVIRONMENT, postmanDto.getEnvironment(),
+                    secrets));
+            resolvingContext.setIterationData(updateContext(ContextType.ITERATION_DATA,
+                    postmanDto.getIterationData(), secrets));
+            resolvingContext.setVariables(updateContext(ContextType.VARIABLES, postmanDto.getVariables(), secrets));
             if (jsScriptContextLoggingEnabled) {
                 log.debug("All results context {}, isPreScript? {}", resolvingContext, isPreScript);
             }
@@ -222,91 +226,42 @@ public class JsScriptEngineService {
         return errorMessageFromJson;
     }
 
-    private Map<String, Object> generateContext(ContextType type,
-                                                Map<String, Object> originContext) throws AtpDecryptException {
-        Map<String, Object> targetContext = new HashMap<>();
+    /**
+     * Decrypt encrypted values of context scope.
+     * Context of request is not copied if it has no encrypted values.
+     */
+    private Map<String, Object> generateContext(ContextType type, Map<String, Object> originContext,
+                                                ContextSecrets secrets) throws AtpDecryptException {
+        Map<String, Object> targetContext = originContext;
         for (Map.Entry<String, Object> c: originContext.entrySet()) {
             if (Objects.nonNull(c.getValue()) && encryptionService.isEncrypted(c.getValue().toString())) {
-                switch (type) {
-                    case GLOBALS:
-                        if (globalsEncrypted.get() == null) {
-                            this.globalsEncrypted.set(new ArrayList<>());
-                        }
-                        globalsEncrypted.get().add(c.getKey());
-                        break;
-                    case COLLECTION_VARIABLES:
-                        if (collectionVariablesEncrypted.get() == null) {
-                            this.collectionVariablesEncrypted.set(new ArrayList<>());
-                        }
-                        collectionVariablesEncrypted.get().add(c.getKey());
-                        break;
-                    case ENVIRONMENT:
-                        if (environmentEncrypted.get() == null) {
-                            this.environmentEncrypted.set(new ArrayList<>());
-                        }
-                        environmentEncrypted.get().add(c.getKey());
-                        break;
-                    case ITERATION_DATA:
-                        if (iterationDataEncrypted.get() == null) {
-                            this.iterationDataEncrypted.set(new ArrayList<>());
-                        }
-                        iterationDataEncrypted.get().add(c.getKey());
-                        break;
-                    case VARIABLES:
-                        if (variablesEncrypted.get() == null) {
-                            this.variablesEncrypted.set(new ArrayList<>());
-                        }
-                        variablesEncrypted.get().add(c.getKey());
-                        break;
-                    default:
+                if (targetContext == originContext) {
+                    targetContext = new HashMap<>(originContext);
                 }
-                targetContext.put(c.getKey(), encryptionService.decrypt(c.getValue().toString()));
-            } else {
-                targetContext.put(c.getKey(), c.getValue());
+                String decryptedValue = encryptionService.decrypt(c.getValue().toString());
+                secrets.add(type, c.getKey(), decryptedValue);
+                targetContext.put(c.getKey(), decryptedValue);
             }
         }
         return targetContext;
     }
 
-    private Map<String, Object> updateContext(ContextType type, Map<String, Object> sourceContext)
-            throws AtpEncryptException {
+    /**
+     * Encrypt values of context scope returned by script engine which were encrypted before execution.
+     * Scope of script engine response is updated in place, only encrypted keys are visited.
+     */
+    private Map<String, Object> updateContext(ContextType type, Map<String, Object> sourceContext,
+                                              ContextSecrets secrets) throws AtpEncryptException {
         if (jsScriptContextLoggingEnabled) {
             log.debug("Update context type: {} and sourceContext {}", type, sourceContext);
         }
-        Map<String, Object> targetContext = new HashMap<>();
-        List<String> keysEncrypted = new ArrayList<>();
-        switch (type) {
-            case GLOBALS:
-                keysEncrypted = globalsEncrypted.get();
-                globalsEncrypted.remove();
-                break;
-            case COLLECTION_VARIABLES:
-                keysEncrypted = collectionVariablesEncrypted.get();
-                collectionVariablesEncrypted.remove();
-                break;
-            case ENVIRONMENT:
-                keysEncrypted = environmentEncrypted.get();
-                environmentEncrypted.remove();
-                break;
-            case ITERATION_DATA:
-                keysEncrypted = iterationDataEncrypted.get();
-                iterationDataEncrypted.remove();
-                break;
-            case VARIABLES:
-                keysEncrypted = variablesEncrypted.get();
-                variablesEncrypted.remove();
-                break;
-            default:
-        }
-        keysEncrypted = keysEncrypted == null ? new ArrayList<>() : keysEncrypted;
-        for (Map.Entry<String, Object> c: sourceContext.entrySet()) {
-            if (Objects.nonNull(c.getValue()) && keysEncrypted.contains(c.getKey())) {
-                targetContext.put(c.getKey(), encryptionService.encrypt(c.getValue().toString()));
-            } else {
-                targetContext.put(c.getKey(), c.getValue());
+        for (String key : secrets.getKeys(type)) {
+            Object value = sourceContext.get(key);
+            if (Objects.nonNull(value)) {
+                sourceContext.put(key, encryptionService.encrypt(value.toString()));
             }
         }
-        return targetContext;
+        return sourceContext;
     }
 
     private PostmanPostmanResponseDto generatePostmanResponseDto(RequestExecutionResponse itfLiteResponse) {
@@ -317,24 +272,26 @@ public class JsScriptEngineService {
                         .stream()
                         .map(h -> new HeaderDto().key(h.getKey()).value(h.getValue()))
                         .collect(Collectors.toList()))
-                .body(itfLiteResponse.getBody())
+                .body(itfLiteResponse.getFullBody())
                 .responseTime(itfLiteResponse.getDuration().intValue());
     }
 
     private PostmanExecuteScriptRequestDto generateRequestToJsEngine(boolean isPreScript,
                                                                      RequestEntitySaveRequest request,
                                                                      @Nullable RequestExecutionResponse response,
-                                                                     SaveRequestResolvingContext resolvingContext)
+                                                                     SaveRequestResolvingContext resolvingContext,
+                                                                     ContextSecrets secrets)
             throws AtpDecryptException {
         log.debug("Generate request to JS engine for request(id: {})", request.getId());
         PostmanDto postman = new PostmanDto()
                 .postmanRequest(request.getPostmanRequest())
-                .globals(generateContext(ContextType.GLOBALS, resolvingContext.getGlobals()))
+                .globals(generateContext(ContextType.GLOBALS, resolvingContext.getGlobals(), secrets))
                 .collectionVariables(generateContext(ContextType.COLLECTION_VARIABLES,
-                        resolvingContext.getCollectionVariables()))
-                .environment(generateContext(ContextType.ENVIRONMENT, resolvingContext.getEnvironment()))
-                .iterationData(generateContext(ContextType.ITERATION_DATA, resolvingContext.getIterationData()))
-                .variables(generateContext(ContextType.VARIABLES, resolvingContext.getVariables()))
+                        resolvingContext.getCollectionVariables(), secrets))
+                .environment(generateContext(ContextType.ENVIRONMENT, resolvingContext.getEnvironment(), secrets))
+                .iterationData(generateContext(ContextType.ITERATION_DATA, resolvingContext.getIterationData(),
+                        secrets))
+                .variables(generateContext(ContextType.VARIABLES, resolvingContext.getVariables(), secrets))
                 .cookies(CookieUtils.convertCookieListToPostmanCookieDtoList(
                         request.getCookies() != null ? request.getCookies() : new ArrayList<>()));
         if (Objects.nonNull(response)) {
@@ -346,26 +303,14 @@ public class JsScriptEngineService {
                 .script(isPreScript ? request.getPreScripts() : request.getPostScripts());
     }
 
-    private void redactSensitiveValuesInConsoleLogs(List<ConsoleLogDto> consoleLogs,
-                                                    SaveRequestResolvingContext resolvingContext)
-            throws AtpDecryptException {
-        if (consoleLogs == null || consoleLogs.isEmpty()) {
-            return;
-        }
-        Set<String> sensitiveValues = new HashSet<>();
-        collectSensitiveValues(sensitiveValues, globalsEncrypted.get(), resolvingContext.getGlobals());
-        collectSensitiveValues(sensitiveValues, collectionVariablesEncrypted.get(),
-                resolvingContext.getCollectionVariables());
-        collectSensitiveValues(sensitiveValues, environmentEncrypted.get(), resolvingContext.getEnvironment());
-        collectSensitiveValues(sensitiveValues, iterationDataEncrypted.get(), resolvingContext.getIterationData());
-        collectSensitiveValues(sensitiveValues, variablesEncrypted.get(), resolvingContext.getVariables());
-        if (sensitiveValues.isEmpty()) {
+    private void redactSensitiveValuesInConsoleLogs(List<ConsoleLogDto> consoleLogs, ContextSecrets secrets) {
+        if (consoleLogs == null || consoleLogs.isEmpty() || secrets.values.isEmpty()) {
             return;
         }
         for (ConsoleLogDto logEntry : consoleLogs) {
             String message = logEntry.getMessage();
             if (message != null) {
-                for (String sensitiveValue : sensitiveValues) {
+                for (String sensitiveValue : secrets.values) {
                     message = message.replace(sensitiveValue, "***");
                 }
                 logEntry.setMessage(message);
@@ -373,19 +318,6 @@ public class JsScriptEngineService {
         }
     }
 
-    private void collectSensitiveValues(Set<String> sensitiveValues, List<String> encryptedKeys,
-                                        Map<String, Object> contextScope) throws AtpDecryptException {
-        if (encryptedKeys == null || contextScope == null) {
-            return;
-        }
-        for (String key : encryptedKeys) {
-            Object encryptedValue = contextScope.get(key);
-            if (encryptedValue != null) {
-                sensitiveValues.add(encryptionService.decrypt(encryptedValue.toString()));
-            }
-        }
-    }
-
     private PostmanExecuteScriptResponseDto generateExecuteScriptErrorResponse(
             String step, String errorMessage, Exception ex, HttpResponseExceptionTypeEnum httpResponseExceptionType) {
         log.error(errorMessage, ex);
@@ -398,4 +330,23 @@ public class JsScriptEngineService {
                                 .message(errorMessage)
                                 .httpResponseExceptionType(httpResponseExceptionType))));
     }
+
+    /**
+     * Encrypted variables of one script execution: keys by context scope and decrypted values.
+     */
+    private static class ContextSecrets {
+        private final Map<ContextType, Set<String>> keys = new EnumMap<>(ContextType.class);
+        private final Set<String> values = new HashSet<>();
+
+        private void add(ContextType type, String key, String decryptedValue) {
+            keys.computeIfAbsent(type, t -> new HashSet<>()).add(key);
+            if (!StringUtils.isEmpty(decryptedValue)) {
+                values.add(decryptedValue);
+            }
+        }
+
+        private Set<String> getKeys(ContextType type) {
+            return keys.getOrDefault(type, Collections.emptySet());
+        }
+    }
 }
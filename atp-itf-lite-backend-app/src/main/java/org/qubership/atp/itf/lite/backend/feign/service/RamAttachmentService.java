@@ -0,0 +1,190 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.feign.service;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.qubership.atp.adapter.executor.executor.AtpRamWriter;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileData;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileInfo;
+import org.qubership.atp.itf.lite.backend.service.GridFsService;
+import org.qubership.atp.itf.lite.backend.service.ItfLiteFileService;
+import org.qubership.atp.itf.lite.backend.utils.Constants;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import jakarta.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads files of executed requests to RAM log records.
+ * Form-data files are streamed from local file cache or GridFS straight into RAM upload.
+ * Content is identified by its SHA-256 hash, content already uploaded in test run
+ * isn't uploaded again, log record refers to file of log record it was uploaded for.
+ */
+@Service
+@Slf4j
+public class RamAttachmentService {
+
+    private static final long RUN_TTL_MIN = 30;
+    private static final long MAX_RUNS = 1000;
+
+    private final GridFsService gridFsService;
+    private final ItfLiteFileService itfLiteFileService;
+    private final Cache<UUID, RunAttachments> runAttachments = Caffeine.newBuilder()
+            .expireAfterAccess(RUN_TTL_MIN, TimeUnit.MINUTES)
+            .maximumSize(MAX_RUNS)
+            .build();
+
+    public RamAttachmentService(GridFsService gridFsService, ItfLiteFileService itfLiteFileService) {
+        this.gridFsService = gridFsService;
+        this.itfLiteFileService = itfLiteFileService;
+    }
+
+    /**
+     * Upload form-data file to log record.
+     *
+     * @param testRunId    test run id, files aren't reused if it is null
+     * @param logRecordId  log record id
+     * @param fileId       form-data file id
+     * @param modifiedWhen request modified date, used to check local file cache
+     * @return uploaded attachment or null if file isn't found or can't be read
+     */
+    @Nullable
+    public RamAttachment uploadFile(@Nullable UUID testRunId, String logRecordId, UUID fileId,
+                                    @Nullable Date modifiedWhen) {
+        RunAttachments run = getRun(testRunId);
+        if (nonNull(run)) {
+            String hash = run.fileHashes.get(fileId);
+            RamAttachment uploaded = isNull(hash) ? null : run.attachments.get(hash);
+            if (nonNull(uploaded)) {
+                log.debug("File {} is already uploaded to log record {}", fileId, uploaded.getLogRecordId());
+                return uploaded;
+            }
+        }
+        Optional<Path> cachedFile = getCachedFile(fileId, modifiedWhen);
+        FileInfo fileInfo = cachedFile.isPresent() ? null : gridFsService.getFileInfoByFileId(fileId);
+        if (cachedFile.isEmpty() && isNull(fileInfo)) {
+            return null;
+        }
+        String displayName = cachedFile.map(path -> path.getFileName().toString())
+                .orElseGet(fileInfo::getFileName);
+        RamAttachment attachment = new RamAttachment(logRecordId, fileId.toString(), displayName);
+        try (HashingInputStream content = new HashingInputStream(Hashing.sha256(), cachedFile.isPresent()
+                ? Files.newInputStream(cachedFile.get())
+                : gridFsService.getFileByFileInfo(fileInfo))) {
+            upload(attachment, content);
+            if (nonNull(run)) {
+                String hash = content.hash().toString();
+                run.fileHashes.put(fileId, hash);
+                run.attachments.putIfAbsent(hash, attachment);
+            }
+        } catch (IOException e) {
+            log.error("Failed to read file {} for log record {}", fileId, logRecordId, e);
+            return null;
+        }
+        return attachment;
+    }
+
+    /**
+     * Upload file content to log record.
+     *
+     * @param testRunId   test run id, files aren't reused if it is null
+     * @param logRecordId log record id
+     * @param file        file with content
+     * @return uploaded attachment
+     */
+    public RamAttachment uploadContent(@Nullable UUID testRunId, String logRecordId, FileData file) {
+        RunAttachments run = getRun(testRunId);
+        String hash = Hashing.sha256().hashBytes(file.getContent()).toString();
+        if (nonNull(run)) {
+            RamAttachment uploaded = run.attachments.get(hash);
+            if (nonNull(uploaded)) {
+                log.debug("File {} is already uploaded to log record {}", file.getFileName(),
+                        uploaded.getLogRecordId());
+                return uploaded;
+            }
+        }
+        RamAttachment attachment = new RamAttachment(logRecordId, file.getFileName(), file.getFileName());
+        upload(attachment, new ByteArrayInputStream(file.getContent()));
+        if (nonNull(run)) {
+            run.attachments.putIfAbsent(hash, attachment);
+        }
+        return attachment;
+    }
+
+    private void upload(RamAttachment attachment, InputStream content) {
+        AtpRamWriter.getAtpRamWriter().uploadFileForLogRecord(attachment.getLogRecordId(), content,
+                attachment.getFileName());
+    }
+
+    @Nullable
+    private RunAttachments getRun(@Nullable UUID testRunId) {
+        return isNull(testRunId) ? null : runAttachments.get(testRunId, id -> new RunAttachments());
+    }
+
+    private Optional<Path> getCachedFile(UUID fileId, @Nullable Date modifiedWhen) {
+        if (isNull(modifiedWhen)) {
+            return Optional.empty();
+        }
+        try {
+            return itfLiteFileService.getCachedFilePath(fileId, modifiedWhen, Constants.DEFAULT_FORM_DATA_FOLDER);
+        } catch (IOException e) {
+            log.warn("Failed to read cached file {}, it is read from GridFS", fileId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * File uploaded to RAM log record.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RamAttachment {
+        // log record file is uploaded for
+        private final String logRecordId;
+        // name of file in log record
+        private final String fileName;
+        // name of file shown to user
+        private final String displayName;
+    }
+
+    private static class RunAttachments {
+        // attachments uploaded in test run by content hash
+        private final Map<String, RamAttachment> attachments = new ConcurrentHashMap<>();
+        // content hashes of uploaded form-data files
+        private final Map<UUID, String> fileHashes = new ConcurrentHashMap<>();
+    }
+}
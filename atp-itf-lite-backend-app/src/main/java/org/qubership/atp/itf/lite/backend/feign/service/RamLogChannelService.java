@@ -0,0 +1,255 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.feign.service;
+
+import static java.util.Objects.isNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.qubership.atp.adapter.common.adapters.AtpKafkaRamAdapter;
+import org.qubership.atp.adapter.common.adapters.providers.RamAdapterProvider;
+import org.qubership.atp.itf.lite.backend.configuration.RamLogChannelProperties;
+import org.qubership.atp.itf.lite.backend.service.MetricService;
+import org.qubership.atp.ram.models.ScriptConsoleLog;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends script console logs of collection run to RAM through one channel per execution request and test run.
+ * Channel keeps one kafka adapter and collects console logs of steps into batch, which is sent
+ * by separate thread when it becomes big enough, when time window is over or when step is finished,
+ * so execution threads don't wait for kafka.
+ */
+@Service
+@Slf4j
+public class RamLogChannelService {
+
+    private static final String KAFKA_ADAPTER = "kafka";
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private final RamLogChannelProperties properties;
+    private final MetricService metricService;
+    private final Cache<ChannelKey, RamLogChannel> channels;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final ExecutorService sendExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("itf-lite-ram-log-", 0).factory());
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("itf-lite-ram-log-flush").factory());
+
+    /**
+     * Constructor.
+     */
+    public RamLogChannelService(RamLogChannelProperties properties, MetricService metricService) {
+        this.properties = properties;
+        this.metricService = metricService;
+        this.channels = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getTtlSec(), TimeUnit.SECONDS)
+                .removalListener((ChannelKey key, RamLogChannel channel, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && channel != null) {
+                        send(channel);
+                    }
+                })
+                .build();
+        metricService.registerRamLogQueueDepth(queueDepth);
+        flushScheduler.scheduleWithFixedDelay(this::flushExpiredBatches,
+                properties.getWindowMs(), properties.getWindowMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Put script console logs of step into channel of execution request and test run.
+     * If channels are disabled or run is unknown, console logs are sent immediately.
+     *
+     * @param executionRequestId execution request id
+     * @param testRunId          test run id
+     * @param transportRecordId  transport log record id
+     * @param preScript          pre script value
+     * @param postScript         post script value
+     * @param consoleLogs        console logs
+     */
+    public void writeConsoleLogs(UUID executionRequestId, UUID testRunId, UUID transportRecordId,
+                                 String preScript, String postScript, List<ScriptConsoleLog> consoleLogs) {
+        if (!properties.isEnabled() || isNull(executionRequestId) || isNull(testRunId)) {
+            AtpKafkaRamAdapter adapter = (AtpKafkaRamAdapter) RamAdapterProvider.getNewAdapter(KAFKA_ADAPTER);
+            adapter.sendScriptConsoleLogs(consoleLogs, preScript, postScript, transportRecordId.toString());
+            return;
+        }
+        ConsoleLogBatch batch = new ConsoleLogBatch(transportRecordId.toString(), preScript, postScript,
+                consoleLogs);
+        AtomicBoolean isFull = new AtomicBoolean();
+        // batch is added inside of compute, so channel can't be evicted between getting it and adding batch
+        RamLogChannel channel = channels.asMap().compute(new ChannelKey(executionRequestId, testRunId),
+                (key, current) -> {
+                    RamLogChannel result = current == null
+                            ? new RamLogChannel((AtpKafkaRamAdapter) RamAdapterProvider.getNewAdapter(KAFKA_ADAPTER))
+                            : current;
+                    isFull.set(result.add(batch, properties.getBatchSize()));
+                    return result;
+                });
+        queueDepth.addAndGet(batch.size());
+        if (isFull.get()) {
+            submit(channel);
+        }
+    }
+
+    /**
+     * Send console logs collected in channel of execution request and test run.
+     * Logs are sent by separate thread, method doesn't wait for it.
+     *
+     * @param executionRequestId execution request id
+     * @param testRunId          test run id
+     */
+    public void flush(UUID executionRequestId, UUID testRunId) {
+        if (isNull(executionRequestId) || isNull(testRunId)) {
+            return;
+        }
+        RamLogChannel channel = channels.getIfPresent(new ChannelKey(executionRequestId, testRunId));
+        if (channel != null && channel.hasPending()) {
+            submit(channel);
+        }
+    }
+
+    /**
+     * Send console logs of all channels and stop sending threads.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushScheduler.shutdownNow();
+        sendExecutor.shutdown();
+        sendExecutor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        channels.asMap().values().forEach(this::send);
+    }
+
+    private void flushExpiredBatches() {
+        try {
+            channels.cleanUp();
+            long windowStart = System.currentTimeMillis() - properties.getWindowMs();
+            channels.asMap().values().forEach(channel -> {
+                if (channel.hasPendingBefore(windowStart)) {
+                    submit(channel);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Unexpected error while flushing RAM log channels", e);
+        }
+    }
+
+    private void submit(RamLogChannel channel) {
+        try {
+            sendExecutor.execute(() -> send(channel));
+        } catch (RuntimeException e) {
+            // executor is stopped, pod is going down
+            send(channel);
+        }
+    }
+
+    private void send(RamLogChannel channel) {
+        // batches are taken under send lock, so batches of one channel are sent in order of steps
+        synchronized (channel.sendLock) {
+            List<ConsoleLogBatch> batches;
+            int entries;
+            synchronized (channel) {
+                if (channel.pending.isEmpty()) {
+                    return;
+                }
+                batches = channel.pending;
+                entries = channel.pendingEntries;
+                channel.pending = new ArrayList<>();
+                channel.pendingEntries = 0;
+            }
+            long start = System.nanoTime();
+            batches.forEach(batch -> batch.send(channel.adapter));
+            queueDepth.addAndGet(-entries);
+            metricService.recordRamLogSend(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class ChannelKey {
+        private final UUID executionRequestId;
+        private final UUID testRunId;
+    }
+
+    @RequiredArgsConstructor
+    private static class RamLogChannel {
+        private final AtpKafkaRamAdapter adapter;
+        private final Object sendLock = new Object();
+        private List<ConsoleLogBatch> pending = new ArrayList<>();
+        private int pendingEntries;
+        private long firstPendingMillis;
+
+        /**
+         * Add batch of step.
+         *
+         * @return true if channel has enough console logs to be sent
+         */
+        private synchronized boolean add(ConsoleLogBatch batch, int batchSize) {
+            if (pending.isEmpty()) {
+                firstPendingMillis = System.currentTimeMillis();
+            }
+            pending.add(batch);
+            pendingEntries += batch.size();
+            return pendingEntries >= batchSize;
+        }
+
+        private synchronized boolean hasPending() {
+            return !pending.isEmpty();
+        }
+
+        private synchronized boolean hasPendingBefore(long millis) {
+            return !pending.isEmpty() && firstPendingMillis <= millis;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class ConsoleLogBatch {
+        private final String transportRecordId;
+        private final String preScript;
+        private final String postScript;
+        private final List<ScriptConsoleLog> consoleLogs;
+
+        private int size() {
+            // step without console logs is sent too, scripts are saved with it
+            return Math.max(1, consoleLogs.size());
+        }
+
+        private void send(AtpKafkaRamAdapter adapter) {
+            try {
+                adapter.sendScriptConsoleLogs(consoleLogs, preScript, postScript, transportRecordId);
+            } catch (Exception e) {
+                log.error("Failed to send script console logs of log record {} to RAM", transportRecordId, e);
+            }
+        }
+    }
+}
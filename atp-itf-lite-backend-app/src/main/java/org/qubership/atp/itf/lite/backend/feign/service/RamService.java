@@ -20,7 +20,6 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.qubership.atp.itf.lite.backend.model.api.ApiPath.RAM_DOWNLOAD_FILE_PATH;
 
-import java.io.ByteArrayInputStream;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -29,14 +28,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
-import org.qubership.atp.adapter.common.adapters.AtpKafkaRamAdapter;
-import org.qubership.atp.adapter.common.adapters.providers.RamAdapterProvider;
 import org.qubership.atp.adapter.common.context.AtpCompaund;
 import org.qubership.atp.adapter.common.context.TestRunContext;
 import org.qubership.atp.adapter.common.context.TestRunContextHolder;
@@ -66,6 +62,7 @@ import org.qubership.atp.itf.lite.backend.feign.dto.TestPlanDto;
 import org.qubership.atp.itf.lite.backend.feign.dto.TestPlansSearchRequestDto;
 import org.qubership.atp.itf.lite.backend.feign.dto.TestRunDto;
 import org.qubership.atp.itf.lite.backend.feign.dto.TypeActionDto;
+import org.qubership.atp.itf.lite.backend.feign.service.RamAttachmentService.RamAttachment;
 import org.qubership.atp.itf.lite.backend.model.api.request.ExecutionCollectionRequestExecuteRequest;
 import org.qubership.atp.itf.lite.backend.model.api.request.HttpRequestEntitySaveRequest;
 import org.qubership.atp.itf.lite.backend.model.api.request.ImportContextRequest;
@@ -78,7 +75,6 @@ import org.qubership.atp.itf.lite.backend.model.entities.Cookie;
 import org.qubership.atp.itf.lite.backend.model.entities.RequestBody;
 import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileData;
 import org.qubership.atp.itf.lite.backend.model.entities.http.FormDataPart;
-import org.qubership.atp.itf.lite.backend.service.GridFsService;
 import org.qubership.atp.itf.lite.backend.utils.Constants;
 import org.qubership.atp.itf.lite.backend.utils.CookieUtils;
 import org.qubership.atp.itf.lite.backend.utils.StreamUtils;
@@ -108,8 +104,9 @@ public class RamService {
     private final RamTestRunsFeignClient ramTestRunsFeignClient;
     private final RamLogRecordFeignClient ramLogRecordFeignClient;
     private final RamExecutionRequestFeignClient ramExecutionRequestFeignClient;
+    private final RamLogChannelService ramLogChannelService;
+    private final RamAttachmentService ramAttachmentService;
 
-    private final GridFsService gridFsService;
     private final String fileDownloadLink;
 
     private static final String DEFAULT_ITF_LITE_RUN_COLLECTION_TEST_PLAN_NAME = "ITF Lite Default";
@@ -250,10 +247,12 @@ public class RamService {
     /**
      * Write itf log record with request execution results.
      *
+     * @param testRunId                test run id, files uploaded in test run are reused
      * @param request                  request
      * @param requestExecutionResponse response
      */
-    public void writeRequestExecutionResult(UUID transportLogRecordId,
+    public void writeRequestExecutionResult(@Nullable UUID testRunId,
+                                            UUID transportLogRecordId,
                                             RequestEntitySaveRequest request,
                                             RequestExecutionResponse requestExecutionResponse,
                                             Exception errorMessage,
@@ -266,7 +265,7 @@ public class RamService {
         if (errorMessage != null) {
             resultMessage.setMessage(errorMessage.getMessage());
         }
-        resultMessage.setRequest(createLogRecordPartsRequest(request, requestExecutionResponse,
+        resultMessage.setRequest(createLogRecordPartsRequest(testRunId, request, requestExecutionResponse,
                 resultMessage.getUuid()));
         resultMessage.setResponse(createLogRecordPartsResponse(request, requestExecutionResponse));
         resultMessage.setProtocolType(request.getTransportType().toString());
@@ -293,25 +292,36 @@ public class RamService {
 
     /**
      * Write console log for record.
+     * Logs are sent through RAM log channel of execution request and test run.
      *
-     * @param transportRecordId transport log record ID
-     * @param preScript         pre script value
-     * @param postScript        post script value
-     * @param consoleLogs       consoleLogs
+     * @param executionRequestId execution request ID
+     * @param testRunId          test run ID
+     * @param transportRecordId  transport log record ID
+     * @param preScript          pre script value
+     * @param postScript         post script value
+     * @param consoleLogs        consoleLogs
      */
-    public void writeConsoleLogs(UUID transportRecordId, String preScript, String postScript,
-                                 List<ConsoleLogDto> consoleLogs) {
+    public void writeConsoleLogs(UUID executionRequestId, UUID testRunId, UUID transportRecordId, String preScript,
+                                 String postScript, List<ConsoleLogDto> consoleLogs) {
         if (preScript != null ||  postScript != null) {
-            AtpKafkaRamAdapter atpKafkaRamAdapter = (AtpKafkaRamAdapter) RamAdapterProvider.getNewAdapter("kafka");
-            atpKafkaRamAdapter.sendScriptConsoleLogs(
-                    consoleLogs.stream().map(c -> new ScriptConsoleLog(c.getMessage(), c.getTimestamp(), c.getLevel()))
-                            .collect(Collectors.toList()),
-                    preScript,
+            ramLogChannelService.writeConsoleLogs(executionRequestId, testRunId, transportRecordId, preScript,
                     postScript,
-                    transportRecordId.toString());
+                    consoleLogs.stream().map(c -> new ScriptConsoleLog(c.getMessage(), c.getTimestamp(), c.getLevel()))
+                            .collect(Collectors.toList()));
         }
     }
 
+    /**
+     * Send logs collected for execution request and test run.
+     * Should be called when step is finished.
+     *
+     * @param executionRequestId execution request ID
+     * @param testRunId          test run ID
+     */
+    public void flushLogs(UUID executionRequestId, UUID testRunId) {
+        ramLogChannelService.flush(executionRequestId, testRunId);
+    }
+
     /**
      * Write itf log record with request execution results.
      *
@@ -323,6 +333,7 @@ public class RamService {
             returnValue.setConsoleLogs(jsExecutionResult.getConsoleLogs());
             if (Objects.nonNull(jsExecutionResult.getTestResults())) {
                 log.info("Write JS script execution into RAM adapter");
+                AtpRamWriter atpRamWriter = AtpRamWriter.getAtpRamWriter();
                 jsExecutionResult.getTestResults().forEach(testResult -> {
                     log.debug("Logging JS script execution into RAM Adapter: {}", testResult);
                     boolean isFailed = !testResult.getPassed() || testResult.getError() != null;
@@ -341,7 +352,6 @@ public class RamService {
                                     TypeAction.TECHNICAL.toString(),
                                     false);
                     log.info("Send rest message with id = {} into ram adapter", resultMessage.getUuid());
-                    AtpRamWriter atpRamWriter = AtpRamWriter.getAtpRamWriter();
                     atpRamWriter.writeLogRecordWithParentSections(atpRamWriter.getAdapter()::message, resultMessage);
                 });
             }
@@ -352,11 +362,12 @@ public class RamService {
     /**
      * Creates log records parts request from itf lite request.
      *
+     * @param testRunId                test run id
      * @param request                  itf lite request
      * @param requestExecutionResponse request execution response
      * @return log records parts request
      */
-    private org.qubership.atp.ram.models.logrecords.parts.Request createLogRecordPartsRequest(
+    private org.qubership.atp.ram.models.logrecords.parts.Request createLogRecordPartsRequest(@Nullable UUID testRunId,
             RequestEntitySaveRequest request, RequestExecutionResponse requestExecutionResponse, String logRecordId) {
         org.qubership.atp.ram.models.logrecords.parts.Request logRecordPartsRequest =
                 new org.qubership.atp.ram.models.logrecords.parts.Request();
@@ -369,7 +380,7 @@ public class RamService {
             if (nonNull(httpRequest.getBody())) {
                 StringJoiner sj = new StringJoiner("\n");
                 FileData fileData = httpRequest.getFile();
-                prepareRequestBody(sj, logRecordId, httpRequest.getBody(), fileData, logRecordPartsRequest);
+                prepareRequestBody(sj, testRunId, logRecordId, httpRequest, fileData, logRecordPartsRequest);
                 logRecordPartsRequest.setBody(sj.toString());
             }
             if (nonNull(httpRequest.getUrl())) {
@@ -390,22 +401,24 @@ public class RamService {
         return logRecordPartsRequest;
     }
 
-    private void prepareRequestBody(StringJoiner sj, String logRecordId, RequestBody body, FileData binary,
+    private void prepareRequestBody(StringJoiner sj, @Nullable UUID testRunId, String logRecordId,
+                                    HttpRequestEntitySaveRequest httpRequest, FileData binary,
                                     Request logRecordPartsRequest) {
+        RequestBody body = httpRequest.getBody();
         if (body.getType() != null) {
             switch (body.getType()) {
                 case Binary:
                     if (nonNull(binary)) {
-                        sj.add(createLinkToDownloadFile(logRecordId, null, binary));
-                        AtpRamWriter.getAtpRamWriter().uploadFileForLogRecord(logRecordId,
-                                new ByteArrayInputStream(binary.getContent()), binary.getFileName());
+                        sj.add(createLinkToDownloadFile(
+                                ramAttachmentService.uploadContent(testRunId, logRecordId, binary)));
                     }
                     logRecordPartsRequest.setHtmlBody(true);
                     return;
                 case FORM_DATA:
                     List<FormDataPart> fdps = body.getFormDataBody();
                     if (!CollectionUtils.isEmpty(fdps)) {
-                        fdps.forEach(fdp -> addFromDataPart(sj, logRecordId, fdp));
+                        fdps.forEach(fdp -> addFromDataPart(sj, testRunId, logRecordId, httpRequest.getModifiedWhen(),
+                                fdp));
                     }
                     logRecordPartsRequest.setHtmlBody(true);
                     return;
@@ -415,19 +428,17 @@ public class RamService {
         sj.add(body.getContent() == null ? "" : body.getContent());
     }
 
-    private void addFromDataPart(StringJoiner sj, String logRecordId, FormDataPart fdp) {
+    private void addFromDataPart(StringJoiner sj, @Nullable UUID testRunId, String logRecordId,
+                                 @Nullable Date modifiedWhen, FormDataPart fdp) {
         if (ValueType.TEXT.equals(fdp.getType())) {
             sj.add("%s: %s".formatted(fdp.getKey(), fdp.getValue()));
         } else {
             UUID fileId = fdp.getFileId();
             if (nonNull(fileId)) {
-                Optional<FileData> optFile = gridFsService.downloadFileByFileId(fileId);
-                if (optFile.isPresent()) {
-                    FileData file = optFile.get();
-                    sj.add("%s: %s".formatted(fdp.getKey(),
-                            createLinkToDownloadFile(logRecordId, fdp.getFileId(), file)));
-                    AtpRamWriter.getAtpRamWriter().uploadFileForLogRecord(logRecordId,
-                            new ByteArrayInputStream(file.getContent()), fdp.getFileId().toString());
+                RamAttachment attachment = ramAttachmentService.uploadFile(testRunId, logRecordId, fileId,
+                        modifiedWhen);
+                if (nonNull(attachment)) {
+                    sj.add("%s: %s".formatted(fdp.getKey(), createLinkToDownloadFile(attachment)));
                 }
             } else {
                 // if value type is file, but file not uploaded
@@ -436,39 +447,10 @@ public class RamService {
         }
     }
 
-    private String createLinkToDownloadFile(String logRecordId, @Nullable UUID fileId, FileData file) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<a href=").append(fileDownloadLink).append(RAM_DOWNLOAD_FILE_PATH).append(logRecordId)
-                .append("?fileName=");
-        if (nonNull(fileId)) {
-            sb.append(fileId);
-        } else {
-            sb.append(file.getFileName());
-        }
-        sb.append(" target=\"_blank\">").append(file.getFileName()).append("</a>");
-        return sb.toString();
-    }
-
-    /**
-     * Generate link to file and upload file to RAM.
-     *
-     * @param fileData              file
-     * @param logRecordPartsRequest LR request
-     * @param logRecordId           ID log record
-     * @param httpRequest           executed request
-     */
-    private void loadFileForLogRecord(FileData fileData,
-                                      org.qubership.atp.ram.models.logrecords.parts.Request logRecordPartsRequest,
-                                      String logRecordId, HttpRequestEntitySaveRequest httpRequest) {
-        if (fileData != null) {
-            StringJoiner body = new StringJoiner(
-                    httpRequest.getBody() == null ? "" : httpRequest.getBody().getContent() + "\n");
-            body.add("<a href=").add(fileDownloadLink).add(RAM_DOWNLOAD_FILE_PATH).add(logRecordId).add(">")
-                    .add(fileData.getFileName()).add("</a>");
-            logRecordPartsRequest.setBody(body.toString());
-            AtpRamWriter.getAtpRamWriter().uploadFileForLogRecord(logRecordId,
-                    new ByteArrayInputStream(fileData.getContent()), fileData.getFileName());
-        }
+    private String createLinkToDownloadFile(RamAttachment attachment) {
+        return "<a href=" + fileDownloadLink + RAM_DOWNLOAD_FILE_PATH + attachment.getLogRecordId()
+                + "?fileName=" + attachment.getFileName()
+                + " target=\"_blank\">" + attachment.getDisplayName() + "</a>";
     }
 
     /**
@@ -0,0 +1,330 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.feign.service;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.qubership.atp.auth.springbootstarter.feign.exception.FeignClientException;
+import org.qubership.atp.itf.lite.backend.configuration.ScriptEngineSessionProperties;
+import org.qubership.atp.itf.lite.backend.feign.clients.JsScriptEngineFeignClient;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptContextDeltaDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptScopeDeltaDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionExecuteRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionExecuteResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionOpenRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionOpenResponseDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.hash.Hashing;
+import feign.FeignException;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes scripts of collection run in one script engine session.
+ * Session keeps variables between steps, so only variables changed since previous step are sent,
+ * script source is sent once and then referred by its hash.
+ * If script engine doesn't support sessions, scripts are executed one by one with full context.
+ */
+@Service
+@Slf4j
+public class ScriptEngineSessionService {
+
+    private final JsScriptEngineFeignClient jsScriptEngineFeignClient;
+    private final ScriptEngineSessionProperties properties;
+    private final Cache<UUID, ScriptSession> sessions;
+    private final AtomicBoolean sessionsSupported = new AtomicBoolean(true);
+
+    /**
+     * Constructor.
+     */
+    public ScriptEngineSessionService(JsScriptEngineFeignClient jsScriptEngineFeignClient,
+                                      ScriptEngineSessionProperties properties) {
+        this.jsScriptEngineFeignClient = jsScriptEngineFeignClient;
+        this.properties = properties;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getTtlSec(), TimeUnit.SECONDS)
+                .maximumSize(properties.getMaxSessions())
+                .removalListener((UUID runId, ScriptSession session, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && nonNull(session)) {
+                        closeLocked(session);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Execute script in session of collection run or by separate call if there is no run.
+     *
+     * @param runId   collection run id
+     * @param request script with full context of step
+     * @return script execution result with full context after execution
+     */
+    public PostmanExecuteScriptResponseDto execute(@Nullable UUID runId, PostmanExecuteScriptRequestDto request) {
+        if (isNull(runId) || !properties.isEnabled() || !sessionsSupported.get()) {
+            return jsScriptEngineFeignClient.executePostmanScript(request).getBody();
+        }
+        ScriptSession session = sessions.get(runId, id -> new ScriptSession());
+        // lock doesn't pin virtual thread of step to carrier while it waits for script engine
+        session.lock.lock();
+        try {
+            if (isNull(session.sessionId) && !open(session, request)) {
+                return jsScriptEngineFeignClient.executePostmanScript(request).getBody();
+            }
+            try {
+                return executeInSession(session, request);
+            } catch (RuntimeException e) {
+                if (getStatus(e) != HttpStatus.NOT_FOUND.value()) {
+                    throw e;
+                }
+                log.warn("Script engine session {} of run {} is not found, open new one",
+                        session.sessionId, runId);
+                session.reset();
+                if (!open(session, request)) {
+                    return jsScriptEngineFeignClient.executePostmanScript(request).getBody();
+                }
+                return executeInSession(session, request);
+            }
+        } catch (RuntimeException e) {
+            // state of session is unknown after failed execution, next step starts new session
+            close(session);
+            throw e;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Close all sessions opened by pod.
+     */
+    @PreDestroy
+    public void closeAll() {
+        sessions.asMap().values().forEach(this::closeLocked);
+        sessions.invalidateAll();
+    }
+
+    private boolean open(ScriptSession session, PostmanExecuteScriptRequestDto request) {
+        PostmanDto context = copyContext(request.getPostman());
+        ScriptSessionOpenResponseDto response;
+        try {
+            response = jsScriptEngineFeignClient.openScriptSession(new ScriptSessionOpenRequestDto()
+                    .projectId(request.getProjectId())
+                    .postman(context)).getBody();
+        } catch (RuntimeException e) {
+            int status = getStatus(e);
+            if (status == HttpStatus.NOT_FOUND.value() || status == HttpStatus.METHOD_NOT_ALLOWED.value()
+                    || status == HttpStatus.NOT_IMPLEMENTED.value()) {
+                log.warn("Script engine doesn't support sessions, scripts are executed by separate calls");
+                sessionsSupported.set(false);
+                return false;
+            }
+            throw e;
+        }
+        Objects.requireNonNull(response, "Script engine returned empty session");
+        session.sessionId = response.getSessionId();
+        session.context = context;
+        log.debug("Script engine session {} is opened", session.sessionId);
+        return true;
+    }
+
+    private PostmanExecuteScriptResponseDto executeInSession(ScriptSession session,
+                                                             PostmanExecuteScriptRequestDto request) {
+        PostmanDto postman = request.getPostman();
+        String scriptHash = Hashing.sha256().hashString(request.getScript(), StandardCharsets.UTF_8).toString();
+        ScriptSessionExecuteRequestDto sessionRequest = new ScriptSessionExecuteRequestDto()
+                .scriptHash(scriptHash)
+                .contextDelta(getContextDelta(session.context, postman))
+                .postman(new PostmanDto()
+                        .postmanRequest(postman.getPostmanRequest())
+                        .postmanResponse(postman.getPostmanResponse())
+                        .cookies(postman.getCookies()));
+        if (!session.scriptHashes.contains(scriptHash)) {
+            sessionRequest.setScript(request.getScript());
+        }
+        ScriptSessionExecuteResponseDto sessionResponse;
+        try {
+            sessionResponse = jsScriptEngineFeignClient.executeScriptInSession(session.sessionId, sessionRequest)
+                    .getBody();
+        } catch (RuntimeException e) {
+            if (nonNull(sessionRequest.getScript()) || getStatus(e) != HttpStatus.CONFLICT.value()) {
+                throw e;
+            }
+            log.debug("Script {} is unknown by script engine session {}, send it again",
+                    scriptHash, session.sessionId);
+            sessionRequest.setScript(request.getScript());
+            sessionResponse = jsScriptEngineFeignClient.executeScriptInSession(session.sessionId, sessionRequest)
+                    .getBody();
+        }
+        Objects.requireNonNull(sessionResponse, "Script engine returned empty result");
+        session.scriptHashes.add(scriptHash);
+
+        PostmanDto context = copyContext(postman);
+        applyContextDelta(context, sessionResponse.getContextDelta());
+        session.context = copyContext(context);
+        PostmanDto resultPostman = nonNull(sessionResponse.getPostman()) ? sessionResponse.getPostman()
+                : new PostmanDto().postmanRequest(postman.getPostmanRequest())
+                        .postmanResponse(postman.getPostmanResponse())
+                        .cookies(postman.getCookies());
+        resultPostman
+                .globals(context.getGlobals())
+                .collectionVariables(context.getCollectionVariables())
+                .environment(context.getEnvironment())
+                .iterationData(context.getIterationData())
+                .variables(context.getVariables());
+        PostmanExecuteScriptResponseDto response = new PostmanExecuteScriptResponseDto()
+                .testResults(sessionResponse.getTestResults())
+                .hasNextRequest(sessionResponse.getHasNextRequest())
+                .nextRequest(sessionResponse.getNextRequest());
+        response.setPostman(resultPostman);
+        response.setConsoleLogs(sessionResponse.getConsoleLogs());
+        return response;
+    }
+
+    private void closeLocked(ScriptSession session) {
+        session.lock.lock();
+        try {
+            close(session);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    private void close(ScriptSession session) {
+        if (isNull(session.sessionId)) {
+            return;
+        }
+        UUID sessionId = session.sessionId;
+        session.reset();
+        try {
+            jsScriptEngineFeignClient.closeScriptSession(sessionId);
+            log.debug("Script engine session {} is closed", sessionId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to close script engine session {}", sessionId, e);
+        }
+    }
+
+    private static int getStatus(RuntimeException e) {
+        if (e instanceof FeignClientException) {
+            Integer status = ((FeignClientException) e).getStatus();
+            return isNull(status) ? -1 : status;
+        }
+        if (e instanceof FeignException) {
+            return ((FeignException) e).status();
+        }
+        return -1;
+    }
+
+    private static PostmanDto copyContext(PostmanDto postman) {
+        return new PostmanDto()
+                .globals(copyScope(postman.getGlobals()))
+                .collectionVariables(copyScope(postman.getCollectionVariables()))
+                .environment(copyScope(postman.getEnvironment()))
+                .iterationData(copyScope(postman.getIterationData()))
+                .variables(copyScope(postman.getVariables()));
+    }
+
+    private static Map<String, Object> copyScope(@Nullable Map<String, Object> scope) {
+        return isNull(scope) ? new HashMap<>() : new HashMap<>(scope);
+    }
+
+    private static ScriptContextDeltaDto getContextDelta(PostmanDto previous, PostmanDto current) {
+        return new ScriptContextDeltaDto()
+                .globals(getScopeDelta(previous.getGlobals(), current.getGlobals()))
+                .collectionVariables(getScopeDelta(previous.getCollectionVariables(),
+                        current.getCollectionVariables()))
+                .environment(getScopeDelta(previous.getEnvironment(), current.getEnvironment()))
+                .iterationData(getScopeDelta(previous.getIterationData(), current.getIterationData()))
+                .variables(getScopeDelta(previous.getVariables(), current.getVariables()));
+    }
+
+    private static ScriptScopeDeltaDto getScopeDelta(@Nullable Map<String, Object> previous,
+                                                     @Nullable Map<String, Object> current) {
+        Map<String, Object> previousScope = isNull(previous) ? Collections.emptyMap() : previous;
+        Map<String, Object> currentScope = isNull(current) ? Collections.emptyMap() : current;
+        ScriptScopeDeltaDto delta = new ScriptScopeDeltaDto();
+        currentScope.forEach((key, value) -> {
+            if (!previousScope.containsKey(key) || !Objects.equals(previousScope.get(key), value)) {
+                delta.getSet().put(key, value);
+            }
+        });
+        previousScope.keySet().stream()
+                .filter(key -> !currentScope.containsKey(key))
+                .forEach(delta.getUnset()::add);
+        return delta;
+    }
+
+    private static void applyContextDelta(PostmanDto context, @Nullable ScriptContextDeltaDto delta) {
+        if (isNull(delta)) {
+            return;
+        }
+        applyScopeDelta(context.getGlobals(), delta.getGlobals());
+        applyScopeDelta(context.getCollectionVariables(), delta.getCollectionVariables());
+        applyScopeDelta(context.getEnvironment(), delta.getEnvironment());
+        applyScopeDelta(context.getIterationData(), delta.getIterationData());
+        applyScopeDelta(context.getVariables(), delta.getVariables());
+    }
+
+    private static void applyScopeDelta(Map<String, Object> scope, @Nullable ScriptScopeDeltaDto delta) {
+        if (isNull(delta)) {
+            return;
+        }
+        if (nonNull(delta.getUnset())) {
+            delta.getUnset().forEach(scope::remove);
+        }
+        if (nonNull(delta.getSet())) {
+            scope.putAll(delta.getSet());
+        }
+    }
+
+    private static class ScriptSession {
+        // null until session is opened in script engine
+        private UUID sessionId;
+        // variables as script engine session knows them
+        private PostmanDto context;
+        private final Set<String> scriptHashes = new HashSet<>();
+        // steps of run are executed one by one in session
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private void reset() {
+            sessionId = null;
+            context = null;
+            scriptHashes.clear();
+        }
+    }
+}
@@ -58,6 +58,7 @@ public interface ApiPath {
     String CONTEXT_PATH = "/context";
     String COPY_PATH = "/copy";
     String COUNT_HEIRS_PATH = "/countHeirs";
+    String CURSOR_PATH = "/cursor";
     String DICTIONARY_PATH = "/dictionary";
     String BINARY_PATH = "/binary";
     String FILE_PATH = "/file";
@@ -62,6 +62,8 @@ public class OAuth2AuthorizationSaveRequest extends AuthorizationSaveRequest {
 
     private String token;
 
+    private boolean disableTokenCache;
+
     @Override
     public Class<? extends RequestAuthorization> getAuthEntityType() {
         return OAuth2RequestAuthorization.class;
@@ -33,6 +33,8 @@ import org.qubership.atp.itf.lite.backend.model.entities.Folder;
 import org.qubership.atp.itf.lite.backend.model.entities.Request;
 import org.qubership.atp.itf.lite.backend.model.entities.http.HttpRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.http.methods.HttpMethod;
+import org.qubership.atp.itf.lite.backend.model.tree.FolderTreeItem;
+import org.qubership.atp.itf.lite.backend.model.tree.RequestTreeItem;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.annotation.Nullable;
@@ -114,6 +116,33 @@ public class GroupResponse implements Comparable<GroupResponse> {
         }
     }
 
+    /**
+     * Constructor.
+     * @param request request tree item
+     * @param parentAuth parent auth for request
+     */
+    public GroupResponse(RequestTreeItem request, @Nullable ParentRequestAuthorization parentAuth) {
+        this(request.getId(), request.getName(), EntityType.REQUEST, request.getOrder(), request.getCreatedWhen(),
+                parentAuth, request.getModifiedWhen());
+        this.authType = request.getAuthType();
+        this.transportType = request.getTransportType();
+        if (TransportType.REST.equals(request.getTransportType())
+                || TransportType.SOAP.equals(request.getTransportType())) {
+            this.httpMethod = request.getHttpMethod();
+        }
+    }
+
+    /**
+     * Constructor.
+     * @param folder folder tree item
+     * @param parentAuth parent auth for folder
+     */
+    public GroupResponse(FolderTreeItem folder, @Nullable ParentRequestAuthorization parentAuth) {
+        this(folder.getId(), folder.getName(), EntityType.FOLDER, folder.getOrder(), folder.getCreatedWhen(),
+                parentAuth, folder.getModifiedWhen());
+        this.authType = folder.getAuthType();
+    }
+
     /**
      * GroupResponse constructor.
      */
@@ -148,6 +177,6 @@ public class GroupResponse implements Comparable<GroupResponse> {
             return 0;
         }
 
-        return order - node.order;
+        return Integer.compare(order, node.order);
     }
 }
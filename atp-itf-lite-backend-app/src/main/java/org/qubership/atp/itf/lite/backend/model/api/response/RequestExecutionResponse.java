@@ -16,8 +16,12 @@
 
 package org.qubership.atp.itf.lite.backend.model.api.response;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -34,6 +38,7 @@ import org.qubership.atp.itf.lite.backend.model.api.dto.ResponseCookie;
 import org.qubership.atp.itf.lite.backend.model.api.request.ContextVariable;
 import org.qubership.atp.itf.lite.backend.model.api.request.http.HttpHeaderSaveRequest;
 import org.qubership.atp.itf.lite.backend.model.context.SaveRequestResolvingContext;
+import org.qubership.atp.itf.lite.backend.utils.ResponseBodyBuffer;
 import org.springframework.util.CollectionUtils;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -54,6 +59,16 @@ public class RequestExecutionResponse implements Serializable {
     private UUID id;
     private List<RequestExecutionHeaderResponse> responseHeaders;
     private String body;
+    // Body is a preview of the response body which is too big to be kept in memory
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean bodyTruncated;
+    // Raw body kept in memory or temporary file, is used by history and scripts and is not sent to UI
+    @JsonIgnore
+    private transient ResponseBodyBuffer bodyContent;
+    @JsonIgnore
+    private transient Charset bodyCharset;
+    @JsonIgnore
+    private transient boolean binaryBody;
     private RequestBodyType bodyType;
     private String statusCode;
     private String statusText;
@@ -72,6 +87,42 @@ public class RequestExecutionResponse implements Serializable {
     private List<ResponseCookie> cookies;
     private HttpHeaderSaveRequest cookieHeader;
 
+    /**
+     * Get full body text, body of big response is read from temporary file only when it's asked for.
+     *
+     * @return full body text
+     */
+    @JsonIgnore
+    public String getFullBody() {
+        if (!bodyTruncated) {
+            return body;
+        }
+        try {
+            return bodyContent.toString(bodyCharset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get body to store in history: raw bytes of binary body or UTF-8 encoded text.
+     *
+     * @return body bytes
+     */
+    @JsonIgnore
+    public byte[] getHistoryBody() {
+        try {
+            boolean rawBody = binaryBody || (bodyTruncated && StandardCharsets.UTF_8.equals(bodyCharset));
+            if (bodyContent != null && rawBody) {
+                return bodyContent.toByteArray();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String fullBody = getFullBody();
+        return fullBody == null ? null : fullBody.getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * Update fields by PostmanPostmanResponseDto.
      */
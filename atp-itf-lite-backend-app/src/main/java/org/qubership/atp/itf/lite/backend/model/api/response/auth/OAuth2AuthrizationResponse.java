@@ -28,4 +28,14 @@ public class OAuth2AuthrizationResponse {
 
     @JsonProperty("access_token")
     private String accessToken;
+
+    @JsonProperty("expires_in")
+    private Long expiresIn;
+
+    /**
+     * Constructor for response without expiration.
+     */
+    public OAuth2AuthrizationResponse(String accessToken) {
+        this.accessToken = accessToken;
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.model.api.response.auth;
+
+import java.io.Serializable;
+
+import org.qubership.atp.itf.lite.backend.annotations.SerializableCheckable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SerializableCheckable
+public class OAuth2CachedToken implements Serializable {
+
+    private String accessToken;
+    private long expiresAt;
+
+    public long getTimeToLiveMs() {
+        return expiresAt - System.currentTimeMillis();
+    }
+
+    public boolean isExpired() {
+        return getTimeToLiveMs() <= 0;
+    }
+}
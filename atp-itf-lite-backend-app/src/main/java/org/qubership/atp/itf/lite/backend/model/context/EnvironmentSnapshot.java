@@ -0,0 +1,42 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.model.context;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.qubership.atp.itf.lite.backend.model.api.response.environments.System;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable view of environment systems together with variables flattened by
+ * {@link SaveRequestResolvingContext#parseSystems(List)}.
+ */
+@Getter
+@AllArgsConstructor
+public class EnvironmentSnapshot {
+
+    private final UUID environmentId;
+    // increased each time environment is loaded, equal versions mean the same environment state
+    private final long version;
+    private final List<System> systems;
+    // lower-cased "system.connection.parameter" names
+    private final Map<String, Object> variables;
+}
@@ -21,16 +21,22 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.qubership.atp.itf.lite.backend.components.replacer.ParsedTemplate;
 import org.qubership.atp.itf.lite.backend.enums.ContextScope;
 import org.qubership.atp.itf.lite.backend.model.api.request.ContextVariable;
 import org.qubership.atp.itf.lite.backend.model.api.response.environments.System;
 import org.springframework.util.CollectionUtils;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
 @Builder
@@ -50,6 +56,19 @@ public class SaveRequestResolvingContext {
     // environment values from environment service
     private Map<String, Object> environmentVariables;
 
+    // texts parsed during execution, masked and real resolving of request reuse them
+    @Builder.Default
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Map<String, ParsedTemplate> parsedTemplates = new HashMap<>();
+
+    // collection run id, script engine session is shared by all steps of the run
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private UUID scriptSessionId;
+
     private static final Pattern contextKeysPattern = Pattern.compile(
             "^(?<scope>ITF_LITE_GLOBALS_|"
                     + "ITF_LITE_COLLECTIONVARIABLES_|"
@@ -109,6 +128,27 @@ public class SaveRequestResolvingContext {
         return environmentVariables;
     }
 
+    /**
+     * Get text split into literal and variable segments, text is parsed once per context.
+     *
+     * @param value text with templates
+     * @return parsed template
+     */
+    public ParsedTemplate getParsedTemplate(String value) {
+        return getParsedTemplate(value, ParsedTemplate::parse);
+    }
+
+    /**
+     * Get text split into literal and variable segments, text is parsed by parser once per context.
+     *
+     * @param value  text with templates
+     * @param parser function parsing text not parsed in this context yet
+     * @return parsed template
+     */
+    public ParsedTemplate getParsedTemplate(String value, Function<String, ParsedTemplate> parser) {
+        return parsedTemplates.computeIfAbsent(value, parser);
+    }
+
     /**
      * Collect fields class to scope.
      */
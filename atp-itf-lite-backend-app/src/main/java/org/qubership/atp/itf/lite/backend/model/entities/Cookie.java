@@ -17,10 +17,12 @@
 package org.qubership.atp.itf.lite.backend.model.entities;
 
 import java.io.Serializable;
+import java.util.Date;
 import java.util.UUID;
 
 import org.qubership.atp.itf.lite.backend.annotations.SerializableCheckable;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -49,4 +51,8 @@ public class Cookie extends AbstractEntity implements Serializable {
     @Column(name = "test_run_id")
     private UUID testRunId;
     private boolean disabled;
+    // calculated from Expires/Max-Age when cookie is saved, null for session cookies
+    @JsonIgnore
+    @Column(name = "expires_at")
+    private Date expiresAt;
 }
@@ -81,6 +81,10 @@ public class OAuth2RequestAuthorization extends RequestAuthorization {
     @Column(name = "token")
     private String token;
 
+    @Column(name = "disable_token_cache")
+    @DiffInclude
+    private boolean disableTokenCache;
+
     /**
      * Copy OAuth2RequestAuthorization constructor.
      * @param authorization authorization
@@ -98,6 +102,7 @@ public class OAuth2RequestAuthorization extends RequestAuthorization {
         this.scope = authorization.getScope();
         this.state = authorization.getState();
         this.token = authorization.getToken();
+        this.disableTokenCache = authorization.isDisableTokenCache();
     }
 
     /**
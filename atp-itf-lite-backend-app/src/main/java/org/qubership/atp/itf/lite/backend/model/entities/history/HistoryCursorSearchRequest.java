@@ -0,0 +1,55 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.model.entities.history;
+
+import java.util.UUID;
+
+import org.qubership.atp.itf.lite.backend.enums.HistoryCountMode;
+
+import brave.internal.Nullable;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistoryCursorSearchRequest {
+
+    public static final int MAX_LIMIT = 1000;
+
+    @NotNull
+    private UUID projectId;
+
+    @Positive
+    @Max(MAX_LIMIT)
+    private int limit;
+
+    @Nullable
+    private HistoryFilteringParams filters;
+
+    /**
+     * Last item of the previous page, null for the first page.
+     */
+    @Nullable
+    private HistoryCursor cursor;
+
+    private HistoryCountMode countMode = HistoryCountMode.NONE;
+}
@@ -16,6 +16,7 @@
 
 package org.qubership.atp.itf.lite.backend.model.entities.history;
 
+import java.util.Date;
 import java.util.List;
 
 import org.qubership.atp.itf.lite.backend.enums.TransportType;
@@ -27,4 +28,6 @@ public class HistoryFilteringParams {
     private List<String> executor;
     private List<String> request;
     private List<TransportType> type;
+    private Date executedFrom;
+    private Date executedTo;
 }
@@ -16,7 +16,6 @@
 
 package org.qubership.atp.itf.lite.backend.model.entities.history;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -115,8 +114,11 @@ public class RequestExecutionDetails extends AbstractEntity {
                        RequestExecutionResponse response, Exception errorMessage, HistoryRequestBody requestBody) {
         this.requestExecution = requestExecution;
         this.requestBody = requestBody;
-        if (response != null && response.getBody() != null) {
-            this.responseBodyByte = response.getBody().getBytes(StandardCharsets.UTF_8);
+        if (response != null) {
+            byte[] historyBody = response.getHistoryBody();
+            if (historyBody != null) {
+                this.responseBodyByte = historyBody;
+            }
         }
         this.errorMessage = RequestUtils.getErrorResponse(errorMessage);
         this.requestPreScript = request.getPreScripts();
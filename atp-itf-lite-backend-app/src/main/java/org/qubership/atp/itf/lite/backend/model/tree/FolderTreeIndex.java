@@ -0,0 +1,67 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.model.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Folders and requests of a project indexed by parent folder in one pass,
+ * so children of any folder are found without scanning the whole project.
+ * Top level folders and requests are indexed by null parent.
+ */
+public class FolderTreeIndex {
+
+    private final Map<UUID, FolderTreeItem> folders = new HashMap<>();
+    private final Map<UUID, List<FolderTreeItem>> childFolders = new HashMap<>();
+    private final Map<UUID, List<RequestTreeItem>> childRequests = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param folders  folders of project
+     * @param requests requests of project
+     */
+    public FolderTreeIndex(Collection<FolderTreeItem> folders, Collection<RequestTreeItem> requests) {
+        folders.forEach(folder -> {
+            this.folders.put(folder.getId(), folder);
+            childFolders.computeIfAbsent(folder.getParentId(), parentId -> new ArrayList<>()).add(folder);
+        });
+        requests.forEach(request ->
+                childRequests.computeIfAbsent(request.getFolderId(), folderId -> new ArrayList<>()).add(request));
+    }
+
+    @Nullable
+    public FolderTreeItem getFolder(UUID folderId) {
+        return folders.get(folderId);
+    }
+
+    public List<FolderTreeItem> getChildFolders(@Nullable UUID parentId) {
+        return childFolders.getOrDefault(parentId, Collections.emptyList());
+    }
+
+    public List<RequestTreeItem> getChildRequests(@Nullable UUID folderId) {
+        return childRequests.getOrDefault(folderId, Collections.emptyList());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.model.tree;
+
+import static java.util.Objects.nonNull;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.UUID;
+
+import org.qubership.atp.itf.lite.backend.annotations.SerializableCheckable;
+import org.qubership.atp.itf.lite.backend.enums.auth.RequestAuthorizationType;
+import org.qubership.atp.itf.lite.backend.model.entities.Folder;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Folder fields required to build folders and requests tree.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SerializableCheckable
+public class FolderTreeItem implements Serializable {
+    private UUID id;
+    private String name;
+    private UUID parentId;
+    private Integer order;
+    private Date createdWhen;
+    private Date modifiedWhen;
+    private RequestAuthorizationType authType;
+    private UUID permissionFolderId;
+
+    /**
+     * Constructor.
+     *
+     * @param folder folder
+     */
+    public FolderTreeItem(Folder folder) {
+        this(folder.getId(), folder.getName(), folder.getParentId(), folder.getOrder(), folder.getCreatedWhen(),
+                folder.getModifiedWhen(),
+                nonNull(folder.getAuthorization()) ? folder.getAuthorization().getType() : null,
+                folder.getPermissionFolderId());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.model.tree;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.qubership.atp.itf.lite.backend.annotations.SerializableCheckable;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versioned snapshot of project folders and requests tree items.
+ * Snapshot stored in cache is never changed, every change produces a copy with the next version.
+ */
+@Data
+@NoArgsConstructor
+@SerializableCheckable
+public class ProjectTreeSnapshot implements Serializable {
+    private UUID projectId;
+    private long version;
+    private Map<UUID, FolderTreeItem> folders = new HashMap<>();
+    private Map<UUID, RequestTreeItem> requests = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param projectId project id
+     * @param folders   folders of project
+     * @param requests  requests of project
+     */
+    public ProjectTreeSnapshot(UUID projectId, Collection<FolderTreeItem> folders,
+                               Collection<RequestTreeItem> requests) {
+        this.projectId = projectId;
+        folders.forEach(folder -> this.folders.put(folder.getId(), folder));
+        requests.forEach(request -> this.requests.put(request.getId(), request));
+    }
+
+    /**
+     * Copy snapshot with incremented version.
+     *
+     * @return snapshot copy
+     */
+    public ProjectTreeSnapshot nextVersion() {
+        ProjectTreeSnapshot snapshot = new ProjectTreeSnapshot();
+        snapshot.setProjectId(projectId);
+        snapshot.setVersion(version + 1);
+        snapshot.setFolders(new HashMap<>(folders));
+        snapshot.setRequests(new HashMap<>(requests));
+        return snapshot;
+    }
+
+    /**
+     * Build tree index from snapshot.
+     *
+     * @param onlyFolders true if requests shouldn't be indexed
+     * @return tree index
+     */
+    public FolderTreeIndex toIndex(boolean onlyFolders) {
+        return new FolderTreeIndex(folders.values(),
+                onlyFolders ? Collections.emptyList() : requests.values());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.model.tree;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.Getter;
+
+/**
+ * Change of saved and deleted items of project tree snapshot.
+ * Change is applied under project lock, so concurrent changes of one project
+ * are applied one by one and none of them is lost.
+ */
+@Getter
+public class ProjectTreeSnapshotChange {
+    private final Map<UUID, FolderTreeItem> savedFolders = new HashMap<>();
+    private final Map<UUID, RequestTreeItem> savedRequests = new HashMap<>();
+    private final Set<UUID> deletedFolderIds = new HashSet<>();
+    private final Set<UUID> deletedRequestIds = new HashSet<>();
+
+    /**
+     * Create change of saved folders.
+     *
+     * @param folders saved folders
+     * @return change
+     */
+    public static ProjectTreeSnapshotChange foldersSaved(Collection<FolderTreeItem> folders) {
+        ProjectTreeSnapshotChange change = new ProjectTreeSnapshotChange();
+        folders.forEach(folder -> change.savedFolders.put(folder.getId(), folder));
+        return change;
+    }
+
+    /**
+     * Create change of saved requests.
+     *
+     * @param requests saved requests
+     * @return change
+     */
+    public static ProjectTreeSnapshotChange requestsSaved(Collection<RequestTreeItem> requests) {
+        ProjectTreeSnapshotChange change = new ProjectTreeSnapshotChange();
+        requests.forEach(request -> change.savedRequests.put(request.getId(), request));
+        return change;
+    }
+
+    /**
+     * Create change of deleted folders.
+     *
+     * @param folderIds deleted folder ids
+     * @return change
+     */
+    public static ProjectTreeSnapshotChange foldersDeleted(Collection<UUID> folderIds) {
+        ProjectTreeSnapshotChange change = new ProjectTreeSnapshotChange();
+        change.deletedFolderIds.addAll(folderIds);
+        return change;
+    }
+
+    /**
+     * Create change of deleted requests.
+     *
+     * @param requestIds deleted request ids
+     * @return change
+     */
+    public static ProjectTreeSnapshotChange requestsDeleted(Collection<UUID> requestIds) {
+        ProjectTreeSnapshotChange change = new ProjectTreeSnapshotChange();
+        change.deletedRequestIds.addAll(requestIds);
+        return change;
+    }
+
+    /**
+     * Apply change to the copy of snapshot with the next version.
+     *
+     * @param snapshot snapshot
+     * @return changed snapshot copy
+     */
+    public ProjectTreeSnapshot applyTo(ProjectTreeSnapshot snapshot) {
+        ProjectTreeSnapshot updated = snapshot.nextVersion();
+        updated.getFolders().putAll(savedFolders);
+        updated.getRequests().putAll(savedRequests);
+        deletedFolderIds.forEach(updated.getFolders()::remove);
+        deletedRequestIds.forEach(updated.getRequests()::remove);
+        return updated;
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.model.tree;
+
+import static java.util.Objects.nonNull;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.UUID;
+
+import org.qubership.atp.itf.lite.backend.annotations.SerializableCheckable;
+import org.qubership.atp.itf.lite.backend.enums.TransportType;
+import org.qubership.atp.itf.lite.backend.enums.auth.RequestAuthorizationType;
+import org.qubership.atp.itf.lite.backend.model.entities.Request;
+import org.qubership.atp.itf.lite.backend.model.entities.http.HttpRequest;
+import org.qubership.atp.itf.lite.backend.model.entities.http.methods.HttpMethod;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request fields required to build folders and requests tree.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SerializableCheckable
+public class RequestTreeItem implements Serializable {
+    private UUID id;
+    private String name;
+    private UUID folderId;
+    private Integer order;
+    private Date createdWhen;
+    private Date modifiedWhen;
+    private TransportType transportType;
+    private HttpMethod httpMethod;
+    private RequestAuthorizationType authType;
+    private UUID permissionFolderId;
+
+    /**
+     * Constructor.
+     *
+     * @param request request
+     */
+    public RequestTreeItem(Request request) {
+        this(request.getId(), request.getName(), request.getFolderId(), request.getOrder(),
+                request.getCreatedWhen(), request.getModifiedWhen(), request.getTransportType(),
+                request instanceof HttpRequest httpRequest ? httpRequest.getHttpMethod() : null,
+                nonNull(request.getAuthorization()) ? request.getAuthorization().getType() : null,
+                request.getPermissionFolderId());
+    }
+}
@@ -16,13 +16,7 @@
 
 package org.qubership.atp.itf.lite.backend.schedulers;
 
-import java.net.HttpCookie;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-
 import org.qubership.atp.common.lock.LockManager;
-import org.qubership.atp.itf.lite.backend.model.entities.Cookie;
 import org.qubership.atp.itf.lite.backend.service.CookieService;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -46,18 +40,7 @@ public class CookiesCleaner {
     private void cleanupCookies() {
         log.info("Start cookies cleanup");
         cookieService.deleteIfErIdOrTrIdSpecified();
-        List<Cookie> cookies = cookieService.getAll();
-        List<UUID> cookiesToDelete = new ArrayList<>();
-        cookies.forEach(cookie -> {
-            List<HttpCookie> parsedCookies = HttpCookie.parse(cookie.getValue());
-            for (HttpCookie parsedCookie : parsedCookies) {
-                if (parsedCookie.hasExpired()) {
-                    cookiesToDelete.add(cookie.getId());
-                    break;
-                }
-            }
-        });
-        cookieService.deleteAllByIdIn(cookiesToDelete);
-        log.info("Finish cookies cleanup");
+        int deleted = cookieService.deleteExpired();
+        log.info("Finish cookies cleanup, {} expired cookies deleted", deleted);
     }
 }
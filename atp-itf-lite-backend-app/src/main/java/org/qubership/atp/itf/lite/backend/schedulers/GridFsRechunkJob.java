@@ -0,0 +1,54 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.schedulers;
+
+import org.qubership.atp.common.lock.LockManager;
+import org.qubership.atp.itf.lite.backend.configuration.GridFsProperties;
+import org.qubership.atp.itf.lite.backend.service.GridFsService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rewrites GridFS files stored with small chunks (1 KB chunks were used by default earlier)
+ * in small batches, so migration doesn't load database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GridFsRechunkJob {
+
+    private final GridFsService gridFsService;
+    private final GridFsProperties gridFsProperties;
+    private final LockManager lockManager;
+
+    @Scheduled(cron = "${gridfs.rechunk.cron.expression:0 0/10 * * * *}")
+    public void rechunkFilesWithLockManager() {
+        if (gridFsProperties.isRechunkEnabled()) {
+            lockManager.executeWithLock("gridFsRechunk", this::rechunkFiles);
+        }
+    }
+
+    private void rechunkFiles() {
+        int rechunked = gridFsService.rechunkFiles(gridFsProperties.getRechunkBatchSize());
+        if (rechunked > 0) {
+            log.info("{} GridFS files rewritten with chunk size {}", rechunked, gridFsProperties.getChunkSizeBytes());
+        }
+    }
+}
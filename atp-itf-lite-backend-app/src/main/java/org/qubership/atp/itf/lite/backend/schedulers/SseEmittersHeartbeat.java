@@ -0,0 +1,41 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.schedulers;
+
+import org.qubership.atp.itf.lite.backend.service.SseEmitterService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Pings sse emitters of the pod to prolong UI connections.
+ * Runs on each pod without lock because emitters are kept in memory of the pod.
+ * Pings are sent asynchronously, scheduler thread doesn't wait for them.
+ */
+@Component
+@RequiredArgsConstructor
+public class SseEmittersHeartbeat {
+
+    private final SseEmitterService sseEmitterService;
+
+    @Scheduled(fixedDelayString = "${atp.itf.lite.sse-ping-timeout:30000}",
+            initialDelayString = "${atp.itf.lite.sse-ping-timeout:30000}")
+    public void pingEmitters() {
+        sseEmitterService.pingEmitters();
+    }
+}
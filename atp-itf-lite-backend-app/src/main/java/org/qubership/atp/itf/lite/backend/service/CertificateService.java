@@ -68,7 +68,18 @@ public class CertificateService {
      * @return File instance.
      */
     public File getCertificateVerificationFile(UUID projectId) {
-        FileInfoDto trustStoreFileInfo = getCertificate(projectId).getTrustStoreFileInfo();
+        return getCertificateVerificationFile(projectId, getCertificate(projectId));
+    }
+
+    /**
+     * Get certificate verification file of already obtained certificate.
+     *
+     * @param projectId projectId
+     * @param certificate project certificate
+     * @return File instance.
+     */
+    public File getCertificateVerificationFile(UUID projectId, CertificateDto certificate) {
+        FileInfoDto trustStoreFileInfo = certificate.getTrustStoreFileInfo();
 
         return getFileOrDownload(projectId, trustStoreFileInfo);
     }
@@ -80,7 +91,18 @@ public class CertificateService {
      * @return File instance.
      */
     public File getClientCertificateFile(UUID projectId) {
-        FileInfoDto keyStoreFileInfo = getCertificate(projectId).getKeyStoreFileInfo();
+        return getClientCertificateFile(projectId, getCertificate(projectId));
+    }
+
+    /**
+     * Get client certificate file of already obtained certificate.
+     *
+     * @param projectId projectId
+     * @param certificate project certificate
+     * @return File instance.
+     */
+    public File getClientCertificateFile(UUID projectId, CertificateDto certificate) {
+        FileInfoDto keyStoreFileInfo = certificate.getKeyStoreFileInfo();
 
         return getFileOrDownload(projectId, keyStoreFileInfo);
     }
@@ -23,11 +23,14 @@ import java.net.HttpCookie;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -95,6 +98,9 @@ public class CookieService {
     @Transactional
     public List<Cookie> save(List<Cookie> cookies) {
         cookies = filterExpired(cookies);
+        cookies.stream()
+                .filter(cookie -> cookie.getExpiresAt() == null)
+                .forEach(cookie -> cookie.setExpiresAt(getExpiresAt(cookie)));
         return cookiesRepository.saveAll(cookies);
     }
 
@@ -110,14 +116,108 @@ public class CookieService {
         return save(deduplicateByNameAndDomain(cookies));
     }
 
+    /**
+     * Replaces cookies of current user in project by specified cookies.
+     * Only new, changed and removed cookies are written, unchanged rows are left as is.
+     *
+     * @param projectId project id
+     * @param cookies   actual cookies of user, duplicates by name+domain are collapsed
+     * @return list of actual cookies
+     */
     @Transactional
-    public void deleteByUserIdAndProjectId(UUID projectId) {
-        cookiesRepository.removeAllByUserIdAndProjectId(userInfoProvider.get().getId(), projectId);
+    public List<Cookie> saveUserCookiesChanges(UUID projectId, List<Cookie> cookies) {
+        fillCookieInfo(cookies, projectId);
+        return saveChanges(cookiesRepository.findAllByUserIdAndProjectId(userInfoProvider.get().getId(), projectId),
+                cookies);
     }
 
+    /**
+     * Replaces cookies of collection test run by specified cookies.
+     * Only new, changed and removed cookies are written, unchanged rows are left as is.
+     *
+     * @param executionRequestId execution request id
+     * @param testRunId          test run id
+     * @param cookies            actual cookies of test run, duplicates by name+domain are collapsed
+     * @return list of actual cookies
+     */
     @Transactional
-    public void deleteByExecutionRequestIdAndTestRunId(UUID executionRequestId, UUID testRunId) {
-        cookiesRepository.removeAllByExecutionRequestIdAndTestRunId(executionRequestId, testRunId);
+    public List<Cookie> saveExecutionCookiesChanges(UUID executionRequestId, UUID testRunId, List<Cookie> cookies) {
+        fillCookieInfoWithExecutionRequestInfo(cookies, executionRequestId, testRunId);
+        return saveChanges(cookiesRepository.findAllByExecutionRequestIdAndTestRunId(executionRequestId, testRunId),
+                cookies);
+    }
+
+    private List<Cookie> saveChanges(List<Cookie> storedCookies, List<Cookie> cookies) {
+        Map<String, Cookie> storedByNameWithDomain = new HashMap<>();
+        List<UUID> toDelete = new ArrayList<>();
+        storedCookies.forEach(storedCookie -> {
+            if (storedByNameWithDomain.putIfAbsent(getNameWithDomain(storedCookie), storedCookie) != null) {
+                toDelete.add(storedCookie.getId());
+            }
+        });
+        List<Cookie> actualCookies = new ArrayList<>();
+        List<Cookie> toSave = new ArrayList<>();
+        for (Cookie cookie : filterExpired(deduplicateByNameAndDomain(cookies))) {
+            Cookie storedCookie = storedByNameWithDomain.remove(getNameWithDomain(cookie));
+            if (storedCookie == null) {
+                // cookie could be copied from another scope, so it's always inserted as new row
+                cookie.setId(null);
+                if (cookie.getExpiresAt() == null) {
+                    cookie.setExpiresAt(getExpiresAt(cookie));
+                }
+                toSave.add(cookie);
+                actualCookies.add(cookie);
+                continue;
+            }
+            boolean valueChanged = !Objects.equals(storedCookie.getValue(), cookie.getValue());
+            if (valueChanged || storedCookie.isDisabled() != cookie.isDisabled()) {
+                if (valueChanged) {
+                    // Max-Age is counted from the moment value is received, so it's not extended on re-save
+                    storedCookie.setExpiresAt(getExpiresAt(cookie));
+                }
+                storedCookie.setValue(cookie.getValue());
+                storedCookie.setDisabled(cookie.isDisabled());
+                toSave.add(storedCookie);
+            }
+            actualCookies.add(storedCookie);
+        }
+        storedByNameWithDomain.values().forEach(storedCookie -> toDelete.add(storedCookie.getId()));
+        log.debug("Cookies changes: {} saved, {} deleted, {} unchanged", toSave.size(), toDelete.size(),
+                actualCookies.size() - toSave.size());
+        if (!toDelete.isEmpty()) {
+            cookiesRepository.removeAllByIdIn(toDelete);
+        }
+        if (!toSave.isEmpty()) {
+            cookiesRepository.saveAll(toSave);
+        }
+        return actualCookies;
+    }
+
+    /**
+     * Calculates expiration time of cookie from Expires or Max-Age attribute.
+     * Max-Age is counted from the moment value is parsed, so it has to be calculated only when cookie
+     * is written first time or its value is changed, stored expiration time is used afterwards.
+     *
+     * @param cookie cookie
+     * @return expiration time or null if cookie doesn't expire
+     */
+    private Date getExpiresAt(Cookie cookie) {
+        try {
+            long now = System.currentTimeMillis();
+            return HttpCookie.parse(cookie.getValue()).stream()
+                    .filter(parsedCookie -> parsedCookie.getMaxAge() >= 0)
+                    .map(parsedCookie -> new Date(now + TimeUnit.SECONDS.toMillis(parsedCookie.getMaxAge())))
+                    .min(Date::compareTo)
+                    .orElse(null);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Failed to parse expiration time of cookie: {}", cookie.getKey());
+            return null;
+        }
+    }
+
+    @Transactional
+    public void deleteByUserIdAndProjectId(UUID projectId) {
+        cookiesRepository.removeAllByUserIdAndProjectId(userInfoProvider.get().getId(), projectId);
     }
 
     /**
@@ -127,8 +227,10 @@ public class CookieService {
      * @return filtered list
      */
     private List<Cookie> filterExpired(List<Cookie> cookies) {
+        Date now = new Date();
         try {
             Map<String, HttpCookie> parsedCookies = cookies.stream()
+                    .filter(cookie -> cookie.getExpiresAt() == null || cookie.getExpiresAt().after(now))
                     .flatMap(cookie -> {
                         try {
                             return HttpCookie.parse(cookie.getValue()).stream()
@@ -331,13 +433,38 @@ public class CookieService {
         cookiesRepository.removeAllByExecutionRequestIdIsNotNullAndTestRunIdIsNotNull();
     }
 
+    /**
+     * Deletes expired cookies by stored expiration time.
+     *
+     * @return number of deleted cookies
+     */
     @Transactional
-    public void deleteAllByIdIn(Collection<UUID> ids) {
-        cookiesRepository.removeAllByIdIn(ids);
+    public int deleteExpired() {
+        return cookiesRepository.deleteAllByExpiresAtBefore(new Date());
     }
 
-    public List<Cookie> getAll() {
-        return cookiesRepository.findAll();
+    /**
+     * Calculates expiration time of cookies saved before it was stored.
+     * Expired ones are deleted, so cleanups only use stored expiration time.
+     * Executed once by migration, Max-Age of such cookies is counted from the moment of migration.
+     */
+    @Transactional
+    public void fillMissingExpiresAt() {
+        List<UUID> toDelete = new ArrayList<>();
+        for (Cookie cookie : cookiesRepository.findAllWithoutExpiresAtAndWithExpiresAttribute()) {
+            try {
+                if (HttpCookie.parse(cookie.getValue()).stream().anyMatch(HttpCookie::hasExpired)) {
+                    toDelete.add(cookie.getId());
+                } else {
+                    cookie.setExpiresAt(getExpiresAt(cookie));
+                }
+            } catch (IllegalArgumentException ex) {
+                log.warn("Failed to parse cookie: {}", cookie.getKey());
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            cookiesRepository.removeAllByIdIn(toDelete);
+        }
     }
 
     /**
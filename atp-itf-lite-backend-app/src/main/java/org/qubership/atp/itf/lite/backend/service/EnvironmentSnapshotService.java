@@ -0,0 +1,110 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.qubership.atp.itf.lite.backend.configuration.EnvironmentNearCacheProperties;
+import org.qubership.atp.itf.lite.backend.feign.service.EnvironmentFeignService;
+import org.qubership.atp.itf.lite.backend.model.api.response.environments.System;
+import org.qubership.atp.itf.lite.backend.model.context.EnvironmentSnapshot;
+import org.qubership.atp.itf.lite.backend.model.context.SaveRequestResolvingContext;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process near-cache in front of distributed environment systems cache.
+ * Keeps systems already flattened into variables, so executions don't deserialize and parse them each time.
+ */
+@Service
+@Slf4j
+public class EnvironmentSnapshotService {
+
+    private final EnvironmentFeignService environmentFeignService;
+    private final Cache<UUID, EnvironmentSnapshot> snapshots;
+    // snapshots pinned by collection runs, all requests of run see the same environment state
+    private final Cache<UUID, EnvironmentSnapshot> runSnapshots;
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * Constructor.
+     */
+    public EnvironmentSnapshotService(EnvironmentFeignService environmentFeignService,
+                                      EnvironmentNearCacheProperties properties) {
+        this.environmentFeignService = environmentFeignService;
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(properties.getTtlSec()))
+                .maximumSize(properties.getMaxSize())
+                .build();
+        this.runSnapshots = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(properties.getRunSnapshotTtlSec()))
+                .maximumSize(properties.getMaxRuns())
+                .build();
+    }
+
+    /**
+     * Get snapshot of environment pinned by collection run.
+     * First request of run pins current snapshot, next requests of run get the same snapshot
+     * even if environment was changed during run.
+     * Snapshot is loaded before pinning, so requests of other runs don't wait for loading.
+     *
+     * @param environmentId environment id
+     * @param testRunId     test run id, current snapshot is returned if null
+     * @return environment snapshot
+     */
+    public EnvironmentSnapshot getSnapshot(UUID environmentId, UUID testRunId) {
+        if (testRunId == null) {
+            return getCurrentSnapshot(environmentId);
+        }
+        EnvironmentSnapshot snapshot = runSnapshots.getIfPresent(testRunId);
+        if (snapshot == null || !snapshot.getEnvironmentId().equals(environmentId)) {
+            EnvironmentSnapshot current = getCurrentSnapshot(environmentId);
+            snapshot = runSnapshots.asMap().merge(testRunId, current, (pinned, loaded) ->
+                    pinned.getEnvironmentId().equals(environmentId) ? pinned : loaded);
+        }
+        log.debug("Test run {} uses environment {} version {}", testRunId, environmentId, snapshot.getVersion());
+        return snapshot;
+    }
+
+    /**
+     * Evict environment from near-cache. Snapshots pinned by runs are kept until runs finish.
+     *
+     * @param environmentId environment id
+     */
+    public void evict(UUID environmentId) {
+        snapshots.invalidate(environmentId);
+        log.info("Environment near-cache for environmentId = '{}' has been evicted", environmentId);
+    }
+
+    private EnvironmentSnapshot getCurrentSnapshot(UUID environmentId) {
+        return snapshots.get(environmentId, this::loadSnapshot);
+    }
+
+    private EnvironmentSnapshot loadSnapshot(UUID environmentId) {
+        List<System> systems = environmentFeignService.getEnvironmentSystems(environmentId);
+        return new EnvironmentSnapshot(environmentId, versions.incrementAndGet(),
+                systems == null ? Collections.emptyList() : Collections.unmodifiableList(systems),
+                Collections.unmodifiableMap(SaveRequestResolvingContext.parseSystems(systems)));
+    }
+}
@@ -44,7 +44,6 @@ import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteRequestEnvi
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteRequestEnvironmentVariableNotFoundException;
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteRequestHeaderDecryptException;
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteRequestParamDecryptException;
-import org.qubership.atp.itf.lite.backend.feign.service.EnvironmentFeignService;
 import org.qubership.atp.itf.lite.backend.model.api.request.HttpRequestEntitySaveRequest;
 import org.qubership.atp.itf.lite.backend.model.api.request.auth.BearerAuthorizationSaveRequest;
 import org.qubership.atp.itf.lite.backend.model.api.request.auth.OAuth2AuthorizationSaveRequest;
@@ -52,6 +51,7 @@ import org.qubership.atp.itf.lite.backend.model.api.request.http.HttpHeaderSaveR
 import org.qubership.atp.itf.lite.backend.model.api.request.http.HttpParamSaveRequest;
 import org.qubership.atp.itf.lite.backend.model.api.response.environments.Connection;
 import org.qubership.atp.itf.lite.backend.model.api.response.environments.System;
+import org.qubership.atp.itf.lite.backend.model.context.EnvironmentSnapshot;
 import org.qubership.atp.itf.lite.backend.model.entities.RequestBody;
 import org.qubership.atp.itf.lite.backend.utils.Constants;
 import org.springframework.stereotype.Service;
@@ -81,15 +81,17 @@ public class EnvironmentVariableService {
     private final Pattern encodedEnvVariableSearchPattern = Pattern.compile(
             "(%24%7B(?<" + envName + ">[^%7D]+)%7D)");
 
-    private final EnvironmentFeignService environmentFeignService;
+    private final EnvironmentSnapshotService environmentSnapshotService;
     private final EncryptionService encryptionService;
 
     /**
      * Resolve environment parameters values in OAuth2Authorization request.
      *
-     * @param request OAuth2 authorization request
+     * @param request   OAuth2 authorization request
+     * @param testRunId collection test run id, null if request is not executed by collection run
      */
-    public void resolveEnvironmentParameters(OAuth2AuthorizationSaveRequest request, UUID environmentId)
+    public void resolveEnvironmentParameters(OAuth2AuthorizationSaveRequest request, UUID environmentId,
+                                             UUID testRunId)
             throws AtpDecryptException {
         log.debug(RESOLVE_PARAMETERS_LOG_MESSAGE, environmentId);
 
@@ -106,15 +108,17 @@ public class EnvironmentVariableService {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
-        resolveEnvironmentParameters(resolvableFields, resolveMap, environmentId);
+        resolveEnvironmentParameters(resolvableFields, resolveMap, environmentId, testRunId);
     }
 
     /**
      * Resolve environment parameters values in BearerAuthorizationSaveRequest request.
      *
-     * @param request Bearer authorization request
+     * @param request   Bearer authorization request
+     * @param testRunId collection test run id, null if request is not executed by collection run
      */
-    public void resolveEnvironmentParameters(BearerAuthorizationSaveRequest request, UUID environmentId)
+    public void resolveEnvironmentParameters(BearerAuthorizationSaveRequest request, UUID environmentId,
+                                             UUID testRunId)
             throws AtpDecryptException {
         log.debug(RESOLVE_PARAMETERS_LOG_MESSAGE, environmentId);
         List<String> resolvableFields = Stream.of(request.getToken())
@@ -124,14 +128,15 @@ public class EnvironmentVariableService {
         Map<Producer<String>, Consumer<String>> resolveMap = new HashMap<>();
         resolveMap.put(request::getToken, request::setToken);
 
-        resolveEnvironmentParameters(resolvableFields, resolveMap, environmentId);
+        resolveEnvironmentParameters(resolvableFields, resolveMap, environmentId, testRunId);
     }
 
     /**
      * Resolve environment parameters values in auth request.
      */
     public void resolveEnvironmentParameters(List<String> resolvableFields,
-                                             Map<Producer<String>, Consumer<String>> resolveMap, UUID environmentId)
+                                             Map<Producer<String>, Consumer<String>> resolveMap, UUID environmentId,
+                                             UUID testRunId)
             throws AtpDecryptException {
         log.debug(RESOLVE_PARAMETERS_LOG_MESSAGE, environmentId);
         if (isEnvironmentVariablesPresent(resolvableFields)) {
@@ -140,7 +145,7 @@ public class EnvironmentVariableService {
                 log.error("The environment has not been specified for the request");
                 throw new ItfLiteRequestEnvironmentNotSpecifiedException();
             }
-            List<System> systems = environmentFeignService.getEnvironmentSystems(environmentId);
+            List<System> systems = environmentSnapshotService.getSnapshot(environmentId, testRunId).getSystems();
             List<String> notFoundVariables = new ArrayList<>();
 
             for (Map.Entry<Producer<String>, Consumer<String>> entry : resolveMap.entrySet()) {
@@ -155,9 +160,10 @@ public class EnvironmentVariableService {
      * Resolve environment parameters values in http requests.
      *
      * @param httpRequest http request
+     * @param testRunId   collection test run id, null if request is not executed by collection run
      */
     public void resolveEnvironmentParameters(HttpRequestEntitySaveRequest httpRequest, boolean onlyEncrypted,
-                                             UUID environmentId)
+                                             UUID environmentId, UUID testRunId)
             throws AtpDecryptException {
         // endpoint url, parameters, headers, body
         final UUID requestId = httpRequest.getId();
@@ -175,7 +181,7 @@ public class EnvironmentVariableService {
             throw new ItfLiteRequestEnvironmentNotSpecifiedException();
         }
         log.debug("Get list of systems for environment id = {}", environmentId);
-        List<System> systems = environmentFeignService.getEnvironmentSystems(environmentId);
+        List<System> systems = environmentSnapshotService.getSnapshot(environmentId, testRunId).getSystems();
         List<String> notFoundVariables = new ArrayList<>();
         String url = httpRequest.getUrl();
         url = resolveParameter(url, systems, notFoundVariables, onlyEncrypted);
@@ -222,8 +228,15 @@ public class EnvironmentVariableService {
         checkNotFoundVariables(notFoundVariables);
     }
 
-    public List<System> getEnvironmentSystemsById(UUID environmentId) {
-        return environmentFeignService.getEnvironmentSystems(environmentId);
+    /**
+     * Get environment systems with flattened variables.
+     *
+     * @param environmentId environment id
+     * @param testRunId     collection test run id, the whole run gets the same environment snapshot
+     * @return environment snapshot
+     */
+    public EnvironmentSnapshot getEnvironmentSnapshot(UUID environmentId, UUID testRunId) {
+        return environmentSnapshotService.getSnapshot(environmentId, testRunId);
     }
 
     /**
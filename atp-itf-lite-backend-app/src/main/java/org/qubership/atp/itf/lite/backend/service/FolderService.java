@@ -69,9 +69,14 @@ import org.qubership.atp.itf.lite.backend.model.entities.auth.InheritFromParentR
 import org.qubership.atp.itf.lite.backend.model.entities.auth.RequestAuthorization;
 import org.qubership.atp.itf.lite.backend.model.entities.converters.ListConverter;
 import org.qubership.atp.itf.lite.backend.model.entities.converters.PermissionEntityConverter;
+import org.qubership.atp.itf.lite.backend.model.tree.FolderTreeIndex;
+import org.qubership.atp.itf.lite.backend.model.tree.FolderTreeItem;
+import org.qubership.atp.itf.lite.backend.model.tree.ProjectTreeSnapshot;
+import org.qubership.atp.itf.lite.backend.model.tree.RequestTreeItem;
 import org.qubership.atp.itf.lite.backend.service.history.iface.DeleteHistoryService;
 import org.qubership.atp.itf.lite.backend.service.history.iface.EntityHistoryService;
 import org.qubership.atp.itf.lite.backend.utils.Constants;
+import org.qubership.atp.itf.lite.backend.utils.OrderUtils;
 import org.qubership.atp.itf.lite.backend.utils.RequestUtils;
 import org.qubership.atp.itf.lite.backend.utils.StreamUtils;
 import org.qubership.atp.itf.lite.backend.utils.UserManagementEntities;
@@ -101,6 +106,7 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
     private final DeleteHistoryService deleteHistoryService;
     private final PermissionEntityConverter permissionEntityConverter;
     private final ListConverter listConverter;
+    private final ProjectTreeCacheService projectTreeCacheService;
 
     @Override
     protected JpaRepository<Folder, UUID> repository() {
@@ -122,6 +128,7 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
             savedFolder = this.updateFolderChildren(folder);
         }
         this.updateParentFolderChildren(folder);
+        projectTreeCacheService.foldersSaved(Collections.singletonList(savedFolder));
         return savedFolder;
     }
 
@@ -135,6 +142,7 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
     public List<Folder> saveAll(List<Folder> folders) {
         List<Folder> savedFolders = this.updateFoldersChildren(folders);
         this.updateParentFolderChildren(folders);
+        projectTreeCacheService.foldersSaved(savedFolders);
         return savedFolders;
     }
 
@@ -225,23 +233,16 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
         log.info("Get folders and requests tree by project '{}', parent id '{}' and search contains '{}'",
                 projectId, parentId, search);
 
-        List<Request> requests;
         boolean isSearchEmpty = StringUtils.isEmpty(search);
-        if (!onlyFolders) {
-            requests = requestRepository.findAllByProjectId(projectId);
-        } else {
-            requests = new ArrayList<>();
-        }
-
-        List<Folder> projectFolders = folderRepository.findAllByProjectId(projectId);
-
-        List<Folder> projectTopFolders = StreamUtils.filterList(projectFolders, folder -> isNull(folder.getParentId()));
+        ProjectTreeSnapshot snapshot = projectTreeCacheService.getSnapshot(projectId);
+        log.debug("Build tree by snapshot version {} of project '{}'", snapshot.getVersion(), projectId);
+        FolderTreeIndex treeIndex = snapshot.toIndex(onlyFolders);
 
         Map<String, Map<UUID, Operations>> servicePermissions =
                 usersService.getObjectPermissionsForService(request.getProjectId());
-        List<GroupResponse> topLevelEntities = projectTopFolders.stream()
+        List<GroupResponse> topLevelEntities = treeIndex.getChildFolders(null).stream()
                 .map(rootFolder -> getFolderGroupResponse(rootFolder,
-                        new GroupResponse(rootFolder, null), projectFolders, requests, search, servicePermissions))
+                        new GroupResponse(rootFolder, null), treeIndex, search, servicePermissions))
                 .filter(rootFolder -> !rootFolder.isFilteredOut())
                 .collect(Collectors.toList());
 
@@ -253,7 +254,7 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
                             .collect(Collectors.toList());
         }
 
-        List<GroupResponse> topLevelRequests = StreamUtils.filterList(requests, req -> isNull(req.getFolderId()))
+        List<GroupResponse> topLevelRequests = treeIndex.getChildRequests(null)
                 .stream()
                 .filter(topLevelRequest -> isNull(search)
                         || StringUtils.containsIgnoreCase(topLevelRequest.getName(), search))
@@ -277,10 +278,11 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
      */
     public GroupResponse getRequestTreeByParentFolderId(UUID parentFolderId) {
         Folder parentFolder = getFolder(parentFolderId);
-        List<Request> projectRequests = requestRepository.findAllByProjectId(parentFolder.getProjectId());
-        List<Folder> projectFolders = folderRepository.findAllByProjectId(parentFolder.getProjectId());
-        GroupResponse response = getFolderGroupResponse(parentFolder, new GroupResponse(parentFolder, null),
-                projectFolders, projectRequests, null, null);
+        FolderTreeIndex treeIndex = new FolderTreeIndex(
+                folderRepository.findAllTreeItemsByProjectId(parentFolder.getProjectId()),
+                requestRepository.findAllTreeItemsByProjectId(parentFolder.getProjectId()));
+        GroupResponse response = getFolderGroupResponse(new FolderTreeItem(parentFolder),
+                new GroupResponse(parentFolder, null), treeIndex, null, null);
         sortFolderRequestTree(response);
         return response;
     }
@@ -319,8 +321,8 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
         }
     }
 
-    private GroupResponse getFolderGroupResponse(Folder rootFolder, GroupResponse response,
-                                                 List<Folder> folders, List<Request> requests, String search,
+    private GroupResponse getFolderGroupResponse(FolderTreeItem rootFolder, GroupResponse response,
+                                                 FolderTreeIndex treeIndex, String search,
                                                  Map<String, Map<UUID, Operations>> servicePermissions) {
         final UUID rootFolderId = rootFolder.getId();
 
@@ -342,19 +344,18 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
             response.setHasWritePermissions(true);
         }
 
-        List<Folder> childrenFolders =
-                StreamUtils.filterList(folders, folder -> rootFolderId.equals(folder.getParentId()));
+        List<FolderTreeItem> childrenFolders = treeIndex.getChildFolders(rootFolderId);
 
         final ParentRequestAuthorization parentAuth;
-        RequestAuthorization rootFolderAuth = rootFolder.getAuthorization();
-        if (nonNull(rootFolderAuth)) {
+        RequestAuthorizationType rootFolderAuthType = rootFolder.getAuthType();
+        if (nonNull(rootFolderAuthType)) {
             // if inherit then use parent auth
-            if (RequestAuthorizationType.INHERIT_FROM_PARENT.equals(rootFolderAuth.getType())) {
+            if (RequestAuthorizationType.INHERIT_FROM_PARENT.equals(rootFolderAuthType)) {
                 parentAuth = response.getParentAuth();
             } else {
                 // else user rootFolderAuth
                 parentAuth = new ParentRequestAuthorization(rootFolder.getId(), rootFolder.getName(),
-                        rootFolderAuth.getType());
+                        rootFolderAuthType);
             }
         } else {
             // if root auth not specified that means noauth
@@ -362,15 +363,14 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
         }
 
         childrenFolders.forEach(folder -> {
-            GroupResponse childResponse = getFolderGroupResponse(folder, new GroupResponse(folder, parentAuth), folders,
-                    requests, search, servicePermissions);
+            GroupResponse childResponse = getFolderGroupResponse(folder, new GroupResponse(folder, parentAuth),
+                    treeIndex, search, servicePermissions);
             if (!childResponse.isFilteredOut()) {
                 response.addChildren(childResponse);
             }
         });
 
-        List<Request> folderMatchedRequests =
-                StreamUtils.filterList(requests, request -> rootFolderId.equals(request.getFolderId()));
+        List<RequestTreeItem> folderMatchedRequests = treeIndex.getChildRequests(rootFolderId);
 
         if (!CollectionUtils.isEmpty(folderMatchedRequests)) {
             final List<GroupResponse> childFolders = getChildFolders(response);
@@ -532,7 +532,8 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
                     Request childRequest = requestRepository.findById(child.getId())
                             .orElseThrow(() -> new AtpEntityNotFoundException("Request", child.getId()));
                     childRequest.setPermissionFolderId(permissionFolderId);
-                    requestRepository.save(childRequest);
+                    projectTreeCacheService.requestsSaved(
+                            Collections.singletonList(requestRepository.save(childRequest)));
                 }
             });
         }
@@ -548,7 +549,20 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
         Integer maxOrder = isNull(parentId) ? folderRepository.findMaxOrder(projectId) :
                 folderRepository.findMaxOrder(projectId, parentId);
 
-        final Integer calcOrder = nonNull(maxOrder) ? ++maxOrder : 0;
+        Integer calcOrder = OrderUtils.getNextOrder(maxOrder);
+        if (isNull(calcOrder)) {
+            log.debug("There is no free order after the last folder in the folder '{}', folders order is rebalanced",
+                    parentId);
+            List<Folder> folders = folderRepository.findAllByProjectIdAndParentId(projectId, parentId);
+            folders.removeIf(folderEntity -> folderEntity.getId().equals(folder.getId()));
+            folders.sort(Comparator.comparing(Folder::getOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+            int count = 0;
+            for (Folder folderEntity : folders) {
+                folderEntity.setOrder(OrderUtils.getRebalancedOrder(count++));
+            }
+            projectTreeCacheService.foldersSaved(folderRepository.saveAll(folders));
+            calcOrder = OrderUtils.getRebalancedOrder(count);
+        }
         log.debug("Folder order: {}", calcOrder);
 
         folder.setOrder(calcOrder);
@@ -762,7 +776,7 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
         });
         Set<UUID> copyRequestIds = StreamUtils.extractIds(copyRequests);
         log.debug("Coping requests with ids: {}", copyRequestIds);
-        requestRepository.saveAll(copyRequests);
+        projectTreeCacheService.requestsSaved(requestRepository.saveAll(copyRequests));
         foldersIds.forEach(this::updateParentFolderChildren);
     }
 
@@ -814,12 +828,14 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
         Set<UUID> foldersRequestsIds = StreamUtils.extractIds(foldersRequests);
         log.debug("Deleting request ids: [{}]", foldersRequestsIds);
         requestRepository.deleteByIdIn(foldersRequestsIds);
+        projectTreeCacheService.requestsDeleted(projectId, foldersRequestsIds);
         log.debug("Delete javers history snapshots by request ids: {}", foldersRequestsIds);
         deleteHistoryService.deleteSnapshotsByEntityIds(foldersRequestsIds);
 
         log.debug("Deleting folder ids: [{}]", deleteFolderIds);
         deleteFolderIds.forEach(this::updateParentFolderChildren);
         folderRepository.deleteByIdIn(deleteFolderIds);
+        projectTreeCacheService.foldersDeleted(projectId, deleteFolderIds);
         
         log.debug("Delete javers history snapshots by folder ids: {}", deleteFolderIds);
         deleteHistoryService.deleteSnapshotsByEntityIds(deleteFolderIds);
@@ -874,6 +890,8 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
 
     /**
      * Change folder order.
+     * Only changed folder is updated if there is free order value between its new neighbours,
+     * otherwise all folders with the same parent are renumbered.
      */
     public void order(UUID folderId, FolderOrderChangeRequest request) {
         log.debug("Change order for the folder with id '{}', request params: {}", folderId, request);
@@ -881,16 +899,32 @@ public class FolderService extends CrudService<Folder> implements EntityHistoryS
         final UUID parentFolderId = request.getParentFolderId();
         final int order = request.getOrder();
 
+        List<Integer> siblingOrders = isNull(parentFolderId)
+                ? folderRepository.findRootSiblingOrders(projectId, folderId)
+                : folderRepository.findSiblingOrders(projectId, parentFolderId, folderId);
+        Integer calcOrder = OrderUtils.getOrderAtPosition(siblingOrders, order);
+        if (nonNull(calcOrder)) {
+            // folder has to be one of siblings, the same way as it's found between them on rebalancing
+            Folder changedFolder = StreamUtils.find(Collections.singletonList(get(folderId)),
+                    folder -> projectId.equals(folder.getProjectId())
+                            && Objects.equals(parentFolderId, folder.getParentId()));
+            changedFolder.setOrder(calcOrder);
+            projectTreeCacheService.foldersSaved(Collections.singletonList(folderRepository.save(changedFolder)));
+            return;
+        }
+
+        log.debug("There is no free order at position {} in the folder '{}', folders order is rebalanced",
+                order, parentFolderId);
         List<Folder> folders = folderRepository.findAllByProjectIdAndParentId(projectId, parentFolderId);
-        folders.sort(Comparator.comparingInt(Folder::getOrder));
+        folders.sort(Comparator.comparing(Folder::getOrder, Comparator.nullsLast(Comparator.naturalOrder())));
 
         Folder changedFolder = StreamUtils.find(folders, folder -> folder.getId().equals(folderId));
         folders.remove(changedFolder);
-        folders.add(order, changedFolder);
+        folders.add(Math.min(order, folders.size()), changedFolder);
 
         int count = 0;
         for (Folder folder : folders) {
-            folder.setOrder(count++);
+            folder.setOrder(OrderUtils.getRebalancedOrder(count++));
         }
         this.saveAll(folders);
     }
@@ -171,6 +171,16 @@ public class GridFsService {
         return repository.copyFileWithFileId(fileId, newRequestId);
     }
 
+    /**
+     * Rewrites batch of files stored with chunks smaller than configured chunk size.
+     *
+     * @param batchSize max number of files to rewrite
+     * @return number of rewritten files
+     */
+    public int rechunkFiles(int batchSize) {
+        return repository.rechunkFiles(batchSize);
+    }
+
     public FileBody saveBinaryByRequestId(String creationTime, UUID requestId,
                                           InputStream inputStream, String name, String contentType) {
         return repository.saveBinaryByRequestId(creationTime, requestId, inputStream, name, contentType);
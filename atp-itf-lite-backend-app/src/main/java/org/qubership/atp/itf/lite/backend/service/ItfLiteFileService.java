@@ -34,12 +34,16 @@ import org.qubership.atp.itf.lite.backend.components.replacer.ContextVariablesRe
 import org.qubership.atp.itf.lite.backend.model.context.SaveRequestResolvingContext;
 import org.qubership.atp.itf.lite.backend.model.entities.FileBody;
 import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileData;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileInfo;
+import org.qubership.atp.itf.lite.backend.utils.FileDownloadUtils;
 import org.qubership.atp.itf.lite.backend.utils.FileUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -79,19 +83,54 @@ public class ItfLiteFileService {
     }
 
     /**
-     * Get binary file as {@link FileData} from cache or gridfs by request id.
-     * @param fileId file id.
+     * Write binary file of request to response from cache or gridfs without loading it into memory.
+     * @param requestId request id.
+     * @param fileId id of binary file of request.
      * @param modifiedWhen request modified date.
      * @param folder path to folder.
-     * @return {@link FileData} with content and file name.
+     * @param request http request, used for range and conditional headers.
+     * @param response http response.
+     * @return false if file isn't found.
      */
-    public FileData getFileDataById(UUID fileId, Date modifiedWhen, Path folder) throws IOException {
-        Optional<Path> requestFilePath = getRequestPathToFileById(fileId, modifiedWhen, folder);
+    public boolean writeRequestFile(UUID requestId, @Nullable UUID fileId, Date modifiedWhen, Path folder,
+                                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> requestFilePath = getPathToFile(requestId, modifiedWhen, folder);
         if (requestFilePath.isPresent()) {
-            return new FileData(Files.readAllBytes(requestFilePath.get()),
-                    requestFilePath.get().getFileName().toString());
+            Path path = requestFilePath.get();
+            FileDownloadUtils.writeFile(path, fileId, fileDetector.detect(path), request, response);
+            return true;
         }
-        return null;
+        return writeGridFsFile(gridFsService.getFileInfoByRequestId(requestId), request, response);
+    }
+
+    /**
+     * Write file to response from cache or gridfs by file id without loading it into memory.
+     * @param fileId file id.
+     * @param modifiedWhen request modified date.
+     * @param folder path to folder.
+     * @param request http request, used for range and conditional headers.
+     * @param response http response.
+     * @return false if file isn't found.
+     */
+    public boolean writeFileById(UUID fileId, Date modifiedWhen, Path folder, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        Optional<Path> filePath = getPathToFile(fileId, modifiedWhen, folder);
+        if (filePath.isPresent()) {
+            FileDownloadUtils.writeFile(filePath.get(), fileId, null, request, response);
+            return true;
+        }
+        return writeGridFsFile(gridFsService.getFileInfoByFileId(fileId), request, response);
+    }
+
+    /**
+     * Get path to file in cache by file id, if cached file is actual.
+     * @param fileId file id.
+     * @param modifiedWhen request modified date.
+     * @param folder path to folder.
+     * @return path to cached file or empty if file isn't cached.
+     */
+    public Optional<Path> getCachedFilePath(UUID fileId, Date modifiedWhen, Path folder) throws IOException {
+        return getPathToFile(fileId, modifiedWhen, folder);
     }
 
     /**
@@ -235,6 +274,15 @@ public class ItfLiteFileService {
         return fileInfo;
     }
 
+    private boolean writeGridFsFile(@Nullable FileInfo fileInfo, HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        if (fileInfo == null) {
+            return false;
+        }
+        FileDownloadUtils.writeFile(fileInfo, () -> gridFsService.getFileByFileInfo(fileInfo), request, response);
+        return true;
+    }
+
     private Optional<Path> getPathToFile(UUID requestId, Date modifiedWhen, Path folder) throws IOException {
         Path requestFilePath = Path.of(folder.toString(), requestId.toString());
 
@@ -16,11 +16,13 @@
 
 package org.qubership.atp.itf.lite.backend.service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
 import javax.script.ScriptEngineManager;
 
+import org.qubership.atp.itf.lite.backend.configuration.MacrosCacheProperties;
 import org.qubership.atp.macros.core.calculator.ScriptMacrosCalculator;
 import org.qubership.atp.macros.core.model.Macros;
 import org.qubership.atp.macros.core.processor.Evaluator;
@@ -30,22 +32,44 @@ import org.qubership.atp.macros.core.registry.MacroRegistryImpl;
 import org.qubership.atp.macros.core.repository.MacrosRepository;
 import org.springframework.stereotype.Service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class MacrosService {
 
     private final MacrosRepository macrosRepository;
+    // registry is built once per project and only read by evaluators
+    private final Cache<UUID, MacroRegistry> macroRegistries;
+    // manager scans classpath for script engines when created, so one manager is shared by all evaluators
+    private final ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
+
+    /**
+     * Constructor.
+     */
+    public MacrosService(MacrosRepository macrosRepository, MacrosCacheProperties macrosCacheProperties) {
+        this.macrosRepository = macrosRepository;
+        this.macroRegistries = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(macrosCacheProperties.getTtlSec()))
+                .maximumSize(macrosCacheProperties.getMaxSize())
+                .build();
+    }
 
     /**
      * Create Evaluator by project uuid.
+     * Macros of project are cached, concurrent calls for the same project wait for one load of macros.
      */
     public Evaluator createMacrosEvaluator(UUID projectId) {
-        List<Macros> macros = macrosRepository.findByProjectId(projectId);
-        MacroRegistry macroRegistry = new MacroRegistryImpl(macros);
-        ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
+        MacroRegistry macroRegistry = macroRegistries.get(projectId, this::loadMacroRegistry);
         return new EvaluatorImpl(macroRegistry,
                 new ScriptMacrosCalculator(scriptEngineManager));
     }
-}
\ No newline at end of file
+
+    private MacroRegistry loadMacroRegistry(UUID projectId) {
+        log.debug("Load macros for project {}", projectId);
+        List<Macros> macros = macrosRepository.findByProjectId(projectId);
+        return new MacroRegistryImpl(macros);
+    }
+}
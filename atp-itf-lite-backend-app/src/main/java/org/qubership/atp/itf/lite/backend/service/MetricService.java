@@ -16,13 +16,18 @@
 
 package org.qubership.atp.itf.lite.backend.service;
 
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.qubership.atp.itf.lite.backend.enums.TransportType;
 import org.springframework.stereotype.Component;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -38,8 +43,19 @@ public class MetricService {
     public static final String ITF_LITE_RUN_COLLECTIONS_COUNTER = "itf.lite.run.collections.count";
     public static final String ITF_LITE_REQUESTS_SIZE = "itf.lite.run.requests.size";
     public static final String ITF_LITE_RESPONSE_SIZE = "itf.lite.run.response.size";
+    public static final String ITF_LITE_CACHE_REQUESTS = "itf.lite.cache.requests";
+    public static final String ITF_LITE_EXECUTION_QUEUE_DEPTH = "itf.lite.execution.queue.depth";
+    public static final String ITF_LITE_EXECUTION_WAIT = "itf.lite.execution.wait";
+    public static final String ITF_LITE_EXECUTION_DURATION = "itf.lite.execution.duration";
+    public static final String ITF_LITE_EXECUTION_REJECTED = "itf.lite.execution.rejected";
+    public static final String ITF_LITE_SSE_EMITTERS = "itf.lite.sse.emitters";
+    public static final String ITF_LITE_SSE_EMITTER_USERS = "itf.lite.sse.emitter.users";
+    public static final String ITF_LITE_RAM_LOG_QUEUE_DEPTH = "itf.lite.ram.log.queue.depth";
+    public static final String ITF_LITE_RAM_LOG_SEND = "itf.lite.ram.log.send";
     public static final String PROJECT_ID = "projectId";
     public static final String TRANSPORT_TYPE = "transportType";
+    public static final String CACHE = "cache";
+    public static final String RESULT = "result";
     private final Counter.Builder itfLiteRequestsCounter = Counter.builder(ITF_LITE_REQUESTS_COUNTER)
             .description("Counter for all requests");
     private final Counter.Builder itfLiteRunCollectionCounter =
@@ -49,6 +65,16 @@ public class MetricService {
             .description("Counter for requests size");
     private final Counter.Builder itfLiteResponseSizeCounter = Counter.builder(ITF_LITE_RESPONSE_SIZE)
             .description("Counter for response size");
+    private final Counter.Builder itfLiteCacheRequestsCounter = Counter.builder(ITF_LITE_CACHE_REQUESTS)
+            .description("Counter for in-process cache hits and misses");
+    private final Counter.Builder itfLiteExecutionRejectedCounter = Counter.builder(ITF_LITE_EXECUTION_REJECTED)
+            .description("Counter for requests rejected due to full execution queue");
+    private final Timer.Builder itfLiteExecutionWaitTimer = Timer.builder(ITF_LITE_EXECUTION_WAIT)
+            .description("Time spent by request in execution queue");
+    private final Timer.Builder itfLiteExecutionDurationTimer = Timer.builder(ITF_LITE_EXECUTION_DURATION)
+            .description("Time of request execution");
+    private final Timer.Builder itfLiteRamLogSendTimer = Timer.builder(ITF_LITE_RAM_LOG_SEND)
+            .description("Time of sending batch of console logs to RAM");
 
     public Timer timer(String name, String... tags) {
         return meterRegistry.timer(name, tags);
@@ -84,6 +110,90 @@ public class MetricService {
                 TRANSPORT_TYPE, transportType.getName());
     }
 
+    /**
+     * Register in-process cache hit.
+     * @param cacheName cache name.
+     */
+    public void registerCacheHit(String cacheName) {
+        incrementByBuilderCounterAndTags(itfLiteCacheRequestsCounter, CACHE, cacheName, RESULT, "hit");
+    }
+
+    /**
+     * Register in-process cache miss.
+     * @param cacheName cache name.
+     */
+    public void registerCacheMiss(String cacheName) {
+        incrementByBuilderCounterAndTags(itfLiteCacheRequestsCounter, CACHE, cacheName, RESULT, "miss");
+    }
+
+    /**
+     * Register gauge of requests waiting for execution in project.
+     * @param projectId Project ID.
+     * @param queueDepth count of waiting requests.
+     */
+    public void registerExecutionQueueDepth(UUID projectId, AtomicInteger queueDepth) {
+        meterRegistry.gauge(ITF_LITE_EXECUTION_QUEUE_DEPTH, Tags.of(PROJECT_ID, projectId.toString()), queueDepth,
+                AtomicInteger::get);
+    }
+
+    /**
+     * Record time spent by request in execution queue.
+     * @param projectId Project ID.
+     * @param duration wait duration.
+     */
+    public void recordExecutionWait(UUID projectId, Duration duration) {
+        itfLiteExecutionWaitTimer.tags(PROJECT_ID, projectId.toString())
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    /**
+     * Record time of request execution.
+     * @param projectId Project ID.
+     * @param duration execution duration.
+     */
+    public void recordExecutionDuration(UUID projectId, Duration duration) {
+        itfLiteExecutionDurationTimer.tags(PROJECT_ID, projectId.toString())
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public void registerExecutionRejected(UUID projectId) {
+        incrementByBuilderCounterAndTags(itfLiteExecutionRejectedCounter, PROJECT_ID, projectId.toString());
+    }
+
+    /**
+     * Register gauges of opened sse emitters and users having them.
+     * @param emitters count of opened emitters.
+     * @param users count of users having opened emitters.
+     */
+    public void registerSseEmittersGauges(Supplier<Number> emitters, Supplier<Number> users) {
+        Gauge.builder(ITF_LITE_SSE_EMITTERS, emitters)
+                .description("Count of opened sse emitters")
+                .register(meterRegistry);
+        Gauge.builder(ITF_LITE_SSE_EMITTER_USERS, users)
+                .description("Count of users having opened sse emitters")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Register gauge of console log entries waiting for sending to RAM.
+     * @param queueDepth count of waiting entries.
+     */
+    public void registerRamLogQueueDepth(AtomicInteger queueDepth) {
+        Gauge.builder(ITF_LITE_RAM_LOG_QUEUE_DEPTH, queueDepth, AtomicInteger::get)
+                .description("Count of console log entries waiting for sending to RAM")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record time of sending batch of console logs to RAM.
+     * @param duration send duration.
+     */
+    public void recordRamLogSend(Duration duration) {
+        itfLiteRamLogSendTimer.register(meterRegistry).record(duration);
+    }
+
     private void incrementByTypeTag(@NonNull String project, @NonNull String requestType) {
         switch (requestType) {
             case ITF_LITE_REQUESTS_COUNTER:
@@ -0,0 +1,221 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.service;
+
+import static java.util.Objects.isNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.qubership.atp.itf.lite.backend.dataaccess.repository.FolderRepository;
+import org.qubership.atp.itf.lite.backend.dataaccess.repository.RequestRepository;
+import org.qubership.atp.itf.lite.backend.enums.CacheKeys;
+import org.qubership.atp.itf.lite.backend.model.entities.Folder;
+import org.qubership.atp.itf.lite.backend.model.entities.Request;
+import org.qubership.atp.itf.lite.backend.model.tree.FolderTreeItem;
+import org.qubership.atp.itf.lite.backend.model.tree.ProjectTreeSnapshot;
+import org.qubership.atp.itf.lite.backend.model.tree.ProjectTreeSnapshotChange;
+import org.qubership.atp.itf.lite.backend.model.tree.RequestTreeItem;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+
+import com.hazelcast.map.IMap;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps cached versioned snapshot of folders and requests tree per project.
+ * Snapshot is loaded from database on first read and then updated incrementally
+ * by saved and deleted folders and requests after transaction commit.
+ * Snapshot is cached only in Hazelcast: local cache of one pod isn't updated by changes made on other pods,
+ * so without Hazelcast snapshot is loaded from database on each read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectTreeCacheService {
+
+    private static final long LOCK_LEASE_SECONDS = 60;
+
+    private final CacheManager cacheManager;
+    private final FolderRepository folderRepository;
+    private final RequestRepository requestRepository;
+
+    /**
+     * Get tree snapshot of project, snapshot is loaded from database if it isn't cached yet.
+     *
+     * @param projectId project id
+     * @return tree snapshot
+     */
+    public ProjectTreeSnapshot getSnapshot(UUID projectId) {
+        IMap<Object, Object> map = getDistributedMap();
+        if (isNull(map)) {
+            return loadSnapshot(projectId);
+        }
+        ProjectTreeSnapshot snapshot = getCache().get(projectId, ProjectTreeSnapshot.class);
+        if (isNull(snapshot)) {
+            snapshot = doWithProjectLock(map, projectId, () -> {
+                ProjectTreeSnapshot cached = getCache().get(projectId, ProjectTreeSnapshot.class);
+                if (cached != null) {
+                    return cached;
+                }
+                ProjectTreeSnapshot loaded = loadSnapshot(projectId);
+                getCache().put(projectId, loaded);
+                return loaded;
+            });
+        }
+        return snapshot;
+    }
+
+    private ProjectTreeSnapshot loadSnapshot(UUID projectId) {
+        log.debug("Load tree snapshot for project {}", projectId);
+        return new ProjectTreeSnapshot(projectId,
+                folderRepository.findAllTreeItemsByProjectId(projectId),
+                requestRepository.findAllTreeItemsByProjectId(projectId));
+    }
+
+    /**
+     * Update saved folders in cached snapshots.
+     *
+     * @param folders saved folders
+     */
+    public void foldersSaved(Collection<Folder> folders) {
+        Map<UUID, List<FolderTreeItem>> itemsByProject = folders.stream()
+                .filter(folder -> folder != null && folder.getProjectId() != null && folder.getId() != null)
+                .collect(Collectors.groupingBy(Folder::getProjectId,
+                        Collectors.mapping(FolderTreeItem::new, Collectors.toList())));
+        itemsByProject.forEach((projectId, items) ->
+                update(projectId, ProjectTreeSnapshotChange.foldersSaved(items)));
+    }
+
+    /**
+     * Update saved requests in cached snapshots.
+     *
+     * @param requests saved requests
+     */
+    public void requestsSaved(Collection<? extends Request> requests) {
+        Map<UUID, List<RequestTreeItem>> itemsByProject = requests.stream()
+                .filter(request -> request != null && request.getProjectId() != null && request.getId() != null)
+                .collect(Collectors.groupingBy(Request::getProjectId,
+                        Collectors.mapping(RequestTreeItem::new, Collectors.toList())));
+        itemsByProject.forEach((projectId, items) ->
+                update(projectId, ProjectTreeSnapshotChange.requestsSaved(items)));
+    }
+
+    /**
+     * Remove deleted folders from cached snapshot.
+     *
+     * @param projectId project id
+     * @param folderIds deleted folder ids
+     */
+    public void foldersDeleted(UUID projectId, Collection<UUID> folderIds) {
+        if (!CollectionUtils.isEmpty(folderIds)) {
+            update(projectId, ProjectTreeSnapshotChange.foldersDeleted(folderIds));
+        }
+    }
+
+    /**
+     * Remove deleted requests from cached snapshot.
+     *
+     * @param projectId  project id
+     * @param requestIds deleted request ids
+     */
+    public void requestsDeleted(UUID projectId, Collection<UUID> requestIds) {
+        if (!CollectionUtils.isEmpty(requestIds)) {
+            update(projectId, ProjectTreeSnapshotChange.requestsDeleted(requestIds));
+        }
+    }
+
+    /**
+     * Evict cached snapshot of project.
+     *
+     * @param projectId project id
+     */
+    public void evict(UUID projectId) {
+        log.debug("Evict tree snapshot for project {}", projectId);
+        getCache().evict(projectId);
+    }
+
+    private void update(UUID projectId, ProjectTreeSnapshotChange change) {
+        IMap<Object, Object> map = getDistributedMap();
+        if (isNull(map)) {
+            return;
+        }
+        runAfterCommit(() -> {
+            try {
+                // Hazelcast server doesn't have classes of application, so the change is applied on client
+                doWithProjectLock(map, projectId, () -> {
+                    ProjectTreeSnapshot snapshot = getCache().get(projectId, ProjectTreeSnapshot.class);
+                    if (snapshot != null) {
+                        ProjectTreeSnapshot updated = change.applyTo(snapshot);
+                        getCache().put(projectId, updated);
+                        log.debug("Tree snapshot for project {} updated to version {}",
+                                projectId, updated.getVersion());
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("Failed to update tree snapshot for project {}, snapshot will be evicted", projectId, e);
+                evict(projectId);
+            }
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private <T> T doWithProjectLock(IMap<Object, Object> map, UUID projectId, Supplier<T> action) {
+        // snapshot is shared between pods, so the lock has to be distributed too
+        map.lock(projectId, LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
+        try {
+            return action.get();
+        } finally {
+            map.unlock(projectId);
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private IMap<Object, Object> getDistributedMap() {
+        Object nativeCache = getCache().getNativeCache();
+        return nativeCache instanceof IMap ? (IMap<Object, Object>) nativeCache : null;
+    }
+
+    private Cache getCache() {
+        return cacheManager.getCache(CacheKeys.Constants.PROJECT_TREE);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.qubership.atp.integration.configuration.mdc.MdcUtils;
+import org.qubership.atp.itf.lite.backend.configuration.RequestExecutionProperties;
+import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteExecutionQueueOverflowException;
+import org.slf4j.MDC;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes requests on virtual threads, so servlet threads are not blocked while request is executed.
+ * Each project has own concurrency limit and bounded queue of waiting requests.
+ * If virtual threads are disabled, request is executed on caller thread.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RequestExecutionEngine {
+
+    private final RequestExecutionProperties executionProperties;
+    private final MetricService metricService;
+    private final ExecutorService executorService = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("itf-lite-execution-", 0).factory());
+    private final Map<UUID, ProjectLane> projectLanes = new ConcurrentHashMap<>();
+
+    /**
+     * Submits request execution.
+     *
+     * @param projectId project id
+     * @param task      request execution
+     * @return future completed when execution is finished
+     * @throws ItfLiteExecutionQueueOverflowException if queue of the project is full
+     */
+    public CompletableFuture<Void> submit(UUID projectId, Runnable task) {
+        if (!executionProperties.isVirtualThreadsEnabled()) {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        ProjectLane lane = projectLanes.computeIfAbsent(projectId, this::createProjectLane);
+        if (!lane.admit()) {
+            log.warn("Execution queue of project {} is full, request is rejected", projectId);
+            metricService.registerExecutionRejected(projectId);
+            throw new ItfLiteExecutionQueueOverflowException(projectId.toString());
+        }
+        Map<String, String> mdcMap = MDC.getCopyOfContextMap();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        long submittedAt = System.nanoTime();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        executorService.execute(() -> {
+            MdcUtils.setContextMap(mdcMap);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                lane.permits.acquire();
+                long startedAt = System.nanoTime();
+                lane.queueDepth.decrementAndGet();
+                metricService.recordExecutionWait(projectId, Duration.ofNanos(startedAt - submittedAt));
+                try {
+                    task.run();
+                    result.complete(null);
+                } finally {
+                    lane.permits.release();
+                    metricService.recordExecutionDuration(projectId, Duration.ofNanos(System.nanoTime() - startedAt));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.queueDepth.decrementAndGet();
+                result.completeExceptionally(e);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                lane.admitted.decrementAndGet();
+                SecurityContextHolder.clearContext();
+                MDC.clear();
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    private ProjectLane createProjectLane(UUID projectId) {
+        ProjectLane lane = new ProjectLane(executionProperties.getMaxConcurrentRequestsPerProject(),
+                executionProperties.getMaxQueuedRequestsPerProject());
+        metricService.registerExecutionQueueDepth(projectId, lane.queueDepth);
+        return lane;
+    }
+
+    private static class ProjectLane {
+
+        private final Semaphore permits;
+        private final int admissionLimit;
+        // requests waiting for permit and executed ones
+        private final AtomicInteger admitted = new AtomicInteger();
+        private final AtomicInteger queueDepth = new AtomicInteger();
+
+        ProjectLane(int maxConcurrentRequests, int maxQueuedRequests) {
+            int concurrency = Math.max(1, maxConcurrentRequests);
+            this.permits = new Semaphore(concurrency, true);
+            this.admissionLimit = concurrency + Math.max(0, maxQueuedRequests);
+        }
+
+        boolean admit() {
+            if (admitted.incrementAndGet() > admissionLimit) {
+                admitted.decrementAndGet();
+                return false;
+            }
+            queueDepth.incrementAndGet();
+            return true;
+        }
+    }
+}
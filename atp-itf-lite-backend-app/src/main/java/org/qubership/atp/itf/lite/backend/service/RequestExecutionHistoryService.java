@@ -17,8 +17,6 @@
 package org.qubership.atp.itf.lite.backend.service;
 
 import static java.util.Objects.nonNull;
-import static org.springframework.http.HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS;
-import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -49,6 +47,9 @@ import org.qubership.atp.itf.lite.backend.model.api.response.JsExecutionResult;
 import org.qubership.atp.itf.lite.backend.model.api.response.RequestExecutionResponse;
 import org.qubership.atp.itf.lite.backend.model.entities.FileBody;
 import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileData;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileInfo;
+import org.qubership.atp.itf.lite.backend.model.entities.history.CursorPaginatedResponse;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursorSearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryRequestBody;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryRequestDetailsResponse;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistorySearchRequest;
@@ -58,6 +59,7 @@ import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecutio
 import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecutionDetails;
 import org.qubership.atp.itf.lite.backend.model.entities.history.TestStatus;
 import org.qubership.atp.itf.lite.backend.model.entities.http.FormDataPart;
+import org.qubership.atp.itf.lite.backend.utils.FileDownloadUtils;
 import org.qubership.atp.itf.lite.backend.utils.RequestUtils;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.http.HttpStatus;
@@ -65,7 +67,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
-import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -81,6 +83,7 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
     private final CustomRequestExecutionRepository customRequestExecutionRepository;
     private final RequestExecutionRepository requestExecutionRepository;
     private final GridFsService gridFsService;
+    private final RequestExecutionHistoryWriter historyWriter;
 
     @Override
     protected JpaRepository<RequestExecution, UUID> repository() {
@@ -97,7 +100,6 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
      * @param errorMessage  exception
      * @param formDataFiles formDataFiles
      */
-    @Transactional
     public void logRequestExecution(String token, UUID sseId, RequestEntitySaveRequest request,
                                     RequestExecutionResponse response, Exception errorMessage,
                                     List<FileData> formDataFiles) {
@@ -108,15 +110,12 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
     }
 
     /**
-     * Function for log request. Get execution details, update and save.
+     * Function for log request. Get execution details and update them.
      */
-    @Transactional
     public JsExecutionResult logRequestJsExecution(String token, UUID sseId, RequestEntitySaveRequest request,
                                                    PostmanExecuteScriptResponseDto jsExecutionResults,
                                                    boolean isPreScript) {
-        Optional<RequestExecutionDetails> detailsOptional = detailsRepository.findByRequestExecutionSseId(sseId);
-        RequestExecutionDetails details = detailsOptional
-                .orElseGet(() -> generateAndConfigureRequestExecutionDetails(request, token, sseId));
+        RequestExecutionDetails details = getExecutionDetails(request, token, sseId);
         if (request instanceof HttpRequestEntitySaveRequest saveRequest) {
             if (saveRequest.getBody() != null
                     && RequestBodyType.GraphQL.equals(saveRequest.getBody().getType())) {
@@ -168,11 +167,50 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
                             new ItfLiteScriptEnginePostScriptExecutionException()));
                 }
             }
-            detailsRepository.save(details);
         }
         return returnValue;
     }
 
+    /**
+     * Get execution details of sse id collected in memory while request is executed.
+     * Details are created on first call and persisted once by {@link #persistExecutionDetails(UUID)}.
+     *
+     * @param request request
+     * @param token   token
+     * @param sseId   sseId
+     * @return execution details
+     */
+    public RequestExecutionDetails getExecutionDetails(RequestEntitySaveRequest request, String token, UUID sseId) {
+        return historyWriter.getDetails(sseId, () -> generateAndConfigureRequestExecutionDetails(request, token, sseId));
+    }
+
+    /**
+     * Persist execution details of sse id collected in memory.
+     *
+     * @param sseId sseId
+     */
+    public void persistExecutionDetails(UUID sseId) {
+        historyWriter.submit(sseId);
+    }
+
+    /**
+     * Wait until execution details of sse id are persisted.
+     *
+     * @param sseId sseId
+     */
+    public void flushExecutionDetails(UUID sseId) {
+        historyWriter.flush(sseId);
+    }
+
+    /**
+     * Wait until execution details with execution id are persisted.
+     *
+     * @param executionId execution id
+     */
+    public void flushExecutionDetailsByExecutionId(UUID executionId) {
+        historyWriter.flushByExecutionId(executionId);
+    }
+
     /**
      * Generate and initial configure request execution details. Add execution into details.
      * @param request request
@@ -196,11 +234,9 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
      * @param request  request
      * @param response response
      */
-    @Transactional
     public void logHttpRequestExecution(String token, UUID sseId, HttpRequestEntitySaveRequest request,
                                         RequestExecutionResponse response, Exception errorMessage,
                                         List<FileData> formDataFiles) {
-        Optional<RequestExecutionDetails> detailsOptional = detailsRepository.findByRequestExecutionSseId(sseId);
         HistoryRequestBody requestBody = null;
         boolean bodyExists = nonNull(request.getBody());
         if (request.getFile() != null && request.getFile().getContent() != null) {
@@ -223,18 +259,10 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
                 requestBody.setFormDataBody(request.getBody().getFormDataBody());
             }
         }
-        RequestExecutionDetails details;
-        if (detailsOptional.isPresent()) {
-            details = detailsOptional.get();
-            RequestExecution execution = details.getRequestExecution();
-            execution.update(request, response);
-            ((HttpRequestExecutionDetails) details).update(execution, request, response, errorMessage, requestBody);
-        } else {
-            String executor = getUserInformation(token);
-            RequestExecution execution = new RequestExecution(executor, sseId, request, response, null);
-            details = new HttpRequestExecutionDetails(execution, request, response, errorMessage, requestBody);
-        }
-        detailsRepository.save(details);
+        RequestExecutionDetails details = getExecutionDetails(request, token, sseId);
+        RequestExecution execution = details.getRequestExecution();
+        execution.update(request, response);
+        ((HttpRequestExecutionDetails) details).update(execution, request, response, errorMessage, requestBody);
     }
 
     private void fillFormDataParts(UUID sseId, List<FormDataPart> formDataParts,
@@ -284,9 +312,22 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
      * @return execution requests information
      */
     public PaginatedResponse<RequestExecution> getExecutionHistory(HistorySearchRequest request) {
+        // executions submitted to history writer are shown right after they are finished
+        historyWriter.flushByProjectId(request.getProjectId());
         return customRequestExecutionRepository.findAllRequestExecutions(request);
     }
 
+    /**
+     * Get execution requests high level information page after specified cursor.
+     *
+     * @param request request entity
+     * @return execution requests information with next page cursor
+     */
+    public CursorPaginatedResponse<RequestExecution> getExecutionHistoryByCursor(HistoryCursorSearchRequest request) {
+        historyWriter.flushByProjectId(request.getProjectId());
+        return customRequestExecutionRepository.findRequestExecutionsByCursor(request);
+    }
+
     /**
      * Get execution request low level information by history item id.
      *
@@ -314,22 +355,19 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
      * Get binary file from history by metadata.fileId.
      *
      * @param fileId   file id.
+     * @param request  http servlet request with range and conditional headers.
      * @param response http servlet for send response.
      */
-    public void getBinaryFileHistory(UUID fileId, HttpServletResponse response) throws IOException {
+    public void getBinaryFileHistory(UUID fileId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         log.debug("Start download file by id {}", fileId);
-        Optional<FileData> requestBinaryFile = gridFsService.downloadFileByFileId(fileId);
-        if (requestBinaryFile.isEmpty()) {
+        FileInfo fileInfo = gridFsService.getFileInfoByFileId(fileId);
+        if (fileInfo == null) {
             log.warn("File with id {} not found", fileId);
             response.setStatus(HttpStatus.NOT_FOUND.value());
             return;
         }
-        ServletOutputStream responseOutputStream = response.getOutputStream();
-        responseOutputStream.write(requestBinaryFile.get().getContent());
-        response.setHeader(CONTENT_DISPOSITION, "attachment; filename=\"%s\"".formatted(
-                requestBinaryFile.get().getFileName()));
-        response.setHeader(ACCESS_CONTROL_EXPOSE_HEADERS, CONTENT_DISPOSITION);
-        response.flushBuffer();
+        FileDownloadUtils.writeFile(fileInfo, () -> gridFsService.getFileByFileInfo(fileInfo), request, response);
     }
 
     /**
@@ -339,6 +377,7 @@ public class RequestExecutionHistoryService extends CrudService<RequestExecution
      * @return execution request information
      */
     public RequestExecutionDetails getExecutionHistoryDetailsBySseId(UUID sseId) {
+        historyWriter.flush(sseId);
         return detailsRepository.findByRequestExecutionSseId(sseId).orElse(null);
     }
 
@@ -0,0 +1,322 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.service;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.qubership.atp.itf.lite.backend.configuration.HistoryWriterProperties;
+import org.qubership.atp.itf.lite.backend.dataaccess.repository.RequestExecutionDetailsRepository;
+import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecution;
+import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecutionDetails;
+import org.qubership.atp.itf.lite.backend.utils.PayloadSizeUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects execution details of one sse id in memory while request is executed
+ * and persists them once through queue bounded by count and by size of bodies. Queue is drained by one thread
+ * in batches, each batch is written in one transaction with JDBC batching.
+ * If queue is full, caller persists details itself, so producers are slowed down instead of losing history.
+ */
+@Service
+@Slf4j
+public class RequestExecutionHistoryWriter {
+
+    private static final long POLL_TIMEOUT_MS = 1000;
+
+    private final HistoryWriterProperties properties;
+    private final RequestExecutionDetailsRepository detailsRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingDetails> queue;
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final Map<UUID, PendingDetails> collectedDetails = new ConcurrentHashMap<>();
+    private final Map<UUID, PendingDetails> persistingDetails = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> executionSseIds = new ConcurrentHashMap<>();
+    private Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor.
+     */
+    public RequestExecutionHistoryWriter(HistoryWriterProperties properties,
+                                         RequestExecutionDetailsRepository detailsRepository,
+                                         EntityManager entityManager,
+                                         PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.detailsRepository = detailsRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    void start() {
+        worker = Thread.ofPlatform().name("itf-lite-history-writer").daemon().start(this::processQueue);
+    }
+
+    /**
+     * Stops writer after all queued execution details are persisted.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (nonNull(worker)) {
+            worker.join(properties.getFlushTimeoutMs());
+        }
+        int dropped = queue.size();
+        if (dropped > 0) {
+            log.warn("{} execution details weren't persisted in {} ms before shutdown and are dropped", dropped,
+                    properties.getFlushTimeoutMs());
+        }
+    }
+
+    /**
+     * Get execution details of sse id collected in memory.
+     * Details are read from database or created by factory on first call for sse id.
+     *
+     * @param sseId   sse id
+     * @param factory creates new execution details
+     * @return execution details
+     */
+    public RequestExecutionDetails getDetails(UUID sseId, Supplier<RequestExecutionDetails> factory) {
+        PendingDetails pending = collectedDetails.get(sseId);
+        if (nonNull(pending)) {
+            return pending.getDetails();
+        }
+        // details are loaded outside of the map, so database calls don't block other sse ids of the same bin;
+        // previous details of the same sse id have to be stored to be found
+        flush(sseId);
+        PendingDetails loaded = detailsRepository.findByRequestExecutionSseId(sseId)
+                .map(details -> new PendingDetails(sseId, details, false))
+                .orElseGet(() -> new PendingDetails(sseId, assignIds(factory.get()), true));
+        PendingDetails existing = collectedDetails.putIfAbsent(sseId, loaded);
+        return (nonNull(existing) ? existing : loaded).getDetails();
+    }
+
+    /**
+     * Put collected execution details of sse id into persisting queue.
+     *
+     * @param sseId sse id
+     */
+    public void submit(UUID sseId) {
+        PendingDetails pending = collectedDetails.remove(sseId);
+        if (isNull(pending)) {
+            return;
+        }
+        persistingDetails.put(sseId, pending);
+        RequestExecution execution = pending.getDetails().getRequestExecution();
+        if (nonNull(execution) && nonNull(execution.getId())) {
+            executionSseIds.put(execution.getId(), sseId);
+        }
+        pending.setSizeInBytes(getBodiesSize(pending.getDetails()));
+        boolean queued = false;
+        if (queuedBytes.addAndGet(pending.getSizeInBytes())
+                <= PayloadSizeUtils.megabytesToBytes(properties.getQueueCapacityInMb())) {
+            try {
+                queued = queue.offer(pending, properties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            queuedBytes.addAndGet(-pending.getSizeInBytes());
+            log.warn("History writer queue is full, details for sse id {} are persisted on caller thread", sseId);
+            persist(Collections.singletonList(pending));
+        }
+    }
+
+    /**
+     * Wait until execution details of sse id submitted before are persisted.
+     *
+     * @param sseId sse id
+     */
+    public void flush(UUID sseId) {
+        PendingDetails pending = persistingDetails.get(sseId);
+        if (isNull(pending)) {
+            return;
+        }
+        await(pending.getPersisted(), "sse id " + sseId);
+    }
+
+    /**
+     * Wait until execution details of project submitted before are persisted,
+     * so they are found by history search.
+     *
+     * @param projectId project id
+     */
+    public void flushByProjectId(UUID projectId) {
+        CompletableFuture<?>[] persisted = persistingDetails.values().stream()
+                .filter(pending -> nonNull(pending.getDetails().getRequestExecution())
+                        && Objects.equals(projectId, pending.getDetails().getRequestExecution().getProjectId()))
+                .map(PendingDetails::getPersisted)
+                .toArray(CompletableFuture[]::new);
+        if (persisted.length > 0) {
+            await(CompletableFuture.allOf(persisted), "project " + projectId);
+        }
+    }
+
+    private void await(CompletableFuture<Void> persisted, String description) {
+        try {
+            persisted.get(properties.getFlushTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.debug("Execution details for {} weren't persisted", description);
+        } catch (TimeoutException e) {
+            log.warn("Execution details for {} aren't persisted in {} ms", description,
+                    properties.getFlushTimeoutMs());
+        }
+    }
+
+    /**
+     * Wait until execution details with execution id submitted before are persisted.
+     *
+     * @param executionId execution id
+     */
+    public void flushByExecutionId(UUID executionId) {
+        UUID sseId = isNull(executionId) ? null : executionSseIds.get(executionId);
+        if (nonNull(sseId)) {
+            flush(sseId);
+        }
+    }
+
+    private void processQueue() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingDetails first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (isNull(first)) {
+                    continue;
+                }
+                List<PendingDetails> batch = new ArrayList<>(properties.getBatchSize());
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                try {
+                    persist(batch);
+                } finally {
+                    queuedBytes.addAndGet(-batch.stream().mapToLong(PendingDetails::getSizeInBytes).sum());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in history writer", e);
+            }
+        }
+    }
+
+    private void persist(List<PendingDetails> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getBatchSize());
+                batch.forEach(pending -> {
+                    if (pending.isNew()) {
+                        entityManager.persist(pending.getDetails());
+                    } else {
+                        entityManager.merge(pending.getDetails());
+                    }
+                });
+            });
+            batch.forEach(pending -> complete(pending, null));
+        } catch (Exception e) {
+            if (batch.size() > 1) {
+                // find details failing the batch, the rest are persisted one by one
+                log.warn("Failed to persist batch of {} execution details, persist them one by one",
+                        batch.size(), e);
+                batch.forEach(pending -> persist(Collections.singletonList(pending)));
+            } else {
+                PendingDetails pending = batch.get(0);
+                log.error("Failed to persist execution details for sse id {}", pending.getSseId(), e);
+                complete(pending, e);
+            }
+        }
+    }
+
+    private void complete(PendingDetails pending, Exception error) {
+        persistingDetails.remove(pending.getSseId(), pending);
+        RequestExecution execution = pending.getDetails().getRequestExecution();
+        if (nonNull(execution) && nonNull(execution.getId())) {
+            executionSseIds.remove(execution.getId(), pending.getSseId());
+        }
+        if (isNull(error)) {
+            pending.getPersisted().complete(null);
+        } else {
+            pending.getPersisted().completeExceptionally(error);
+        }
+    }
+
+    private RequestExecutionDetails assignIds(RequestExecutionDetails details) {
+        // ids are needed before persisting, execution id is returned to user with response
+        if (isNull(details.getId())) {
+            details.setId(UUID.randomUUID());
+        }
+        RequestExecution execution = details.getRequestExecution();
+        if (nonNull(execution) && isNull(execution.getId())) {
+            execution.setId(UUID.randomUUID());
+        }
+        return details;
+    }
+
+    private long getBodiesSize(RequestExecutionDetails details) {
+        long size = PayloadSizeUtils.utf8Length(details.getResponseBody());
+        if (nonNull(details.getResponseBodyByte())) {
+            size += details.getResponseBodyByte().length;
+        }
+        if (nonNull(details.getRequestBody())) {
+            size += PayloadSizeUtils.utf8Length(details.getRequestBody().getContent());
+        }
+        return size;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingDetails {
+        private final UUID sseId;
+        private final RequestExecutionDetails details;
+        private final boolean isNew;
+        private final CompletableFuture<Void> persisted = new CompletableFuture<>();
+        @Setter
+        private long sizeInBytes;
+    }
+}
@@ -18,13 +18,11 @@ package org.qubership.atp.itf.lite.backend.service;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
-import static org.springframework.http.HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.util.CollectionUtils.isEmpty;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -58,6 +56,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.apache.camel.util.function.TriConsumer;
 import org.apache.commons.io.FilenameUtils;
@@ -69,8 +68,8 @@ import org.apache.hc.client5.http.entity.EntityBuilder;
 import org.apache.hc.client5.http.entity.mime.ByteArrayBody;
 import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
 import org.apache.hc.client5.http.entity.mime.StringBody;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
@@ -78,7 +77,6 @@ import org.apache.hc.core5.http.HeaderElement;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.ParseException;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.message.BasicHeader;
 import org.apache.hc.core5.http.message.BasicHeaderValueParser;
@@ -154,7 +152,6 @@ import org.qubership.atp.itf.lite.backend.model.api.response.RequestExecutionRes
 import org.qubership.atp.itf.lite.backend.model.api.response.RequestPreExecuteResponse;
 import org.qubership.atp.itf.lite.backend.model.api.response.collections.ContextEntity;
 import org.qubership.atp.itf.lite.backend.model.api.response.collections.ExecuteStepResponse;
-import org.qubership.atp.itf.lite.backend.model.api.response.environments.System;
 import org.qubership.atp.itf.lite.backend.model.api.response.itf.ItfParametersResolveResponse;
 import org.qubership.atp.itf.lite.backend.model.context.SaveRequestResolvingContext;
 import org.qubership.atp.itf.lite.backend.model.entities.Cookie;
@@ -176,11 +173,17 @@ import org.qubership.atp.itf.lite.backend.model.entities.http.methods.HttpMethod
 import org.qubership.atp.itf.lite.backend.service.context.ExecutorContextEnricher;
 import org.qubership.atp.itf.lite.backend.service.history.iface.DeleteHistoryService;
 import org.qubership.atp.itf.lite.backend.service.history.iface.EntityHistoryService;
+import org.qubership.atp.itf.lite.backend.service.rest.HttpClientLease;
 import org.qubership.atp.itf.lite.backend.service.rest.HttpClientService;
 import org.qubership.atp.itf.lite.backend.utils.Constants;
 import org.qubership.atp.itf.lite.backend.utils.CookieUtils;
+import org.qubership.atp.itf.lite.backend.utils.FileDownloadUtils;
 import org.qubership.atp.itf.lite.backend.utils.FileUtils;
+import org.qubership.atp.itf.lite.backend.utils.OrderUtils;
+import org.qubership.atp.itf.lite.backend.utils.PayloadSizeUtils;
 import org.qubership.atp.itf.lite.backend.utils.RequestUtils;
+import org.qubership.atp.itf.lite.backend.utils.ResponseBodyBuffer;
+import org.qubership.atp.itf.lite.backend.utils.SizeLimitedHttpEntity;
 import org.qubership.atp.itf.lite.backend.utils.StreamUtils;
 import org.qubership.atp.itf.lite.backend.utils.UrlParsingUtils;
 import org.qubership.atp.macros.core.processor.Evaluator;
@@ -194,7 +197,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.SerializationUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -206,7 +208,7 @@ import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Striped;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -267,6 +269,7 @@ public class RequestService extends CrudService<Request> implements EntityHistor
     private final NextRequestService nextRequestService;
     private final RequestResponseSizeProperties requestResponseSizeProperties;
     private final DeleteHistoryService deleteHistoryService;
+    private final ProjectTreeCacheService projectTreeCacheService;
     @Value("${atp.itf.lite.max-size-file:10485760}")
     private long maxFileSize;
 
@@ -290,9 +293,49 @@ public class RequestService extends CrudService<Request> implements EntityHistor
     public Request save(Request request) {
         Request savedRequest = super.save(request);
         folderService.updateFolderChildren(savedRequest.getFolderId());
+        projectTreeCacheService.requestsSaved(Collections.singletonList(savedRequest));
         return savedRequest;
     }
 
+    /**
+     * Save requests (and update requests tree snapshot).
+     *
+     * @param requests requests to save
+     * @return saved requests
+     */
+    @Override
+    public List<Request> saveAll(List<Request> requests) {
+        List<Request> savedRequests = super.saveAll(requests);
+        projectTreeCacheService.requestsSaved(savedRequests);
+        return savedRequests;
+    }
+
+    /**
+     * Delete request (and update requests tree snapshot).
+     *
+     * @param request request to delete
+     */
+    @Override
+    public void delete(Request request) {
+        super.delete(request);
+        projectTreeCacheService.requestsDeleted(request.getProjectId(), Collections.singleton(request.getId()));
+    }
+
+    /**
+     * Delete requests (and update requests tree snapshot).
+     *
+     * @param requests requests to delete
+     */
+    @Override
+    public void deleteByEntities(Iterable<Request> requests) {
+        super.deleteByEntities(requests);
+        StreamSupport.stream(requests.spliterator(), false)
+                .filter(request -> nonNull(request.getProjectId()))
+                .collect(Collectors.groupingBy(Request::getProjectId,
+                        Collectors.mapping(Request::getId, Collectors.toSet())))
+                .forEach(projectTreeCacheService::requestsDeleted);
+    }
+
     /**
      * Get request by specified identifier.
      *
@@ -440,27 +483,24 @@ public class RequestService extends CrudService<Request> implements EntityHistor
      * Get binary file from cache or gridfs by request id.
      *
      * @param requestId request id.
+     * @param request   http servlet request with range and conditional headers.
      * @param response  http servlet for send response.
      */
-    public void getRequestBinaryFile(UUID requestId, HttpServletResponse response) throws IOException {
+    public void getRequestBinaryFile(UUID requestId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         log.info("Get binary file for request with id {}", requestId);
-        Request request = getRequest(requestId);
-        FileData requestBinaryFile = itfLiteFileService.getRequestFileData(requestId, request.getModifiedWhen(),
-                Constants.DEFAULT_BINARY_FILES_FOLDER);
-        if (requestBinaryFile == null) {
+        Request itfLiteRequest = getRequest(requestId);
+        UUID fileId = null;
+        if (itfLiteRequest instanceof HttpRequest httpRequest && Objects.nonNull(httpRequest.getBody())
+                && Objects.nonNull(httpRequest.getBody().getBinaryBody())) {
+            fileId = httpRequest.getBody().getBinaryBody().getFileId();
+        }
+        if (!itfLiteFileService.writeRequestFile(requestId, fileId, itfLiteRequest.getModifiedWhen(),
+                Constants.DEFAULT_BINARY_FILES_FOLDER, request, response)) {
             response.setStatus(HttpStatus.NOT_FOUND.value());
             return;
         }
-
-        ServletOutputStream responseOutputStream = response.getOutputStream();
-        responseOutputStream.write(requestBinaryFile.getContent());
-        response.setHeader(CONTENT_DISPOSITION, "attachment; filename=\"%s\"".formatted(
-                requestBinaryFile.getFileName()));
-        response.setHeader(ACCESS_CONTROL_EXPOSE_HEADERS, CONTENT_DISPOSITION);
-        response.setHeader(CONTENT_TYPE, requestBinaryFile.getContentType());
-        log.debug("File with name {} and content type {} was downloaded.",
-                requestBinaryFile.getFileName(), requestBinaryFile.getContentType());
-        response.flushBuffer();
+        log.debug("Binary file for request with id {} was downloaded.", requestId);
     }
 
     /**
@@ -468,24 +508,17 @@ public class RequestService extends CrudService<Request> implements EntityHistor
      *
      * @param requestId request id.
      * @param fileId    file id.
+     * @param request   http servlet request with range and conditional headers.
      * @param response  http servlet for send response.
      */
-    public void getFile(UUID requestId, UUID fileId, HttpServletResponse response) throws IOException {
+    public void getFile(UUID requestId, UUID fileId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         log.info("Get file by id {}", fileId);
-        Request request = getRequest(requestId);
-        FileData file = itfLiteFileService.getFileDataById(fileId, request.getModifiedWhen(),
-                Constants.DEFAULT_FORM_DATA_FOLDER);
-        if (file == null) {
+        Request itfLiteRequest = getRequest(requestId);
+        if (!itfLiteFileService.writeFileById(fileId, itfLiteRequest.getModifiedWhen(),
+                Constants.DEFAULT_FORM_DATA_FOLDER, request, response)) {
             response.setStatus(HttpStatus.NOT_FOUND.value());
-            return;
         }
-
-        ServletOutputStream responseOutputStream = response.getOutputStream();
-        responseOutputStream.write(file.getContent());
-        response.setHeader(CONTENT_DISPOSITION, "attachment; filename=\"%s\"".formatted(
-                file.getFileName()));
-        response.setHeader(ACCESS_CONTROL_EXPOSE_HEADERS, CONTENT_DISPOSITION);
-        response.flushBuffer();
     }
 
     /**
@@ -493,12 +526,14 @@ public class RequestService extends CrudService<Request> implements EntityHistor
      *
      * @param requestId request id.
      * @param executionId execution id.
+     * @param request   http servlet request with range and conditional headers.
      * @param response  http servlet for send response.
      */
-    public void writeResponseAsFile(UUID requestId, UUID executionId, HttpServletResponse response)
-            throws IOException {
+    public void writeResponseAsFile(UUID requestId, UUID executionId, HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
         log.info("Get response as file for requestId = {} by executionId = {}", requestId, executionId);
 
+        executionHistoryService.flushExecutionDetailsByExecutionId(executionId);
         Optional<RequestExecutionDetails> detailsOptional =
                 detailsRepository.findByRequestExecutionByExecutionId(executionId);
         if (detailsOptional.isEmpty()) {
@@ -534,10 +569,9 @@ public class RequestService extends CrudService<Request> implements EntityHistor
         response.setHeader("Access-Control-Expose-Headers", "Content-Disposition");
         response.setHeader("X-Content-Type-Options", "nosniff");
 
-        ServletOutputStream responseOutputStream = response.getOutputStream();
         byte[] responseContentAsByteArray = details.getResponseBodyByte();
-        responseOutputStream.write(responseContentAsByteArray);
-        response.flushBuffer();
+        FileDownloadUtils.writeContent(responseContentAsByteArray == null ? new byte[0] : responseContentAsByteArray,
+                executionId.toString(), request, response);
     }
 
     /**
@@ -1118,8 +1152,8 @@ public class RequestService extends CrudService<Request> implements EntityHistor
             Evaluator evaluator = macrosService.createMacrosEvaluator(projectId);
             SaveRequestResolvingContext resolvingContext = SaveRequestResolvingContext.builder().build();
             if (Objects.nonNull(environmentId)) {
-                Map<String, Object> environmentVariables = SaveRequestResolvingContext.parseSystems(
-                        envParamService.getEnvironmentSystemsById(environmentId));
+                Map<String, Object> environmentVariables =
+                        envParamService.getEnvironmentSnapshot(environmentId, null).getVariables();
                 resolvingContext.setEnvironmentVariables(environmentVariables);
                 resolvingContext.getEnvironment().putAll(environmentVariables);
             }
@@ -1192,13 +1226,14 @@ public class RequestService extends CrudService<Request> implements EntityHistor
                 .environment(SaveRequestResolvingContext.parseScope(context, ContextScope.ENVIRONMENT))
                 .iterationData(SaveRequestResolvingContext.parseScope(context, ContextScope.DATA))
                 .variables(SaveRequestResolvingContext.parseScope(context, ContextScope.LOCAL_VARIABLES))
+                .scriptSessionId(testRunId)
                 .build();
 
         if (nonNull(context)) {
             Object envId = context.get(Constants.ENV_ID_KEY);
             if (nonNull(envId)) {
-                List<System> systems = envParamService.getEnvironmentSystemsById(UUID.fromString(envId.toString()));
-                Map<String, Object> environmentVariables = SaveRequestResolvingContext.parseSystems(systems);
+                Map<String, Object> environmentVariables = envParamService.getEnvironmentSnapshot(
+                        UUID.fromString(envId.toString()), testRunId).getVariables();
                 resolvingContext.setEnvironmentVariables(environmentVariables);
                 resolvingContext.getEnvironment().putAll(environmentVariables);
             }
@@ -1278,7 +1313,8 @@ public class RequestService extends CrudService<Request> implements EntityHistor
                     (req, resp, error) -> {
                         TestingStatuses status = error == null
                                 ? TestingStatuses.PASSED : TestingStatuses.FAILED;
-                        ramService.writeRequestExecutionResult(transportLogRecordId, req, resp, error, status);
+                        ramService.writeRequestExecutionResult(testRunId, transportLogRecordId, req, resp, error,
+                                status);
                     };
             BiFunction<PostmanExecuteScriptResponseDto, Boolean, JsExecutionResult> scriptExecution =
                     ramService::writeTestsResults;
@@ -1286,7 +1322,8 @@ public class RequestService extends CrudService<Request> implements EntityHistor
                     (req, consoleLogs) -> {
                         String prescript = req == null || req.getPreScripts() == null ? "" : req.getPreScripts();
                         String postscript = req == null || req.getPostScripts() == null ? "" : req.getPostScripts();
-                        ramService.writeConsoleLogs(transportLogRecordId, prescript, postscript, consoleLogs);
+                        ramService.writeConsoleLogs(requestExecuteRequest.getExecutionRequestId(), testRunId,
+                                transportLogRecordId, prescript, postscript, consoleLogs);
                     };
             Function<RequestExecutionResponse, UUID> setExecutionId = (resp) -> transportLogRecordId;
             RequestExecutionResponse response = executeRequest(saveRequest, null, file,
@@ -1298,17 +1335,15 @@ public class RequestService extends CrudService<Request> implements EntityHistor
             if (!request.isAutoCookieDisabled() && saveRequest instanceof HttpRequestEntitySaveRequest) {
                 List<Cookie> cookies = saveRequest.getCookies();
                 if (!CollectionUtils.isEmpty(cookies)) {
-                    cookieService.fillCookieInfoWithExecutionRequestInfo(cookies,
-                            requestExecuteRequest.getExecutionRequestId(), requestExecuteRequest.getTestRunId());
-                    cookieService.deleteByExecutionRequestIdAndTestRunId(requestExecuteRequest.getExecutionRequestId(),
-                            requestExecuteRequest.getTestRunId());
-                    cookieService.saveWithDeduplication(cookies);
+                    cookieService.saveExecutionCookiesChanges(requestExecuteRequest.getExecutionRequestId(),
+                            requestExecuteRequest.getTestRunId(), cookies);
                 }
             }
         } catch (Exception e) {
             statusPassed = false;
             log.error("Request execution failed: (RequestId: {})", request.getId(), e);
         }
+        ramService.flushLogs(requestExecuteRequest.getExecutionRequestId(), testRunId);
 
         nextRequestPostProcess(testRunId, request.getId(), request.getName());
         // if this condition is true we need to iterate by requests manually
@@ -1433,8 +1468,8 @@ public class RequestService extends CrudService<Request> implements EntityHistor
         resolvingContext.parseAndClassifyContextVariables(request.getContextVariables());
 
         if (nonNull(environmentId)) {
-            List<System> systems = envParamService.getEnvironmentSystemsById(environmentId);
-            Map<String, Object> environmentVariables = SaveRequestResolvingContext.parseSystems(systems);
+            Map<String, Object> environmentVariables =
+                    envParamService.getEnvironmentSnapshot(environmentId, null).getVariables();
             resolvingContext.setEnvironmentVariables(environmentVariables);
             resolvingContext.getEnvironment().putAll(environmentVariables);
         }
@@ -1459,74 +1494,49 @@ public class RequestService extends CrudService<Request> implements EntityHistor
         BiFunction<PostmanExecuteScriptResponseDto, Boolean, JsExecutionResult> scriptExecution =
                 (scriptResults, isPreScript) -> executionHistoryService.logRequestJsExecution(token, sseId, request,
                         scriptResults, isPreScript);
-        BiConsumer<RequestEntitySaveRequest, List<ConsoleLogDto>> logConsoleLogs = (req, consoleLogs) -> {
-            Optional<RequestExecutionDetails> detailsOptional = detailsRepository.findByRequestExecutionSseId(sseId);
-            RequestExecutionDetails details;
-            if (detailsOptional.isPresent()) {
-                details = detailsOptional.get();
-            } else {
-                log.warn("Details information for request id {} not found by SSE ID {}. Generate new details.",
-                        req.getId(), sseId);
-                details = executionHistoryService.generateAndConfigureRequestExecutionDetails(request, token, sseId);
-            }
-            details.setConsoleLogs(consoleLogs);
-            detailsRepository.save(details);
-        };
-        Function<RequestExecutionResponse, UUID> setExecutionId = (resp) -> {
-            Optional<RequestExecutionDetails> detailsOptional = detailsRepository.findByRequestExecutionSseId(sseId);
-            RequestExecutionDetails details;
-            if (detailsOptional.isPresent()) {
-                details = detailsOptional.get();
-            } else {
-                log.warn("Details information for request id {} not found by SSE ID {}. Generate new details.",
-                        request.getId(), sseId);
-                details = executionHistoryService.generateAndConfigureRequestExecutionDetails(request, token, sseId);
-                detailsRepository.save(details);
-            }
-            return details.getRequestExecution().getId();
-        };
-        RequestExecutionResponse response = executeRequest(request, context, file, resolvingContext,
-                afterExecution, scriptExecution, environmentId, fileDataList, setExecutionId, logConsoleLogs,
-                runtimeOptions, (ignore) -> { });
-        response.parseAndSetContextVariables(resolvingContext);
-
-        RequestExecutionDetails details = detailsRepository.findByRequestExecutionSseId(sseId)
-                .orElseGet(() -> {
-                    log.warn("Details information for request id {} not found by SSE ID {}. Generate new details.",
-                            request.getId(), sseId);
-                    return executionHistoryService.generateAndConfigureRequestExecutionDetails(request, token, sseId);
-                });
-        details.setContextVariables(response.getContextVariables());
+        BiConsumer<RequestEntitySaveRequest, List<ConsoleLogDto>> logConsoleLogs = (req, consoleLogs) ->
+                executionHistoryService.getExecutionDetails(request, token, sseId).setConsoleLogs(consoleLogs);
+        Function<RequestExecutionResponse, UUID> setExecutionId = (resp) ->
+                executionHistoryService.getExecutionDetails(request, token, sseId).getRequestExecution().getId();
+        try {
+            RequestExecutionResponse response = executeRequest(request, context, file, resolvingContext,
+                    afterExecution, scriptExecution, environmentId, fileDataList, setExecutionId, logConsoleLogs,
+                    runtimeOptions, (ignore) -> { });
+            response.parseAndSetContextVariables(resolvingContext);
 
-        if (request instanceof HttpRequestEntitySaveRequest httpRequest) {
-            List<Cookie> cookies = request.getCookies();
-            if (!CollectionUtils.isEmpty(cookies)) {
-                if (!request.isAutoCookieDisabled()) {
-                    cookieService.fillCookieInfo(cookies, projectId);
-                    cookieService.deleteByUserIdAndProjectId(projectId);
-                    List<Cookie> savedCookies = cookieService.saveWithDeduplication(cookies);
-                    try {
-                        URI uri = new URI(httpRequest.getUrl());
-                        HttpHeaderSaveRequest cookieHeader = cookieService.cookieListToRequestHeader(
-                                uri, savedCookies);
-                        if (StringUtils.isNotEmpty(cookieHeader.getValue())) {
-                            response.setCookieHeader(cookieHeader);
-                            details.setCookieHeader(cookieHeader);
+            RequestExecutionDetails details = executionHistoryService.getExecutionDetails(request, token, sseId);
+            details.setContextVariables(response.getContextVariables());
+
+            if (request instanceof HttpRequestEntitySaveRequest httpRequest) {
+                List<Cookie> cookies = request.getCookies();
+                if (!CollectionUtils.isEmpty(cookies)) {
+                    if (!request.isAutoCookieDisabled()) {
+                        List<Cookie> savedCookies = cookieService.saveUserCookiesChanges(projectId, cookies);
+                        try {
+                            URI uri = new URI(httpRequest.getUrl());
+                            HttpHeaderSaveRequest cookieHeader = cookieService.cookieListToRequestHeader(
+                                    uri, savedCookies);
+                            if (StringUtils.isNotEmpty(cookieHeader.getValue())) {
+                                response.setCookieHeader(cookieHeader);
+                                details.setCookieHeader(cookieHeader);
+                            }
+                        } catch (URISyntaxException ex) {
+                            log.debug("Syntax exception", ex);
                         }
-                    } catch (URISyntaxException ex) {
-                        log.debug("Syntax exception", ex);
                     }
+                    response.setCookies(CookieUtils.convertCookieListToResponseCookieList(
+                            cookieService.filterCookie(httpRequest.getUrl(), cookies)));
+                    details.setCookies(response.getCookies());
                 }
-                response.setCookies(CookieUtils.convertCookieListToResponseCookieList(
-                        cookieService.filterCookie(httpRequest.getUrl(), cookies)));
-                details.setCookies(response.getCookies());
+
             }
 
+            log.debug("Response to return: {}, and final details collected {}", response, details);
+            return response;
+        } finally {
+            // details are persisted once, even if execution failed
+            executionHistoryService.persistExecutionDetails(sseId);
         }
-
-        detailsRepository.save(details);
-        log.debug("Response to return: {}, and final details saved {}", response, details);
-        return response;
     }
 
     /**
@@ -1672,15 +1682,34 @@ public class RequestService extends CrudService<Request> implements EntityHistor
                 }
             }
         } finally {
-            if (consoleLogs == null) {
-                consoleLogs = new ArrayList<>();
+            try {
+                if (consoleLogs == null) {
+                    consoleLogs = new ArrayList<>();
+                }
+                logConsoleLogs.accept(requestForHistory, consoleLogs);
+                addTimeMetric(transportType, projectId, timer);
+            } finally {
+                releaseResponseBody(response);
             }
-            logConsoleLogs.accept(requestForHistory, consoleLogs);
-            addTimeMetric(transportType, projectId, timer);
         }
         return response;
     }
 
+    /**
+     * Delete temporary file of response body, history and scripts have already got the body.
+     *
+     * @param response response
+     */
+    private void releaseResponseBody(RequestExecutionResponse response) {
+        if (nonNull(response.getBodyContent())) {
+            try {
+                response.getBodyContent().close();
+            } catch (IOException e) {
+                log.warn("Failed to release response body of request execution", e);
+            }
+        }
+    }
+
     private RequestExecutionResponse executeRequest(RequestEntitySaveRequest request, String context,
                                                     SaveRequestResolvingContext resolvingContext,
                                                     Optional<MultipartFile> file,
@@ -1707,38 +1736,10 @@ public class RequestService extends CrudService<Request> implements EntityHistor
     private void validateRequestSizeLimits(RequestEntitySaveRequest request, TransportType transportType,
                                            Optional<MultipartFile> file, List<FileData> fileDataList) {
         HttpRequestEntitySaveRequest httpRequestEntitySaveRequest = (HttpRequestEntitySaveRequest) request;
-        byte[] serializedHttpRequestEntitySaveRequest = SerializationUtils.serialize(httpRequestEntitySaveRequest);
-        long requestWithoutPostScriptSize = 0;
-        if (nonNull(serializedHttpRequestEntitySaveRequest)) {
-            requestWithoutPostScriptSize = serializedHttpRequestEntitySaveRequest.length;
-        } else {
-            log.warn("Can't serialize http request entity save for request {}", request.getId());
-        }
-        if (nonNull(httpRequestEntitySaveRequest.getPostScripts())) {
-            byte[] serializedPostScripts = SerializationUtils.serialize(
-                    httpRequestEntitySaveRequest.getPostScripts());
-            long postScriptsSizeInBytes = 0;
-            if (nonNull(serializedPostScripts)) {
-                postScriptsSizeInBytes = serializedPostScripts.length;
-            } else {
-                log.warn("Can't serialize post scripts for request {}", request.getId());
-            }
-            requestWithoutPostScriptSize = requestWithoutPostScriptSize - postScriptsSizeInBytes;
-        }
-        if (!CollectionUtils.isEmpty(fileDataList)) {
-            byte[] serializedFileDataList = SerializationUtils.serialize(fileDataList);
-            if (nonNull(serializedFileDataList)) {
-                requestWithoutPostScriptSize += serializedFileDataList.length;
-            } else {
-                log.warn("Can't serialize file data list for request {}", request.getId());
-            }
-        }
+        long requestWithoutPostScriptSize = PayloadSizeUtils.calculateRequestSize(httpRequestEntitySaveRequest)
+                + PayloadSizeUtils.calculateFilesSize(fileDataList);
         if (file != null && file.isPresent()) {
-            try {
-                requestWithoutPostScriptSize += file.get().getBytes().length;
-            } catch (IOException exception) {
-                log.warn("Can't get bytes for binary file for request {}", request.getId(), exception);
-            }
+            requestWithoutPostScriptSize += PayloadSizeUtils.calculateFileSize(file.get());
         }
         if (isNotEntityContentMeetLimit(requestWithoutPostScriptSize, true)) {
             ItfLiteRequestSizeLimitException exception = new ItfLiteRequestSizeLimitException();
@@ -1754,23 +1755,8 @@ public class RequestService extends CrudService<Request> implements EntityHistor
      * @param postScripts post scripts
      */
     private void validateResponseAndPostScriptSizeLimits(RequestExecutionResponse response, String postScripts) {
-        byte[] serializedResponse = SerializationUtils.serialize(response);
-        long responseAndPostScriptSize = 0;
-        if (nonNull(serializedResponse)) {
-            responseAndPostScriptSize = serializedResponse.length;
-        } else {
-            log.warn("Can't serialize response with id = {}", response.getId());
-        }
-        if (StringUtils.isNotEmpty(postScripts)) {
-            byte[] serializedPostScripts = SerializationUtils.serialize(postScripts);
-            long postScriptsSize = 0;
-            if (nonNull(serializedPostScripts)) {
-                postScriptsSize = serializedPostScripts.length;
-            } else {
-                log.warn("Can't serialize post scripts with response id = {}", response.getId());
-            }
-            responseAndPostScriptSize += postScriptsSize;
-        }
+        long responseAndPostScriptSize = PayloadSizeUtils.calculateResponseSize(response)
+                + PayloadSizeUtils.utf8Length(postScripts);
         if (isNotEntityContentMeetLimit(responseAndPostScriptSize, false)) {
             ItfLiteResponseSizeLimitException exception = new ItfLiteResponseSizeLimitException();
             log.error("Response and post-script are bigger than ITF-Lite's configured limit = {} Mb",
@@ -1999,36 +1985,31 @@ public class RequestService extends CrudService<Request> implements EntityHistor
         String urlWithParameters = createUrlWithParameters(httpRequest, runtimeOptions);
         Date beforeExecutionDate = new Date();
         CookieStore httpCookieStore = new BasicCookieStore();
-        try (CloseableHttpClient client =
-                     httpClientService.getHttpClient(projectId, runtimeOptions, urlWithParameters, httpCookieStore)) {
-            HttpUriRequestBase request = method.getHttpRequest(urlWithParameters);
-            request.setEntity(entity);
-            request.setHeaders(headers);
-
-            try (CloseableHttpResponse response = client.execute(request)) {
-                calculateAndRegisterRequestSize(entity, headers, projectId, httpRequest.getTransportType());
-                return createResponse(httpRequest, response, beforeExecutionDate, new Date(),
-                        httpCookieStore, projectId);
-            }
+        HttpClientContext clientContext = HttpClientContext.create();
+        clientContext.setCookieStore(httpCookieStore);
+        HttpUriRequestBase request = method.getHttpRequest(urlWithParameters);
+        request.setEntity(entity);
+        request.setHeaders(headers);
+
+        double requestSize = calculateAndValidateRequestSize(entity, headers);
+        // shared client is owned by HttpClientService, so only the lease is closed here
+        try (HttpClientLease lease = httpClientService.acquireHttpClient(projectId, runtimeOptions, urlWithParameters);
+             CloseableHttpResponse response = lease.getClient().execute(request, clientContext)) {
+            metricService.incrementRequestSizePerProject(requestSize, projectId, httpRequest.getTransportType());
+            return createResponse(httpRequest, response, beforeExecutionDate, new Date(),
+                    httpCookieStore, projectId);
         }
     }
 
-    private void calculateAndRegisterRequestSize(HttpEntity entity,
-                                                 Header[] headers,
-                                                 UUID projectId,
-                                                 TransportType transportType) throws Exception {
-        double requestSize = 0.0;
-        requestSize += RequestUtils.calculateHeadersSize(headers);
-        if (nonNull(entity)) {
-            // Used outputStream to avoid `org.apache.http.ContentTooLongException: Content length is too long`
-            // for MultipartFormEntity http entities
-            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            entity.writeTo(outputStream);
-            outputStream.flush();
-            requestSize += outputStream.toByteArray().length;
+    private double calculateAndValidateRequestSize(HttpEntity entity, Header[] headers) throws IOException {
+        long entitySize = PayloadSizeUtils.calculateEntitySize(entity);
+        if (isNotEntityContentMeetLimit(entitySize, true)) {
+            ItfLiteRequestSizeLimitException exception = new ItfLiteRequestSizeLimitException();
+            log.error("Request entity is bigger than ITF-Lite's configured limit = {} Mb",
+                    requestResponseSizeProperties.getRequestSizeLimitInMb(), exception);
+            throw exception;
         }
-        metricService.incrementRequestSizePerProject(requestSize, projectId,
-                transportType);
+        return RequestUtils.calculateHeadersSize(headers) + entitySize;
     }
 
     private boolean isNotEntityContentMeetLimit(long sizeInBytes, boolean isRequestEntity) {
@@ -2036,8 +2017,7 @@ public class RequestService extends CrudService<Request> implements EntityHistor
         if (!isRequestEntity) {
             bodySizeLimitInMb = requestResponseSizeProperties.getResponseSizeLimitInMb();
         }
-        // bytes to megabytes before comparison
-        return sizeInBytes * 1.0 / 1024 / 1024 >= bodySizeLimitInMb;
+        return PayloadSizeUtils.isLimitExceeded(sizeInBytes, PayloadSizeUtils.megabytesToBytes(bodySizeLimitInMb));
     }
 
     private Header[] obtainHttpHeaders(HttpRequestEntitySaveRequest httpRequest) {
@@ -2297,20 +2277,37 @@ public class RequestService extends CrudService<Request> implements EntityHistor
         String requestDomain = UrlParsingUtils.getDomain(httpRequest.getUrl());
         List<ResponseCookie> cookies = CookieUtils.parseResponseCookie(requestDomain, cookieStore.getCookies());
 
+        RequestBodyType bodyType = getResponseBodyType(respHeaders);
         HttpEntity entity = response.getEntity();
         String body = "";
+        boolean bodyTruncated = false;
+        boolean binaryBody = false;
+        ResponseBodyBuffer bodyBuffer = null;
+        Charset charset = null;
         if (nonNull(entity)) {
-            body = EntityUtils.toString(entity,StandardCharsets.UTF_8);
-
-            //TODO: Need to check after migration to Spring Boot 3.3.13 and httpclient5
-            ContentType contentType = ContentType.parse(entity.getContentType());
-            Charset charset = contentType == null ? null : contentType.getCharset();
-
-            responseSize += charset == null ? body.getBytes().length : body.getBytes(charset).length;
+            SizeLimitedHttpEntity limitedEntity = new SizeLimitedHttpEntity(entity,
+                    PayloadSizeUtils.megabytesToBytes(requestResponseSizeProperties.getResponseSizeLimitInMb()),
+                    this::responseSizeLimitException);
+            long inMemoryThreshold = requestResponseSizeProperties.getResponseInMemoryThresholdInKb() * 1024L;
+            bodyBuffer = new ResponseBodyBuffer(inMemoryThreshold);
+            try {
+                limitedEntity.writeTo(bodyBuffer);
+                responseSize += bodyBuffer.size();
+                ContentType contentType = ContentType.parse(entity.getContentType());
+                charset = getCharset(contentType);
+                binaryBody = isBinaryContent(contentType, bodyType);
+                // body of big response stays in temporary file until the execution ends, UI gets its preview
+                bodyTruncated = !bodyBuffer.isInMemory();
+                body = bodyTruncated
+                        ? bodyBuffer.preview(charset, (int) inMemoryThreshold)
+                        : bodyBuffer.toString(charset);
+            } catch (IOException | RuntimeException e) {
+                bodyBuffer.close();
+                throw e;
+            }
         }
         metricService.incrementResponseSizePerProject(responseSize, projectId, httpRequest.getTransportType());
 
-        RequestBodyType bodyType = getResponseBodyType(respHeaders);
         String statusCode = String.valueOf(response.getCode());
         String statusText = response.getReasonPhrase();
         BigInteger duration = BigInteger.valueOf(afterExecutionDate.getTime() - beforeExecutionDate.getTime());
@@ -2318,6 +2315,10 @@ public class RequestService extends CrudService<Request> implements EntityHistor
                 .id(httpRequest.getId())
                 .responseHeaders(headers)
                 .body(body)
+                .bodyTruncated(bodyTruncated)
+                .bodyContent(bodyBuffer)
+                .bodyCharset(charset)
+                .binaryBody(binaryBody)
                 .bodyType(bodyType)
                 .statusCode(statusCode)
                 .statusText(statusText)
@@ -2328,6 +2329,46 @@ public class RequestService extends CrudService<Request> implements EntityHistor
                 .build();
     }
 
+    /**
+     * Get charset of response body stored in history: binary body is stored as is,
+     * text body is stored in UTF-8.
+     *
+     * @param contentType value of response Content-Type header
+     * @return charset to decode stored body
+     */
+    static Charset getHistoryBodyCharset(@Nullable String contentType) {
+        ContentType parsedContentType = contentType == null ? null : ContentType.parse(contentType);
+        if (parsedContentType == null || parsedContentType.getMimeType() == null) {
+            return StandardCharsets.UTF_8;
+        }
+        return isBinaryContent(parsedContentType, null) ? getCharset(parsedContentType) : StandardCharsets.UTF_8;
+    }
+
+    private static Charset getCharset(ContentType contentType) {
+        Charset charset = contentType == null ? null : contentType.getCharset();
+        return charset == null ? StandardCharsets.UTF_8 : charset;
+    }
+
+    private static boolean isBinaryContent(ContentType contentType, RequestBodyType bodyType) {
+        if (contentType == null) {
+            return RequestBodyType.Binary.equals(bodyType);
+        }
+        String mimeType = contentType.getMimeType().toLowerCase();
+        return !(mimeType.startsWith("text/")
+                || mimeType.contains("json")
+                || mimeType.contains("xml")
+                || mimeType.contains("javascript")
+                || mimeType.contains("graphql")
+                || mimeType.contains("x-www-form-urlencoded"));
+    }
+
+    private ItfLiteResponseSizeLimitException responseSizeLimitException() {
+        ItfLiteResponseSizeLimitException exception = new ItfLiteResponseSizeLimitException();
+        log.error("Response is bigger than ITF-Lite's configured limit = {} Mb, reading is aborted",
+                requestResponseSizeProperties.getResponseSizeLimitInMb(), exception);
+        return exception;
+    }
+
     RequestBodyType getResponseBodyType(Map<String, List<String>> headersMap) {
         BasicHeader[] responseHeaders = headersMap.entrySet()
                 .stream()
@@ -2457,7 +2498,7 @@ public class RequestService extends CrudService<Request> implements EntityHistor
             throws URISyntaxException, AtpDecryptException {
         HttpRequestEntitySaveRequest httpRequestEntitySaveRequest =
                 modelMapper.map(httpRequest, HttpRequestEntitySaveRequest.class);
-        envParamService.resolveEnvironmentParameters(httpRequestEntitySaveRequest, false, environmentId);
+        envParamService.resolveEnvironmentParameters(httpRequestEntitySaveRequest, false, environmentId, null);
         resolveVelocityVariables(httpRequest, context, isVelocityResolveRequired, httpRequestEntitySaveRequest);
 
         return modelMapper.map(httpRequestEntitySaveRequest, HttpRequest.class);
@@ -2522,7 +2563,20 @@ public class RequestService extends CrudService<Request> implements EntityHistor
         Integer maxOrder = isNull(folderId) ? requestRepository.findMaxOrder(projectId) :
                 requestRepository.findMaxOrder(projectId, folderId);
 
-        final Integer calcOrder = nonNull(maxOrder) ? ++maxOrder : 0;
+        Integer calcOrder = OrderUtils.getNextOrder(maxOrder);
+        if (isNull(calcOrder)) {
+            log.debug("There is no free order after the last request in the folder '{}', requests order is "
+                    + "rebalanced", folderId);
+            List<Request> requests = requestRepository.findAllByProjectIdAndFolderId(projectId, folderId);
+            requests.removeIf(requestEntity -> requestEntity.getId().equals(request.getId()));
+            requests.sort(Comparator.comparing(Request::getOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+            int count = 0;
+            for (Request requestEntity : requests) {
+                requestEntity.setOrder(OrderUtils.getRebalancedOrder(count++));
+            }
+            projectTreeCacheService.requestsSaved(requestRepository.saveAll(requests));
+            calcOrder = OrderUtils.getRebalancedOrder(count);
+        }
         log.debug("Request order: {}", calcOrder);
 
         request.setOrder(calcOrder);
@@ -2530,6 +2584,8 @@ public class RequestService extends CrudService<Request> implements EntityHistor
 
     /**
      * Change request order.
+     * Only changed request is updated if there is free order value between its new neighbours,
+     * otherwise all requests in the folder are renumbered.
      */
     public void order(UUID requestId, RequestOrderChangeRequest request) {
         log.debug("Change order for the request with id '{}', request params: {}", requestId, request);
@@ -2537,18 +2593,33 @@ public class RequestService extends CrudService<Request> implements EntityHistor
         final UUID folderId = request.getFolderId();
         final int order = request.getOrder();
 
+        List<Integer> siblingOrders = isNull(folderId)
+                ? requestRepository.findRootSiblingOrders(projectId, requestId)
+                : requestRepository.findSiblingOrders(projectId, folderId, requestId);
+        Integer calcOrder = OrderUtils.getOrderAtPosition(siblingOrders, order);
+        if (nonNull(calcOrder)) {
+            // request has to be one of siblings, the same way as it's found between them on rebalancing
+            Request changedRequest = StreamUtils.find(Collections.singletonList(get(requestId)),
+                    req -> projectId.equals(req.getProjectId()) && Objects.equals(folderId, req.getFolderId()));
+            changedRequest.setOrder(calcOrder);
+            projectTreeCacheService.requestsSaved(Collections.singletonList(requestRepository.save(changedRequest)));
+            return;
+        }
+
+        log.debug("There is no free order at position {} in the folder '{}', requests order is rebalanced",
+                order, folderId);
         List<Request> requests = requestRepository.findAllByProjectIdAndFolderId(projectId, folderId);
         requests.sort(Comparator.comparing(Request::getOrder, Comparator.nullsLast(Comparator.naturalOrder())));
 
         Request changedRequest = StreamUtils.find(requests, req -> req.getId().equals(requestId));
         requests.remove(changedRequest);
-        requests.add(order, changedRequest);
+        requests.add(Math.min(order, requests.size()), changedRequest);
 
         int count = 0;
         for (Request requestEntity : requests) {
-            requestEntity.setOrder(count++);
+            requestEntity.setOrder(OrderUtils.getRebalancedOrder(count++));
         }
-        requestRepository.saveAll(requests);
+        projectTreeCacheService.requestsSaved(requestRepository.saveAll(requests));
     }
 
     /**
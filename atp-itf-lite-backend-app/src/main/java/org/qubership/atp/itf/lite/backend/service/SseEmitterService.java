@@ -17,28 +17,37 @@
 package org.qubership.atp.itf.lite.backend.service;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.qubership.atp.integration.configuration.mdc.MdcUtils;
 import org.qubership.atp.integration.configuration.model.notification.Notification;
 import org.qubership.atp.integration.configuration.service.NotificationService;
+import org.qubership.atp.itf.lite.backend.configuration.RequestResponseSizeProperties;
 import org.qubership.atp.itf.lite.backend.configuration.SseProperties;
 import org.qubership.atp.itf.lite.backend.enums.ImportToolType;
 import org.qubership.atp.itf.lite.backend.enums.SseEventType;
 import org.qubership.atp.itf.lite.backend.enums.http.RequestBodyType;
 import org.qubership.atp.itf.lite.backend.exceptions.ExceptionConstants;
 import org.qubership.atp.itf.lite.backend.exceptions.ItfLiteException;
+import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteSseEmittersLimitException;
 import org.qubership.atp.itf.lite.backend.model.RequestRuntimeOptions;
 import org.qubership.atp.itf.lite.backend.model.api.kafka.ItfLiteExecutionFinishEvent;
 import org.qubership.atp.itf.lite.backend.model.api.request.RequestEntitySaveRequest;
@@ -53,11 +62,17 @@ import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecutio
 import org.qubership.atp.itf.lite.backend.service.kafka.KafkaExecutionFinishSendingService;
 import org.qubership.atp.itf.lite.backend.utils.Constants;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.google.common.collect.Lists;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -71,45 +86,129 @@ public class SseEmitterService {
     private final KafkaExecutionFinishSendingService kafkaExecutionFinishSendingService;
     private final RequestExecutionHistoryService requestExecutionHistoryService;
     private final ModelMapper modelMapper;
-    private final ExecutorService ssePingsExecutorService = Executors.newCachedThreadPool();
+    private final ExecutorService ssePingsExecutorService = Executors.newVirtualThreadPerTaskExecutor();
     private final SseProperties sseProperties;
-    private final Map<UUID, SseEmitter> sseEmitters = new ConcurrentHashMap<>();
+    private final Map<UUID, UserEmitter> sseEmitters = new ConcurrentHashMap<>();
+    // emitters whose ping is being sent
+    private final Set<UUID> pingingEmitters = ConcurrentHashMap.newKeySet();
     private final GridFsService gridFsService;
+    private final MetricService metricService;
+    private final RequestResponseSizeProperties requestResponseSizeProperties;
 
 
+    /**
+     * Registers gauges of opened emitters.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        metricService.registerSseEmittersGauges(sseEmitters::size,
+                () -> sseEmitters.values().stream().map(UserEmitter::getUserId).distinct().count());
+    }
+
     /**
      * Generates and configures emitter for sseId.
+     * The emitter is kept alive by {@link #pingEmitters()}.
      *
      * @param sseId  sse id
      * @param userId user id
      * @return configured sse emitter with connection event
      */
     public SseEmitter generateAndConfigureEmitter(UUID sseId, UUID userId) {
+        checkEmittersLimits(userId);
         SseEmitter emitter = new SseEmitter(sseProperties.getSseEmitterTimeout());
-        sseEmitters.put(sseId, emitter);
-        emitter.onCompletion(() -> sseEmitters.remove(sseId));
+        UserEmitter userEmitter = new UserEmitter(emitter, userId, System.nanoTime());
+        sseEmitters.put(sseId, userEmitter);
+        emitter.onCompletion(() -> sseEmitters.remove(sseId, userEmitter));
+        emitter.onError(e -> sseEmitters.remove(sseId, userEmitter));
         emitter.onTimeout(() -> {
-            sseEmitters.remove(sseId);
+            sseEmitters.remove(sseId, userEmitter);
             prepareAndSendSseEmitterExpiredNotification(userId);
         });
+        return emitter;
+    }
+
+    /**
+     * Pings all emitters of the pod in batches to prolong connections.
+     * Batches are sent without waiting, so slow clients don't block the scheduler.
+     * Each ping is limited by send timeout, emitters which can't be pinged in time are completed and removed.
+     * Emitters whose previous ping isn't finished yet are skipped.
+     *
+     * @return future completed when all batches are sent
+     */
+    public CompletableFuture<Void> pingEmitters() {
+        List<Map.Entry<UUID, UserEmitter>> emitters = sseEmitters.entrySet().stream()
+                .filter(entry -> !pingingEmitters.contains(entry.getKey()))
+                .collect(Collectors.toList());
+        if (emitters.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.debug("Ping {} sse emitters", emitters.size());
+        int batchSize = Math.max(1, sseProperties.getSseEmitterPingBatchSize());
         Map<String, String> mdcMap = MDC.getCopyOfContextMap();
-        ssePingsExecutorService.execute(() -> {
-            try {
-                MdcUtils.setContextMap(mdcMap);
-                SseEmitter.SseEventBuilder pingEventWithZeroRetryTimeout = SseEmitter.event()
-                        .name(SseEventType.PING.name())
-                        .reconnectTime(0);
-                // ping UI eventSource to prolong connection
-                while (true) {
-                    TimeUnit.MILLISECONDS.sleep(sseProperties.getSseEmitterPingTimeout());
-                    emitter.send(pingEventWithZeroRetryTimeout);
-                }
-            } catch (Exception e) {
-                log.debug("Emitter with sseId = {} was removed from sseEmitters map.", sseId);
-                emitter.completeWithError(e);
-            }
+        CompletableFuture<?>[] batches = Lists.partition(emitters, batchSize).stream()
+                .map(batch -> {
+                    batch.forEach(entry -> pingingEmitters.add(entry.getKey()));
+                    return CompletableFuture.runAsync(() -> {
+                        MdcUtils.setContextMap(mdcMap);
+                        batch.forEach(this::pingEmitter);
+                    }, ssePingsExecutorService);
+                })
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(batches);
+    }
+
+    private void pingEmitter(Map.Entry<UUID, UserEmitter> entry) {
+        SseEmitter.SseEventBuilder pingEventWithZeroRetryTimeout = SseEmitter.event()
+                .name(SseEventType.PING.name())
+                .reconnectTime(0);
+        SseEmitter emitter = entry.getValue().getEmitter();
+        Future<?> send = ssePingsExecutorService.submit(() -> {
+            emitter.send(pingEventWithZeroRetryTimeout);
+            return null;
         });
-        return emitter;
+        try {
+            send.get(sseProperties.getSseEmitterPingSendTimeout(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // interrupts blocked write, so virtual thread of send is released
+            send.cancel(true);
+            log.debug("Ping of emitter with sseId = {} timed out", entry.getKey());
+            removeEmitter(entry, e);
+        } catch (ExecutionException e) {
+            removeEmitter(entry, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pingingEmitters.remove(entry.getKey());
+        }
+    }
+
+    private void removeEmitter(Map.Entry<UUID, UserEmitter> entry, Throwable e) {
+        log.debug("Emitter with sseId = {} was removed from sseEmitters map.", entry.getKey());
+        sseEmitters.remove(entry.getKey(), entry.getValue());
+        entry.getValue().getEmitter().completeWithError(e);
+    }
+
+    private void checkEmittersLimits(UUID userId) {
+        int maxEmitters = sseProperties.getMaxEmitters();
+        if (maxEmitters > 0 && sseEmitters.size() >= maxEmitters) {
+            log.warn("Max count of sse emitters {} is reached, emitter for user {} is rejected", maxEmitters, userId);
+            throw new ItfLiteSseEmittersLimitException();
+        }
+        int maxEmittersPerUser = sseProperties.getMaxEmittersPerUser();
+        if (maxEmittersPerUser <= 0) {
+            return;
+        }
+        List<Map.Entry<UUID, UserEmitter>> userEmitters = sseEmitters.entrySet().stream()
+                .filter(entry -> Objects.equals(userId, entry.getValue().getUserId()))
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().getCreatedWhen()))
+                .collect(Collectors.toList());
+        for (int i = 0; i <= userEmitters.size() - maxEmittersPerUser; i++) {
+            Map.Entry<UUID, UserEmitter> oldest = userEmitters.get(i);
+            log.debug("Max count of sse emitters {} is reached for user {}, complete emitter with sseId = {}",
+                    maxEmittersPerUser, userId, oldest.getKey());
+            sseEmitters.remove(oldest.getKey(), oldest.getValue());
+            oldest.getValue().getEmitter().complete();
+        }
     }
 
     /**
@@ -128,7 +227,8 @@ public class SseEmitterService {
      * @param sseId sse id
      */
     public SseEmitter getEmitter(UUID sseId) {
-        return sseEmitters.getOrDefault(sseId, null);
+        UserEmitter userEmitter = sseEmitters.get(sseId);
+        return userEmitter == null ? null : userEmitter.getEmitter();
     }
 
     /**
@@ -292,6 +392,8 @@ public class SseEmitterService {
                 sendEventWithExecutionResult(finishEvent.getSseId(), sseEmitter, response);
             }
         } else {
+            // execution details are read from database on the pod with emitter
+            requestExecutionHistoryService.flushExecutionDetails(finishEvent.getSseId());
             kafkaExecutionFinishSendingService.executionFinishEventSend(finishEvent);
         }
     }
@@ -363,11 +465,41 @@ public class SseEmitterService {
         return res;
     }
 
-    private void fillResponseFromResponseBodyByte(RequestExecutionDetails executionDetails,
+    private void fillResponseFromResponseBodyByte(HttpRequestExecutionDetails executionDetails,
                                                   RequestExecutionResponse response) {
-        if (Objects.isNull(executionDetails.getResponseBody())
-                && Objects.nonNull(executionDetails.getResponseBodyByte())) {
-            response.setBody(new String(executionDetails.getResponseBodyByte(), StandardCharsets.UTF_8));
+        byte[] responseBodyByte = executionDetails.getResponseBodyByte();
+        if (Objects.isNull(executionDetails.getResponseBody()) && Objects.nonNull(responseBodyByte)) {
+            Charset charset = RequestService.getHistoryBodyCharset(getContentType(executionDetails));
+            // big body is sent as preview, the same way as by the pod which executed request
+            int previewBytes = requestResponseSizeProperties.getResponseInMemoryThresholdInKb() * 1024;
+            if (responseBodyByte.length > previewBytes) {
+                response.setBody(new String(responseBodyByte, 0, previewBytes, charset));
+                response.setBodyTruncated(true);
+            } else {
+                response.setBody(new String(responseBodyByte, charset));
+            }
+        }
+    }
+
+    private String getContentType(HttpRequestExecutionDetails executionDetails) {
+        Map<String, List<String>> responseHeaders = executionDetails.getResponseHeaders();
+        if (responseHeaders == null) {
+            return null;
         }
+        return responseHeaders.entrySet().stream()
+                .filter(header -> HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey()))
+                .map(Map.Entry::getValue)
+                .filter(values -> !CollectionUtils.isEmpty(values))
+                .map(List::getFirst)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class UserEmitter {
+        private final SseEmitter emitter;
+        private final UUID userId;
+        private final long createdWhen;
     }
 }
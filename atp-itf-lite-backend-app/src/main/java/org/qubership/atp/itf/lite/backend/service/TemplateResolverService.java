@@ -27,7 +27,11 @@ import org.qubership.atp.crypt.api.Decryptor;
 import org.qubership.atp.crypt.exception.AtpDecryptException;
 import org.qubership.atp.itf.lite.backend.components.replacer.ContextVariablesReplacer;
 import org.qubership.atp.itf.lite.backend.components.replacer.EnvironmentReplacer;
+import org.qubership.atp.itf.lite.backend.components.replacer.ParsedTemplate;
+import org.qubership.atp.itf.lite.backend.components.replacer.ParsedTemplate.Segment;
+import org.qubership.atp.itf.lite.backend.components.replacer.ParsedTemplateCache;
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteDecryptException;
+import org.qubership.atp.itf.lite.backend.model.api.request.RequestEntitySaveRequest;
 import org.qubership.atp.itf.lite.backend.model.api.request.ResolvableRequest;
 import org.qubership.atp.itf.lite.backend.model.context.SaveRequestResolvingContext;
 import org.qubership.atp.itf.lite.backend.service.macros.SimpleContextWithParametersDecrypting;
@@ -47,6 +51,7 @@ public class TemplateResolverService {
     private final ContextVariablesReplacer contextVariablesReplacer;
     private final EnvironmentReplacer  environmentReplacer;
     private final Decryptor decryptor;
+    private final ParsedTemplateCache parsedTemplateCache;
 
     @Value("${template.resolver.recursion.depth.max:3}")
     private static int MAX_RECURSION_DEPTH;
@@ -61,18 +66,14 @@ public class TemplateResolverService {
     public void resolveTemplatesWithOrder(ResolvableRequest request,
                                           SaveRequestResolvingContext context,
                                           Evaluator evaluator) {
-        List<Function<String, String>> replacers = new ArrayList<>();
         Map<String, Object> mergedScopes = context.mergeScopes();
-        if (Objects.nonNull(mergedScopes) && !mergedScopes.isEmpty()) {
-            replacers.add((String value) -> contextVariablesReplacer.replace(value, mergedScopes));
-        }
         Map<String, Object> environmentContext = context.getEnvironmentVariables();
-        replacers.add((String value) -> environmentReplacer.replace(value, environmentContext));
-
         SimpleContext macrosContext = new SimpleContextWithParametersDecrypting(decryptor);
         macrosContext.setContextParameters(mergedScopes);
-        replacers.add((String value) -> evaluator.evaluate(value, macrosContext));
-        request.resolveTemplates((String value) -> resolveVariables(value, replacers, 0));
+        Function<String, ParsedTemplate> parser = getTemplateParser(request, context);
+        request.resolveTemplates((String value) -> value == null ? null : evaluator.evaluate(
+                resolveVariables(parser.apply(value), mergedScopes, environmentContext, false),
+                macrosContext));
     }
 
     /**
@@ -88,20 +89,52 @@ public class TemplateResolverService {
     public void resolveTemplatesWithOrderMasked(ResolvableRequest request,
                                                 SaveRequestResolvingContext context,
                                                 Evaluator evaluator) {
-        List<Function<String, String>> replacers = new ArrayList<>();
         Map<String, Object> mergedScopes = context.mergeScopes();
-        if (Objects.nonNull(mergedScopes) && !mergedScopes.isEmpty()) {
-            replacers.add(value -> contextVariablesReplacer.replaceMasked(value, mergedScopes));
-        }
         Map<String, Object> environmentContext = context.getEnvironmentVariables();
-        replacers.add(value -> environmentReplacer.replace(value, environmentContext));
-
         SimpleContext macrosContext = new SimpleContext();
         macrosContext.setContextParameters(mergedScopes);
-        replacers.add(value -> evaluator.evaluate(value, macrosContext));
+        Function<String, ParsedTemplate> parser = getTemplateParser(request, context);
+        request.resolveTemplates(value -> value == null ? null : CryptoTools.maskEncryptedData(evaluator.evaluate(
+                resolveVariables(parser.apply(value), mergedScopes, environmentContext, true),
+                macrosContext)));
+    }
 
-        replacers.add(CryptoTools::maskEncryptedData);
-        request.resolveTemplates(value -> resolveVariables(value, replacers, 0));
+    /**
+     * Texts of saved request are parsed once per request version and reused by next executions,
+     * texts of other requests are parsed once per resolving context.
+     */
+    private Function<String, ParsedTemplate> getTemplateParser(ResolvableRequest request,
+                                                               SaveRequestResolvingContext context) {
+        if (request instanceof RequestEntitySaveRequest savedRequest
+                && Objects.nonNull(savedRequest.getId())
+                && Objects.nonNull(savedRequest.getModifiedWhen())) {
+            return value -> context.getParsedTemplate(value, text ->
+                    parsedTemplateCache.get(savedRequest.getId(), savedRequest.getModifiedWhen(), text));
+        }
+        return context::getParsedTemplate;
+    }
+
+    /**
+     * Resolves context and environment variables of template in one pass.
+     * Values of context variables may contain environment variables, they are resolved as nested templates.
+     */
+    private String resolveVariables(ParsedTemplate template, Map<String, Object> context,
+                                    Map<String, Object> environmentContext, boolean masked) {
+        if (!template.isWithVariables()) {
+            return template.getSource();
+        }
+        boolean withContext = Objects.nonNull(context) && !context.isEmpty();
+        StringBuilder result = new StringBuilder(template.getSource().length());
+        for (Segment segment : template.getSegments()) {
+            String value = withContext ? contextVariablesReplacer.resolve(segment, context, masked) : null;
+            if (value != null) {
+                value = environmentReplacer.replace(value, environmentContext);
+            } else {
+                value = environmentReplacer.resolve(segment, environmentContext);
+            }
+            result.append(value == null ? segment.getText() : value);
+        }
+        return result.toString();
     }
 
     /**
@@ -16,13 +16,16 @@
 
 package org.qubership.atp.itf.lite.backend.service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.modelmapper.ModelMapper;
 import org.qubership.atp.auth.springbootstarter.entities.UserInfo;
+import org.qubership.atp.itf.lite.backend.configuration.UserInfoCacheProperties;
 import org.qubership.atp.itf.lite.backend.dataaccess.repository.UserSettingsRepository;
 import org.qubership.atp.itf.lite.backend.model.entities.user.UserSettings;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -31,6 +34,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.nimbusds.jwt.EncryptedJWT;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTParser;
@@ -45,6 +51,9 @@ public class UserService extends CrudService<UserSettings> {
 
     public final String sessionState = "session_state";
     public final String sub = "sub";
+    public static final String GIVEN_NAME = "given_name";
+    public static final String FAMILY_NAME = "family_name";
+    public static final String PREFERRED_USERNAME = "preferred_username";
 
     private String issuer;
 
@@ -61,14 +70,24 @@ public class UserService extends CrudService<UserSettings> {
 
     private final ModelMapper modelMapper;
 
+    // empty value means users service failed to return user, it's kept for shorter time
+    private final Cache<UUID, Optional<UserInfo>> usersInfo;
+
     /**
      * Constructor.
      */
     public UserService(RestTemplate m2mRestTemplate, UserSettingsRepository userSettingsRepository,
-                       ModelMapper modelMapper) {
+                       ModelMapper modelMapper, UserInfoCacheProperties userInfoCacheProperties) {
         this.m2mRestTemplate = m2mRestTemplate;
         this.userSettingsRepository = userSettingsRepository;
         this.modelMapper = modelMapper;
+        Duration ttl = Duration.ofSeconds(userInfoCacheProperties.getTtlSec());
+        Duration negativeTtl = Duration.ofSeconds(userInfoCacheProperties.getNegativeTtlSec());
+        this.usersInfo = Caffeine.newBuilder()
+                .maximumSize(userInfoCacheProperties.getMaxSize())
+                .expireAfter(Expiry.creating((UUID userId, Optional<UserInfo> userInfo) ->
+                        userInfo.isPresent() ? ttl : negativeTtl))
+                .build();
     }
 
     @PostConstruct
@@ -82,21 +101,46 @@ public class UserService extends CrudService<UserSettings> {
     }
 
     /**
-     * Gets user info by id.
+     * Gets user info by token. User info is taken from token claims if they contain user name,
+     * otherwise from users service. Result is cached by user id, concurrent lookups of one user
+     * wait for the same call to users service.
      *
      * @param token user token
      * @return user info.
      */
     public UserInfo getUserInfoByToken(String token) {
-        final UUID userId = getUserIdFromToken(token);
-        UserInfo userInfo;
+        final Map<String, Object> tokenData = getTokenData(token);
+        final UUID userId = getUserId(tokenData);
+        if (userId == null) {
+            log.warn("Could not find user: user id isn't found in token");
+            return null;
+        }
+        return usersInfo.get(userId, id -> Optional.ofNullable(getUserInfoFromClaims(id, tokenData))
+                .or(() -> Optional.ofNullable(loadUserInfo(id))))
+                .orElse(null);
+    }
+
+    private UserInfo loadUserInfo(UUID userId) {
         try {
-            userInfo = m2mRestTemplate.getForObject(issuer + "/users/" + userId.toString(), UserInfo.class);
+            return m2mRestTemplate.getForObject(issuer + "/users/" + userId.toString(), UserInfo.class);
         } catch (Exception e) {
             log.error("Could not find user: %s ".formatted(userId.toString()));
             return null;
         }
+    }
 
+    private UserInfo getUserInfoFromClaims(UUID userId, Map<String, Object> tokenData) {
+        Object firstName = tokenData.get(GIVEN_NAME);
+        Object lastName = tokenData.get(FAMILY_NAME);
+        Object username = tokenData.get(PREFERRED_USERNAME);
+        if (firstName == null || lastName == null || username == null) {
+            return null;
+        }
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(userId);
+        userInfo.setUsername(username.toString());
+        userInfo.setFirstName(firstName.toString());
+        userInfo.setLastName(lastName.toString());
         return userInfo;
     }
 
@@ -107,7 +151,22 @@ public class UserService extends CrudService<UserSettings> {
      * @return user info
      */
     public UUID getUserIdFromToken(String token) {
+        return getUserId(getTokenData(token));
+    }
+
+    private UUID getUserId(Map<String, Object> tokenData) {
         UUID userId = null;
+        if (tokenData != null && tokenData.containsKey(sub)) {
+            try {
+                userId = UUID.fromString(tokenData.get(sub).toString());
+            } catch (Exception e) {
+                log.warn("Cannot parse token with error: ", e);
+            }
+        }
+        return userId;
+    }
+
+    private Map<String, Object> getTokenData(String token) {
         if (StringUtils.isNotBlank(token)) {
             try {
                 String[] splitToken = token.split(" ");
@@ -116,20 +175,17 @@ public class UserService extends CrudService<UserSettings> {
                     return null;
                 }
                 JWT jwt = JWTParser.parse(splitToken[1]);
-                Map<String, Object> tokenData = switch (jwt) {
+                return switch (jwt) {
                     case PlainJWT plainJWT -> plainJWT.getPayload().toJSONObject();
                     case SignedJWT signedJWT -> signedJWT.getPayload().toJSONObject();
                     case EncryptedJWT encryptedJWT -> encryptedJWT.getPayload().toJSONObject();
                     default -> null; // in fact, we never visit it, due to earlier parse exception
                 };
-                if (tokenData != null && tokenData.containsKey("sub")) {
-                    userId = UUID.fromString(tokenData.get("sub").toString());
-                }
             } catch (Exception e) {
                 log.warn("Cannot parse token with error: ", e);
             }
         }
-        return userId;
+        return null;
     }
 
     /**
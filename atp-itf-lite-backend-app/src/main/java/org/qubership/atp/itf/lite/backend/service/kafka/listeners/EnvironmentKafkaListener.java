@@ -20,6 +20,7 @@ import java.util.UUID;
 
 import org.qubership.atp.itf.lite.backend.configuration.KafkaConfiguration;
 import org.qubership.atp.itf.lite.backend.feign.service.EnvironmentFeignService;
+import org.qubership.atp.itf.lite.backend.service.EnvironmentSnapshotService;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
@@ -35,9 +36,12 @@ public class EnvironmentKafkaListener {
             "kafkaEnvironmentEventResponseListenerId";
 
     private final EnvironmentFeignService environmentFeignService;
+    private final EnvironmentSnapshotService environmentSnapshotService;
 
-    public EnvironmentKafkaListener(EnvironmentFeignService environmentFeignService) {
+    public EnvironmentKafkaListener(EnvironmentFeignService environmentFeignService,
+                                    EnvironmentSnapshotService environmentSnapshotService) {
         this.environmentFeignService = environmentFeignService;
+        this.environmentSnapshotService = environmentSnapshotService;
     }
 
     @KafkaListener(
@@ -48,5 +52,6 @@ public class EnvironmentKafkaListener {
     )
     public void listenEnvironmentNotificationEvent(@Header(KafkaHeaders.RECEIVED_KEY) UUID environmentId) {
         environmentFeignService.evictEnvironmentSystemsCacheByEnvironmentId(environmentId);
+        environmentSnapshotService.evict(environmentId);
     }
 }
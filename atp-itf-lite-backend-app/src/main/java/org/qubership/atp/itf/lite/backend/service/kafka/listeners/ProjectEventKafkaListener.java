@@ -16,11 +16,6 @@
 
 package org.qubership.atp.itf.lite.backend.service.kafka.listeners;
 
-import static org.qubership.atp.itf.lite.backend.service.CertificateService.CERTIFICATE_FOLDER;
-
-import java.io.File;
-
-import org.apache.commons.io.FileUtils;
 import org.qubership.atp.integration.configuration.mdc.MdcField;
 import org.qubership.atp.integration.configuration.mdc.MdcUtils;
 import org.qubership.atp.itf.lite.backend.configuration.KafkaConfiguration;
@@ -32,12 +27,10 @@ import org.springframework.cache.annotation.Caching;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class ProjectEventKafkaListener {
 
     /**
@@ -63,15 +56,8 @@ public class ProjectEventKafkaListener {
             case CREATE:
             case UPDATE:
             case DELETE: {
+                // certificate state of each pod is dropped by ProjectCertificateKafkaListener
                 log.info("Received event from catalogue: {}", event);
-                // clear files with certificates for project
-                File folder = new File(CERTIFICATE_FOLDER.formatted(event.getProjectId()));
-                try {
-                    FileUtils.cleanDirectory(folder);
-                } catch (Exception e) {
-                    log.error("Can't clean folder with certificates {} on event from kafka: {}",
-                            folder.getAbsoluteFile(), e.getMessage());
-                }
                 break;
             }
             default: {
@@ -0,0 +1,47 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.service.rest;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+
+import lombok.Getter;
+
+/**
+ * Lease of shared http client. Evicted client is closed when its last lease is closed,
+ * so requests started before eviction are completed by the old client.
+ */
+public class HttpClientLease implements AutoCloseable {
+
+    @Getter
+    private final CloseableHttpClient client;
+    private final Runnable release;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public HttpClientLease(CloseableHttpClient client, Runnable release) {
+        this.client = client;
+        this.release = release;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
@@ -22,14 +22,21 @@ import java.net.HttpCookie;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.cookie.Cookie;
 import org.apache.hc.client5.http.cookie.CookieStore;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
@@ -47,6 +54,7 @@ import org.apache.hc.core5.http.config.Registry;
 import org.apache.hc.core5.http.config.RegistryBuilder;
 import org.apache.hc.core5.http.message.BasicHeaderElementIterator;
 import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.apache.hc.core5.util.TimeValue;
 import org.qubership.atp.auth.springbootstarter.exceptions.AtpException;
@@ -54,9 +62,11 @@ import org.qubership.atp.itf.lite.backend.configuration.HttpClientProperties;
 import org.qubership.atp.itf.lite.backend.exceptions.internal.ItfLiteSslCertificateVerificationFileException;
 import org.qubership.atp.itf.lite.backend.exceptions.internal.ItfLiteSslClientVerificationFileException;
 import org.qubership.atp.itf.lite.backend.feign.dto.CertificateDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.FileInfoDto;
 import org.qubership.atp.itf.lite.backend.model.RequestRuntimeOptions;
 import org.qubership.atp.itf.lite.backend.service.CertificateService;
 import org.qubership.atp.itf.lite.backend.service.EncryptionService;
+import org.qubership.atp.itf.lite.backend.service.MetricService;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -65,142 +75,209 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @EnableConfigurationProperties(HttpClientProperties.class)
-@AllArgsConstructor
 @Configuration
 @Slf4j
 public class HttpClientService {
 
+    private static final String SSL_CONTEXT_CACHE = "sslContext";
+
     private final HttpClientProperties httpClientProperties;
     private final CertificateService certificateService;
     private final EncryptionService encryptionService;
+    private final MetricService metricService;
+    private final Map<HttpClientKey, PooledHttpClient> httpClients = new ConcurrentHashMap<>();
+    private final Cache<SslContextKey, SSLConnectionSocketFactory> sslSocketFactories;
 
     /**
-     * Configuration for http client.
-     *
-     * @return http client
+     * Constructor.
      */
-    public CloseableHttpClient getHttpClient(UUID projectId) {
-        return getHttpClient(projectId, new RequestRuntimeOptions(), StringUtils.EMPTY, null);
+    public HttpClientService(HttpClientProperties httpClientProperties,
+                             CertificateService certificateService,
+                             EncryptionService encryptionService,
+                             MetricService metricService) {
+        this.httpClientProperties = httpClientProperties;
+        this.certificateService = certificateService;
+        this.encryptionService = encryptionService;
+        this.metricService = metricService;
+        int sslContextTtlMinutes = httpClientProperties.getSslContextTtlMinutes();
+        Caffeine<Object, Object> sslSocketFactoriesBuilder = Caffeine.newBuilder();
+        if (sslContextTtlMinutes > 0) {
+            sslSocketFactoriesBuilder.expireAfterWrite(sslContextTtlMinutes, TimeUnit.MINUTES);
+        }
+        this.sslSocketFactories = sslSocketFactoriesBuilder.build();
     }
 
     /**
-     * Configuration for http client.
+     * Lease shared http client of project without request specific settings.
      *
-     * @return http client
+     * @return lease of http client, must be closed when requests by client are completed
      */
-    public CloseableHttpClient getHttpClient(UUID projectId, RequestRuntimeOptions runtimeOptions) {
-        return getHttpClient(projectId, runtimeOptions, StringUtils.EMPTY, null);
+    public HttpClientLease acquireHttpClient(UUID projectId) {
+        return acquireHttpClient(projectId, new RequestRuntimeOptions(), StringUtils.EMPTY);
     }
 
     /**
-     * Configuration for http client.
+     * Lease shared http client for project, effective SSL settings and redirect policy.
+     * Client is long-lived and must not be closed by caller, caller closes the lease instead.
+     * Cookies should be passed per request through {@link org.apache.hc.client5.http.protocol.HttpClientContext},
+     * client itself doesn't keep any.
      *
-     * @return http client
+     * @return lease of http client, must be closed when requests by client are completed
      */
-    public CloseableHttpClient getHttpClient(UUID projectId,
+    public HttpClientLease acquireHttpClient(UUID projectId,
                                              RequestRuntimeOptions runtimeOptions,
-                                             String requestUrl,
-                                             CookieStore cookieStore) {
+                                             String requestUrl) {
+        CertificateDto cert = null;
+        if (!runtimeOptions.isDisableSslCertificateVerification() || !runtimeOptions.isDisableSslClientCertificate()) {
+            cert = certificateService.getCertificate(projectId);
+        }
+        HttpClientKey key = createHttpClientKey(projectId, runtimeOptions, requestUrl, cert);
+        final CertificateDto certificate = cert;
+        while (true) {
+            PooledHttpClient pooledHttpClient =
+                    httpClients.computeIfAbsent(key, clientKey -> createHttpClient(clientKey, certificate));
+            if (pooledHttpClient.retain()) {
+                return new HttpClientLease(pooledHttpClient.getClient(), pooledHttpClient::release);
+            }
+            // client was evicted and closed after lookup, the next lookup gets new one
+        }
+    }
+
+    /**
+     * Remove all shared http clients and compiled SSL contexts of project,
+     * e.g. when project certificate is changed. Removed clients are closed when their leases are closed.
+     *
+     * @param projectId project id
+     */
+    public void evictProjectHttpClients(UUID projectId) {
+        sslSocketFactories.asMap().keySet().removeIf(key -> key.getProjectId().equals(projectId));
+        httpClients.keySet().stream()
+                .filter(key -> key.getProjectId().equals(projectId))
+                .map(httpClients::remove)
+                .filter(Objects::nonNull)
+                .forEach(PooledHttpClient::release);
+        log.info("Http clients for projectId = '{}' have been evicted", projectId);
+    }
+
+    private HttpClientKey createHttpClientKey(UUID projectId,
+                                              RequestRuntimeOptions runtimeOptions,
+                                              String requestUrl,
+                                              CertificateDto cert) {
+        boolean enableSslCertificateVerification = false;
+        boolean enableSslClientCertificate = false;
+        if (nonNull(cert)) {
+            enableSslCertificateVerification = !runtimeOptions.isDisableSslCertificateVerification()
+                    && BooleanUtils.toBoolean(cert.getEnableCertificateVerification());
+            enableSslClientCertificate = !runtimeOptions.isDisableSslClientCertificate()
+                    && BooleanUtils.toBoolean(cert.getEnableClientCertificate());
+
+            /* If requestUrl is empty - I think, it should be permissible here - no domain filtering is performed.
+                Why should it be permissible?
+                Because there could be use case when the only HttpClient is used to execute a series of requests,
+                for performance considerations, for example.
+                In that case, request details are determined later than HttpClient is initialized.
+            */
+            if ((enableSslCertificateVerification || enableSslClientCertificate)
+                    && StringUtils.isNotEmpty(requestUrl)) {
+                String host = UriComponentsBuilder.fromUriString(requestUrl).build().getHost();
+                if (enableSslCertificateVerification && !CollectionUtils.isEmpty(cert.getTrustStoreDomainNames())
+                        && !matchesAnyOfDomainsArray(cert.getTrustStoreDomainNames(), host)) {
+                    enableSslCertificateVerification = false;
+                }
+                if (enableSslClientCertificate && !CollectionUtils.isEmpty(cert.getKeyStoreDomainNames())
+                        && !matchesAnyOfDomainsArray(cert.getKeyStoreDomainNames(), host)) {
+                    enableSslClientCertificate = false;
+                }
+            }
+        }
+        SslContextKey sslContextKey = new SslContextKey(projectId,
+                enableSslCertificateVerification,
+                enableSslClientCertificate,
+                enableSslCertificateVerification ? cert.getProtocol() : null,
+                enableSslCertificateVerification ? getFileId(cert.getTrustStoreFileInfo()) : null,
+                enableSslClientCertificate ? getFileId(cert.getKeyStoreFileInfo()) : null);
+        return new HttpClientKey(sslContextKey, !runtimeOptions.isDisableFollowingRedirect());
+    }
+
+    private String getFileId(FileInfoDto fileInfo) {
+        return nonNull(fileInfo) ? fileInfo.getId() : null;
+    }
+
+    private PooledHttpClient createHttpClient(HttpClientKey key, CertificateDto cert) {
+        log.debug("Create http client for key {}", key);
         RequestConfig.Builder configBuilder = RequestConfig.custom()
                 .setConnectionRequestTimeout(httpClientProperties.getRequestTimeout(), TimeUnit.MILLISECONDS)
                 .setConnectTimeout(httpClientProperties.getConnectionTimeout(), TimeUnit.MILLISECONDS)
                 .setResponseTimeout(httpClientProperties.getSocketTimeout(), TimeUnit.MILLISECONDS);
-        if (runtimeOptions.isDisableFollowingRedirect()) {
+        if (!key.isFollowRedirects()) {
             configBuilder.setRedirectsEnabled(false);
         }
         RequestConfig requestConfig = configBuilder.build();
 
+        PoolingHttpClientConnectionManager connectionManager =
+                poolingConnectionManager(getSslSocketFactory(key.getSslContextKey(), cert));
         HttpClientBuilder httpClientBuilder = HttpClients.custom()
                 .setDefaultRequestConfig(requestConfig)
-                .setConnectionManager(poolingConnectionManager(projectId, runtimeOptions, requestUrl))
-                .setKeepAliveStrategy(connectionKeepAliveStrategy());
-        if (runtimeOptions.isDisableFollowingRedirect()) {
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(connectionKeepAliveStrategy())
+                .setDefaultCookieStore(new NoopCookieStore());
+        if (!key.isFollowRedirects()) {
             httpClientBuilder.disableRedirectHandling();
         }
-        if (nonNull(cookieStore)) {
-            httpClientBuilder.setDefaultCookieStore(cookieStore);
-        }
-        return httpClientBuilder.build();
+        return new PooledHttpClient(httpClientBuilder.build(), connectionManager);
     }
 
-    private PoolingHttpClientConnectionManager poolingConnectionManager(UUID projectId) {
-        return poolingConnectionManager(projectId, new RequestRuntimeOptions(), StringUtils.EMPTY);
-    }
-
-    private PoolingHttpClientConnectionManager poolingConnectionManager(UUID projectId,
-                                                                        RequestRuntimeOptions runtimeOptions) {
-        return poolingConnectionManager(projectId, runtimeOptions, StringUtils.EMPTY);
+    private SSLConnectionSocketFactory getSslSocketFactory(SslContextKey key, CertificateDto cert) {
+        SSLConnectionSocketFactory sslConnectionSocketFactory = sslSocketFactories.getIfPresent(key);
+        if (nonNull(sslConnectionSocketFactory)) {
+            metricService.registerCacheHit(SSL_CONTEXT_CACHE);
+            return sslConnectionSocketFactory;
+        }
+        metricService.registerCacheMiss(SSL_CONTEXT_CACHE);
+        return sslSocketFactories.get(key, sslContextKey -> sslSocketFactory(sslContextKey, cert));
     }
 
     /**
-     * Configuration for pooling connection manager.
+     * Build SSL socket factory with trust and key material of project certificate.
      *
-     * @return configured poolingConnectionManager
+     * @return configured SSL socket factory or null if SSL context can't be initialized
      */
-    private PoolingHttpClientConnectionManager poolingConnectionManager(UUID projectId,
-                                                                        RequestRuntimeOptions runtimeOptions,
-                                                                        String requestUrl) {
-        boolean enableSslCertificateVerification = !runtimeOptions.isDisableSslCertificateVerification();
-        boolean enableSslClientCertificate = !runtimeOptions.isDisableSslClientCertificate();
+    private SSLConnectionSocketFactory sslSocketFactory(SslContextKey key, CertificateDto cert) {
+        UUID projectId = key.getProjectId();
         SSLContextBuilder sslContextBuilder = SSLContextBuilder.create();
-        if (enableSslCertificateVerification || enableSslClientCertificate) {
-            CertificateDto cert = certificateService.getCertificate(projectId);
-            enableSslCertificateVerification = !runtimeOptions.isDisableSslCertificateVerification()
-                    && BooleanUtils.toBoolean(cert.getEnableCertificateVerification());
-            enableSslClientCertificate = !runtimeOptions.isDisableSslClientCertificate()
-                    && BooleanUtils.toBoolean(cert.getEnableClientCertificate());
-
-            if (enableSslCertificateVerification || enableSslClientCertificate) {
-                /* If requestUrl is empty - I think, it should be permissible here - no domain filtering is performed.
-                    Why should it be permissible?
-                    Because there could be use case when the only HttpClient is used to execute a series of requests,
-                    for performance considerations, for example.
-                    In that case, request details are determined later than HttpClient is initialized.
-                */
-                if (StringUtils.isNotEmpty(requestUrl)) {
-                    String host = UriComponentsBuilder.fromUriString(requestUrl).build().getHost();
-                    if (enableSslCertificateVerification && !CollectionUtils.isEmpty(cert.getTrustStoreDomainNames())
-                            && !matchesAnyOfDomainsArray(cert.getTrustStoreDomainNames(), host)) {
-                        enableSslCertificateVerification = false;
-                    }
-                    if (enableSslClientCertificate && !CollectionUtils.isEmpty(cert.getKeyStoreDomainNames())
-                            && !matchesAnyOfDomainsArray(cert.getKeyStoreDomainNames(), host)) {
-                        enableSslClientCertificate = false;
-                    }
-                }
-            }
-            if (enableSslCertificateVerification) {
-                try {
-                    sslContextBuilder.setProtocol(cert.getProtocol());
-                    char[] pass = encryptionService.decryptIfEncrypted(cert.getTrustStorePassphrase()).toCharArray();
-                    sslContextBuilder.loadTrustMaterial(
-                            certificateService.getCertificateVerificationFile(projectId), pass);
-                } catch (AtpException e) {
-                    throw e;
-                } catch (Exception e) {
-                    log.error("Failed to apply SSL verification file for project '{}'", projectId, e);
-                    throw new ItfLiteSslCertificateVerificationFileException();
-                }
+        if (key.isSslCertificateVerification()) {
+            try {
+                sslContextBuilder.setProtocol(cert.getProtocol());
+                char[] pass = encryptionService.decryptIfEncrypted(cert.getTrustStorePassphrase()).toCharArray();
+                sslContextBuilder.loadTrustMaterial(
+                        certificateService.getCertificateVerificationFile(projectId, cert), pass);
+            } catch (AtpException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Failed to apply SSL verification file for project '{}'", projectId, e);
+                throw new ItfLiteSslCertificateVerificationFileException();
             }
-            if (enableSslClientCertificate) {
-                try {
-                    char[] pass = encryptionService.decryptIfEncrypted(cert.getKeyStorePassphrase()).toCharArray();
-                    sslContextBuilder.loadKeyMaterial(
-                            certificateService.getClientCertificateFile(projectId), pass, pass);
-                } catch (AtpException e) {
-                    throw e;
-                } catch (Exception e) {
-                    log.error("Failed to apply SSL client certificate file for project '{}'", projectId, e);
-                    throw new ItfLiteSslClientVerificationFileException();
-                }
+        }
+        if (key.isSslClientCertificate()) {
+            try {
+                char[] pass = encryptionService.decryptIfEncrypted(cert.getKeyStorePassphrase()).toCharArray();
+                sslContextBuilder.loadKeyMaterial(
+                        certificateService.getClientCertificateFile(projectId, cert), pass, pass);
+            } catch (AtpException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Failed to apply SSL client certificate file for project '{}'", projectId, e);
+                throw new ItfLiteSslClientVerificationFileException();
             }
         }
-        if (!enableSslCertificateVerification && !enableSslClientCertificate) {
+        if (!key.isSslCertificateVerification() && !key.isSslClientCertificate()) {
             try {
                 //ALLOW ALL
                 sslContextBuilder.loadTrustMaterial(null, new TrustAllStrategy());
@@ -209,14 +286,21 @@ public class HttpClientService {
             }
         }
 
-        SSLConnectionSocketFactory sslConnectionSocketFactory = null;
         try {
-            sslConnectionSocketFactory = new SSLConnectionSocketFactory(sslContextBuilder.build(),
-                    NoopHostnameVerifier.INSTANCE);
+            return new SSLConnectionSocketFactory(sslContextBuilder.build(), NoopHostnameVerifier.INSTANCE);
         } catch (KeyManagementException | NoSuchAlgorithmException e) {
             log.error("Pooling Connection Manager Initialisation failure because of {}", e.getMessage(), e);
+            return null;
         }
+    }
 
+    /**
+     * Configuration for pooling connection manager.
+     *
+     * @return configured poolingConnectionManager
+     */
+    private PoolingHttpClientConnectionManager poolingConnectionManager(
+            SSLConnectionSocketFactory sslConnectionSocketFactory) {
         RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder
                 .<ConnectionSocketFactory>create()
                 .register("http", new PlainConnectionSocketFactory());
@@ -229,6 +313,9 @@ public class HttpClientService {
         PoolingHttpClientConnectionManager poolingConnectionManager = new PoolingHttpClientConnectionManager(
                 socketFactoryRegistry);
         poolingConnectionManager.setMaxTotal(httpClientProperties.getMaxTotalConnections());
+        if (httpClientProperties.getMaxConnectionsPerRoute() > 0) {
+            poolingConnectionManager.setDefaultMaxPerRoute(httpClientProperties.getMaxConnectionsPerRoute());
+        }
         return poolingConnectionManager;
     }
 
@@ -276,18 +363,101 @@ public class HttpClientService {
                 try {
                     if (connectionManager != null) {
                         log.trace("run IdleConnectionMonitor - Closing expired and idle connections...");
-                        connectionManager.closeExpired();
-                        connectionManager.closeIdle(
-                                TimeValue.of(
-                                        httpClientProperties.getCloseIdleConnectionWaitTimeSecs(),
-                                        TimeUnit.SECONDS));
+                        closeExpiredAndIdleConnections(connectionManager);
                     } else {
                         log.trace("run IdleConnectionMonitor - Http Client Connection manager is not initialized");
                     }
+                    log.trace("run IdleConnectionMonitor - Closing expired and idle connections of {} shared clients",
+                            httpClients.size());
+                    evictExpiredHttpClients();
+                    httpClients.values().forEach(pooledHttpClient ->
+                            closeExpiredAndIdleConnections(pooledHttpClient.getConnectionManager()));
                 } catch (Exception e) {
                     log.error("run IdleConnectionMonitor - Exception occurred. msg={}", e.getMessage(), e);
                 }
             }
         };
     }
+
+    /**
+     * Remove shared clients created before SSL context TTL, so they are recreated with current certificate.
+     */
+    private void evictExpiredHttpClients() {
+        int ttlMinutes = httpClientProperties.getSslContextTtlMinutes();
+        if (ttlMinutes <= 0) {
+            return;
+        }
+        long createdBefore = System.nanoTime() - TimeUnit.MINUTES.toNanos(ttlMinutes);
+        httpClients.forEach((key, pooledHttpClient) -> {
+            if (pooledHttpClient.getCreatedAt() - createdBefore < 0 && httpClients.remove(key, pooledHttpClient)) {
+                log.debug("Http client for key {} has expired", key);
+                pooledHttpClient.release();
+            }
+        });
+    }
+
+    private void closeExpiredAndIdleConnections(PoolingHttpClientConnectionManager connectionManager) {
+        connectionManager.closeExpired();
+        connectionManager.closeIdle(
+                TimeValue.of(httpClientProperties.getCloseIdleConnectionWaitTimeSecs(), TimeUnit.SECONDS));
+    }
+
+    @Getter
+    private static class PooledHttpClient {
+        private final CloseableHttpClient client;
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private final long createdAt = System.nanoTime();
+        // leases plus one reference of cache, client is closed when the last one is released
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private PooledHttpClient(CloseableHttpClient client, PoolingHttpClientConnectionManager connectionManager) {
+            this.client = client;
+            this.connectionManager = connectionManager;
+        }
+
+        private boolean retain() {
+            int current = references.get();
+            while (current > 0) {
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                current = references.get();
+            }
+            return false;
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                log.debug("Close evicted http client");
+                client.close(CloseMode.GRACEFUL);
+            }
+        }
+    }
+
+    /**
+     * Client-level cookie store which keeps nothing, so cookies of one execution never leak into
+     * another one through the shared client. Per-request cookies go through the execution context.
+     */
+    private static class NoopCookieStore implements CookieStore {
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            // cookies are stored in per-request context only
+        }
+
+        @Override
+        public List<Cookie> getCookies() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean clearExpired(Date date) {
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            // nothing to clear
+        }
+    }
 }
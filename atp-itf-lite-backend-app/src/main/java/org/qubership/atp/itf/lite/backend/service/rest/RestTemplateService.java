@@ -17,6 +17,7 @@
 package org.qubership.atp.itf.lite.backend.service.rest;
 
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -32,14 +33,26 @@ public class RestTemplateService {
 
     private final HttpClientService httpClientService;
 
+    /**
+     * Call rest template of project while shared http client is leased.
+     *
+     * @param projectId project id
+     * @param call      requests by rest template
+     * @return result of call
+     */
+    public <T> T execute(UUID projectId, Function<RestTemplate, T> call) {
+        try (HttpClientLease lease = httpClientService.acquireHttpClient(projectId)) {
+            return call.apply(restTemplate(lease.getClient()));
+        }
+    }
+
     /**
      * Configuration for rest template.
      *
      * @return configured rest template
      */
-    public RestTemplate restTemplate(UUID projectId) {
+    private RestTemplate restTemplate(CloseableHttpClient httpClient) {
         HttpComponentsClientHttpRequestFactory clientHttpRequestFactory = new HttpComponentsClientHttpRequestFactory();
-        CloseableHttpClient httpClient = httpClientService.getHttpClient(projectId);
         clientHttpRequestFactory.setHttpClient(httpClient);
         DefaultUriBuilderFactory factory = new DefaultUriBuilderFactory();
         factory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.NONE);
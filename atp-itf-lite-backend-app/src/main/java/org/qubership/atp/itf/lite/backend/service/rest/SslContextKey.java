@@ -0,0 +1,37 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.service.rest;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Identifies compiled SSL context of project: effective flags after domain filtering and certificate material.
+ */
+@Data
+@AllArgsConstructor
+public class SslContextKey {
+
+    private UUID projectId;
+    private boolean sslCertificateVerification;
+    private boolean sslClientCertificate;
+    private String protocol;
+    private String trustStoreFileId;
+    private String keyStoreFileId;
+}
@@ -0,0 +1,123 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.service.script;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.qubership.atp.itf.lite.backend.feign.dto.ConsoleLogDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseTestResultsInnerDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseTestResultsInnerErrorDto;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * Collects test results and console logs of script executed by local script runtime
+ * and counts work done by script: executed statements, processed values and characters.
+ * Methods are called from JS, so class and methods are public.
+ */
+@Getter
+public class LocalScriptOutput {
+
+    private static final int MAX_CONSOLE_LOGS = 1000;
+
+    private final List<ConsoleLogDto> consoleLogs = new ArrayList<>();
+    private final List<PostmanExecuteScriptResponseTestResultsInnerDto> testResults = new ArrayList<>();
+    private final long maxOperations;
+    private long operations;
+    // set when script exceeded work limit or was cancelled, such script is executed by script engine service
+    private volatile boolean aborted;
+
+    public LocalScriptOutput(long maxOperations) {
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Count work done by script.
+     *
+     * @throws LimitExceededException if script exceeded work limit or was cancelled
+     */
+    public void consume(long units) {
+        operations += Math.max(units, 0);
+        if (operations > maxOperations) {
+            aborted = true;
+        }
+        if (aborted) {
+            throw new LimitExceededException();
+        }
+    }
+
+    /**
+     * Stop script on the next counted statement or operation.
+     */
+    public void cancel() {
+        aborted = true;
+    }
+
+    /**
+     * Add console message.
+     */
+    public void log(String level, String message) {
+        consume(message.length());
+        if (consoleLogs.size() < MAX_CONSOLE_LOGS) {
+            consoleLogs.add(new ConsoleLogDto()
+                    .level(level)
+                    .message(message)
+                    .timestamp(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Add result of pm.test.
+     */
+    public void test(String name, boolean passed, @Nullable String errorName, @Nullable String errorMessage) {
+        consume(name.length() + (errorMessage == null ? 0 : errorMessage.length()));
+        PostmanExecuteScriptResponseTestResultsInnerDto result = createTestResult(name).passed(passed);
+        if (!passed) {
+            PostmanExecuteScriptResponseTestResultsInnerErrorDto error =
+                    new PostmanExecuteScriptResponseTestResultsInnerErrorDto().message(errorMessage);
+            error.setName(errorName);
+            result.error(error);
+        }
+        testResults.add(result);
+    }
+
+    /**
+     * Add pm.test without test function.
+     */
+    public void skip(String name) {
+        consume(name.length());
+        testResults.add(createTestResult(name).skipped(true));
+    }
+
+    private PostmanExecuteScriptResponseTestResultsInnerDto createTestResult(String name) {
+        return new PostmanExecuteScriptResponseTestResultsInnerDto()
+                .name(name)
+                .async(false)
+                .skipped(false)
+                .index(BigDecimal.valueOf(testResults.size()));
+    }
+
+    static class LimitExceededException extends RuntimeException {
+        LimitExceededException() {
+            super("Script exceeded work or time limit of local script runtime");
+        }
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.service.script;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.openjdk.nashorn.api.scripting.ScriptObjectMirror;
+import org.qubership.atp.itf.lite.backend.configuration.LocalScriptRuntimeProperties;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanPostmanResponseDto;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes simple pre- and post-scripts in pod by Nashorn instead of script engine service.
+ * Local runtime supports pm variable scopes, pm.response, pm.test, pm.expect and console,
+ * scripts using anything else or failed not by assertion are left to script engine service.
+ * Scripts can't access Java classes, loops and functions except pm.test callbacks are not allowed
+ * and built-ins count work done by script, see {@link LocalScriptValidator} and local-script-runtime.js.
+ * Script exceeded work or time limit is stopped on the next statement and left to script engine service.
+ */
+@Service
+@Slf4j
+public class LocalScriptRuntime {
+
+    private static final String BOOTSTRAP_SCRIPT = "script/local-script-runtime.js";
+    private static final String[] NASHORN_OPTIONS = {"--no-java", "--no-syntax-extensions", "--language=es6"};
+    // Nashorn exposes methods of Java classes of primitive values, bootstrap script hides them
+    private static final String[] JAVA_METHODS = Stream.of(String.class, Integer.class, Long.class, Double.class,
+                    Boolean.class)
+            .flatMap(type -> Arrays.stream(type.getMethods()))
+            .map(Method::getName)
+            .distinct()
+            .toArray(String[]::new);
+    private static final int MAX_COMPILED_SCRIPTS = 200;
+    private static final String WARM_UP_SCRIPT = "pm.test('warm-up', function () { pm.expect(1).to.eql(1); });";
+
+    private final LocalScriptRuntimeProperties properties;
+    private final BlockingQueue<LocalScriptEngine> engines;
+    private final ExecutorService executorService = Executors.newThreadPerTaskExecutor(
+            Thread.ofPlatform().daemon().name("itf-lite-local-script-", 0).factory());
+    // engines created and not abandoned
+    private final AtomicInteger engineCount = new AtomicInteger();
+    // threads still running scripts not stopped after time limit
+    private final AtomicInteger abandonedExecutions = new AtomicInteger();
+    // scripts with counting of work, empty for scripts not supported by local runtime
+    private final Cache<String, Optional<String>> instrumentedScripts = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .build();
+    private String bootstrapSource;
+
+    /**
+     * Constructor.
+     */
+    public LocalScriptRuntime(LocalScriptRuntimeProperties properties) {
+        this.properties = properties;
+        this.engines = new ArrayBlockingQueue<>(Math.max(properties.getPoolSize(), 1));
+    }
+
+    /**
+     * Load pm API and create engines of pool in background.
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try (InputStream bootstrap = new ClassPathResource(BOOTSTRAP_SCRIPT).getInputStream()) {
+            bootstrapSource = StreamUtils.copyToString(bootstrap, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("Failed to load {}, local script runtime is disabled", BOOTSTRAP_SCRIPT, e);
+            return;
+        }
+        for (int i = 0; i < properties.getPoolSize(); i++) {
+            executorService.execute(this::addEngine);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Execute script in pod if local runtime supports it.
+     *
+     * @param request script with context
+     * @return execution result, or null if script should be executed by script engine service
+     */
+    @Nullable
+    public PostmanExecuteScriptResponseDto execute(PostmanExecuteScriptRequestDto request) {
+        if (!isApplicable(request)) {
+            return null;
+        }
+        String script = instrumentedScripts.get(request.getScript(),
+                key -> Optional.ofNullable(LocalScriptValidator.instrument(key))).orElse(null);
+        if (isNull(script)) {
+            return null;
+        }
+        LocalScriptEngine engine = takeEngine();
+        if (isNull(engine)) {
+            log.debug("All local script engines are busy, script is executed by script engine service");
+            return null;
+        }
+        PostmanDto postman = request.getPostman();
+        Map<String, Object> globals = copy(postman.getGlobals());
+        Map<String, Object> collectionVariables = copy(postman.getCollectionVariables());
+        Map<String, Object> environment = copy(postman.getEnvironment());
+        Map<String, Object> iterationData = copy(postman.getIterationData());
+        Map<String, Object> variables = copy(postman.getVariables());
+        LocalScriptOutput output = new LocalScriptOutput(properties.getMaxOperations());
+        Map<String, Object> bindings = new HashMap<>();
+        bindings.put("__globals", globals);
+        bindings.put("__collectionVariables", collectionVariables);
+        bindings.put("__environment", environment);
+        bindings.put("__iterationData", iterationData);
+        bindings.put("__variables", variables);
+        bindings.put("__response", postman.getPostmanResponse());
+        bindings.put("__output", output);
+        bindings.put("__javaMethods", JAVA_METHODS);
+
+        if (!run(engine, request.getScript(), script, bindings, output)) {
+            return null;
+        }
+        PostmanExecuteScriptResponseDto response = new PostmanExecuteScriptResponseDto()
+                .testResults(output.getTestResults())
+                .hasNextRequest(false);
+        response.setConsoleLogs(output.getConsoleLogs());
+        try {
+            response.setPostman(new PostmanDto()
+                    .postmanRequest(postman.getPostmanRequest())
+                    .postmanResponse(postman.getPostmanResponse())
+                    .cookies(postman.getCookies())
+                    .globals(toJava(globals, output))
+                    .collectionVariables(toJava(collectionVariables, output))
+                    .environment(toJava(environment, output))
+                    .iterationData(toJava(iterationData, output))
+                    .variables(toJava(variables, output)));
+        } catch (LocalScriptOutput.LimitExceededException e) {
+            log.debug("Variables set by script exceeded work limit, script is executed by script engine service");
+            return null;
+        }
+        return response;
+    }
+
+    private boolean isApplicable(PostmanExecuteScriptRequestDto request) {
+        if (!properties.isEnabled() || isNull(bootstrapSource)) {
+            return false;
+        }
+        if (!properties.getProjectIds().isEmpty() && !properties.getProjectIds().contains(request.getProjectId())) {
+            return false;
+        }
+        String script = request.getScript();
+        if (isNull(script) || script.length() > properties.getMaxScriptLength()) {
+            return false;
+        }
+        PostmanDto postman = request.getPostman();
+        PostmanPostmanResponseDto response = postman.getPostmanResponse();
+        if (nonNull(response) && nonNull(response.getBody())
+                && response.getBody().length() > properties.getMaxResponseBodySize()) {
+            return false;
+        }
+        // Java objects in variables would expose their methods to script
+        return Stream.of(postman.getGlobals(), postman.getCollectionVariables(), postman.getEnvironment(),
+                        postman.getIterationData(), postman.getVariables())
+                .filter(Objects::nonNull)
+                .flatMap(scope -> scope.values().stream())
+                .allMatch(value -> isNull(value) || value instanceof String || value instanceof Number
+                        || value instanceof Boolean);
+    }
+
+    /**
+     * Run script within time limit.
+     *
+     * @param script original script, key of compiled script and of unsupported scripts
+     * @param instrumentedScript script with counting of work
+     * @return true if script is executed, false if it failed or exceeded limits
+     *         and should be executed by script engine service
+     */
+    private boolean run(LocalScriptEngine engine, String script, String instrumentedScript,
+                        Map<String, Object> bindings, LocalScriptOutput output) {
+        AtomicBoolean abandoned = new AtomicBoolean();
+        AtomicBoolean finished = new AtomicBoolean();
+        Future<?> future = executorService.submit(() -> {
+            try {
+                engine.execute(instrumentedScript, bindings);
+            } finally {
+                synchronized (finished) {
+                    finished.set(true);
+                    if (abandoned.get()) {
+                        abandonedExecutions.decrementAndGet();
+                    }
+                }
+            }
+            return null;
+        });
+        try {
+            future.get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            engines.offer(engine);
+            if (output.isAborted()) {
+                log.debug("Script exceeded work limit in local script runtime, it is executed by script engine "
+                        + "service");
+                return false;
+            }
+            return true;
+        } catch (ExecutionException e) {
+            engines.offer(engine);
+            if (e.getCause() instanceof UncompilableScriptException) {
+                instrumentedScripts.put(script, Optional.empty());
+            }
+            log.debug("Script failed in local script runtime, it is executed by script engine service",
+                    e.getCause());
+            return false;
+        } catch (TimeoutException e) {
+            log.warn("Script exceeded time limit {} ms in local script runtime, it is executed by script engine "
+                    + "service", properties.getTimeoutMs());
+            // script is stopped on the next counted statement or operation
+            output.cancel();
+            awaitCancelled(engine, future, abandoned, finished);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            output.cancel();
+            abandon(abandoned, finished);
+            return false;
+        }
+    }
+
+    private void awaitCancelled(LocalScriptEngine engine, Future<?> future, AtomicBoolean abandoned,
+                                AtomicBoolean finished) {
+        try {
+            future.get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            engines.offer(engine);
+        } catch (ExecutionException e) {
+            engines.offer(engine);
+        } catch (TimeoutException e) {
+            abandon(abandoned, finished);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(abandoned, finished);
+        }
+    }
+
+    private void abandon(AtomicBoolean abandoned, AtomicBoolean finished) {
+        synchronized (finished) {
+            abandoned.set(true);
+            if (!finished.get()) {
+                abandonedExecutions.incrementAndGet();
+            }
+        }
+        // engine may still be used by abandoned thread, it is replaced by new one
+        engineCount.decrementAndGet();
+        if (abandonedExecutions.get() < properties.getPoolSize()) {
+            executorService.execute(this::addEngine);
+        } else {
+            log.error("Too many cancelled scripts are still running, local script engine is not replaced");
+        }
+    }
+
+    @Nullable
+    private LocalScriptEngine takeEngine() {
+        LocalScriptEngine engine = engines.poll();
+        if (isNull(engine) && engineCount.get() < properties.getPoolSize()) {
+            engine = createEngine();
+        }
+        return engine;
+    }
+
+    private void addEngine() {
+        LocalScriptEngine engine = createEngine();
+        if (nonNull(engine)) {
+            engines.offer(engine);
+        }
+    }
+
+    @Nullable
+    private LocalScriptEngine createEngine() {
+        if (engineCount.incrementAndGet() > properties.getPoolSize()) {
+            engineCount.decrementAndGet();
+            return null;
+        }
+        try {
+            LocalScriptEngine engine = new LocalScriptEngine(bootstrapSource);
+            Map<String, Object> bindings = new HashMap<>();
+            bindings.put("__globals", new HashMap<>());
+            bindings.put("__collectionVariables", new HashMap<>());
+            bindings.put("__environment", new HashMap<>());
+            bindings.put("__iterationData", new HashMap<>());
+            bindings.put("__variables", new HashMap<>());
+            bindings.put("__response", null);
+            bindings.put("__output", new LocalScriptOutput(properties.getMaxOperations()));
+            bindings.put("__javaMethods", JAVA_METHODS);
+            engine.execute(WARM_UP_SCRIPT, bindings);
+            return engine;
+        } catch (Exception e) {
+            engineCount.decrementAndGet();
+            log.error("Failed to create local script engine", e);
+            return null;
+        }
+    }
+
+    private static Map<String, Object> copy(@Nullable Map<String, Object> scope) {
+        return isNull(scope) ? new HashMap<>() : new HashMap<>(scope);
+    }
+
+    private static Map<String, Object> toJava(Map<String, Object> scope, LocalScriptOutput output) {
+        Map<String, Object> result = new HashMap<>();
+        scope.forEach((key, value) -> result.put(key, toJava(value, output)));
+        return result;
+    }
+
+    /**
+     * Convert values set by script to types script engine service returns.
+     * Conversion of JS objects and strings counts work, so values with shared or cyclic references
+     * exceed work limit.
+     */
+    private static Object toJava(@Nullable Object value, LocalScriptOutput output) {
+        if (isNull(value) || ScriptObjectMirror.isUndefined(value)) {
+            return null;
+        }
+        if (value instanceof ScriptObjectMirror mirror) {
+            output.consume(1);
+            if (mirror.isFunction()) {
+                return null;
+            }
+            if (mirror.isArray()) {
+                List<Object> list = new ArrayList<>();
+                mirror.values().forEach(item -> list.add(toJava(item, output)));
+                return list;
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            mirror.forEach((key, item) -> map.put(key, toJava(item, output)));
+            return map;
+        }
+        if (value instanceof CharSequence chars && !(value instanceof String)) {
+            output.consume(chars.length());
+            return value.toString();
+        }
+        if (value instanceof Double number && !number.isInfinite() && number == Math.rint(number)
+                && Math.abs(number) <= Integer.MAX_VALUE) {
+            return number.intValue();
+        }
+        return value;
+    }
+
+    private static class LocalScriptEngine {
+
+        private final ScriptEngine engine;
+        private final CompiledScript bootstrap;
+        private final Map<String, CompiledScript> scripts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+                return size() > MAX_COMPILED_SCRIPTS;
+            }
+        };
+
+        private LocalScriptEngine(String bootstrapSource) throws ScriptException {
+            this.engine = new NashornScriptEngineFactory().getScriptEngine(NASHORN_OPTIONS,
+                    LocalScriptRuntime.class.getClassLoader(), className -> false);
+            this.bootstrap = ((Compilable) engine).compile(bootstrapSource);
+        }
+
+        /**
+         * Execute script in new global scope, so nothing is left from previous scripts.
+         */
+        private void execute(String script, Map<String, Object> variables)
+                throws ScriptException, UncompilableScriptException {
+            Bindings bindings = engine.createBindings();
+            bindings.putAll(variables);
+            bootstrap.eval(bindings);
+            getCompiledScript(script).eval(bindings);
+        }
+
+        private CompiledScript getCompiledScript(String script) throws UncompilableScriptException {
+            CompiledScript compiledScript = scripts.get(script);
+            if (isNull(compiledScript)) {
+                try {
+                    compiledScript = ((Compilable) engine).compile(script);
+                } catch (ScriptException e) {
+                    throw new UncompilableScriptException(e);
+                }
+                scripts.put(script, compiledScript);
+            }
+            return compiledScript;
+        }
+    }
+
+    private static class UncompilableScriptException extends Exception {
+        private UncompilableScriptException(ScriptException cause) {
+            super(cause);
+        }
+    }
+}
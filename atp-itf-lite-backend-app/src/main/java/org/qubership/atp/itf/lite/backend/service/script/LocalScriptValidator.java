@@ -0,0 +1,367 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.service.script;
+
+import static java.util.Objects.nonNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.openjdk.nashorn.api.tree.ArrayAccessTree;
+import org.openjdk.nashorn.api.tree.BinaryTree;
+import org.openjdk.nashorn.api.tree.BlockTree;
+import org.openjdk.nashorn.api.tree.ClassDeclarationTree;
+import org.openjdk.nashorn.api.tree.ClassExpressionTree;
+import org.openjdk.nashorn.api.tree.CompilationUnitTree;
+import org.openjdk.nashorn.api.tree.CompoundAssignmentTree;
+import org.openjdk.nashorn.api.tree.DoWhileLoopTree;
+import org.openjdk.nashorn.api.tree.ExpressionStatementTree;
+import org.openjdk.nashorn.api.tree.ExpressionTree;
+import org.openjdk.nashorn.api.tree.ForInLoopTree;
+import org.openjdk.nashorn.api.tree.ForLoopTree;
+import org.openjdk.nashorn.api.tree.ForOfLoopTree;
+import org.openjdk.nashorn.api.tree.FunctionCallTree;
+import org.openjdk.nashorn.api.tree.FunctionDeclarationTree;
+import org.openjdk.nashorn.api.tree.FunctionExpressionTree;
+import org.openjdk.nashorn.api.tree.IdentifierTree;
+import org.openjdk.nashorn.api.tree.LiteralTree;
+import org.openjdk.nashorn.api.tree.MemberSelectTree;
+import org.openjdk.nashorn.api.tree.NewTree;
+import org.openjdk.nashorn.api.tree.Parser;
+import org.openjdk.nashorn.api.tree.PropertyTree;
+import org.openjdk.nashorn.api.tree.RegExpLiteralTree;
+import org.openjdk.nashorn.api.tree.SimpleTreeVisitorES6;
+import org.openjdk.nashorn.api.tree.SpreadTree;
+import org.openjdk.nashorn.api.tree.TemplateLiteralTree;
+import org.openjdk.nashorn.api.tree.Tree;
+import org.openjdk.nashorn.api.tree.WhileLoopTree;
+import org.openjdk.nashorn.api.tree.WithTree;
+import org.openjdk.nashorn.api.tree.YieldTree;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Checks script has only constructs work of which local script runtime can bound.
+ * Script can't loop or declare functions except callbacks of pm.test, so each statement is executed
+ * at most once per script or pm.test call. Values of script can't grow faster than the number of
+ * concatenations of two non-literal values. Statements are prefixed by counting of work,
+ * so script is stopped on the next statement when it exceeded work or time limit.
+ */
+final class LocalScriptValidator {
+
+    static final String STATEMENT_COUNTER = "__output.consume(1);";
+    private static final String[] PARSER_OPTIONS = {"--language=es6"};
+    private static final int MAX_CONCATENATIONS = 4;
+    private static final Set<String> SUPPORTED_PM_MEMBERS = Set.of("globals", "collectionVariables",
+            "environment", "iterationData", "variables", "response", "expect", "test");
+    /**
+     * Members of assertion of local script runtime, chains with other chai members are executed by script engine.
+     */
+    private static final Set<String> SUPPORTED_ASSERTION_MEMBERS = Set.of("to", "be", "been", "is", "that",
+            "which", "and", "has", "have", "with", "at", "of", "same", "not", "deep", "ok", "true", "false", "null",
+            "undefined", "exist", "empty", "equal", "equals", "eq", "eql", "eqls", "include", "includes",
+            "contain", "contains", "above", "gt", "greaterThan", "least", "gte", "below", "lt", "lessThan", "most",
+            "lte", "a", "an", "oneOf", "match", "lengthOf", "property");
+    private static final Set<String> FORBIDDEN_IDENTIFIERS = Set.of("eval", "Function", "arguments", "Java",
+            "Packages", "java", "javax", "load", "loadWithNewGlobal", "exit", "quit", "postman", "require",
+            "setTimeout", "setInterval", "globalThis");
+    private static final Set<String> FORBIDDEN_MEMBERS = Set.of("constructor", "prototype", "call", "apply",
+            "bind", "caller", "callee");
+    private static final String INTERNAL_PREFIX = "__";
+
+    private LocalScriptValidator() {
+    }
+
+    /**
+     * Check script and prefix its statements by counting of work.
+     *
+     * @return script with counting of work, or null if script can't be executed by local runtime
+     */
+    @Nullable
+    static String instrument(String script) {
+        CompilationUnitTree tree = parse(script);
+        if (tree == null) {
+            return null;
+        }
+        Visitor visitor = new Visitor();
+        tree.accept(visitor, null);
+        if (!visitor.supported || visitor.concatenations > MAX_CONCATENATIONS) {
+            return null;
+        }
+        StringBuilder instrumented = new StringBuilder(script);
+        for (Long position : visitor.statements.descendingSet()) {
+            instrumented.insert(position.intValue(), STATEMENT_COUNTER);
+        }
+        // start positions of some statements are not exact, such script is left to script engine service
+        CompilationUnitTree instrumentedTree = parse(instrumented.toString());
+        return nonNull(instrumentedTree) && countStatementCounters(instrumentedTree) == visitor.statements.size()
+                ? instrumented.toString() : null;
+    }
+
+    private static int countStatementCounters(CompilationUnitTree tree) {
+        int[] count = new int[1];
+        tree.accept(new SimpleTreeVisitorES6<Void, Void>() {
+            @Override
+            public Void visitExpressionStatement(ExpressionStatementTree node, Void unused) {
+                if (node.getExpression() instanceof FunctionCallTree call
+                        && call.getFunctionSelect() instanceof MemberSelectTree callee
+                        && callee.getExpression() instanceof IdentifierTree identifier
+                        && "__output".equals(identifier.getName()) && "consume".equals(callee.getIdentifier())) {
+                    count[0]++;
+                }
+                return super.visitExpressionStatement(node, unused);
+            }
+        }, null);
+        return count[0];
+    }
+
+    @Nullable
+    private static CompilationUnitTree parse(String script) {
+        boolean[] failed = new boolean[1];
+        try {
+            CompilationUnitTree tree = Parser.create(PARSER_OPTIONS).parse("script", script,
+                    diagnostic -> failed[0] = true);
+            return failed[0] ? null : tree;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static class Visitor extends SimpleTreeVisitorES6<Void, Void> {
+
+        private final TreeSet<Long> statements = new TreeSet<>();
+        private final Set<Tree> testCallbacks = Collections.newSetFromMap(new IdentityHashMap<>());
+        private boolean supported = true;
+        private int concatenations;
+
+        @Override
+        public Void visitCompilationUnit(CompilationUnitTree node, Void unused) {
+            addStatements(node.getSourceElements());
+            return super.visitCompilationUnit(node, unused);
+        }
+
+        @Override
+        public Void visitBlock(BlockTree node, Void unused) {
+            addStatements(node.getStatements());
+            return super.visitBlock(node, unused);
+        }
+
+        private void addStatements(List<? extends Tree> trees) {
+            for (Tree tree : trees) {
+                // directives like 'use strict' must stay the first statements
+                if (tree instanceof ExpressionStatementTree statement
+                        && statement.getExpression() instanceof LiteralTree) {
+                    continue;
+                }
+                statements.add(tree.getStartPosition());
+            }
+        }
+
+        @Override
+        public Void visitForLoop(ForLoopTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitForInLoop(ForInLoopTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitForOfLoop(ForOfLoopTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitWhileLoop(WhileLoopTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitDoWhileLoop(DoWhileLoopTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitFunctionDeclaration(FunctionDeclarationTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitClassDeclaration(ClassDeclarationTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitClassExpression(ClassExpressionTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitNew(NewTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitRegExpLiteral(RegExpLiteralTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitWith(WithTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitYield(YieldTree node, Void unused) {
+            return reject();
+        }
+
+        @Override
+        public Void visitSpread(SpreadTree node, Void unused) {
+            return reject();
+        }
+
+        /**
+         * Only anonymous callback of pm.test without parameters can't be called recursively or stored.
+         */
+        @Override
+        public Void visitFunctionExpression(FunctionExpressionTree node, Void unused) {
+            if (!testCallbacks.contains(node) || nonNull(node.getName()) || !node.getParameters().isEmpty()
+                    || node.isGenerator()) {
+                return reject();
+            }
+            return super.visitFunctionExpression(node, unused);
+        }
+
+        @Override
+        public Void visitFunctionCall(FunctionCallTree node, Void unused) {
+            if (node.getFunctionSelect() instanceof MemberSelectTree callee && isPm(callee.getExpression())
+                    && "test".equals(callee.getIdentifier()) && node.getArguments().size() > 1) {
+                testCallbacks.add(node.getArguments().get(1));
+            }
+            return super.visitFunctionCall(node, unused);
+        }
+
+        @Override
+        public Void visitProperty(PropertyTree node, Void unused) {
+            if (nonNull(node.getGetter()) || nonNull(node.getSetter())) {
+                return reject();
+            }
+            return super.visitProperty(node, unused);
+        }
+
+        @Override
+        public Void visitIdentifier(IdentifierTree node, Void unused) {
+            if (node.isThis() || node.getName().startsWith(INTERNAL_PREFIX)
+                    || FORBIDDEN_IDENTIFIERS.contains(node.getName())) {
+                return reject();
+            }
+            return super.visitIdentifier(node, unused);
+        }
+
+        @Override
+        public Void visitMemberSelect(MemberSelectTree node, Void unused) {
+            checkMember(node.getExpression(), node.getIdentifier());
+            return super.visitMemberSelect(node, unused);
+        }
+
+        /**
+         * Only literal indexes are allowed, so forbidden members can't be computed.
+         */
+        @Override
+        public Void visitArrayAccess(ArrayAccessTree node, Void unused) {
+            if (!(node.getIndex() instanceof LiteralTree index)
+                    || !(index.getValue() instanceof String || index.getValue() instanceof Number)) {
+                return reject();
+            }
+            if (index.getValue() instanceof String member) {
+                checkMember(node.getExpression(), member);
+            }
+            return super.visitArrayAccess(node, unused);
+        }
+
+        private void checkMember(ExpressionTree expression, String member) {
+            if (member.startsWith(INTERNAL_PREFIX) || FORBIDDEN_MEMBERS.contains(member)
+                    || (isPm(expression) && !SUPPORTED_PM_MEMBERS.contains(member))
+                    || (isAssertion(expression) && !SUPPORTED_ASSERTION_MEMBERS.contains(member))) {
+                reject();
+            }
+        }
+
+        /**
+         * Check expression is chain started by pm.expect call.
+         */
+        private static boolean isAssertion(ExpressionTree expression) {
+            ExpressionTree current = expression;
+            while (true) {
+                if (current instanceof FunctionCallTree call) {
+                    if (call.getFunctionSelect() instanceof MemberSelectTree callee && isPm(callee.getExpression())
+                            && "expect".equals(callee.getIdentifier())) {
+                        return true;
+                    }
+                    current = call.getFunctionSelect();
+                } else if (current instanceof MemberSelectTree member) {
+                    current = member.getExpression();
+                } else if (current instanceof ArrayAccessTree access) {
+                    current = access.getExpression();
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public Void visitBinary(BinaryTree node, Void unused) {
+            if (node.getKind() == Tree.Kind.PLUS && !(node.getLeftOperand() instanceof LiteralTree)
+                    && !(node.getRightOperand() instanceof LiteralTree)) {
+                concatenations++;
+            }
+            return super.visitBinary(node, unused);
+        }
+
+        @Override
+        public Void visitCompoundAssignment(CompoundAssignmentTree node, Void unused) {
+            if (node.getKind() == Tree.Kind.PLUS_ASSIGNMENT && !(node.getExpression() instanceof LiteralTree)) {
+                concatenations++;
+            }
+            return super.visitCompoundAssignment(node, unused);
+        }
+
+        @Override
+        public Void visitTemplateLiteral(TemplateLiteralTree node, Void unused) {
+            long values = node.getExpressions().stream()
+                    .filter(expression -> !(expression instanceof LiteralTree))
+                    .count();
+            concatenations += (int) Math.max(values - 1, 0);
+            return super.visitTemplateLiteral(node, unused);
+        }
+
+        private static boolean isPm(ExpressionTree expression) {
+            return expression instanceof IdentifierTree identifier && "pm".equals(identifier.getName());
+        }
+
+        private Void reject() {
+            supported = false;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.utils;
+
+import static org.springframework.http.HttpHeaders.ACCEPT_RANGES;
+import static org.springframework.http.HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS;
+import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpHeaders.CONTENT_RANGE;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.IF_RANGE;
+import static org.springframework.http.HttpHeaders.RANGE;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.apache.commons.io.IOUtils;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileInfo;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes files to http response without loading whole file into memory.
+ * Supports single byte range requests ({@code Range}, {@code If-Range}) and conditional requests by ETag.
+ */
+@Slf4j
+@UtilityClass
+public class FileDownloadUtils {
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final String ANY_ETAG = "*";
+    private static final String EXPOSED_HEADERS = String.join(", ",
+            CONTENT_DISPOSITION, CONTENT_RANGE, ACCEPT_RANGES, ETAG);
+
+    /**
+     * Write file from file system to response. File content is transferred by {@link FileChannel#transferTo}.
+     *
+     * @param path path to file.
+     * @param fileId id of file in gridfs, cached copy gets the same ETag as gridfs file.
+     * @param contentType content type, header isn't set if null.
+     * @param request http request.
+     * @param response http response.
+     */
+    public static void writeFile(Path path, @Nullable UUID fileId, @Nullable String contentType,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = Files.size(path);
+        setAttachmentHeaders(path.getFileName().toString(), contentType, response);
+        write(length, getEtag(fileId, length), request, response, (start, count, out) -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = start;
+                long end = start + count;
+                while (position < end) {
+                    long transferred = channel.transferTo(position, end - position, target);
+                    if (transferred <= 0) {
+                        throw new EOFException("File " + path + " was truncated during download");
+                    }
+                    position += transferred;
+                }
+            }
+        });
+    }
+
+    /**
+     * Write gridfs file to response. Only requested range of file is read from storage.
+     *
+     * @param fileInfo info about file.
+     * @param content supplier of file content stream.
+     * @param request http request.
+     * @param response http response.
+     */
+    public static void writeFile(FileInfo fileInfo, Supplier<InputStream> content, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        setAttachmentHeaders(fileInfo.getFileName(), fileInfo.getContentType(), response);
+        write(fileInfo.getSize(), getEtag(fileInfo.getFileId(), fileInfo.getSize()), request, response, (start, count, out) -> {
+            try (InputStream inputStream = content.get()) {
+                skipFully(inputStream, start);
+                IOUtils.copyLarge(inputStream, out, 0, count);
+            }
+        });
+    }
+
+    /**
+     * Write content to response. Headers with file name and content type should be set by caller.
+     *
+     * @param content content.
+     * @param etag unique identifier of content.
+     * @param request http request.
+     * @param response http response.
+     */
+    public static void writeContent(byte[] content, String etag, HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        write(content.length, quote(etag), request, response,
+                (start, count, out) -> out.write(content, (int) start, (int) count));
+    }
+
+    private static void write(long length, String etag, HttpServletRequest request, HttpServletResponse response,
+                              RangeWriter writer) throws IOException {
+        response.setHeader(ETAG, etag);
+        response.setHeader(ACCEPT_RANGES, BYTES_UNIT);
+        if (matchesAny(request.getHeader(IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = getRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                log.debug("Requested range '{}' isn't satisfiable for content with length {}",
+                        request.getHeader(RANGE), length);
+                response.setHeader(CONTENT_RANGE, BYTES_UNIT + " */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(CONTENT_RANGE, "%s %d-%d/%d".formatted(BYTES_UNIT, start, end, length));
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (count > 0) {
+            writer.write(start, count, response.getOutputStream());
+        }
+        response.flushBuffer();
+    }
+
+    /**
+     * Get single range from request. Multiple ranges and ranges with outdated {@code If-Range} are ignored,
+     * so whole content is sent.
+     */
+    @Nullable
+    private static HttpRange getRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Range header '{}' is ignored: {}", rangeHeader, e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean matchesAny(@Nullable String etagsHeader, String etag) {
+        if (etagsHeader == null) {
+            return false;
+        }
+        return Arrays.stream(etagsHeader.split(","))
+                .map(String::trim)
+                .map(value -> value.startsWith(WEAK_ETAG_PREFIX) ? value.substring(WEAK_ETAG_PREFIX.length()) : value)
+                .anyMatch(value -> ANY_ETAG.equals(value) || etag.equals(value));
+    }
+
+    private static void setAttachmentHeaders(String fileName, @Nullable String contentType,
+                                             HttpServletResponse response) {
+        response.setHeader(CONTENT_DISPOSITION, "attachment; filename=\"%s\"".formatted(fileName));
+        response.setHeader(ACCESS_CONTROL_EXPOSE_HEADERS, EXPOSED_HEADERS);
+        if (contentType != null) {
+            response.setHeader(CONTENT_TYPE, contentType);
+        }
+    }
+
+    /**
+     * ETag is built from metadata file id and length, they are kept when file is rechunked in gridfs
+     * or cached on file system, so ETag doesn't depend on where file is read from.
+     */
+    private static String getEtag(@Nullable UUID fileId, long length) {
+        return quote(fileId + "-" + Long.toHexString(length));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    /**
+     * Skip bytes using {@link InputStream#skip}, so streams which can seek (like gridfs download stream)
+     * don't read skipped content.
+     */
+    private static void skipFully(InputStream inputStream, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = inputStream.skip(remaining);
+            if (skipped <= 0) {
+                if (inputStream.read() == -1) {
+                    throw new EOFException("Stream ended before " + bytes + " bytes were skipped");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeWriter {
+
+        void write(long start, long count, OutputStream outputStream) throws IOException;
+    }
+}
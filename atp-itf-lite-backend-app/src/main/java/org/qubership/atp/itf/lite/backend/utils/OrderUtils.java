@@ -0,0 +1,84 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+
+package org.qubership.atp.itf.lite.backend.utils;
+
+import java.util.List;
+
+import jakarta.annotation.Nullable;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Sparse ordering of folders and requests between siblings.
+ * Orders are spread with {@link #ORDER_STEP} gaps, so moved item gets an order between its new neighbours
+ * and only this item is updated. Siblings are renumbered only when there is no free value between neighbours.
+ */
+@UtilityClass
+public class OrderUtils {
+
+    public static final int ORDER_STEP = 1024;
+
+    /**
+     * Get order for the item added after the last sibling.
+     *
+     * @param maxOrder max order of siblings, null if there are no siblings
+     * @return order or null if there is no free order after the last sibling and siblings should be rebalanced
+     */
+    @Nullable
+    public static Integer getNextOrder(@Nullable Integer maxOrder) {
+        if (maxOrder == null) {
+            return 0;
+        }
+        long order = (long) maxOrder + ORDER_STEP;
+        return order > Integer.MAX_VALUE ? null : (int) order;
+    }
+
+    /**
+     * Get order for the item moved to position between siblings.
+     *
+     * @param siblingOrders sorted orders of siblings without moved item
+     * @param position new position of the item
+     * @return order or null if there is no free order between neighbours and siblings should be rebalanced
+     */
+    @Nullable
+    public static Integer getOrderAtPosition(List<Integer> siblingOrders, int position) {
+        if (siblingOrders.isEmpty()) {
+            return 0;
+        }
+        int index = Math.max(0, Math.min(position, siblingOrders.size()));
+        long previous = index == 0 ? (long) siblingOrders.get(0) - 2L * ORDER_STEP : siblingOrders.get(index - 1);
+        long next = index == siblingOrders.size() ? previous + 2L * ORDER_STEP : siblingOrders.get(index);
+        if (next - previous < 2) {
+            return null;
+        }
+        long order = previous + (next - previous) / 2;
+        if (order < Integer.MIN_VALUE || order > Integer.MAX_VALUE) {
+            return null;
+        }
+        return (int) order;
+    }
+
+    /**
+     * Get order of the item at position after siblings rebalancing.
+     *
+     * @param position item position
+     * @return order
+     */
+    public static int getRebalancedOrder(int position) {
+        return position * ORDER_STEP;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.utils;
+
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.hc.core5.http.HttpEntity;
+import org.qubership.atp.itf.lite.backend.model.api.request.HttpRequestEntitySaveRequest;
+import org.qubership.atp.itf.lite.backend.model.api.request.http.HttpHeaderSaveRequest;
+import org.qubership.atp.itf.lite.backend.model.api.request.http.HttpParamSaveRequest;
+import org.qubership.atp.itf.lite.backend.model.api.response.RequestExecutionHeaderResponse;
+import org.qubership.atp.itf.lite.backend.model.api.response.RequestExecutionResponse;
+import org.qubership.atp.itf.lite.backend.model.entities.RequestBody;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileData;
+import org.qubership.atp.itf.lite.backend.model.entities.http.FormDataPart;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+
+/**
+ * Byte accounting of request and response payloads.
+ * Sizes are counted from the actual field values without serializing or copying them.
+ */
+public class PayloadSizeUtils {
+
+    /**
+     * Calculate length of the string in UTF-8 bytes without encoding it.
+     *
+     * @param value string
+     * @return size in bytes, 0 for null
+     */
+    public static long utf8Length(CharSequence value) {
+        if (value == null) {
+            return 0;
+        }
+        long size = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                size++;
+            } else if (ch < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Calculate size of the request with pre-scripts but without post-scripts.
+     *
+     * @param request request
+     * @return size in bytes
+     */
+    public static long calculateRequestSize(HttpRequestEntitySaveRequest request) {
+        long size = utf8Length(request.getUrl()) + utf8Length(request.getPreScripts());
+        List<HttpParamSaveRequest> params = request.getRequestParams();
+        if (nonNull(params)) {
+            for (HttpParamSaveRequest param : params) {
+                size += utf8Length(param.getKey()) + utf8Length(param.getValue());
+            }
+        }
+        List<HttpHeaderSaveRequest> headers = request.getRequestHeaders();
+        if (nonNull(headers)) {
+            for (HttpHeaderSaveRequest header : headers) {
+                size += utf8Length(header.getKey()) + utf8Length(header.getValue());
+            }
+        }
+        RequestBody body = request.getBody();
+        if (nonNull(body)) {
+            size += utf8Length(body.getContent()) + utf8Length(body.getQuery()) + utf8Length(body.getVariables());
+            if (nonNull(body.getFormDataBody())) {
+                for (FormDataPart part : body.getFormDataBody()) {
+                    size += utf8Length(part.getKey()) + utf8Length(part.getValue());
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Calculate size of the files content.
+     *
+     * @param files files
+     * @return size in bytes
+     */
+    public static long calculateFilesSize(List<FileData> files) {
+        long size = 0;
+        if (nonNull(files)) {
+            for (FileData file : files) {
+                if (nonNull(file.getContent())) {
+                    size += file.getContent().length;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Calculate size of the file without reading its content.
+     *
+     * @param file file
+     * @return size in bytes
+     */
+    public static long calculateFileSize(MultipartFile file) {
+        return nonNull(file) ? file.getSize() : 0;
+    }
+
+    /**
+     * Calculate size of the response headers and body.
+     *
+     * @param response response
+     * @return size in bytes
+     */
+    public static long calculateResponseSize(RequestExecutionResponse response) {
+        long size = response.isBodyTruncated() ? response.getBodyContent().size() : utf8Length(response.getBody());
+        List<RequestExecutionHeaderResponse> headers = response.getResponseHeaders();
+        if (nonNull(headers)) {
+            for (RequestExecutionHeaderResponse header : headers) {
+                size += utf8Length(header.getKey()) + utf8Length(header.getValue());
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Calculate size of the http entity. Known content length is used as is,
+     * otherwise entity is written into counting stream which discards the bytes.
+     *
+     * @param entity http entity
+     * @return size in bytes
+     * @throws IOException if entity can't be written
+     */
+    public static long calculateEntitySize(HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return 0;
+        }
+        long contentLength = entity.getContentLength();
+        if (contentLength >= 0) {
+            return contentLength;
+        }
+        // Used outputStream to avoid `org.apache.http.ContentTooLongException: Content length is too long`
+        // for MultipartFormEntity http entities
+        try (CountingOutputStream outputStream = new CountingOutputStream(ByteStreams.nullOutputStream())) {
+            entity.writeTo(outputStream);
+            return outputStream.getCount();
+        }
+    }
+
+    /**
+     * Convert megabytes limit into bytes.
+     *
+     * @param limitInMb limit in megabytes
+     * @return limit in bytes
+     */
+    public static long megabytesToBytes(int limitInMb) {
+        return limitInMb * 1024L * 1024L;
+    }
+
+    /**
+     * Check if size is bigger than limit. All size limits are checked by this method,
+     * so content with size equal to the limit is allowed everywhere.
+     *
+     * @param sizeInBytes  size in bytes
+     * @param limitInBytes max allowed size in bytes, not positive value means no limit
+     * @return true if size is bigger than limit
+     */
+    public static boolean isLimitExceeded(long sizeInBytes, long limitInBytes) {
+        return limitInBytes > 0 && sizeInBytes > limitInBytes;
+    }
+}
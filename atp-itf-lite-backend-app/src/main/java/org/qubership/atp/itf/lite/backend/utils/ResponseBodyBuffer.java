@@ -0,0 +1,184 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Output stream for a response body: bytes are kept in memory up to the threshold
+ * and spilled to a temporary file afterwards, so a big body never grows in-memory buffers.
+ * Spilled body is read back only by consumers that need it, others get a bounded {@link #preview}.
+ * Temporary file is deleted on {@link #close()}.
+ */
+@Slf4j
+public class ResponseBodyBuffer extends OutputStream {
+
+    private static final String TEMP_FILE_PREFIX = "itf-lite-response-";
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final long threshold;
+    private ExposedByteArrayOutputStream memory = new ExposedByteArrayOutputStream();
+    private Path file;
+    private OutputStream fileStream;
+    private long size;
+
+    /**
+     * Constructor.
+     *
+     * @param threshold max count of bytes kept in memory
+     */
+    public ResponseBodyBuffer(long threshold) {
+        this.threshold = threshold;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (isInMemory() && size + len > threshold) {
+            spill();
+        }
+        if (isInMemory()) {
+            memory.write(b, off, len);
+        } else {
+            fileStream.write(b, off, len);
+        }
+        size += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fileStream != null) {
+            fileStream.flush();
+        }
+    }
+
+    /**
+     * Open stream with buffered bytes, nothing is copied for in-memory body.
+     *
+     * @return input stream
+     * @throws IOException if temporary file can't be read
+     */
+    public InputStream getInputStream() throws IOException {
+        if (isInMemory()) {
+            return memory.toInputStream();
+        }
+        flush();
+        return Files.newInputStream(file);
+    }
+
+    /**
+     * Decode the beginning of the body, so a big body is not read to memory to be shown.
+     *
+     * @param charset  charset
+     * @param maxBytes max count of bytes to decode
+     * @return beginning of the body text
+     * @throws IOException if temporary file can't be read
+     */
+    public String preview(Charset charset, int maxBytes) throws IOException {
+        try (InputStream inputStream = getInputStream()) {
+            return new String(inputStream.readNBytes(maxBytes), charset);
+        }
+    }
+
+    /**
+     * Materialize body as bytes.
+     *
+     * @return body bytes
+     * @throws IOException if temporary file can't be read
+     */
+    public byte[] toByteArray() throws IOException {
+        if (isInMemory()) {
+            return memory.toByteArray();
+        }
+        flush();
+        return Files.readAllBytes(file);
+    }
+
+    /**
+     * Materialize body as text decoded with provided charset.
+     *
+     * @param charset charset
+     * @return body text
+     * @throws IOException if temporary file can't be read
+     */
+    public String toString(Charset charset) throws IOException {
+        if (isInMemory()) {
+            return memory.toString(charset);
+        }
+        StringBuilder builder = new StringBuilder((int) Math.min(size, Integer.MAX_VALUE - 8));
+        char[] chars = new char[READ_BUFFER_SIZE];
+        try (Reader reader = new InputStreamReader(getInputStream(), charset)) {
+            int read;
+            while ((read = reader.read(chars)) != -1) {
+                builder.append(chars, 0, read);
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        memory = new ExposedByteArrayOutputStream();
+        if (fileStream != null) {
+            fileStream.close();
+            fileStream = null;
+        }
+        if (file != null) {
+            Files.deleteIfExists(file);
+            log.debug("Temporary response body file {} is deleted", file);
+        }
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+        log.debug("Response body is bigger than {} bytes, spill it to temporary file {}", threshold, file);
+        fileStream = new BufferedOutputStream(Files.newOutputStream(file));
+        memory.writeTo(fileStream);
+        memory = null;
+    }
+
+    private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Supplier;
+
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+
+/**
+ * Http entity which counts bytes of its content and fails fast when content is bigger than the limit.
+ * Declared content length is checked before any byte is read.
+ */
+public class SizeLimitedHttpEntity extends HttpEntityWrapper {
+
+    private final long limit;
+    private final Supplier<? extends RuntimeException> limitExceededException;
+    private SizeLimitedInputStream content;
+
+    /**
+     * Constructor.
+     *
+     * @param entity                 wrapped entity
+     * @param limit                  max allowed bytes, not positive value means no limit
+     * @param limitExceededException supplier of exception thrown when limit is crossed
+     */
+    public SizeLimitedHttpEntity(HttpEntity entity, long limit,
+                                 Supplier<? extends RuntimeException> limitExceededException) {
+        super(entity);
+        this.limit = limit;
+        this.limitExceededException = limitExceededException;
+    }
+
+    /**
+     * Get count of bytes read from the content.
+     *
+     * @return size in bytes
+     */
+    public long getReadBytes() {
+        return content == null ? 0 : content.getCount();
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        if (PayloadSizeUtils.isLimitExceeded(getContentLength(), limit)) {
+            throw limitExceededException.get();
+        }
+        content = new SizeLimitedInputStream(super.getContent(), limit, limitExceededException);
+        return content;
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        try (InputStream inputStream = getContent()) {
+            inputStream.transferTo(outStream);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.itf.lite.backend.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+/**
+ * Input stream which counts read bytes and fails as soon as the limit is crossed,
+ * so oversized payload is never read completely.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private final Supplier<? extends RuntimeException> limitExceededException;
+    private long count;
+    private long mark;
+
+    /**
+     * Constructor.
+     *
+     * @param in                     source stream
+     * @param limit                  max allowed bytes, not positive value means no limit
+     * @param limitExceededException supplier of exception thrown when limit is crossed
+     */
+    public SizeLimitedInputStream(InputStream in, long limit,
+                                  Supplier<? extends RuntimeException> limitExceededException) {
+        super(in);
+        this.limit = limit;
+        this.limitExceededException = limitExceededException;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int result = in.read();
+        if (result != -1) {
+            addCount(1);
+        }
+        return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int result = in.read(b, off, len);
+        if (result != -1) {
+            addCount(result);
+        }
+        return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long result = in.skip(n);
+        addCount(result);
+        return result;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        in.mark(readLimit);
+        mark = count;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        in.reset();
+        count = mark;
+    }
+
+    private void addCount(long read) {
+        count += read;
+        if (PayloadSizeUtils.isLimitExceeded(count, limit)) {
+            throw limitExceededException.get();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+ALTER TABLE cookies
+ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS cookies_expires_at_idx ON cookies(expires_at) WHERE expires_at IS NOT NULL;
@@ -0,0 +1,2 @@
+ALTER TABLE oauth2_request_authorizations
+ADD COLUMN IF NOT EXISTS disable_token_cache BOOLEAN NOT NULL DEFAULT FALSE;
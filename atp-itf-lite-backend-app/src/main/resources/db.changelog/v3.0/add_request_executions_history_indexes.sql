@@ -0,0 +1,11 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_request_executions_project_id_executed_when
+    ON request_executions(project_id, executed_when DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_request_executions_project_id_executor_executed_when
+    ON request_executions(project_id, executor, executed_when DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_request_executions_project_id_name_executed_when
+    ON request_executions(project_id, name, executed_when DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_request_executions_project_id_transport_type_executed_when
+    ON request_executions(project_id, transport_type, executed_when DESC, id DESC);
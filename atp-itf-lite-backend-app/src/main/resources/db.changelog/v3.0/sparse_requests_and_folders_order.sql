@@ -0,0 +1,17 @@
+UPDATE requests r
+SET "order" = o.position * 1024
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY project_id, folder_id
+                                    ORDER BY "order" NULLS LAST, created_when, id) - 1 AS position
+      FROM requests) o
+WHERE r.id = o.id;
+
+UPDATE folders f
+SET "order" = o.position * 1024
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY project_id, parent_id
+                                    ORDER BY "order" NULLS LAST, created_when, id) - 1 AS position
+      FROM folders) o
+WHERE f.id = o.id;
+
+CREATE INDEX IF NOT EXISTS requests_project_id_folder_id_order_idx ON requests(project_id, folder_id, "order");
+
+CREATE INDEX IF NOT EXISTS folders_project_id_parent_id_order_idx ON folders(project_id, parent_id, "order");
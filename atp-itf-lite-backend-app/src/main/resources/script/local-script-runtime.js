@@ -0,0 +1,529 @@
+/*
+ * Subset of Postman sandbox API for scripts executed by local script runtime.
+ * Bound by LocalScriptRuntime before script execution:
+ * __globals, __collectionVariables, __environment, __iterationData, __variables - variable scopes,
+ * __response - response of request, null for pre-script,
+ * __output - collects test results and console logs, counts work done by script,
+ * __javaMethods - names of methods of Java classes of strings, numbers and booleans.
+ * Built-ins script could loop or allocate with are removed, kept ones count work by length of value,
+ * so script exceeded work limit or cancelled by time limit is stopped on the next counted operation.
+ * Any error thrown outside of assertion hands script over to script engine.
+ */
+var pm, console;
+(function (global) {
+    'use strict';
+
+    var toObject = Object;
+    var objectKeys = Object.keys;
+    var ownPropertyNames = Object.getOwnPropertyNames;
+    var propertyDescriptor = Object.getOwnPropertyDescriptor;
+    var isArray = Array.isArray;
+    var parseJson = JSON.parse;
+    var stringifyJson = JSON.stringify;
+    var replace = String.prototype.replace;
+
+    function consume(units) {
+        __output.consume(units);
+    }
+
+    function counted(value) {
+        consume(typeof value === 'string' ? value.length : 1);
+        return value;
+    }
+
+    function AssertionError(message) {
+        this.name = 'AssertionError';
+        this.message = message;
+    }
+    AssertionError.prototype = Object.create(Error.prototype);
+    AssertionError.prototype.constructor = AssertionError;
+
+    function format(value) {
+        return typeof value === 'string' ? value : stringify(value);
+    }
+
+    // JSON.stringify counting work, cyclic values exceed work limit
+    function stringify(value) {
+        consume(1);
+        if (typeof value === 'string') {
+            return stringifyJson(counted(value));
+        }
+        if (value === null || typeof value !== 'object') {
+            return String(value);
+        }
+        var result;
+        if (isArray(value)) {
+            result = '[';
+            for (var i = 0; i < value.length; i++) {
+                result += (i > 0 ? ',' : '') + stringify(value[i]);
+            }
+            return result + ']';
+        }
+        var keys = objectKeys(value);
+        result = '{';
+        for (var j = 0; j < keys.length; j++) {
+            result += (j > 0 ? ',' : '') + stringifyJson(counted(keys[j])) + ':' + stringify(value[keys[j]]);
+        }
+        return result + '}';
+    }
+
+    function scope(map) {
+        return {
+            get: function (key) {
+                return map.containsKey(key) ? counted(map.get(key)) : undefined;
+            },
+            set: function (key, value) {
+                if (typeof value === 'function') {
+                    throw new TypeError('Functions are not stored in variables by local script runtime');
+                }
+                map.put(String(key), counted(value));
+            },
+            unset: function (key) {
+                map.remove(key);
+            },
+            has: function (key) {
+                return map.containsKey(key);
+            },
+            clear: function () {
+                map.clear();
+            },
+            toObject: function () {
+                var result = {};
+                var keys = map.keySet().toArray();
+                for (var i = 0; i < keys.length; i++) {
+                    result[keys[i]] = counted(map.get(keys[i]));
+                }
+                return result;
+            }
+        };
+    }
+
+    // the same priority as in Postman: local, data, environment, collection, global
+    var scopesByPriority = [__variables, __iterationData, __environment, __collectionVariables, __globals];
+
+    function resolve(key) {
+        for (var i = 0; i < scopesByPriority.length; i++) {
+            if (scopesByPriority[i].containsKey(key)) {
+                return counted(scopesByPriority[i].get(key));
+            }
+        }
+        return undefined;
+    }
+
+    var variables = scope(__variables);
+    variables.get = resolve;
+    variables.has = function (key) {
+        return resolve(key) !== undefined;
+    };
+    variables.replaceIn = function (template) {
+        return replace.call(counted(String(template)), /\{\{([^{}]+)\}\}/g, function (match, key) {
+            var value = resolve(key);
+            return value === undefined ? match : counted(String(value));
+        });
+    };
+
+    // the same as deep-eql of chai for JSON values: NaN equals NaN, +0 does not equal -0
+    function deepEqual(a, b) {
+        consume(1);
+        if (a === b) {
+            return a !== 0 || 1 / a === 1 / b;
+        }
+        if (a !== a && b !== b) {
+            return true;
+        }
+        if (a === null || b === null || typeof a !== 'object' || typeof b !== 'object') {
+            return false;
+        }
+        if (isArray(a) !== isArray(b)) {
+            return false;
+        }
+        var aKeys = objectKeys(a);
+        var bKeys = objectKeys(b);
+        if (aKeys.length !== bKeys.length) {
+            return false;
+        }
+        var bKeySet = {};
+        for (var i = 0; i < bKeys.length; i++) {
+            bKeySet[bKeys[i]] = true;
+        }
+        for (var j = 0; j < aKeys.length; j++) {
+            if (bKeySet[aKeys[j]] !== true || !deepEqual(a[aKeys[j]], b[aKeys[j]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    function strictEqual(a, b) {
+        consume(1);
+        return a === b;
+    }
+
+    function isObject(value) {
+        return value !== null && typeof value === 'object';
+    }
+
+    // the same as include of chai: strings by substring, arrays by member, objects by subset of properties
+    function includes(container, value, equal) {
+        if (typeof container === 'string') {
+            return container.indexOf(value) !== -1;
+        }
+        if (isArray(container)) {
+            for (var i = 0; i < container.length; i++) {
+                if (equal(container[i], value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (!isObject(container) || !isObject(value)) {
+            throw new TypeError('Include of ' + typeOf(value) + ' in ' + typeOf(container)
+                + ' is not supported by local script runtime');
+        }
+        var keys = objectKeys(value);
+        for (var j = 0; j < keys.length; j++) {
+            if (!(keys[j] in container) || !equal(container[keys[j]], value[keys[j]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    function typeOf(value) {
+        if (value === null) {
+            return 'null';
+        }
+        if (isArray(value)) {
+            return 'array';
+        }
+        return typeof value;
+    }
+
+    function Assertion(actual, negate, deep) {
+        this.actual = actual;
+        this.negate = negate;
+        this.isDeep = deep;
+    }
+
+    // equality of assertion: strict as in chai unless deep flag is set
+    function equality(assertion) {
+        return assertion.isDeep ? deepEqual : strictEqual;
+    }
+
+    function number(value) {
+        if (typeof value !== 'number') {
+            throw new TypeError('Comparison of ' + typeOf(value) + ' is not supported by local script runtime');
+        }
+        return value;
+    }
+
+    Assertion.prototype.check = function (passed, message) {
+        if (this.negate ? passed : !passed) {
+            throw new AssertionError('expected ' + format(this.actual) + (this.negate ? ' not ' : ' ') + message);
+        }
+        return this;
+    };
+
+    ['to', 'be', 'been', 'is', 'that', 'which', 'and', 'has', 'have', 'with', 'at', 'of', 'same']
+        .forEach(function (chain) {
+            Object.defineProperty(Assertion.prototype, chain, {
+                get: function () {
+                    return this;
+                }
+            });
+        });
+
+    // flags are kept by the rest of chain as in chai
+    Object.defineProperty(Assertion.prototype, 'not', {
+        get: function () {
+            return new Assertion(this.actual, !this.negate, this.isDeep);
+        }
+    });
+    Object.defineProperty(Assertion.prototype, 'deep', {
+        get: function () {
+            return new Assertion(this.actual, this.negate, true);
+        }
+    });
+
+    var flags = {
+        ok: function (actual) {
+            return !!actual;
+        },
+        true: function (actual) {
+            return actual === true;
+        },
+        false: function (actual) {
+            return actual === false;
+        },
+        null: function (actual) {
+            return actual === null;
+        },
+        undefined: function (actual) {
+            return actual === undefined;
+        },
+        exist: function (actual) {
+            return actual !== null && actual !== undefined;
+        },
+        empty: function (actual) {
+            if (typeof actual === 'string' || isArray(actual)) {
+                return actual.length === 0;
+            }
+            if (!isObject(actual)) {
+                throw new TypeError('Emptiness of ' + typeOf(actual) + ' is not supported by local script runtime');
+            }
+            return objectKeys(actual).length === 0;
+        }
+    };
+    Object.keys(flags).forEach(function (flag) {
+        Object.defineProperty(Assertion.prototype, flag, {
+            get: function () {
+                return this.check(flags[flag](this.actual), 'to be ' + flag);
+            }
+        });
+    });
+
+    function method(names, fn) {
+        names.forEach(function (name) {
+            Assertion.prototype[name] = fn;
+        });
+    }
+
+    method(['equal', 'equals', 'eq'], function (expected) {
+        return this.check(equality(this)(this.actual, expected),
+            (this.isDeep ? 'to deeply equal ' : 'to equal ') + format(expected));
+    });
+    method(['eql', 'eqls'], function (expected) {
+        return this.check(deepEqual(this.actual, expected), 'to deeply equal ' + format(expected));
+    });
+    method(['include', 'includes', 'contain', 'contains'], function (expected) {
+        return this.check(includes(this.actual, expected, equality(this)),
+            (this.isDeep ? 'to deep include ' : 'to include ') + format(expected));
+    });
+    method(['above', 'gt', 'greaterThan'], function (expected) {
+        return this.check(number(this.actual) > number(expected), 'to be above ' + format(expected));
+    });
+    method(['least', 'gte'], function (expected) {
+        return this.check(number(this.actual) >= number(expected), 'to be at least ' + format(expected));
+    });
+    method(['below', 'lt', 'lessThan'], function (expected) {
+        return this.check(number(this.actual) < number(expected), 'to be below ' + format(expected));
+    });
+    method(['most', 'lte'], function (expected) {
+        return this.check(number(this.actual) <= number(expected), 'to be at most ' + format(expected));
+    });
+    method(['a', 'an'], function (type) {
+        return this.check(typeOf(this.actual) === String(type).toLowerCase(), 'to be a ' + type);
+    });
+    method(['oneOf'], function (list) {
+        if (!isArray(list)) {
+            throw new TypeError('One of ' + typeOf(list) + ' is not supported by local script runtime');
+        }
+        return this.check(includes(list, this.actual, equality(this)), 'to be one of ' + format(list));
+    });
+    method(['match'], function (regexp) {
+        return this.check(regexp.test(this.actual), 'to match ' + regexp);
+    });
+    method(['lengthOf'], function (length) {
+        if (typeof this.actual !== 'string' && !isArray(this.actual)) {
+            throw new TypeError('Length of ' + typeOf(this.actual) + ' is not supported by local script runtime');
+        }
+        return this.check(this.actual.length === length, 'to have length ' + length);
+    });
+    // as in chai, the rest of chain asserts value of property
+    method(['property'], function (name, value) {
+        if (this.actual === null || this.actual === undefined) {
+            throw new TypeError('Property of ' + typeOf(this.actual) + ' is not supported by local script runtime');
+        }
+        var has = name in toObject(this.actual);
+        if (arguments.length < 2) {
+            this.check(has, 'to have property ' + format(name));
+        } else {
+            this.check(has && equality(this)(this.actual[name], value),
+                'to have ' + (this.isDeep ? 'deep ' : '') + 'property ' + format(name) + ' of ' + format(value));
+        }
+        return this.negate ? this : new Assertion(this.actual[name], false, this.isDeep);
+    });
+
+    function expect(actual) {
+        return new Assertion(actual, false, false);
+    }
+
+    var response;
+    if (__response !== null) {
+        var headers = __response.header;
+        var findHeader = function (name) {
+            if (headers === null) {
+                return undefined;
+            }
+            for (var i = 0; i < headers.size(); i++) {
+                if (String(headers.get(i).key).toLowerCase() === String(name).toLowerCase()) {
+                    return counted(headers.get(i).value);
+                }
+            }
+            return undefined;
+        };
+        response = {
+            code: Number(__response.code),
+            status: __response.status === null ? '' : String(__response.status),
+            responseTime: __response.responseTime === null ? undefined : Number(__response.responseTime),
+            text: function () {
+                return __response.body === null ? '' : counted(String(__response.body));
+            },
+            json: function () {
+                return parseJson(response.text());
+            },
+            headers: {
+                get: findHeader,
+                has: function (name) {
+                    return findHeader(name) !== undefined;
+                }
+            }
+        };
+        var assertResponse = function (passed, message) {
+            if (!passed) {
+                throw new AssertionError('expected response ' + message);
+            }
+        };
+        response.to = {
+            have: {
+                status: function (expected) {
+                    if (typeof expected === 'number') {
+                        assertResponse(response.code === expected,
+                            'to have status code ' + expected + ' but got ' + response.code);
+                    } else {
+                        assertResponse(response.status === expected,
+                            'to have status reason ' + expected + ' but got ' + response.status);
+                    }
+                },
+                header: function (name, value) {
+                    var actual = findHeader(name);
+                    assertResponse(actual !== undefined && (arguments.length < 2 || String(actual) === value),
+                        'to have header ' + name);
+                },
+                jsonBody: function () {
+                    try {
+                        response.json();
+                    } catch (e) {
+                        assertResponse(false, 'to have a valid json body');
+                    }
+                }
+            },
+            be: {}
+        };
+        Object.defineProperty(response.to.be, 'ok', {
+            get: function () {
+                assertResponse(response.code === 200, 'to be ok but got ' + response.code);
+            }
+        });
+        Object.defineProperty(response.to.be, 'success', {
+            get: function () {
+                assertResponse(response.code >= 200 && response.code < 300,
+                    'to be success but got ' + response.code);
+            }
+        });
+    }
+
+    pm = {
+        globals: scope(__globals),
+        collectionVariables: scope(__collectionVariables),
+        environment: scope(__environment),
+        iterationData: scope(__iterationData),
+        variables: variables,
+        response: response,
+        expect: expect,
+        test: function (name, fn) {
+            if (typeof fn !== 'function') {
+                __output.skip(String(name));
+                return;
+            }
+            try {
+                fn();
+                __output.test(String(name), true, null, null);
+            } catch (e) {
+                if (!(e instanceof AssertionError)) {
+                    throw e;
+                }
+                __output.test(String(name), false, e.name, e.message);
+            }
+        }
+    };
+
+    function log(level) {
+        return function () {
+            var message = '';
+            for (var i = 0; i < arguments.length; i++) {
+                message += (i > 0 ? ' ' : '') + format(arguments[i]);
+            }
+            __output.log(level, message);
+        };
+    }
+
+    console = {
+        log: log('log'),
+        info: log('info'),
+        warn: log('warn'),
+        error: log('error'),
+        debug: log('debug')
+    };
+
+    function toSet(names) {
+        var set = {};
+        for (var i = 0; i < names.length; i++) {
+            set[names[i]] = true;
+        }
+        return set;
+    }
+
+    // leave only listed configurable properties, listed methods in countedNames count work by length of this
+    function restrict(target, keptNames, countedNames) {
+        var kept = toSet(keptNames);
+        var countedSet = toSet(countedNames);
+        var names = ownPropertyNames(target);
+        for (var i = 0; i < names.length; i++) {
+            if (kept[names[i]] !== true && countedSet[names[i]] !== true && names[i].substring(0, 2) !== '__'
+                    && propertyDescriptor(target, names[i]).configurable) {
+                delete target[names[i]];
+            }
+        }
+        for (var j = 0; j < countedNames.length; j++) {
+            if (typeof target[countedNames[j]] === 'function') {
+                target[countedNames[j]] = countedMethod(target[countedNames[j]]);
+            }
+        }
+    }
+
+    // Nashorn looks up methods of Java class for primitive values if JS prototype has no such property
+    function hideJavaMethods(target) {
+        for (var i = 0; i < __javaMethods.length; i++) {
+            if (!(__javaMethods[i] in target)) {
+                target[__javaMethods[i]] = undefined;
+            }
+        }
+    }
+
+    function countedMethod(method) {
+        return function () {
+            consume(this === null || this === undefined ? 0 : this.length || 0);
+            return method.apply(this, arguments);
+        };
+    }
+
+    JSON.stringify = function (value) {
+        return value === undefined || typeof value === 'function' ? undefined : stringify(value);
+    };
+    JSON.parse = function (text) {
+        return parseJson(counted(String(text)));
+    };
+    restrict(Object.prototype, ['constructor', 'hasOwnProperty', 'isPrototypeOf', 'propertyIsEnumerable',
+        'toString', 'valueOf'], []);
+    restrict(Array.prototype, ['constructor', 'length', 'push', 'pop'], ['toString', 'join', 'indexOf',
+        'lastIndexOf', 'slice', 'shift', 'unshift', 'reverse', 'includes']);
+    restrict(global, ['pm', 'console', 'JSON', 'Math', 'NaN', 'Infinity', 'undefined', 'String', 'Number',
+        'Boolean', 'Error', 'TypeError', 'parseInt', 'parseFloat', 'isNaN', 'isFinite'], []);
+    restrict(String.prototype, ['constructor', 'length', 'toString', 'valueOf'], ['charAt', 'charCodeAt',
+        'indexOf', 'lastIndexOf', 'includes', 'startsWith', 'endsWith', 'substring', 'substr', 'slice',
+        'toLowerCase', 'toUpperCase', 'trim', 'trimLeft', 'trimRight', 'trimStart', 'trimEnd']);
+    hideJavaMethods(String.prototype);
+    hideJavaMethods(Number.prototype);
+    hideJavaMethods(Boolean.prototype);
+})(this);
@@ -52,7 +52,7 @@ public class InheritFromParentAuthorizationStrategyTest {
         inherit.setFolderService(folderServiceMock);
         OAuth2RequestAuthorizationStrategy oAuth2AuthorizationStrategy =
                 new OAuth2RequestAuthorizationStrategy(mock(RestTemplateService.class), encryptionServiceMock,
-                        new MapperConfiguration().modelMapper());
+                        new MapperConfiguration().modelMapper(), mock(OAuth2TokenCache.class));
         BearerAuthorizationStrategy bearerAuthorizationStrategy = new BearerAuthorizationStrategy(encryptionServiceMock);
         BasicRequestAuthorizationStrategy basicAuthorizationStrategy = new BasicRequestAuthorizationStrategy(encryptionServiceMock);
         RequestAuthorizationRegistry requestAuthorizationRegistry = new RequestAuthorizationRegistry(Arrays.asList(oAuth2AuthorizationStrategy,
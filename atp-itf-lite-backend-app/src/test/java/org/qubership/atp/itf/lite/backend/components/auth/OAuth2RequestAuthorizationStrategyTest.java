@@ -22,6 +22,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +31,7 @@ import org.mockito.ArgumentCaptor;
 import org.qubership.atp.crypt.exception.AtpDecryptException;
 import org.qubership.atp.crypt.exception.AtpEncryptException;
 import org.qubership.atp.itf.lite.backend.configuration.MapperConfiguration;
+import org.qubership.atp.itf.lite.backend.configuration.OAuth2TokenCacheProperties;
 import org.qubership.atp.itf.lite.backend.enums.auth.OAuth2GrantType;
 import org.qubership.atp.itf.lite.backend.enums.auth.RequestAuthorizationType;
 import org.qubership.atp.itf.lite.backend.mocks.EntitiesGenerator;
@@ -40,11 +42,13 @@ import org.qubership.atp.itf.lite.backend.model.api.response.auth.OAuth2Authriza
 import org.qubership.atp.itf.lite.backend.model.entities.auth.OAuth2RequestAuthorization;
 import org.qubership.atp.itf.lite.backend.model.entities.http.RequestHeader;
 import org.qubership.atp.itf.lite.backend.service.EncryptionService;
+import org.qubership.atp.itf.lite.backend.service.MetricService;
 import org.qubership.atp.itf.lite.backend.service.TemplateResolverService;
 import org.qubership.atp.itf.lite.backend.service.rest.RestTemplateService;
 import org.qubership.atp.itf.lite.backend.utils.AuthorizationUtils;
 import org.qubership.atp.itf.lite.backend.utils.Constants;
 import org.qubership.atp.macros.core.processor.Evaluator;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -77,8 +81,10 @@ public class OAuth2RequestAuthorizationStrategyTest {
         EncryptionService encryptionServiceMock = mock(EncryptionService.class);
         restTemplateService.set(restTemplateServiceMock);
         encryptionService.set(encryptionServiceMock);
+        OAuth2TokenCache tokenCache = new OAuth2TokenCache(new OAuth2TokenCacheProperties(),
+                new ConcurrentMapCacheManager(), mock(MetricService.class));
         oauthStrategy.set(new OAuth2RequestAuthorizationStrategy(restTemplateServiceMock, encryptionServiceMock,
-                new MapperConfiguration().modelMapper()));
+                new MapperConfiguration().modelMapper(), tokenCache));
 
         TemplateResolverService restTemplateService = mock(TemplateResolverService.class);
         AuthorizationUtils.setObjectMapper(new ObjectMapper());
@@ -138,7 +144,7 @@ public class OAuth2RequestAuthorizationStrategyTest {
         // when
         RestTemplate restTemplate = mock(RestTemplate.class);
         when(restTemplate.postForEntity(anyString(), any(), any())).thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
-        when(restTemplateService.get().restTemplate(any())).thenReturn(restTemplate);
+        mockRestTemplate(restTemplate);
         AuthorizationStrategyResponse res = oauthStrategy.get().getAuthorizationToken(request);
 
         // then
@@ -180,7 +186,7 @@ public class OAuth2RequestAuthorizationStrategyTest {
         // when
         RestTemplate restTemplate = mock(RestTemplate.class);
         when(restTemplate.postForEntity(anyString(), any(), any())).thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
-        when(restTemplateService.get().restTemplate(any())).thenReturn(restTemplate);
+        mockRestTemplate(restTemplate);
         AuthorizationStrategyResponse res = oauthStrategy.get().getAuthorizationToken(request);
 
         // then
@@ -198,6 +204,50 @@ public class OAuth2RequestAuthorizationStrategyTest {
         assertEquals(accessToken, res.getUnsafeAuthorizationToken());
     }
 
+    @Test
+    void getAuthorizationToken_tokenWithExpiresInReceived_tokenUrlCalledOnce() throws AtpDecryptException {
+        // given
+        OAuth2AuthorizationSaveRequest authorization = createOAuth2AuthorizationSaveRequest();
+        authorization.setGrantType(OAuth2GrantType.CLIENT_CREDENTIALS);
+        authorization.setClientSecret(clientSecret);
+        AuthorizationStrategyRequest request = new AuthorizationStrategyRequest(authorization, authorization,
+                null, UUID.randomUUID(), UUID.randomUUID(), mock(Evaluator.class), null);
+        OAuth2AuthrizationResponse response = new OAuth2AuthrizationResponse(accessToken, 300L);
+
+        // when
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.postForEntity(anyString(), any(), any())).thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+        mockRestTemplate(restTemplate);
+        oauthStrategy.get().getAuthorizationToken(request);
+        AuthorizationStrategyResponse res = oauthStrategy.get().getAuthorizationToken(request);
+
+        // then
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(), any());
+        assertEquals(accessToken, res.getUnsafeAuthorizationToken());
+    }
+
+    @Test
+    void getAuthorizationToken_tokenCacheDisabledForRequest_tokenUrlCalledEveryTime() throws AtpDecryptException {
+        // given
+        OAuth2AuthorizationSaveRequest authorization = createOAuth2AuthorizationSaveRequest();
+        authorization.setGrantType(OAuth2GrantType.CLIENT_CREDENTIALS);
+        authorization.setClientSecret(clientSecret);
+        authorization.setDisableTokenCache(true);
+        AuthorizationStrategyRequest request = new AuthorizationStrategyRequest(authorization, authorization,
+                null, UUID.randomUUID(), UUID.randomUUID(), mock(Evaluator.class), null);
+        OAuth2AuthrizationResponse response = new OAuth2AuthrizationResponse(accessToken, 300L);
+
+        // when
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.postForEntity(anyString(), any(), any())).thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+        mockRestTemplate(restTemplate);
+        oauthStrategy.get().getAuthorizationToken(request);
+        oauthStrategy.get().getAuthorizationToken(request);
+
+        // then
+        verify(restTemplate, times(2)).postForEntity(anyString(), any(), any());
+    }
+
     /**
      * Given:
      * - authorizationType = OAUTH2
@@ -314,4 +364,9 @@ public class OAuth2RequestAuthorizationStrategyTest {
             assertTrue(processedParams.containsKey(param), "'" + param + "' param should be present in auth OAuth2 request");
         }
     }
+
+    private void mockRestTemplate(RestTemplate restTemplate) {
+        when(restTemplateService.get().execute(any(), any())).thenAnswer(invocation ->
+                invocation.<Function<RestTemplate, Object>>getArgument(1).apply(restTemplate));
+    }
 }
@@ -0,0 +1,130 @@
+package org.qubership.atp.itf.lite.backend.components.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.configuration.OAuth2TokenCacheProperties;
+import org.qubership.atp.itf.lite.backend.enums.auth.OAuth2GrantType;
+import org.qubership.atp.itf.lite.backend.model.api.request.auth.OAuth2AuthorizationSaveRequest;
+import org.qubership.atp.itf.lite.backend.model.api.response.auth.OAuth2AuthrizationResponse;
+import org.qubership.atp.itf.lite.backend.service.MetricService;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+public class OAuth2TokenCacheTest {
+
+    private final UUID projectId = UUID.randomUUID();
+    private MetricService metricService;
+    private OAuth2TokenCache tokenCache;
+    private OAuth2AuthorizationSaveRequest authorization;
+
+    @BeforeEach
+    public void setUp() {
+        metricService = mock(MetricService.class);
+        tokenCache = new OAuth2TokenCache(new OAuth2TokenCacheProperties(), new ConcurrentMapCacheManager(),
+                metricService);
+        authorization = new OAuth2AuthorizationSaveRequest();
+        authorization.setGrantType(OAuth2GrantType.PASSWORD_CREDENTIALS);
+        authorization.setUrl("http://localhost/token");
+        authorization.setClientId("client");
+        authorization.setUsername("user");
+        authorization.setPassword("password");
+    }
+
+    @Test
+    public void getAccessToken_tokenWithExpiresIn_tokenReusedAndHitRegistered() {
+        AtomicInteger calls = new AtomicInteger();
+
+        tokenCache.getAccessToken(projectId, authorization, () -> response(calls, 300L));
+        String token = tokenCache.getAccessToken(projectId, authorization, () -> response(calls, 300L));
+
+        assertEquals("token-1", token);
+        assertEquals(1, calls.get());
+        verify(metricService, times(1)).registerCacheMiss(OAuth2TokenCache.CACHE_NAME);
+        verify(metricService, times(1)).registerCacheHit(OAuth2TokenCache.CACHE_NAME);
+    }
+
+    @Test
+    public void getAccessToken_tokenWithoutExpiresIn_tokenNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+
+        tokenCache.getAccessToken(projectId, authorization, () -> response(calls, null));
+        String token = tokenCache.getAccessToken(projectId, authorization, () -> response(calls, null));
+
+        assertEquals("token-2", token);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void getAccessToken_expiresInShorterThanSafetyMargin_tokenNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+
+        tokenCache.getAccessToken(projectId, authorization, () -> response(calls, 10L));
+        tokenCache.getAccessToken(projectId, authorization, () -> response(calls, 10L));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void getAccessToken_concurrentRequestsForSameToken_tokenUrlCalledOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> tokens = new ArrayList<>();
+            tokens.add(executor.submit(() -> tokenCache.getAccessToken(projectId, authorization, () -> {
+                loaderStarted.countDown();
+                awaitQuietly(releaseLoader);
+                return response(calls, 300L);
+            })));
+            loaderStarted.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                tokens.add(executor.submit(() -> tokenCache.getAccessToken(projectId, authorization,
+                        () -> response(calls, 300L))));
+            }
+            releaseLoader.countDown();
+
+            for (Future<String> token : tokens) {
+                assertEquals("token-1", token.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void buildKey_secretChanged_keyChanged() {
+        String key = OAuth2TokenCache.buildKey(projectId, authorization);
+        authorization.setPassword("new password");
+
+        assertNotEquals(key, OAuth2TokenCache.buildKey(projectId, authorization));
+    }
+
+    private OAuth2AuthrizationResponse response(AtomicInteger calls, Long expiresIn) {
+        return new OAuth2AuthrizationResponse("token-" + calls.incrementAndGet(), expiresIn);
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.qubership.atp.itf.lite.backend.components.replacer;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.configuration.TemplateCacheProperties;
+
+public class ParsedTemplateCacheTest {
+
+    private final ParsedTemplateCache parsedTemplateCache = new ParsedTemplateCache(new TemplateCacheProperties());
+
+    @Test
+    public void get_sameRequestVersionAndText_parsedTemplateReused() {
+        UUID requestId = UUID.randomUUID();
+        Date modifiedWhen = new Date();
+
+        ParsedTemplate first = parsedTemplateCache.get(requestId, modifiedWhen, "http://${host}/path");
+        ParsedTemplate second = parsedTemplateCache.get(requestId, new Date(modifiedWhen.getTime()),
+                new String("http://${host}/path"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void get_requestModified_textParsedAgain() {
+        UUID requestId = UUID.randomUUID();
+        Date modifiedWhen = new Date();
+
+        ParsedTemplate first = parsedTemplateCache.get(requestId, modifiedWhen, "http://${host}/path");
+        ParsedTemplate second = parsedTemplateCache.get(requestId, new Date(modifiedWhen.getTime() + 1),
+                "http://${host}/path");
+
+        assertNotSame(first, second);
+    }
+}
@@ -0,0 +1,54 @@
+package org.qubership.atp.itf.lite.backend.components.replacer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.components.replacer.ParsedTemplate.Segment;
+
+public class ParsedTemplateTest {
+
+    @Test
+    public void parse_textWithReferences_splitIntoLiteralAndVariableSegments() {
+        ParsedTemplate template = ParsedTemplate.parse("{\"a\": \"${first}\", \"b\": {{second}}, \"c\": ${ENV.Qa.Http.url}}");
+
+        List<Segment> segments = template.getSegments();
+        assertTrue(template.isWithVariables());
+        assertEquals(7, segments.size());
+        assertEquals("{\"a\": \"", segments.get(0).getText());
+        assertEquals("first", segments.get(1).getName());
+        assertNull(segments.get(1).getEnvironmentName());
+        assertEquals("{{second}}", segments.get(3).getText());
+        assertEquals("second", segments.get(3).getName());
+        assertEquals("qa.http.url", segments.get(5).getEnvironmentName());
+        assertEquals("ENV.Qa.Http.url", segments.get(5).getName());
+        assertEquals("}", segments.get(6).getText());
+    }
+
+    @Test
+    public void parse_textWithoutReferences_oneLiteralSegment() {
+        ParsedTemplate template = ParsedTemplate.parse("{\"a\": {\"b\": \"$c\"}, \"d\": \"${}\"}");
+
+        assertFalse(template.isWithVariables());
+        assertEquals(1, template.getSegments().size());
+        assertEquals(template.getSource(), template.getSegments().get(0).getText());
+    }
+
+    @Test
+    public void parse_unclosedBraces_treatedAsLiteral() {
+        ParsedTemplate template = ParsedTemplate.parse("{{first} ${second");
+
+        assertFalse(template.isWithVariables());
+    }
+
+    @Test
+    public void parse_escapedQuotesInName_removedFromName() {
+        ParsedTemplate template = ParsedTemplate.parse("${\\\"name\\\"}");
+
+        assertEquals("name", template.getSegments().get(0).getName());
+    }
+}
@@ -1,7 +1,10 @@
 package org.qubership.atp.itf.lite.backend.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.qubership.atp.itf.lite.backend.model.api.ApiPath.CURSOR_PATH;
 import static org.qubership.atp.itf.lite.backend.model.api.ApiPath.EXECUTORS_PATH;
 import static org.qubership.atp.itf.lite.backend.model.api.ApiPath.HISTORY_PATH;
 import static org.qubership.atp.itf.lite.backend.model.api.ApiPath.ID_PATH;
@@ -9,15 +12,21 @@ import static org.qubership.atp.itf.lite.backend.model.api.ApiPath.SERVICE_API_V
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Isolated;
+import org.qubership.atp.itf.lite.backend.enums.HistoryCountMode;
 import org.qubership.atp.itf.lite.backend.enums.TransportType;
 import org.qubership.atp.itf.lite.backend.handlers.MethodArgumentExceptionHandler;
+import org.qubership.atp.itf.lite.backend.model.entities.history.CursorPaginatedResponse;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursor;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursorSearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryRequestDetailsResponse;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistorySearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.PaginatedResponse;
@@ -48,6 +57,37 @@ public class HistoryControllerTest extends AbstractControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void getExecutionsHistoryByCursor() throws Exception {
+        final UUID projectId = UUID.randomUUID();
+        HistoryCursorSearchRequest request = new HistoryCursorSearchRequest(projectId, 10, null,
+                new HistoryCursor(new Date(), UUID.randomUUID()), HistoryCountMode.APPROXIMATE);
+        when(requestExecutionHistoryService.getExecutionHistoryByCursor(any())).thenReturn(
+                new CursorPaginatedResponse<>(1L, false, null, Collections.singletonList(new RequestExecution())));
+        this.mockMvc.perform(post(SERVICE_API_V1_PATH + HISTORY_PATH + CURSOR_PATH)
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void getExecutionsHistoryByCursor_limitOutOfRange_requestIsRejected() throws Exception {
+        final UUID projectId = UUID.randomUUID();
+        for (int limit : new int[]{-1, 0, HistoryCursorSearchRequest.MAX_LIMIT + 1}) {
+            HistoryCursorSearchRequest request = new HistoryCursorSearchRequest(projectId, limit, null, null,
+                    HistoryCountMode.NONE);
+            this.mockMvc.perform(post(SERVICE_API_V1_PATH + HISTORY_PATH + CURSOR_PATH)
+                            .content(objectMapper.writeValueAsString(request))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(jsonPath("$.fieldErrors[0].field").value("limit"));
+        }
+        verify(requestExecutionHistoryService, never()).getExecutionHistoryByCursor(any());
+    }
+
     @Test
     public void getExecutionHistoryDetails() {
         final UUID projectId = UUID.randomUUID();
@@ -14,6 +14,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,7 @@ import org.qubership.atp.itf.lite.backend.model.api.request.HttpRequestEntitySav
 import org.qubership.atp.itf.lite.backend.model.api.request.RequestItfExportRequest;
 import org.qubership.atp.itf.lite.backend.model.api.request.RequestMiaExportRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.http.HttpRequest;
+import org.qubership.atp.itf.lite.backend.service.RequestExecutionEngine;
 import org.qubership.atp.itf.lite.backend.service.RequestExportService;
 import org.qubership.atp.itf.lite.backend.service.RequestService;
 import org.qubership.atp.itf.lite.backend.service.SseEmitterService;
@@ -63,6 +65,9 @@ public class SseControllerTest extends AbstractControllerTest {
     @MockBean
     private SseEmitterService sseEmitterService;
 
+    @MockBean
+    private RequestExecutionEngine requestExecutionEngine;
+
     @Mock
     private static SseEmitter sseEmitter;
 
@@ -124,6 +129,10 @@ public class SseControllerTest extends AbstractControllerTest {
         // when
         when(requestService.getRequest(eq(httpRequest.getId())))
                 .thenReturn(httpRequest);
+        when(requestExecutionEngine.submit(any(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return CompletableFuture.completedFuture(null);
+        });
 
         MockMultipartHttpServletRequestBuilder builder = multipart(FULL_REQUESTS_PATH + ApiPath.REQUESTS_PATH
                 + "/" + httpRequest.getId() + ApiPath.EXECUTE_PATH);
@@ -0,0 +1,147 @@
+package org.qubership.atp.itf.lite.backend.dataaccess.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.enums.HistoryCountMode;
+import org.qubership.atp.itf.lite.backend.model.entities.history.CursorPaginatedResponse;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursor;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursorSearchRequest;
+import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecution;
+
+/**
+ * Runs keyset queries against in-memory database in PostgreSQL mode, which compares uuids
+ * as unsigned bytes like PostgreSQL does.
+ */
+public class CustomRequestExecutionRepositoryImplTest {
+
+    private static SessionFactory sessionFactory;
+    private final UUID projectId = UUID.randomUUID();
+    private Session session;
+    private CustomRequestExecutionRepositoryImpl repository;
+
+    @BeforeAll
+    public static void createDatabase() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(RequestExecution.class)
+                .setProperty("hibernate.connection.driver_class", "org.h2.Driver")
+                .setProperty("hibernate.connection.url",
+                        "jdbc:h2:mem:request_executions;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    public static void dropDatabase() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        session = sessionFactory.openSession();
+        repository = new CustomRequestExecutionRepositoryImpl(session);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        session.close();
+    }
+
+    @Test
+    public void findRequestExecutionsByCursor_equalTimestamps_shouldReturnEachRowOnceOrderedByIdDescending() {
+        Date first = new Date(1_700_000_000_000L);
+        Date second = new Date(1_700_000_001_000L);
+        List<RequestExecution> executions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            executions.add(saveExecution(projectId, second));
+        }
+        executions.add(saveExecution(projectId, first));
+        executions.add(saveExecution(projectId, first));
+        saveExecution(UUID.randomUUID(), second);
+
+        List<UUID> actual = readAllPages(2);
+
+        List<UUID> expected = executions.stream()
+                .sorted(Comparator.comparing(RequestExecution::getExecutedWhen)
+                        .thenComparing(execution -> execution.getId().toString())
+                        .reversed())
+                .map(RequestExecution::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void findRequestExecutionsByCursor_cursorOfPreviousPage_shouldReturnOlderRowsFirst() {
+        RequestExecution older = saveExecution(projectId, new Date(1_700_000_000_000L));
+        RequestExecution newer = saveExecution(projectId, new Date(1_700_000_001_000L));
+
+        CursorPaginatedResponse<RequestExecution> firstPage = repository.findRequestExecutionsByCursor(
+                new HistoryCursorSearchRequest(projectId, 1, null, null, HistoryCountMode.EXACT));
+
+        assertEquals(newer.getId(), firstPage.getData().get(0).getId());
+        assertEquals(newer.getId(), firstPage.getNextCursor().getId());
+        assertEquals(2L, firstPage.getTotal());
+        CursorPaginatedResponse<RequestExecution> secondPage = repository.findRequestExecutionsByCursor(
+                new HistoryCursorSearchRequest(projectId, 1, null, firstPage.getNextCursor(), HistoryCountMode.NONE));
+        assertEquals(older.getId(), secondPage.getData().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void findRequestExecutionsByCursor_lastPageIsFull_shouldNotReturnNextCursor() {
+        Date executedWhen = new Date(1_700_000_000_000L);
+        for (int i = 0; i < 4; i++) {
+            saveExecution(projectId, executedWhen);
+        }
+
+        CursorPaginatedResponse<RequestExecution> firstPage = repository.findRequestExecutionsByCursor(
+                new HistoryCursorSearchRequest(projectId, 2, null, null, HistoryCountMode.NONE));
+        assertNotNull(firstPage.getNextCursor());
+        CursorPaginatedResponse<RequestExecution> lastPage = repository.findRequestExecutionsByCursor(
+                new HistoryCursorSearchRequest(projectId, 2, null, firstPage.getNextCursor(), HistoryCountMode.NONE));
+
+        assertEquals(2, lastPage.getData().size());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    private List<UUID> readAllPages(int limit) {
+        List<UUID> ids = new ArrayList<>();
+        HistoryCursor cursor = null;
+        do {
+            CursorPaginatedResponse<RequestExecution> page = repository.findRequestExecutionsByCursor(
+                    new HistoryCursorSearchRequest(projectId, limit, null, cursor, HistoryCountMode.NONE));
+            page.getData().forEach(execution -> ids.add(execution.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private RequestExecution saveExecution(UUID executionProjectId, Date executedWhen) {
+        RequestExecution execution = new RequestExecution();
+        execution.setId(UUID.randomUUID());
+        execution.setProjectId(executionProjectId);
+        execution.setExecutedWhen(executedWhen);
+        execution.setName("request");
+        session.getTransaction().begin();
+        session.persist(execution);
+        session.getTransaction().commit();
+        session.clear();
+        return execution;
+    }
+}
@@ -44,8 +44,10 @@ import com.mongodb.client.gridfs.GridFSBucket;
 import com.mongodb.client.gridfs.GridFSDownloadStream;
 import com.mongodb.client.gridfs.GridFSFindIterable;
 import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
 
 @ExtendWith(MockitoExtension.class)
 public class GridFsRepositoryTest {
@@ -310,5 +312,116 @@ public class GridFsRepositoryTest {
         verify(gridFsBucket.get()).delete(gridFSFile.getObjectId());
     }
 
+    @Test
+    public void copyFileWithFileId_fileFound_contentStreamedToNewFile() {
+        UUID fileId = UUID.randomUUID();
+        ObjectId objectId = ObjectId.get();
+        GridFSFile gridFSFile = new GridFSFile(new BsonObjectId(objectId), "fileName.txt",
+                1, 261120, new Date(), new Document().append("uploadDate", "date"));
+        GridFSFindIterable iterable = mock(GridFSFindIterable.class);
+        when(gridFsBucket.get().find(any(Document.class))).thenReturn(iterable);
+        when(iterable.first()).thenReturn(gridFSFile);
+        when(gridFsBucket.get().openDownloadStream(objectId)).thenReturn(stream.get());
+        when(gridFsProperties.get().getLargeFileThresholdBytes()).thenReturn(16777216L);
+        when(gridFsProperties.get().getChunkSizeBytes()).thenReturn(261120);
+
+        UUID newFileId = gridFsRepository.copyFileWithFileId(fileId, UUID.randomUUID());
+
+        assertNotNull(newFileId);
+        ArgumentCaptor<GridFSUploadOptions> optionsCaptor = ArgumentCaptor.forClass(GridFSUploadOptions.class);
+        verify(gridFsBucket.get()).uploadFromStream(eq("fileName.txt"), eq(stream.get()), optionsCaptor.capture());
+        assertEquals(261120, optionsCaptor.getValue().getChunkSizeBytes());
+        assertEquals(newFileId, optionsCaptor.getValue().getMetadata().get("fileId"));
+        verify(gridFsBucket.get(), times(0)).downloadToStream(any(ObjectId.class), any());
+        verify(stream.get()).close();
+    }
+
+    @Test
+    public void rechunkFiles_fileWithSmallChunks_rewrittenWithSameMetadataAndOldFileHiddenFromMetadata() {
+        ObjectId objectId = ObjectId.get();
+        ObjectId newObjectId = ObjectId.get();
+        Document metadata = new Document().append("fileId", UUID.randomUUID());
+        GridFSFile gridFSFile = new GridFSFile(new BsonObjectId(objectId), "fileName.txt",
+                10240, 1024, new Date(), metadata);
+        GridFSFindIterable expired = mock(GridFSFindIterable.class);
+        GridFSFindIterable iterable = mock(GridFSFindIterable.class);
+        MongoCollection<Document> filesCollection = mock(MongoCollection.class);
+        when(gridFsProperties.get().getChunkSizeBytes()).thenReturn(261120);
+        when(gridFsProperties.get().getLargeFileThresholdBytes()).thenReturn(16777216L);
+        when(gridFsProperties.get().getRechunkReadGraceMinutes()).thenReturn(60);
+        when(gridFsBucket.get().find(any(Bson.class))).thenReturn(expired, iterable);
+        when(expired.into(any())).thenReturn(Collections.emptyList());
+        when(iterable.limit(10)).thenReturn(iterable);
+        when(iterable.into(any())).thenReturn(Collections.singletonList(gridFSFile));
+        when(gridFsBucket.get().openDownloadStream(objectId)).thenReturn(stream.get());
+        when(gridFsBucket.get().uploadFromStream(eq("fileName.txt"), eq(stream.get()), any()))
+                .thenReturn(newObjectId);
+        when(mongoDb.get().getCollection(eq("fs.files"))).thenReturn(filesCollection);
+        when(filesCollection.updateOne(any(Bson.class), any(Bson.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        int rechunked = gridFsRepository.rechunkFiles(10);
+
+        assertEquals(1, rechunked);
+        ArgumentCaptor<GridFSUploadOptions> optionsCaptor = ArgumentCaptor.forClass(GridFSUploadOptions.class);
+        verify(gridFsBucket.get()).uploadFromStream(eq("fileName.txt"), eq(stream.get()), optionsCaptor.capture());
+        assertEquals(261120, optionsCaptor.getValue().getChunkSizeBytes());
+        assertEquals(metadata, optionsCaptor.getValue().getMetadata());
+        ArgumentCaptor<Bson> filterCaptor = ArgumentCaptor.forClass(Bson.class);
+        verify(filesCollection).updateOne(filterCaptor.capture(), any(Bson.class));
+        assertEquals(Filters.and(Filters.eq("_id", objectId), Filters.exists("metadata")).toBsonDocument(),
+                filterCaptor.getValue().toBsonDocument());
+        // original stays readable by its id for opened downloads
+        verify(gridFsBucket.get(), times(0)).delete(any(ObjectId.class));
+    }
 
+    @Test
+    public void rechunkFiles_fileRemovedWhileRewritten_copyDeleted() {
+        ObjectId objectId = ObjectId.get();
+        ObjectId newObjectId = ObjectId.get();
+        GridFSFile gridFSFile = new GridFSFile(new BsonObjectId(objectId), "fileName.txt",
+                10240, 1024, new Date(), new Document());
+        GridFSFindIterable expired = mock(GridFSFindIterable.class);
+        GridFSFindIterable iterable = mock(GridFSFindIterable.class);
+        MongoCollection<Document> filesCollection = mock(MongoCollection.class);
+        when(gridFsProperties.get().getChunkSizeBytes()).thenReturn(261120);
+        when(gridFsProperties.get().getLargeFileThresholdBytes()).thenReturn(16777216L);
+        when(gridFsProperties.get().getRechunkReadGraceMinutes()).thenReturn(60);
+        when(gridFsBucket.get().find(any(Bson.class))).thenReturn(expired, iterable);
+        when(expired.into(any())).thenReturn(Collections.emptyList());
+        when(iterable.limit(10)).thenReturn(iterable);
+        when(iterable.into(any())).thenReturn(Collections.singletonList(gridFSFile));
+        when(gridFsBucket.get().openDownloadStream(objectId)).thenReturn(stream.get());
+        when(gridFsBucket.get().uploadFromStream(eq("fileName.txt"), eq(stream.get()), any()))
+                .thenReturn(newObjectId);
+        when(mongoDb.get().getCollection(eq("fs.files"))).thenReturn(filesCollection);
+        when(filesCollection.updateOne(any(Bson.class), any(Bson.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        int rechunked = gridFsRepository.rechunkFiles(10);
+
+        assertEquals(0, rechunked);
+        verify(gridFsBucket.get()).delete(newObjectId);
+        verify(gridFsBucket.get(), times(0)).delete(objectId);
+    }
+
+    @Test
+    public void rechunkFiles_rechunkedOriginalAfterReadGrace_deleted() {
+        ObjectId originalId = ObjectId.get();
+        GridFSFile original = new GridFSFile(new BsonObjectId(originalId), "fileName.txt",
+                10240, 1024, new Date(), null);
+        GridFSFindIterable expired = mock(GridFSFindIterable.class);
+        GridFSFindIterable iterable = mock(GridFSFindIterable.class);
+        when(gridFsProperties.get().getChunkSizeBytes()).thenReturn(261120);
+        when(gridFsProperties.get().getRechunkReadGraceMinutes()).thenReturn(60);
+        when(gridFsBucket.get().find(any(Bson.class))).thenReturn(expired, iterable);
+        when(expired.into(any())).thenReturn(Collections.singletonList(original));
+        when(iterable.limit(10)).thenReturn(iterable);
+        when(iterable.into(any())).thenReturn(Collections.emptyList());
+
+        int rechunked = gridFsRepository.rechunkFiles(10);
+
+        assertEquals(0, rechunked);
+        verify(gridFsBucket.get()).delete(originalId);
+    }
 }
@@ -0,0 +1,193 @@
+package org.qubership.atp.itf.lite.backend.feign.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.qubership.atp.itf.lite.backend.feign.clients.JsScriptEngineFeignClient;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptContextDeltaDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptScopeDeltaDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionExecuteRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionExecuteResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionOpenRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptSessionOpenResponseDto;
+import org.springframework.http.ResponseEntity;
+
+import com.google.common.hash.Hashing;
+import feign.FeignException;
+import feign.Request;
+import feign.RequestTemplate;
+
+/**
+ * Script engine running in test process. Scripts are java functions registered by script text,
+ * sessions keep variables between executions the same way as script engine does.
+ */
+public class InProcessScriptEngineStub implements JsScriptEngineFeignClient {
+
+    private final Map<String, Consumer<PostmanDto>> scripts = new HashMap<>();
+    private final Map<UUID, StubSession> sessions = new HashMap<>();
+    private boolean sessionsSupported = true;
+
+    final List<PostmanExecuteScriptRequestDto> executeRequests = new ArrayList<>();
+    final List<ScriptSessionExecuteRequestDto> sessionExecuteRequests = new ArrayList<>();
+    int openCalls;
+    int closeCalls;
+
+    void register(String script, Consumer<PostmanDto> function) {
+        scripts.put(script, function);
+    }
+
+    void disableSessions() {
+        sessionsSupported = false;
+    }
+
+    void dropSessions() {
+        sessions.clear();
+    }
+
+    void forgetScripts() {
+        sessions.values().forEach(session -> session.scripts.clear());
+    }
+
+    @Override
+    public ResponseEntity<PostmanExecuteScriptResponseDto> executePostmanScript(
+            PostmanExecuteScriptRequestDto request) {
+        executeRequests.add(request);
+        PostmanDto postman = copyContext(request.getPostman())
+                .postmanRequest(request.getPostman().getPostmanRequest())
+                .postmanResponse(request.getPostman().getPostmanResponse())
+                .cookies(request.getPostman().getCookies());
+        run(request.getScript(), postman);
+        PostmanExecuteScriptResponseDto response = new PostmanExecuteScriptResponseDto()
+                .testResults(Collections.emptyList());
+        response.setPostman(postman);
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<ScriptSessionOpenResponseDto> openScriptSession(ScriptSessionOpenRequestDto request) {
+        openCalls++;
+        if (!sessionsSupported) {
+            throw new FeignException.NotFound("No such endpoint", request(), null, null);
+        }
+        UUID sessionId = UUID.randomUUID();
+        sessions.put(sessionId, new StubSession(copyContext(request.getPostman())));
+        return ResponseEntity.ok(new ScriptSessionOpenResponseDto().sessionId(sessionId));
+    }
+
+    @Override
+    public ResponseEntity<ScriptSessionExecuteResponseDto> executeScriptInSession(
+            UUID sessionId, ScriptSessionExecuteRequestDto request) {
+        sessionExecuteRequests.add(request);
+        StubSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new FeignException.NotFound("Session not found", request(), null, null);
+        }
+        if (request.getScript() != null) {
+            String hash = Hashing.sha256().hashString(request.getScript(), StandardCharsets.UTF_8).toString();
+            session.scripts.put(hash, request.getScript());
+        }
+        String script = session.scripts.get(request.getScriptHash());
+        if (script == null) {
+            throw new FeignException.Conflict("Unknown script", request(), null, null);
+        }
+        applyDelta(session.context, request.getContextDelta());
+        PostmanDto before = copyContext(session.context);
+        PostmanDto postman = session.context
+                .postmanRequest(request.getPostman().getPostmanRequest())
+                .postmanResponse(request.getPostman().getPostmanResponse())
+                .cookies(request.getPostman().getCookies());
+        run(script, postman);
+        return ResponseEntity.ok(new ScriptSessionExecuteResponseDto()
+                .postman(new PostmanDto()
+                        .postmanRequest(postman.getPostmanRequest())
+                        .postmanResponse(postman.getPostmanResponse())
+                        .cookies(postman.getCookies()))
+                .contextDelta(new ScriptContextDeltaDto()
+                        .globals(diff(before.getGlobals(), postman.getGlobals()))
+                        .collectionVariables(diff(before.getCollectionVariables(), postman.getCollectionVariables()))
+                        .environment(diff(before.getEnvironment(), postman.getEnvironment()))
+                        .iterationData(diff(before.getIterationData(), postman.getIterationData()))
+                        .variables(diff(before.getVariables(), postman.getVariables())))
+                .testResults(Collections.emptyList()));
+    }
+
+    @Override
+    public ResponseEntity<Void> closeScriptSession(UUID sessionId) {
+        closeCalls++;
+        sessions.remove(sessionId);
+        return ResponseEntity.ok().build();
+    }
+
+    private void run(String script, PostmanDto postman) {
+        Consumer<PostmanDto> function = scripts.get(script);
+        if (function == null) {
+            throw new IllegalArgumentException("Script is not registered: " + script);
+        }
+        function.accept(postman);
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.POST, "url", new HashMap<>(), null, new RequestTemplate());
+    }
+
+    private static PostmanDto copyContext(PostmanDto postman) {
+        return new PostmanDto()
+                .globals(copy(postman.getGlobals()))
+                .collectionVariables(copy(postman.getCollectionVariables()))
+                .environment(copy(postman.getEnvironment()))
+                .iterationData(copy(postman.getIterationData()))
+                .variables(copy(postman.getVariables()));
+    }
+
+    private static Map<String, Object> copy(Map<String, Object> scope) {
+        return scope == null ? new HashMap<>() : new HashMap<>(scope);
+    }
+
+    private static void applyDelta(PostmanDto context, ScriptContextDeltaDto delta) {
+        if (delta == null) {
+            return;
+        }
+        apply(context.getGlobals(), delta.getGlobals());
+        apply(context.getCollectionVariables(), delta.getCollectionVariables());
+        apply(context.getEnvironment(), delta.getEnvironment());
+        apply(context.getIterationData(), delta.getIterationData());
+        apply(context.getVariables(), delta.getVariables());
+    }
+
+    private static void apply(Map<String, Object> scope, ScriptScopeDeltaDto delta) {
+        if (delta != null) {
+            delta.getUnset().forEach(scope::remove);
+            scope.putAll(delta.getSet());
+        }
+    }
+
+    private static ScriptScopeDeltaDto diff(Map<String, Object> before, Map<String, Object> after) {
+        ScriptScopeDeltaDto delta = new ScriptScopeDeltaDto();
+        after.forEach((key, value) -> {
+            if (!before.containsKey(key) || !Objects.equals(before.get(key), value)) {
+                delta.getSet().put(key, value);
+            }
+        });
+        before.keySet().stream().filter(key -> !after.containsKey(key)).forEach(delta.getUnset()::add);
+        return delta;
+    }
+
+    private static class StubSession {
+        private final PostmanDto context;
+        private final Map<String, String> scripts = new HashMap<>();
+
+        private StubSession(PostmanDto context) {
+            this.context = context;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.qubership.atp.itf.lite.backend.feign.service;
 import static java.nio.charset.Charset.defaultCharset;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -23,7 +25,6 @@ import org.qubership.atp.auth.springbootstarter.feign.exception.FeignClientExcep
 import org.qubership.atp.crypt.exception.AtpDecryptException;
 import org.qubership.atp.crypt.exception.AtpEncryptException;
 import org.qubership.atp.itf.lite.backend.enums.http.RequestBodyType;
-import org.qubership.atp.itf.lite.backend.feign.clients.JsScriptEngineFeignClient;
 import org.qubership.atp.itf.lite.backend.feign.dto.HttpResponseExceptionTypeEnum;
 import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptRequestDto;
 import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseDto;
@@ -37,7 +38,7 @@ import org.qubership.atp.itf.lite.backend.model.context.SaveRequestResolvingCont
 import org.qubership.atp.itf.lite.backend.model.entities.RequestBody;
 import org.qubership.atp.itf.lite.backend.model.entities.http.methods.HttpMethod;
 import org.qubership.atp.itf.lite.backend.service.EncryptionService;
-import org.springframework.http.ResponseEntity;
+import org.qubership.atp.itf.lite.backend.service.script.LocalScriptRuntime;
 import org.springframework.util.StreamUtils;
 
 import com.google.gson.Gson;
@@ -49,7 +50,9 @@ import feign.RequestTemplate;
 public class JsScriptEngineServiceTest {
 
     @Mock
-    JsScriptEngineFeignClient jsScriptEngineFeignClient;
+    ScriptEngineSessionService scriptEngineSessionService;
+    @Mock
+    LocalScriptRuntime localScriptRuntime;
     @Mock
     EncryptionService encryptionService;
     @InjectMocks
@@ -214,7 +217,7 @@ public class JsScriptEngineServiceTest {
     public void jsScriptNotAvailable_thenReturnPostmanExecuteScriptResponseTestResultsDto() {
         Request requestException = Request.create(Request.HttpMethod.GET, "url",
                 new HashMap<>(), null, new RequestTemplate());
-        when(jsScriptEngineFeignClient.executePostmanScript(any(PostmanExecuteScriptRequestDto.class)))
+        when(scriptEngineSessionService.execute(any(), any(PostmanExecuteScriptRequestDto.class)))
                 .thenThrow(new FeignException.NotFound("JS NOT FOUND", requestException, null, null));
         HttpRequestEntitySaveRequest request = new HttpRequestEntitySaveRequest();
         request.setId(UUID.randomUUID());
@@ -238,7 +241,7 @@ public class JsScriptEngineServiceTest {
     public void jsScript_ifExecutionFailed_thenReturnPostmanExecuteScriptResponseTestResultsDto() {
         Request requestException = Request.create(Request.HttpMethod.POST, "url",
                 new HashMap<>(), null, new RequestTemplate());
-        when(jsScriptEngineFeignClient.executePostmanScript(any(PostmanExecuteScriptRequestDto.class)))
+        when(scriptEngineSessionService.execute(any(), any(PostmanExecuteScriptRequestDto.class)))
                 .thenThrow(new FeignClientException(
                         500,
                         "pm.request.addHeaders is not a function",
@@ -268,7 +271,7 @@ public class JsScriptEngineServiceTest {
     public void jsScriptTest_serviceUnavailableResponse_thenReturnPostmanExecuteScriptResponseTestResultsDto() {
         Request requestException = Request.create(Request.HttpMethod.POST, "url",
                 new HashMap<>(), null, new RequestTemplate());
-        when(jsScriptEngineFeignClient.executePostmanScript(any(PostmanExecuteScriptRequestDto.class)))
+        when(scriptEngineSessionService.execute(any(), any(PostmanExecuteScriptRequestDto.class)))
                 .thenThrow(new FeignClientException(
                         503,
                         "unavailable",
@@ -300,7 +303,7 @@ public class JsScriptEngineServiceTest {
     public void jsScriptTest_cannotCreatePostmanContext_thenReturnPostmanExecuteScriptResponseTestResultsDto() {
         Request requestException = Request.create(Request.HttpMethod.POST, "url",
                 new HashMap<>(), null, new RequestTemplate());
-        when(jsScriptEngineFeignClient.executePostmanScript(any(PostmanExecuteScriptRequestDto.class)))
+        when(scriptEngineSessionService.execute(any(), any(PostmanExecuteScriptRequestDto.class)))
                 .thenThrow(new FeignClientException(
                         500,
                         "{\"reason\": \"ITFLSE-0001\", \"message\": \"Failed to create postman sandbox context\"}",
@@ -331,7 +334,7 @@ public class JsScriptEngineServiceTest {
     @Test
     public void jsScript_ifUnexpectedException_thenReturnPostmanExecuteScriptResponseTestResultsDto() {
 
-        when(jsScriptEngineFeignClient.executePostmanScript(any(PostmanExecuteScriptRequestDto.class)))
+        when(scriptEngineSessionService.execute(any(), any(PostmanExecuteScriptRequestDto.class)))
                 .thenThrow(new RuntimeException("request entity too large"));
         HttpRequestEntitySaveRequest request = new HttpRequestEntitySaveRequest();
         request.setId(UUID.randomUUID());
@@ -377,13 +380,49 @@ public class JsScriptEngineServiceTest {
         Assertions.assertEquals("password is: ***", executionResults.getConsoleLogs().getFirst().getMessage());
     }
 
+    @Test
+    public void evaluatePreScript_afterFailedExecutionWithEncryptedValue_thenPlainValueIsNotEncrypted()
+            throws AtpDecryptException, AtpEncryptException {
+        when(encryptionService.isEncrypted(eq("{ENC}{abc...}"))).thenReturn(true);
+        when(encryptionService.decrypt(eq("{ENC}{abc...}"))).thenReturn("secretValue");
+        when(scriptEngineSessionService.execute(any(), any(PostmanExecuteScriptRequestDto.class)))
+                .thenThrow(new RuntimeException("script failed"))
+                .thenAnswer(invocation -> {
+                    PostmanExecuteScriptRequestDto scriptRequest = invocation.getArgument(1);
+                    PostmanExecuteScriptResponseDto scriptResponse = new PostmanExecuteScriptResponseDto();
+                    scriptResponse.setPostman(scriptRequest.getPostman());
+                    return scriptResponse;
+                });
+        HttpRequestEntitySaveRequest request = new HttpRequestEntitySaveRequest();
+        request.setId(UUID.randomUUID());
+        request.setName("test");
+        request.setHttpMethod(HttpMethod.GET);
+        request.setUrl(LOCAL_URL);
+        request.setPreScripts("pm.environment.get(\"password\");");
+
+        scriptService.evaluateRequestPreScript(request, SaveRequestResolvingContext.builder()
+                .environment(new HashMap<>() {{
+                    put("password", "{ENC}{abc...}");
+                }})
+                .build());
+        SaveRequestResolvingContext resolvingContext = SaveRequestResolvingContext.builder()
+                .environment(new HashMap<>() {{
+                    put("password", "plain");
+                }})
+                .build();
+        scriptService.evaluateRequestPreScript(request, resolvingContext);
+
+        Assertions.assertEquals("plain", resolvingContext.getEnvironment().get("password"));
+        verify(encryptionService, never()).encrypt(any());
+    }
+
     private void setupMockBooksResponse(String fileName) throws IOException {
-        when(jsScriptEngineFeignClient.executePostmanScript(any(PostmanExecuteScriptRequestDto.class)))
+        when(scriptEngineSessionService.execute(any(), any(PostmanExecuteScriptRequestDto.class)))
                 .thenReturn(
-                        ResponseEntity.ok(new Gson()
+                        new Gson()
                                 .fromJson(StreamUtils.copyToString(
                                                 JsScriptEngineServiceTest.class.getClassLoader().getResourceAsStream(fileName),
                                                 defaultCharset()),
-                                        PostmanExecuteScriptResponseDto.class)));
+                                        PostmanExecuteScriptResponseDto.class));
     }
 }
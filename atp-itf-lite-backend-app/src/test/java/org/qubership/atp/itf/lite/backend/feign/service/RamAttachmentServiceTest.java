@@ -0,0 +1,177 @@
+package org.qubership.atp.itf.lite.backend.feign.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.qubership.atp.adapter.executor.executor.AtpRamWriter;
+import org.qubership.atp.itf.lite.backend.feign.service.RamAttachmentService.RamAttachment;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileData;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileInfo;
+import org.qubership.atp.itf.lite.backend.service.GridFsService;
+import org.qubership.atp.itf.lite.backend.service.ItfLiteFileService;
+import org.qubership.atp.itf.lite.backend.utils.Constants;
+
+public class RamAttachmentServiceTest {
+
+    private final UUID testRunId = UUID.randomUUID();
+    private final UUID fileId = UUID.randomUUID();
+    private final Date modifiedWhen = new Date();
+    private GridFsService gridFsService;
+    private ItfLiteFileService itfLiteFileService;
+    private AtpRamWriter ramWriter;
+    private MockedStatic<AtpRamWriter> ramWriterProvider;
+    private RamAttachmentService service;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        gridFsService = mock(GridFsService.class);
+        itfLiteFileService = mock(ItfLiteFileService.class);
+        ramWriter = mock(AtpRamWriter.class);
+        // RAM writer reads whole content like real upload does, content hash is calculated while it is read
+        doAnswer(args -> {
+            args.getArgument(1, InputStream.class).readAllBytes();
+            return null;
+        }).when(ramWriter).uploadFileForLogRecord(anyString(), any(InputStream.class), anyString());
+        ramWriterProvider = mockStatic(AtpRamWriter.class);
+        ramWriterProvider.when(AtpRamWriter::getAtpRamWriter).thenReturn(ramWriter);
+        when(itfLiteFileService.getCachedFilePath(any(), any(), any())).thenReturn(Optional.empty());
+        service = new RamAttachmentService(gridFsService, itfLiteFileService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ramWriterProvider.close();
+    }
+
+    @Test
+    public void uploadFile_sameFileInTestRunTwice_fileIsStreamedFromGridFsAndUploadedOnce() {
+        FileInfo fileInfo = new FileInfo();
+        fileInfo.setFileName("data.json");
+        when(gridFsService.getFileInfoByFileId(fileId)).thenReturn(fileInfo);
+        when(gridFsService.getFileByFileInfo(fileInfo)).thenReturn(content("{}"));
+
+        RamAttachment first = service.uploadFile(testRunId, "lr1", fileId, modifiedWhen);
+        RamAttachment second = service.uploadFile(testRunId, "lr2", fileId, modifiedWhen);
+
+        assertEquals("lr1", first.getLogRecordId());
+        assertEquals(fileId.toString(), first.getFileName());
+        assertEquals("data.json", first.getDisplayName());
+        assertEquals("lr1", second.getLogRecordId());
+        verify(ramWriter, times(1)).uploadFileForLogRecord(eq("lr1"), any(InputStream.class),
+                eq(fileId.toString()));
+        verify(gridFsService, never()).downloadFileByFileId(any());
+    }
+
+    @Test
+    public void uploadFile_fileIsCached_fileIsStreamedFromCache() throws IOException {
+        Path cachedFile = Files.writeString(tempDir.resolve("cached.txt"), "content");
+        when(itfLiteFileService.getCachedFilePath(fileId, modifiedWhen, Constants.DEFAULT_FORM_DATA_FOLDER))
+                .thenReturn(Optional.of(cachedFile));
+
+        RamAttachment attachment = service.uploadFile(testRunId, "lr1", fileId, modifiedWhen);
+
+        assertEquals("cached.txt", attachment.getDisplayName());
+        verify(ramWriter).uploadFileForLogRecord(eq("lr1"), any(InputStream.class), eq(fileId.toString()));
+        verify(gridFsService, never()).getFileInfoByFileId(any());
+    }
+
+    @Test
+    public void uploadFile_thenSameContentUploaded_contentIsIdentifiedByHashOfStreamedFile() {
+        FileInfo fileInfo = new FileInfo();
+        fileInfo.setFileName("data.bin");
+        when(gridFsService.getFileInfoByFileId(fileId)).thenReturn(fileInfo);
+        when(gridFsService.getFileByFileInfo(fileInfo)).thenReturn(content("binary"));
+
+        RamAttachment file = service.uploadFile(testRunId, "lr1", fileId, modifiedWhen);
+        RamAttachment sameContent = service.uploadContent(testRunId, "lr2", binary("b.bin"));
+        RamAttachment otherContent = service.uploadContent(testRunId, "lr3",
+                new FileData("other".getBytes(StandardCharsets.UTF_8), "c.bin"));
+
+        assertSame(file, sameContent);
+        assertEquals("lr3", otherContent.getLogRecordId());
+        verify(ramWriter, times(2)).uploadFileForLogRecord(anyString(), any(), anyString());
+    }
+
+    @Test
+    public void uploadFile_fileCantBeRead_nullIsReturnedAndFileIsNotReused() {
+        FileInfo fileInfo = new FileInfo();
+        fileInfo.setFileName("data.json");
+        when(gridFsService.getFileInfoByFileId(fileId)).thenReturn(fileInfo);
+        when(gridFsService.getFileByFileInfo(fileInfo)).thenReturn(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        }, content("{}"));
+
+        RamAttachment failed = service.uploadFile(testRunId, "lr1", fileId, modifiedWhen);
+        RamAttachment retried = service.uploadFile(testRunId, "lr2", fileId, modifiedWhen);
+
+        assertNull(failed);
+        assertEquals("lr2", retried.getLogRecordId());
+    }
+
+    @Test
+    public void uploadFile_fileNotFound_nothingIsUploaded() {
+        RamAttachment attachment = service.uploadFile(testRunId, "lr1", fileId, modifiedWhen);
+
+        assertNull(attachment);
+        verify(ramWriter, never()).uploadFileForLogRecord(anyString(), any(), anyString());
+    }
+
+    @Test
+    public void uploadContent_sameContentInTestRun_uploadedOnce() {
+        RamAttachment first = service.uploadContent(testRunId, "lr1", binary("a.bin"));
+        RamAttachment second = service.uploadContent(testRunId, "lr2", binary("b.bin"));
+
+        assertEquals("lr1", second.getLogRecordId());
+        assertEquals(first.getFileName(), second.getFileName());
+        verify(ramWriter, times(1)).uploadFileForLogRecord(anyString(), any(), anyString());
+    }
+
+    @Test
+    public void uploadContent_withoutTestRun_uploadedEveryTime() {
+        service.uploadContent(null, "lr1", binary("a.bin"));
+        RamAttachment second = service.uploadContent(null, "lr2", binary("a.bin"));
+
+        assertEquals("lr2", second.getLogRecordId());
+        verify(ramWriter, times(2)).uploadFileForLogRecord(anyString(), any(), anyString());
+    }
+
+    private FileData binary(String fileName) {
+        return new FileData("binary".getBytes(StandardCharsets.UTF_8), fileName);
+    }
+
+    private InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
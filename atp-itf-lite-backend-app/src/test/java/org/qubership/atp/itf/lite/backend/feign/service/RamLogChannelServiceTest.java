@@ -0,0 +1,121 @@
+package org.qubership.atp.itf.lite.backend.feign.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.qubership.atp.adapter.common.adapters.AtpKafkaRamAdapter;
+import org.qubership.atp.adapter.common.adapters.providers.RamAdapterProvider;
+import org.qubership.atp.itf.lite.backend.configuration.RamLogChannelProperties;
+import org.qubership.atp.itf.lite.backend.service.MetricService;
+import org.qubership.atp.ram.models.ScriptConsoleLog;
+
+public class RamLogChannelServiceTest {
+
+    private final UUID executionRequestId = UUID.randomUUID();
+    private final UUID testRunId = UUID.randomUUID();
+    private AtpKafkaRamAdapter adapter;
+    private MetricService metricService;
+    private MockedStatic<RamAdapterProvider> adapterProvider;
+    private RamLogChannelService service;
+
+    @BeforeEach
+    public void setUp() {
+        adapter = mock(AtpKafkaRamAdapter.class);
+        metricService = mock(MetricService.class);
+        adapterProvider = mockStatic(RamAdapterProvider.class);
+        adapterProvider.when(() -> RamAdapterProvider.getNewAdapter("kafka")).thenReturn(adapter);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.shutdown();
+        }
+        adapterProvider.close();
+    }
+
+    @Test
+    public void writeConsoleLogs_batchIsNotFull_logsAreSentOnFlushWithOneAdapter() {
+        service = createService(true, 100, 60000);
+        UUID firstRecordId = UUID.randomUUID();
+        UUID secondRecordId = UUID.randomUUID();
+
+        service.writeConsoleLogs(executionRequestId, testRunId, firstRecordId, "pre", "", consoleLogs());
+        service.writeConsoleLogs(executionRequestId, testRunId, secondRecordId, "", "post", consoleLogs());
+
+        verify(adapter, after(200).never()).sendScriptConsoleLogs(anyList(), anyString(), anyString(), anyString());
+        service.flush(executionRequestId, testRunId);
+        verify(adapter, timeout(1000)).sendScriptConsoleLogs(anyList(), eq("pre"), eq(""),
+                eq(firstRecordId.toString()));
+        verify(adapter, timeout(1000)).sendScriptConsoleLogs(anyList(), eq(""), eq("post"),
+                eq(secondRecordId.toString()));
+        adapterProvider.verify(() -> RamAdapterProvider.getNewAdapter("kafka"), times(1));
+        verify(metricService, timeout(1000)).recordRamLogSend(any());
+    }
+
+    @Test
+    public void shutdown_batchIsNotFlushed_logsAreSent() throws InterruptedException {
+        service = createService(true, 100, 60000);
+        UUID recordId = UUID.randomUUID();
+
+        service.writeConsoleLogs(executionRequestId, testRunId, recordId, "pre", "", consoleLogs());
+        service.shutdown();
+
+        verify(adapter).sendScriptConsoleLogs(anyList(), eq("pre"), eq(""), eq(recordId.toString()));
+        verify(metricService, times(1)).recordRamLogSend(any());
+    }
+
+    @Test
+    public void writeConsoleLogs_batchIsFull_logsAreSentWithoutFlush() {
+        service = createService(true, 2, 60000);
+
+        service.writeConsoleLogs(executionRequestId, testRunId, UUID.randomUUID(), "pre", "", consoleLogs());
+
+        verify(adapter, timeout(1000)).sendScriptConsoleLogs(anyList(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void writeConsoleLogs_timeWindowIsOver_logsAreSentWithoutFlush() {
+        service = createService(true, 100, 50);
+
+        service.writeConsoleLogs(executionRequestId, testRunId, UUID.randomUUID(), "pre", "", consoleLogs());
+
+        verify(adapter, timeout(1000)).sendScriptConsoleLogs(anyList(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void writeConsoleLogs_channelsDisabled_logsAreSentImmediately() {
+        service = createService(false, 100, 60000);
+
+        service.writeConsoleLogs(executionRequestId, testRunId, UUID.randomUUID(), "pre", "", consoleLogs());
+
+        verify(adapter).sendScriptConsoleLogs(anyList(), anyString(), anyString(), anyString());
+        verify(metricService, never()).recordRamLogSend(any());
+    }
+
+    private RamLogChannelService createService(boolean enabled, int batchSize, long windowMs) {
+        return new RamLogChannelService(new RamLogChannelProperties(enabled, batchSize, windowMs, 1800),
+                metricService);
+    }
+
+    private List<ScriptConsoleLog> consoleLogs() {
+        return Collections.nCopies(2, mock(ScriptConsoleLog.class));
+    }
+}
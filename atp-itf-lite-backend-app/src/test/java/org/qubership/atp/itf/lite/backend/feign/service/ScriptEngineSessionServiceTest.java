@@ -0,0 +1,177 @@
+package org.qubership.atp.itf.lite.backend.feign.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.configuration.ScriptEngineSessionProperties;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.ScriptContextDeltaDto;
+
+public class ScriptEngineSessionServiceTest {
+
+    private static final String COUNT_SCRIPT = "pm.collectionVariables.set('count', "
+            + "(pm.collectionVariables.get('count') || 0) + 1);";
+    private static final String FAILED_SCRIPT = "throw new Error('failed');";
+
+    private InProcessScriptEngineStub engine;
+    private ScriptEngineSessionService service;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new InProcessScriptEngineStub();
+        engine.register(COUNT_SCRIPT, postman ->
+                postman.getCollectionVariables().merge("count", 1, (count, one) -> (Integer) count + 1));
+        engine.register(FAILED_SCRIPT, postman -> {
+            throw new IllegalStateException("failed");
+        });
+        service = new ScriptEngineSessionService(engine, new ScriptEngineSessionProperties(true, 1800, 1000));
+    }
+
+    @Test
+    public void execute_collectionRun_sendsScriptOnceAndOnlyChangedVariables() {
+        UUID runId = UUID.randomUUID();
+        PostmanExecuteScriptResponseDto first = service.execute(runId,
+                createRequest(COUNT_SCRIPT, Collections.singletonMap("url", "http://host"), new HashMap<>()));
+        Map<String, Object> environment = new HashMap<>(first.getPostman().getEnvironment());
+        environment.put("user", "admin");
+
+        PostmanExecuteScriptResponseDto second = service.execute(runId,
+                createRequest(COUNT_SCRIPT, environment, first.getPostman().getCollectionVariables()));
+
+        assertEquals(1, first.getPostman().getCollectionVariables().get("count"));
+        assertEquals(2, second.getPostman().getCollectionVariables().get("count"));
+        assertEquals(environment, second.getPostman().getEnvironment());
+        assertEquals(1, engine.openCalls);
+        assertTrue(engine.executeRequests.isEmpty());
+        assertEquals(2, engine.sessionExecuteRequests.size());
+        assertNotNull(engine.sessionExecuteRequests.get(0).getScript());
+        assertNull(engine.sessionExecuteRequests.get(1).getScript());
+        ScriptContextDeltaDto delta = engine.sessionExecuteRequests.get(1).getContextDelta();
+        assertEquals(Collections.singletonMap("user", "admin"), delta.getEnvironment().getSet());
+        assertTrue(delta.getCollectionVariables().getSet().isEmpty());
+        assertTrue(delta.getCollectionVariables().getUnset().isEmpty());
+    }
+
+    @Test
+    public void execute_variableRemovedBetweenSteps_sendsUnset() {
+        UUID runId = UUID.randomUUID();
+        service.execute(runId,
+                createRequest(COUNT_SCRIPT, Collections.singletonMap("url", "http://host"), new HashMap<>()));
+
+        PostmanExecuteScriptResponseDto second = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), new HashMap<>()));
+
+        assertEquals(Collections.singletonList("url"),
+                engine.sessionExecuteRequests.get(1).getContextDelta().getEnvironment().getUnset());
+        assertFalse(second.getPostman().getEnvironment().containsKey("url"));
+        assertEquals(1, second.getPostman().getCollectionVariables().get("count"));
+    }
+
+    @Test
+    public void execute_scriptUnknownBySession_resendsScript() {
+        UUID runId = UUID.randomUUID();
+        PostmanExecuteScriptResponseDto first = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), new HashMap<>()));
+        engine.forgetScripts();
+
+        PostmanExecuteScriptResponseDto second = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), first.getPostman().getCollectionVariables()));
+
+        assertEquals(2, second.getPostman().getCollectionVariables().get("count"));
+        assertEquals(3, engine.sessionExecuteRequests.size());
+        assertNull(engine.sessionExecuteRequests.get(1).getScript());
+        assertNotNull(engine.sessionExecuteRequests.get(2).getScript());
+    }
+
+    @Test
+    public void execute_sessionLost_opensNewSessionWithFullContext() {
+        UUID runId = UUID.randomUUID();
+        PostmanExecuteScriptResponseDto first = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), new HashMap<>()));
+        engine.dropSessions();
+
+        PostmanExecuteScriptResponseDto second = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), first.getPostman().getCollectionVariables()));
+
+        assertEquals(2, second.getPostman().getCollectionVariables().get("count"));
+        assertEquals(2, engine.openCalls);
+        assertTrue(engine.executeRequests.isEmpty());
+    }
+
+    @Test
+    public void execute_sessionsNotSupported_executesScriptsBySeparateCalls() {
+        engine.disableSessions();
+        UUID runId = UUID.randomUUID();
+        PostmanExecuteScriptResponseDto first = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), new HashMap<>()));
+
+        PostmanExecuteScriptResponseDto second = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), first.getPostman().getCollectionVariables()));
+
+        assertEquals(2, second.getPostman().getCollectionVariables().get("count"));
+        assertEquals(1, engine.openCalls);
+        assertEquals(2, engine.executeRequests.size());
+    }
+
+    @Test
+    public void execute_withoutRun_executesScriptBySeparateCall() {
+        PostmanExecuteScriptResponseDto response = service.execute(null,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), new HashMap<>()));
+
+        assertEquals(1, response.getPostman().getCollectionVariables().get("count"));
+        assertEquals(0, engine.openCalls);
+        assertEquals(1, engine.executeRequests.size());
+    }
+
+    @Test
+    public void execute_sessionsDisabled_executesScriptBySeparateCall() {
+        service = new ScriptEngineSessionService(engine, new ScriptEngineSessionProperties(false, 1800, 1000));
+
+        service.execute(UUID.randomUUID(), createRequest(COUNT_SCRIPT, new HashMap<>(), new HashMap<>()));
+
+        assertEquals(0, engine.openCalls);
+        assertEquals(1, engine.executeRequests.size());
+    }
+
+    @Test
+    public void execute_scriptFailed_closesSessionAndNextStepOpensNewOne() {
+        UUID runId = UUID.randomUUID();
+        PostmanExecuteScriptResponseDto first = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), new HashMap<>()));
+
+        assertThrows(IllegalStateException.class, () -> service.execute(runId,
+                createRequest(FAILED_SCRIPT, new HashMap<>(), first.getPostman().getCollectionVariables())));
+        PostmanExecuteScriptResponseDto third = service.execute(runId,
+                createRequest(COUNT_SCRIPT, new HashMap<>(), first.getPostman().getCollectionVariables()));
+
+        assertEquals(1, engine.closeCalls);
+        assertEquals(2, engine.openCalls);
+        assertEquals(2, third.getPostman().getCollectionVariables().get("count"));
+    }
+
+    private PostmanExecuteScriptRequestDto createRequest(String script, Map<String, Object> environment,
+                                                         Map<String, Object> collectionVariables) {
+        return new PostmanExecuteScriptRequestDto()
+                .projectId(UUID.randomUUID())
+                .script(script)
+                .postman(new PostmanDto()
+                        .globals(new HashMap<>())
+                        .collectionVariables(new HashMap<>(collectionVariables))
+                        .environment(new HashMap<>(environment))
+                        .iterationData(new HashMap<>())
+                        .variables(new HashMap<>()));
+    }
+}
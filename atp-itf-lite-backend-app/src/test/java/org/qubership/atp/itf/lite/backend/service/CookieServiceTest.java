@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
@@ -380,4 +381,145 @@ public class CookieServiceTest {
         Assertions.assertFalse(returnedCookies.contains(cookie2));
         Assertions.assertTrue(returnedCookies.contains(cookie3));
     }
- }
+
+    @Test
+    public void saveUserCookiesChanges_someCookiesChanged_onlyChangedCookiesWritten() {
+        // given
+        UUID projectId = UUID.randomUUID();
+        Cookie unchanged = generateCookie("Cookie_1", "Cookie_1=value; Path=/;");
+        Cookie changed = generateCookie("Cookie_2", "Cookie_2=value; Path=/;");
+        Cookie removed = generateCookie("Cookie_3", "Cookie_3=value; Path=/;");
+        List<Cookie> storedCookies = new ArrayList<>();
+        storedCookies.add(unchanged);
+        storedCookies.add(changed);
+        storedCookies.add(removed);
+        List<Cookie> cookies = new ArrayList<>();
+        cookies.add(generateCookie("Cookie_1", "Cookie_1=value; Path=/;"));
+        cookies.add(generateCookie("Cookie_2", "Cookie_2=new value; Path=/;"));
+        Cookie added = generateCookie("Cookie_4", "Cookie_4=value; Expires=Wed, 01 Jan 2120 00:00:00 GMT");
+        cookies.add(added);
+
+        // when
+        when(userInfoProvider.get()).thenReturn(new UserInfo());
+        when(cookiesRepository.findAllByUserIdAndProjectId(eq(null), eq(projectId))).thenReturn(storedCookies);
+        List<Cookie> actualCookies = cookieService.saveUserCookiesChanges(projectId, cookies);
+
+        // then
+        ArgumentCaptor<List<Cookie>> savedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(cookiesRepository).saveAll(savedCaptor.capture());
+        List<Cookie> savedCookies = savedCaptor.getValue();
+        Assertions.assertEquals(2, savedCookies.size());
+        Assertions.assertTrue(savedCookies.contains(changed));
+        Assertions.assertEquals("Cookie_2=new value; Path=/;", changed.getValue());
+        Assertions.assertTrue(savedCookies.contains(added));
+        Assertions.assertNull(added.getId());
+        Assertions.assertNotNull(added.getExpiresAt());
+        verify(cookiesRepository).removeAllByIdIn(eq(Collections.singletonList(removed.getId())));
+        Assertions.assertEquals(3, actualCookies.size());
+        Assertions.assertTrue(actualCookies.contains(unchanged));
+    }
+
+    @Test
+    public void saveExecutionCookiesChanges_cookiesNotChanged_nothingWritten() {
+        // given
+        UUID executionRequestId = UUID.randomUUID();
+        UUID testRunId = UUID.randomUUID();
+        Cookie stored = generateCookie("Cookie_1", "Cookie_1=value; Path=/;");
+
+        // when
+        when(cookiesRepository.findAllByExecutionRequestIdAndTestRunId(executionRequestId, testRunId))
+                .thenReturn(Collections.singletonList(stored));
+        cookieService.saveExecutionCookiesChanges(executionRequestId, testRunId,
+                new ArrayList<>(Collections.singletonList(generateCookie("Cookie_1", "Cookie_1=value; Path=/;"))));
+
+        // then
+        verify(cookiesRepository, never()).saveAll(any());
+        verify(cookiesRepository, never()).removeAllByIdIn(any());
+    }
+
+    @Test
+    public void save_cookiesWithExpiresAndMaxAge_expiresAtStoredForBoth() {
+        // given
+        Cookie withExpires = generateCookie("Cookie_1", "Cookie_1=value; Expires=Wed, 01 Jan 2120 00:00:00 GMT");
+        Cookie withMaxAge = generateCookie("Cookie_2", "Cookie_2=value; Max-Age=3600");
+        List<Cookie> cookies = new ArrayList<>();
+        cookies.add(withExpires);
+        cookies.add(withMaxAge);
+
+        // when
+        when(cookiesRepository.saveAll(any())).thenAnswer(args -> args.getArguments()[0]);
+        cookieService.save(cookies);
+
+        // then
+        Assertions.assertNotNull(withExpires.getExpiresAt());
+        Assertions.assertNotNull(withMaxAge.getExpiresAt());
+        long maxAgeMillis = withMaxAge.getExpiresAt().getTime() - System.currentTimeMillis();
+        Assertions.assertTrue(maxAgeMillis > 3_500_000 && maxAgeMillis <= 3_600_000);
+    }
+
+    @Test
+    public void save_cookieWithStoredExpiresAt_expiresAtNotRecalculated() {
+        // given
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+        Cookie copied = generateCookie("Cookie_1", "Cookie_1=value; Max-Age=3600");
+        copied.setExpiresAt(expiresAt);
+
+        // when
+        when(cookiesRepository.saveAll(any())).thenAnswer(args -> args.getArguments()[0]);
+        cookieService.save(new ArrayList<>(Collections.singletonList(copied)));
+
+        // then
+        Assertions.assertEquals(expiresAt, copied.getExpiresAt());
+    }
+
+    @Test
+    public void saveExecutionCookiesChanges_onlyDisabledChanged_expiresAtNotRecalculated() {
+        // given
+        UUID executionRequestId = UUID.randomUUID();
+        UUID testRunId = UUID.randomUUID();
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+        Cookie stored = generateCookie("Cookie_1", "Cookie_1=value; Max-Age=3600");
+        stored.setExpiresAt(expiresAt);
+        Cookie disabled = generateCookie("Cookie_1", "Cookie_1=value; Max-Age=3600");
+        disabled.setDisabled(true);
+
+        // when
+        when(cookiesRepository.findAllByExecutionRequestIdAndTestRunId(executionRequestId, testRunId))
+                .thenReturn(Collections.singletonList(stored));
+        cookieService.saveExecutionCookiesChanges(executionRequestId, testRunId,
+                new ArrayList<>(Collections.singletonList(disabled)));
+
+        // then
+        verify(cookiesRepository).saveAll(eq(Collections.singletonList(stored)));
+        Assertions.assertTrue(stored.isDisabled());
+        Assertions.assertEquals(expiresAt, stored.getExpiresAt());
+    }
+
+    @Test
+    public void saveExecutionCookiesChanges_storedCookieExpiredByMaxAge_cookieDeleted() {
+        // given
+        UUID executionRequestId = UUID.randomUUID();
+        UUID testRunId = UUID.randomUUID();
+        Cookie stored = generateCookie("Cookie_1", "Cookie_1=value; Max-Age=3600");
+        stored.setExpiresAt(new Date(System.currentTimeMillis() - 1_000));
+
+        // when
+        when(cookiesRepository.findAllByExecutionRequestIdAndTestRunId(executionRequestId, testRunId))
+                .thenReturn(Collections.singletonList(stored));
+        List<Cookie> actualCookies = cookieService.saveExecutionCookiesChanges(executionRequestId, testRunId,
+                new ArrayList<>(Collections.singletonList(stored)));
+
+        // then
+        Assertions.assertTrue(actualCookies.isEmpty());
+        verify(cookiesRepository).removeAllByIdIn(eq(Collections.singletonList(stored.getId())));
+    }
+
+    private Cookie generateCookie(String key, String value) {
+        Cookie cookie = new Cookie();
+        cookie.setId(UUID.randomUUID());
+        cookie.setKey(key);
+        cookie.setDomain("example.com");
+        cookie.setValue(value);
+        return cookie;
+    }
+}
@@ -0,0 +1,85 @@
+package org.qubership.atp.itf.lite.backend.service;
+
+import static com.google.common.collect.ImmutableMap.of;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.apache.camel.util.CaseInsensitiveMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.configuration.EnvironmentNearCacheProperties;
+import org.qubership.atp.itf.lite.backend.feign.service.EnvironmentFeignService;
+import org.qubership.atp.itf.lite.backend.model.api.response.environments.Connection;
+import org.qubership.atp.itf.lite.backend.model.api.response.environments.System;
+import org.qubership.atp.itf.lite.backend.model.context.EnvironmentSnapshot;
+
+public class EnvironmentSnapshotServiceTest {
+
+    private final UUID environmentId = UUID.randomUUID();
+    private EnvironmentFeignService environmentFeignService;
+    private EnvironmentSnapshotService environmentSnapshotService;
+
+    @BeforeEach
+    public void setUp() {
+        environmentFeignService = mock(EnvironmentFeignService.class);
+        environmentSnapshotService = new EnvironmentSnapshotService(environmentFeignService,
+                new EnvironmentNearCacheProperties());
+        Connection connection = new Connection(UUID.randomUUID(), "Http",
+                new CaseInsensitiveMap(of("url", "http://localhost")));
+        when(environmentFeignService.getEnvironmentSystems(environmentId))
+                .thenReturn(singletonList(new System(UUID.randomUUID(), "Billing", connection)));
+    }
+
+    @Test
+    public void getSnapshot_calledTwice_systemsLoadedOnceAndFlattened() {
+        environmentSnapshotService.getSnapshot(environmentId, null);
+        EnvironmentSnapshot snapshot = environmentSnapshotService.getSnapshot(environmentId, null);
+
+        verify(environmentFeignService, times(1)).getEnvironmentSystems(environmentId);
+        assertEquals("http://localhost", snapshot.getVariables().get("billing.http.url"));
+    }
+
+    @Test
+    public void getSnapshot_environmentEvicted_newVersionLoaded() {
+        EnvironmentSnapshot first = environmentSnapshotService.getSnapshot(environmentId, null);
+
+        environmentSnapshotService.evict(environmentId);
+        EnvironmentSnapshot second = environmentSnapshotService.getSnapshot(environmentId, null);
+
+        verify(environmentFeignService, times(2)).getEnvironmentSystems(environmentId);
+        assertNotEquals(first.getVersion(), second.getVersion());
+    }
+
+    @Test
+    public void getSnapshot_environmentEvictedDuringTestRun_runKeepsPinnedSnapshot() {
+        UUID testRunId = UUID.randomUUID();
+        EnvironmentSnapshot pinned = environmentSnapshotService.getSnapshot(environmentId, testRunId);
+
+        environmentSnapshotService.evict(environmentId);
+
+        assertSame(pinned, environmentSnapshotService.getSnapshot(environmentId, testRunId));
+        assertNotEquals(pinned.getVersion(),
+                environmentSnapshotService.getSnapshot(environmentId, null).getVersion());
+    }
+
+    @Test
+    public void getSnapshot_runUsesAnotherEnvironment_snapshotOfAnotherEnvironmentPinned() {
+        UUID testRunId = UUID.randomUUID();
+        UUID anotherEnvironmentId = UUID.randomUUID();
+        environmentSnapshotService.getSnapshot(environmentId, testRunId);
+
+        EnvironmentSnapshot another = environmentSnapshotService.getSnapshot(anotherEnvironmentId, testRunId);
+
+        assertEquals(anotherEnvironmentId, another.getEnvironmentId());
+        assertSame(another, environmentSnapshotService.getSnapshot(anotherEnvironmentId, testRunId));
+        verify(environmentFeignService, times(1)).getEnvironmentSystems(anotherEnvironmentId);
+    }
+}
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.qubership.atp.crypt.exception.AtpDecryptException;
+import org.qubership.atp.itf.lite.backend.configuration.EnvironmentNearCacheProperties;
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteRequestEnvironmentVariableNotFoundException;
 import org.qubership.atp.itf.lite.backend.feign.service.EnvironmentFeignService;
 import org.qubership.atp.itf.lite.backend.model.api.request.HttpRequestEntitySaveRequest;
@@ -47,7 +48,9 @@ public class EnvironmentVariableServiceTest {
         EnvironmentFeignService environmentFeignServiceMock = mock(EnvironmentFeignService.class);
         encryptionService.set(encryptionServiceMock);
         environmentFeignService.set(environmentFeignServiceMock);
-        environmentVariableService.set(new EnvironmentVariableService(environmentFeignServiceMock, encryptionServiceMock));
+        EnvironmentSnapshotService environmentSnapshotService = new EnvironmentSnapshotService(
+                environmentFeignServiceMock, new EnvironmentNearCacheProperties());
+        environmentVariableService.set(new EnvironmentVariableService(environmentSnapshotService, encryptionServiceMock));
     }
 
     @Test
@@ -56,7 +59,8 @@ public class EnvironmentVariableServiceTest {
         // given
         OAuth2AuthorizationSaveRequest oAuth2AuthorizationSaveRequest = generateRandomOAuth2AuthorizationSaveRequest();
         // when
-        environmentVariableService.get().resolveEnvironmentParameters(oAuth2AuthorizationSaveRequest, UUID.randomUUID());
+        environmentVariableService.get().resolveEnvironmentParameters(oAuth2AuthorizationSaveRequest,
+                UUID.randomUUID(), null);
         // then
         verify(environmentFeignService.get(), times(0)).getEnvironmentSystems(any());
     }
@@ -98,7 +102,7 @@ public class EnvironmentVariableServiceTest {
         ItfLiteRequestEnvironmentVariableNotFoundException exception = assertThrows(
                 ItfLiteRequestEnvironmentVariableNotFoundException.class,
                 () -> environmentVariableService.get().resolveEnvironmentParameters(
-                        oAuth2AuthorizationSaveRequest, environmentId));
+                        oAuth2AuthorizationSaveRequest, environmentId, null));
         // then
         ArgumentCaptor<String> actualUrlCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> actualPasswordCaptor = ArgumentCaptor.forClass(String.class);
@@ -146,7 +150,7 @@ public class EnvironmentVariableServiceTest {
         // when
         when(environmentFeignService.get().getEnvironmentSystems(any())).thenReturn(systems);
         when(encryptionService.get().isEncrypted(any())).thenReturn(false);
-        environmentVariableService.get().resolveEnvironmentParameters(request, false, environmentId);
+        environmentVariableService.get().resolveEnvironmentParameters(request, false, environmentId, null);
 
         // then
         assertEquals(expectedUrl, request.getUrl());
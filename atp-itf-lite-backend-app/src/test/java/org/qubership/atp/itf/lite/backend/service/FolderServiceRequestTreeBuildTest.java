@@ -37,8 +37,11 @@ import org.qubership.atp.itf.lite.backend.model.entities.Folder;
 import org.qubership.atp.itf.lite.backend.model.entities.Request;
 import org.qubership.atp.itf.lite.backend.model.entities.converters.ListConverter;
 import org.qubership.atp.itf.lite.backend.model.entities.converters.PermissionEntityConverter;
+import org.qubership.atp.itf.lite.backend.model.tree.FolderTreeItem;
+import org.qubership.atp.itf.lite.backend.model.tree.RequestTreeItem;
 import org.qubership.atp.itf.lite.backend.service.history.iface.DeleteHistoryService;
 import org.qubership.atp.itf.lite.backend.utils.StreamUtils;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
 @ExtendWith(MockitoExtension.class)
 public class FolderServiceRequestTreeBuildTest {
@@ -165,7 +168,8 @@ public class FolderServiceRequestTreeBuildTest {
         deleteHistoryService = mock(DeleteHistoryService.class);
         folderService = new FolderService(repository, requestRepository, modelMapper, usersService, policyEnforcement,
                 userInfoProvider, requestAuthorizationService, folderSpecificationService, deleteHistoryService,
-                new PermissionEntityConverter(), new ListConverter());
+                new PermissionEntityConverter(), new ListConverter(),
+                new ProjectTreeCacheService(new ConcurrentMapCacheManager(), repository, requestRepository));
     }
 
     @Test
@@ -175,8 +179,10 @@ public class FolderServiceRequestTreeBuildTest {
         request.setProjectId(projectId);
 
         //when
-        when(requestRepository.findAllByProjectId(projectId)).thenReturn(projectRequests);
-        when(repository.findAllByProjectId(projectId)).thenReturn(projectFolders);
+        when(requestRepository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(StreamUtils.map(projectRequests, RequestTreeItem::new));
+        when(repository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(StreamUtils.map(projectFolders, FolderTreeItem::new));
 
         //then
         GroupResponse response = folderService.getFolderRequestsTree(false, request);
@@ -237,8 +243,10 @@ public class FolderServiceRequestTreeBuildTest {
         request.setSearch(searchString);
 
         //when
-        when(requestRepository.findAllByProjectId(projectId)).thenReturn(projectRequests);
-        when(repository.findAllByProjectId(projectId)).thenReturn(projectFolders);
+        when(requestRepository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(StreamUtils.map(projectRequests, RequestTreeItem::new));
+        when(repository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(StreamUtils.map(projectFolders, FolderTreeItem::new));
 
         //then
         GroupResponse response = folderService.getFolderRequestsTree(false, request);
@@ -300,7 +308,8 @@ public class FolderServiceRequestTreeBuildTest {
         request.setProjectId(projectId);
 
         //when
-        when(repository.findAllByProjectId(projectId)).thenReturn(projectFolders);
+        when(repository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(StreamUtils.map(projectFolders, FolderTreeItem::new));
 
         //then
         GroupResponse response = folderService.getFolderRequestsTree(true, request);
@@ -66,8 +66,11 @@ import org.qubership.atp.itf.lite.backend.model.entities.auth.RequestAuthorizati
 import org.qubership.atp.itf.lite.backend.model.entities.converters.ListConverter;
 import org.qubership.atp.itf.lite.backend.model.entities.converters.PermissionEntityConverter;
 import org.qubership.atp.itf.lite.backend.model.entities.http.HttpRequest;
+import org.qubership.atp.itf.lite.backend.model.tree.FolderTreeItem;
+import org.qubership.atp.itf.lite.backend.model.tree.RequestTreeItem;
 import org.qubership.atp.itf.lite.backend.service.history.iface.DeleteHistoryService;
 import org.qubership.atp.itf.lite.backend.utils.Constants;
+import org.qubership.atp.itf.lite.backend.utils.OrderUtils;
 import org.qubership.atp.itf.lite.backend.utils.StreamUtils;
 import org.qubership.atp.itf.lite.backend.utils.UserManagementEntities;
 
@@ -106,7 +109,8 @@ public class FolderServiceTest {
         deleteHistoryService.set(deleteHistoryServiceMock);
         folderService.set(new FolderService(folderRepositoryMock, requestRepositoryMock, modelMapper, usersServiceMock,
                 policyEnforcementMock, userInfoProviderMock, requestAuthorizationServiceMock, folderSpecificationServiceMock,
-                deleteHistoryServiceMock, new PermissionEntityConverter(), new ListConverter()));
+                deleteHistoryServiceMock, new PermissionEntityConverter(), new ListConverter(),
+                mock(ProjectTreeCacheService.class)));
     }
 
     @Test
@@ -650,6 +654,8 @@ public class FolderServiceTest {
         ));
         final UUID changedFolderId = e.getId();
 
+        when(folderRepository.get().findRootSiblingOrders(projectId, changedFolderId))
+                .thenReturn(asList(Integer.MIN_VALUE, 0, 1, 2, 3));
         when(folderRepository.get().findAllByProjectIdAndParentId(projectId, null)).thenReturn(folders);
 
         // when
@@ -664,7 +670,46 @@ public class FolderServiceTest {
         assertEquals(folders.size(), savedFolders.size(), "Saved folders list size should be equal to fetched from the db");
         final Folder changedFolder = folders.getFirst();
         assertEquals(changedFolderId, changedFolder.getId(), "Changed folder id should be equal to the requested one");
-        assertEquals(order, changedFolder.getOrder(), "Changed folder order should be equal to the requested value");
+        assertEquals(OrderUtils.getRebalancedOrder(order), changedFolder.getOrder(),
+                "Changed folder order should be equal to the requested position order");
+    }
+
+    @Test
+    void foldersHaveGapAtPosition_testOrder_expectedOnlyChangedFolderSaved() {
+        // given
+        final UUID projectId = UUID.randomUUID();
+        final UUID parentId = UUID.randomUUID();
+        final Folder changedFolder = EntitiesGenerator.generateFolder("a", projectId, parentId);
+        final UUID changedFolderId = changedFolder.getId();
+        final FolderOrderChangeRequest request = new FolderOrderChangeRequest(projectId, parentId, 0);
+        when(folderRepository.get().findSiblingOrders(projectId, parentId, changedFolderId))
+                .thenReturn(asList(0, 1024));
+        when(folderRepository.get().findById(changedFolderId)).thenReturn(Optional.of(changedFolder));
+        when(folderRepository.get().save(changedFolder)).thenReturn(changedFolder);
+
+        // when
+        folderService.get().order(changedFolderId, request);
+
+        // then
+        assertEquals(-1024, changedFolder.getOrder(), "Changed folder should be placed before the first folder");
+        verify(folderRepository.get()).save(changedFolder);
+        verify(folderRepository.get(), never()).saveAll(any());
+    }
+
+    @Test
+    void folderFromAnotherProject_testOrder_expectedExceptionAndNothingSaved() {
+        // given
+        final UUID projectId = UUID.randomUUID();
+        final Folder changedFolder = EntitiesGenerator.generateFolder("a", UUID.randomUUID(), null);
+        final UUID changedFolderId = changedFolder.getId();
+        final FolderOrderChangeRequest request = new FolderOrderChangeRequest(projectId, null, 0);
+        when(folderRepository.get().findRootSiblingOrders(projectId, changedFolderId))
+                .thenReturn(asList(0, 1024));
+        when(folderRepository.get().findById(changedFolderId)).thenReturn(Optional.of(changedFolder));
+
+        // when, then
+        assertThrows(IllegalStateException.class, () -> folderService.get().order(changedFolderId, request));
+        verify(folderRepository.get(), never()).save(any());
     }
 
     @Test
@@ -754,7 +799,10 @@ public class FolderServiceTest {
         when(folderRepository.get().findById(folder2Id)).thenReturn(Optional.of(folder2));
         when(folderRepository.get().findById(folder3Id)).thenReturn(Optional.of(folder3));
         when(folderRepository.get().findAllByProjectId(any(UUID.class))).thenReturn(Arrays.asList(folder1, folder2, folder3));
-        when(requestRepository.get().findAllByProjectId(any(UUID.class))).thenReturn(List.of(request21));
+        when(folderRepository.get().findAllTreeItemsByProjectId(any(UUID.class)))
+                .thenReturn(StreamUtils.map(Arrays.asList(folder1, folder2, folder3), FolderTreeItem::new));
+        when(requestRepository.get().findAllTreeItemsByProjectId(any(UUID.class)))
+                .thenReturn(StreamUtils.map(List.of(request21), RequestTreeItem::new));
         when(folderRepository.get().save(any(Folder.class))).thenAnswer(args -> args.getArguments()[0]);
         when(requestRepository.get().findById(request21Id)).thenReturn(Optional.of(request21));
         folderService.get().editFolder(folder1Id, createRequest);
@@ -825,7 +873,10 @@ public class FolderServiceTest {
         when(folderRepository.get().findById(folder2Id)).thenReturn(Optional.of(folder2));
         when(folderRepository.get().findById(folder3Id)).thenReturn(Optional.of(folder3));
         when(folderRepository.get().findAllByProjectId(any(UUID.class))).thenReturn(Arrays.asList(folder1, folder2, folder3));
-        when(requestRepository.get().findAllByProjectId(any(UUID.class))).thenReturn(List.of(request21));
+        when(folderRepository.get().findAllTreeItemsByProjectId(any(UUID.class)))
+                .thenReturn(StreamUtils.map(Arrays.asList(folder1, folder2, folder3), FolderTreeItem::new));
+        when(requestRepository.get().findAllTreeItemsByProjectId(any(UUID.class)))
+                .thenReturn(StreamUtils.map(List.of(request21), RequestTreeItem::new));
         when(folderRepository.get().save(any(Folder.class))).thenAnswer(args -> args.getArguments()[0]);
         when(requestRepository.get().findById(request21Id)).thenReturn(Optional.of(request21));
         folderService.get().editFolder(folder1Id, createRequest);
@@ -908,7 +959,10 @@ public class FolderServiceTest {
         when(folderRepository.get().findById(folder2Id)).thenReturn(Optional.of(folder2));
         when(folderRepository.get().findById(folder3Id)).thenReturn(Optional.of(folder3));
         when(folderRepository.get().findAllByProjectId(any(UUID.class))).thenReturn(Arrays.asList(folder1, folder2, folder3));
-        when(requestRepository.get().findAllByProjectId(any(UUID.class))).thenReturn(Arrays.asList(request21, request31));
+        when(folderRepository.get().findAllTreeItemsByProjectId(any(UUID.class)))
+                .thenReturn(StreamUtils.map(Arrays.asList(folder1, folder2, folder3), FolderTreeItem::new));
+        when(requestRepository.get().findAllTreeItemsByProjectId(any(UUID.class)))
+                .thenReturn(StreamUtils.map(Arrays.asList(request21, request31), RequestTreeItem::new));
         when(folderRepository.get().save(any(Folder.class))).thenAnswer(args -> args.getArguments()[0]);
         when(requestRepository.get().findById(request21Id)).thenReturn(Optional.of(request21));
         folderService.get().editFolder(folder1Id, createRequest);
@@ -1014,7 +1068,10 @@ public class FolderServiceTest {
                 .thenReturn(Arrays.asList(folder1, folder2, folder3Copied));
         when(folderRepository.get().findAllByIdIn(eq(foldersToCopy))).thenReturn(List.of(folder3));
         when(requestRepository.get().findAllByFolderIdIn(eq(foldersToCopy))).thenReturn(List.of(request31));
-        when(requestRepository.get().findAllByProjectId(any(UUID.class))).thenReturn(Arrays.asList(request21, request31Copied));
+        when(folderRepository.get().findAllTreeItemsByProjectId(any(UUID.class)))
+                .thenReturn(StreamUtils.map(Arrays.asList(folder1, folder2, folder3Copied), FolderTreeItem::new));
+        when(requestRepository.get().findAllTreeItemsByProjectId(any(UUID.class)))
+                .thenReturn(StreamUtils.map(Arrays.asList(request21, request31Copied), RequestTreeItem::new));
         when(folderRepository.get().findById(eq(folder1Id))).thenReturn(Optional.of(folder1));
         when(folderRepository.get().findById(eq(folder2Id))).thenReturn(Optional.of(folder2));
         when(folderRepository.get().findById(eq(folder3Id))).thenReturn(Optional.of(folder3));
@@ -0,0 +1,52 @@
+package org.qubership.atp.itf.lite.backend.service;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.configuration.MacrosCacheProperties;
+import org.qubership.atp.macros.core.repository.MacrosRepository;
+
+public class MacrosServiceTest {
+
+    private MacrosRepository macrosRepository;
+    private MacrosService macrosService;
+
+    @BeforeEach
+    public void setUp() {
+        macrosRepository = mock(MacrosRepository.class);
+        macrosService = new MacrosService(macrosRepository, new MacrosCacheProperties());
+    }
+
+    @Test
+    public void createMacrosEvaluator_calledTwiceForProject_macrosLoadedOnce() {
+        UUID projectId = UUID.randomUUID();
+        when(macrosRepository.findByProjectId(projectId)).thenReturn(emptyList());
+
+        assertNotNull(macrosService.createMacrosEvaluator(projectId));
+        assertNotNull(macrosService.createMacrosEvaluator(projectId));
+
+        verify(macrosRepository, times(1)).findByProjectId(projectId);
+    }
+
+    @Test
+    public void createMacrosEvaluator_differentProjects_macrosLoadedForEachProject() {
+        UUID firstProjectId = UUID.randomUUID();
+        UUID secondProjectId = UUID.randomUUID();
+        when(macrosRepository.findByProjectId(firstProjectId)).thenReturn(emptyList());
+        when(macrosRepository.findByProjectId(secondProjectId)).thenReturn(emptyList());
+
+        macrosService.createMacrosEvaluator(firstProjectId);
+        macrosService.createMacrosEvaluator(secondProjectId);
+
+        verify(macrosRepository, times(1)).findByProjectId(firstProjectId);
+        verify(macrosRepository, times(1)).findByProjectId(secondProjectId);
+    }
+}
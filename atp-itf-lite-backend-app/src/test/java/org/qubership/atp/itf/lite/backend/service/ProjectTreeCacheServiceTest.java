@@ -0,0 +1,156 @@
+package org.qubership.atp.itf.lite.backend.service;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.qubership.atp.itf.lite.backend.mocks.EntitiesGenerator.generateFolder;
+import static org.qubership.atp.itf.lite.backend.mocks.EntitiesGenerator.generateHttpRequest;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.qubership.atp.itf.lite.backend.dataaccess.repository.FolderRepository;
+import org.qubership.atp.itf.lite.backend.dataaccess.repository.RequestRepository;
+import org.qubership.atp.itf.lite.backend.enums.CacheKeys;
+import org.qubership.atp.itf.lite.backend.model.entities.Folder;
+import org.qubership.atp.itf.lite.backend.model.entities.http.HttpRequest;
+import org.qubership.atp.itf.lite.backend.model.tree.FolderTreeItem;
+import org.qubership.atp.itf.lite.backend.model.tree.ProjectTreeSnapshot;
+import org.qubership.atp.itf.lite.backend.model.tree.RequestTreeItem;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.hazelcast.map.IMap;
+
+public class ProjectTreeCacheServiceTest {
+
+    private final UUID projectId = UUID.randomUUID();
+    private FolderRepository folderRepository;
+    private RequestRepository requestRepository;
+    private IMap<Object, Object> map;
+    private Cache cache;
+    private CacheManager cacheManager;
+    private ProjectTreeCacheService projectTreeCacheService;
+    private Folder folder;
+    private HttpRequest request;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        folderRepository = mock(FolderRepository.class);
+        requestRepository = mock(RequestRepository.class);
+        map = mock(IMap.class);
+        // snapshot is cached only in Hazelcast, so cache is backed by map and distributed map is its native cache
+        cache = mock(Cache.class, delegatesTo(new ConcurrentMapCache(CacheKeys.Constants.PROJECT_TREE)));
+        doReturn(map).when(cache).getNativeCache();
+        cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(CacheKeys.Constants.PROJECT_TREE)).thenReturn(cache);
+        projectTreeCacheService = new ProjectTreeCacheService(cacheManager, folderRepository, requestRepository);
+        folder = generateFolder("folder", projectId);
+        request = generateHttpRequest("request", projectId, folder.getId());
+    }
+
+    @Test
+    public void getSnapshot_calledTwice_shouldLoadTreeFromDatabaseOnce() {
+        when(folderRepository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(singletonList(new FolderTreeItem(folder)));
+        when(requestRepository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(singletonList(new RequestTreeItem(request)));
+
+        projectTreeCacheService.getSnapshot(projectId);
+        ProjectTreeSnapshot snapshot = projectTreeCacheService.getSnapshot(projectId);
+
+        verify(folderRepository, times(1)).findAllTreeItemsByProjectId(projectId);
+        verify(requestRepository, times(1)).findAllTreeItemsByProjectId(projectId);
+        assertEquals(0, snapshot.getVersion());
+        assertTrue(snapshot.getFolders().containsKey(folder.getId()));
+        assertTrue(snapshot.getRequests().containsKey(request.getId()));
+    }
+
+    @Test
+    public void foldersAndRequestsSaved_snapshotCached_shouldUpdateSnapshotWithoutReload() {
+        ProjectTreeSnapshot loaded = projectTreeCacheService.getSnapshot(projectId);
+
+        projectTreeCacheService.foldersSaved(singletonList(folder));
+        request.setName("renamed");
+        projectTreeCacheService.requestsSaved(singletonList(request));
+        ProjectTreeSnapshot snapshot = projectTreeCacheService.getSnapshot(projectId);
+
+        verify(folderRepository, times(1)).findAllTreeItemsByProjectId(projectId);
+        assertEquals(2, snapshot.getVersion());
+        assertEquals("folder", snapshot.getFolders().get(folder.getId()).getName());
+        assertEquals("renamed", snapshot.getRequests().get(request.getId()).getName());
+        assertEquals(folder.getId(), snapshot.toIndex(false).getChildRequests(folder.getId()).get(0).getFolderId());
+        assertTrue(loaded.getFolders().isEmpty(), "Previous snapshot version shouldn't be changed");
+    }
+
+    @Test
+    public void foldersAndRequestsDeleted_snapshotCached_shouldRemoveItemsFromSnapshot() {
+        when(folderRepository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(singletonList(new FolderTreeItem(folder)));
+        when(requestRepository.findAllTreeItemsByProjectId(projectId))
+                .thenReturn(singletonList(new RequestTreeItem(request)));
+        projectTreeCacheService.getSnapshot(projectId);
+
+        projectTreeCacheService.requestsDeleted(projectId, singleton(request.getId()));
+        projectTreeCacheService.foldersDeleted(projectId, singleton(folder.getId()));
+        ProjectTreeSnapshot snapshot = projectTreeCacheService.getSnapshot(projectId);
+
+        assertEquals(2, snapshot.getVersion());
+        assertFalse(snapshot.getFolders().containsKey(folder.getId()));
+        assertFalse(snapshot.getRequests().containsKey(request.getId()));
+    }
+
+    @Test
+    public void foldersSaved_snapshotNotCached_shouldNotLoadSnapshot() {
+        projectTreeCacheService.foldersSaved(singletonList(folder));
+
+        verifyNoInteractions(folderRepository, requestRepository);
+        assertNull(cache.get(projectId));
+    }
+
+    @Test
+    public void getSnapshot_localCache_shouldLoadTreeFromDatabaseEveryTime() {
+        ProjectTreeCacheService localCacheService = new ProjectTreeCacheService(new ConcurrentMapCacheManager(),
+                folderRepository, requestRepository);
+
+        localCacheService.getSnapshot(projectId);
+        localCacheService.foldersSaved(singletonList(folder));
+        localCacheService.getSnapshot(projectId);
+
+        verify(folderRepository, times(2)).findAllTreeItemsByProjectId(projectId);
+        verify(requestRepository, times(2)).findAllTreeItemsByProjectId(projectId);
+    }
+
+    @Test
+    public void foldersSaved_distributedCache_shouldUpdateSnapshotUnderProjectLock() {
+        projectTreeCacheService.getSnapshot(projectId);
+
+        projectTreeCacheService.foldersSaved(singletonList(folder));
+
+        InOrder inOrder = inOrder(map, cache);
+        inOrder.verify(map).lock(eq(projectId), anyLong(), any());
+        inOrder.verify(cache).put(eq(projectId), any(ProjectTreeSnapshot.class));
+        inOrder.verify(map).unlock(projectId);
+        verify(map, never()).executeOnKey(any(), any());
+    }
+}
@@ -0,0 +1,83 @@
+package org.qubership.atp.itf.lite.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.configuration.RequestExecutionProperties;
+import org.qubership.atp.itf.lite.backend.exceptions.ItfLiteException;
+import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteExecutionQueueOverflowException;
+
+public class RequestExecutionEngineTest {
+
+    private final MetricService metricService = mock(MetricService.class);
+
+    @Test
+    public void submit_virtualThreadsDisabled_shouldExecuteOnCallerThread() {
+        RequestExecutionEngine engine = new RequestExecutionEngine(
+                new RequestExecutionProperties(false, 1, 1), metricService);
+        AtomicReference<Thread> executionThread = new AtomicReference<>();
+
+        CompletableFuture<Void> result = engine.submit(UUID.randomUUID(),
+                () -> executionThread.set(Thread.currentThread()));
+
+        assertTrue(result.isDone());
+        assertEquals(Thread.currentThread(), executionThread.get());
+    }
+
+    @Test
+    public void submit_virtualThreadsEnabled_shouldExecuteOnVirtualThreadAndPropagateException() throws Exception {
+        RequestExecutionEngine engine = new RequestExecutionEngine(
+                new RequestExecutionProperties(true, 1, 1), metricService);
+        AtomicReference<Thread> executionThread = new AtomicReference<>();
+
+        engine.submit(UUID.randomUUID(), () -> executionThread.set(Thread.currentThread())).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> failed = engine.submit(UUID.randomUUID(), () -> {
+            throw new ItfLiteException("execution failed");
+        });
+
+        assertTrue(executionThread.get().isVirtual());
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ItfLiteException.class, exception.getCause());
+        engine.shutdown();
+    }
+
+    @Test
+    public void submit_projectQueueIsFull_shouldRejectOnlyThisProject() throws Exception {
+        RequestExecutionEngine engine = new RequestExecutionEngine(
+                new RequestExecutionProperties(true, 1, 1), metricService);
+        UUID projectId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blockingTask = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Void> running = engine.submit(projectId, blockingTask);
+        CompletableFuture<Void> queued = engine.submit(projectId, blockingTask);
+
+        assertThrows(ItfLiteExecutionQueueOverflowException.class, () -> engine.submit(projectId, blockingTask));
+        verify(metricService).registerExecutionRejected(eq(projectId));
+        engine.submit(UUID.randomUUID(), () -> { }).get(5, TimeUnit.SECONDS);
+
+        release.countDown();
+        CompletableFuture.allOf(running, queued).get(5, TimeUnit.SECONDS);
+        engine.submit(projectId, () -> { }).get(5, TimeUnit.SECONDS);
+        engine.shutdown();
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,11 +33,13 @@ import org.qubership.atp.itf.lite.backend.model.api.request.HttpRequestEntitySav
 import org.qubership.atp.itf.lite.backend.model.api.response.ErrorResponseSerializable;
 import org.qubership.atp.itf.lite.backend.model.api.response.RequestExecutionResponse;
 import org.qubership.atp.itf.lite.backend.model.entities.FileBody;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryCursorSearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryRequestBody;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistoryRequestDetailsResponse;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HistorySearchRequest;
 import org.qubership.atp.itf.lite.backend.model.entities.history.HttpRequestExecutionDetails;
 import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecution;
+import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecutionDetails;
 
 import joptsimple.internal.Strings;
 
@@ -46,6 +50,7 @@ public class RequestExecutionHistoryServiceTest {
     private final ThreadLocal<CustomRequestExecutionRepository> customRequestExecutionRepository = new ThreadLocal<>();
     private final ThreadLocal<RequestExecutionRepository> requestExecutionRepository = new ThreadLocal<>();
     private final ThreadLocal<GridFsService> gridFsService = new ThreadLocal<>();
+    private final ThreadLocal<RequestExecutionHistoryWriter> historyWriter = new ThreadLocal<>();
     private final ThreadLocal<RequestExecutionHistoryService> service = new ThreadLocal<>();
 
     private static final String token = Strings.EMPTY;
@@ -61,12 +66,15 @@ public class RequestExecutionHistoryServiceTest {
         RequestExecutionRepository requestExecutionRepositoryMock = mock(RequestExecutionRepository.class);
         GridFsService gridFsServiceMock = mock(GridFsService.class);
         UserService userService = mock(UserService.class);
+        RequestExecutionHistoryWriter historyWriterMock = mock(RequestExecutionHistoryWriter.class);
         detailsRepository.set(detailsRepositoryMock);
         customRequestExecutionRepository.set(customRequestExecutionRepositoryMock);
         requestExecutionRepository.set(requestExecutionRepositoryMock);
         gridFsService.set(gridFsServiceMock);
+        historyWriter.set(historyWriterMock);
         service.set(new RequestExecutionHistoryService(userService, detailsRepositoryMock,
-                customRequestExecutionRepositoryMock, requestExecutionRepositoryMock, gridFsServiceMock));
+                customRequestExecutionRepositoryMock, requestExecutionRepositoryMock, gridFsServiceMock,
+                historyWriterMock));
     }
 
     @Test
@@ -79,10 +87,16 @@ public class RequestExecutionHistoryServiceTest {
         requestBody.setType(httpSavedRequest.getBody().getType());
         HttpRequestExecutionDetails details = new HttpRequestExecutionDetails(
                 execution, httpSavedRequest, response, null, requestBody);
+        RequestExecutionDetails[] collected = new RequestExecutionDetails[1];
+        when(historyWriter.get().getDetails(eq(sseId), any())).thenAnswer(args -> {
+            collected[0] = args.<Supplier<RequestExecutionDetails>>getArgument(1).get();
+            return collected[0];
+        });
         // when
-        service.get().logHttpRequestExecution(token, sseId, httpSavedRequest, response, null, any());
+        service.get().logHttpRequestExecution(token, sseId, httpSavedRequest, response, null, null);
         // then
-        verify(detailsRepository.get()).save(details);
+        assertEquals(details, collected[0]);
+        verify(detailsRepository.get(), times(0)).save(any());
     }
 
     @Test
@@ -99,10 +113,36 @@ public class RequestExecutionHistoryServiceTest {
         requestBody.setBinaryBody(new FileBody(httpSavedRequestWithFile.getFile().getFileName(), fileId));
         HttpRequestExecutionDetails details = new HttpRequestExecutionDetails(
                 execution, httpSavedRequestWithFile, response, null, requestBody);
+        RequestExecutionDetails[] collected = new RequestExecutionDetails[1];
+        when(historyWriter.get().getDetails(eq(sseId), any())).thenAnswer(args -> {
+            collected[0] = args.<Supplier<RequestExecutionDetails>>getArgument(1).get();
+            return collected[0];
+        });
         // when
-        service.get().logHttpRequestExecution(token, sseId, httpSavedRequestWithFile, response, null, any());
+        service.get().logHttpRequestExecution(token, sseId, httpSavedRequestWithFile, response, null, null);
         // then
-        verify(detailsRepository.get()).save(details);
+        assertEquals(details, collected[0]);
+        verify(detailsRepository.get(), times(0)).save(any());
+    }
+
+    @Test
+    public void persistExecutionDetails_sseIdProvided_detailsSubmittedToWriter() {
+        // when
+        service.get().persistExecutionDetails(sseId);
+        // then
+        verify(historyWriter.get()).submit(sseId);
+    }
+
+    @Test
+    public void getExecutionHistoryDetailsBySseId_detailsSubmitted_writerFlushedBeforeRead() {
+        // given
+        HttpRequestExecutionDetails details = new HttpRequestExecutionDetails();
+        when(detailsRepository.get().findByRequestExecutionSseId(sseId)).thenReturn(Optional.of(details));
+        // when
+        RequestExecutionDetails result = service.get().getExecutionHistoryDetailsBySseId(sseId);
+        // then
+        verify(historyWriter.get()).flush(sseId);
+        assertEquals(details, result);
     }
 
     @Test
@@ -115,6 +155,18 @@ public class RequestExecutionHistoryServiceTest {
         verify(customRequestExecutionRepository.get()).findAllRequestExecutions(request);
     }
 
+    @Test
+    public void getExecutionHistoryByCursor_correctRequestProvided_ExecutionHistoryPageReturned() {
+        //given
+        HistoryCursorSearchRequest request = new HistoryCursorSearchRequest();
+        request.setProjectId(projectId);
+        request.setLimit(10);
+        // when
+        service.get().getExecutionHistoryByCursor(request);
+        // then
+        verify(customRequestExecutionRepository.get()).findRequestExecutionsByCursor(request);
+    }
+
     @Test
     public void getExecutionHistoryDetails_correctRequestProvided_ExecutionHistoryDetailsReturned() {
         // given
@@ -0,0 +1,143 @@
+package org.qubership.atp.itf.lite.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.configuration.HistoryWriterProperties;
+import org.qubership.atp.itf.lite.backend.dataaccess.repository.RequestExecutionDetailsRepository;
+import org.qubership.atp.itf.lite.backend.model.entities.history.HttpRequestExecutionDetails;
+import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecution;
+import org.qubership.atp.itf.lite.backend.model.entities.history.RequestExecutionDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.persistence.EntityManager;
+
+public class RequestExecutionHistoryWriterTest {
+
+    private final UUID sseId = UUID.randomUUID();
+    private RequestExecutionDetailsRepository detailsRepository;
+    private EntityManager entityManager;
+    private RequestExecutionHistoryWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        detailsRepository = mock(RequestExecutionDetailsRepository.class);
+        entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        writer = createWriter(10, 100, 0);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        writer.shutdown();
+    }
+
+    @Test
+    public void getDetails_calledTwice_shouldCreateDetailsOnceWithIds() {
+        AtomicInteger created = new AtomicInteger();
+
+        RequestExecutionDetails first = writer.getDetails(sseId, () -> {
+            created.incrementAndGet();
+            return generateDetails();
+        });
+        RequestExecutionDetails second = writer.getDetails(sseId, this::generateDetails);
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertNotNull(first.getId());
+        assertNotNull(first.getRequestExecution().getId());
+        verify(detailsRepository, times(1)).findByRequestExecutionSseId(sseId);
+    }
+
+    @Test
+    public void submit_writerStarted_shouldPersistDetailsBeforeFlushReturns() {
+        writer.start();
+        RequestExecutionDetails details = writer.getDetails(sseId, this::generateDetails);
+
+        writer.submit(sseId);
+        writer.flush(sseId);
+
+        verify(entityManager).persist(details);
+    }
+
+    @Test
+    public void submit_detailsFoundInDatabase_shouldMergeDetails() {
+        RequestExecutionDetails existing = generateDetails();
+        existing.setId(UUID.randomUUID());
+        existing.getRequestExecution().setId(UUID.randomUUID());
+        when(detailsRepository.findByRequestExecutionSseId(sseId)).thenReturn(Optional.of(existing));
+        writer.start();
+
+        writer.getDetails(sseId, this::generateDetails);
+        writer.submit(sseId);
+        writer.flushByExecutionId(existing.getRequestExecution().getId());
+
+        verify(entityManager).merge(existing);
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    public void submit_queueIsFull_shouldPersistDetailsOnCallerThread() {
+        writer = createWriter(1, 100, 0);
+        UUID otherSseId = UUID.randomUUID();
+        writer.getDetails(sseId, this::generateDetails);
+        RequestExecutionDetails other = writer.getDetails(otherSseId, this::generateDetails);
+
+        writer.submit(sseId);
+        writer.submit(otherSseId);
+
+        verify(entityManager).persist(other);
+    }
+
+    @Test
+    public void submit_bodiesExceedQueueSize_shouldPersistDetailsOnCallerThread() {
+        writer = createWriter(10, 1, 0);
+        RequestExecutionDetails details = writer.getDetails(sseId, this::generateDetails);
+        details.setResponseBodyByte(new byte[2 * 1024 * 1024]);
+
+        writer.submit(sseId);
+
+        verify(entityManager).persist(details);
+    }
+
+    @Test
+    public void flushByProjectId_detailsOfProjectSubmitted_shouldPersistDetailsBeforeReturn() {
+        UUID projectId = UUID.randomUUID();
+        writer.start();
+        RequestExecutionDetails details = writer.getDetails(sseId, this::generateDetails);
+        details.getRequestExecution().setProjectId(projectId);
+
+        writer.submit(sseId);
+        writer.flushByProjectId(projectId);
+
+        verify(entityManager).persist(details);
+    }
+
+    private RequestExecutionHistoryWriter createWriter(int queueCapacity, int queueCapacityInMb, long offerTimeoutMs) {
+        HistoryWriterProperties properties = new HistoryWriterProperties(queueCapacity, queueCapacityInMb, 10,
+                offerTimeoutMs, 5000);
+        return new RequestExecutionHistoryWriter(properties, detailsRepository, entityManager,
+                mock(PlatformTransactionManager.class));
+    }
+
+    private RequestExecutionDetails generateDetails() {
+        RequestExecutionDetails details = new HttpRequestExecutionDetails();
+        details.setRequestExecution(new RequestExecution());
+        return details;
+    }
+}
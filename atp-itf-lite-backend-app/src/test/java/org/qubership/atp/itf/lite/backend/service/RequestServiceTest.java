@@ -37,6 +37,7 @@ import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -93,6 +94,7 @@ import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.io.entity.BasicHttpEntity;
 import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.http.protocol.HttpContext;
 import org.apache.tika.mime.MimeTypeException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -178,12 +180,15 @@ import org.qubership.atp.itf.lite.backend.model.entities.http.RequestParam;
 import org.qubership.atp.itf.lite.backend.model.entities.http.methods.HttpMethod;
 import org.qubership.atp.itf.lite.backend.service.context.ExecutorContextEnricher;
 import org.qubership.atp.itf.lite.backend.service.history.iface.DeleteHistoryService;
+import org.qubership.atp.itf.lite.backend.service.rest.HttpClientLease;
 import org.qubership.atp.itf.lite.backend.service.rest.HttpClientService;
 import org.qubership.atp.itf.lite.backend.utils.AuthorizationUtils;
+import org.qubership.atp.itf.lite.backend.utils.OrderUtils;
 import org.qubership.atp.itf.lite.backend.utils.RequestTestUtils;
 import org.qubership.atp.ram.enums.TestingStatuses;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -263,11 +268,13 @@ public class RequestServiceTest {
         RequestExecution requestExecution = new RequestExecution();
         requestExecution.setId(new UUID(0,0));
         requestExecutionDetails.setRequestExecution(requestExecution);
-        lenient().when(detailsRepositoryMock.findByRequestExecutionSseId(any(UUID.class))).thenReturn(Optional.of(requestExecutionDetails));
+        lenient().when(executionHistoryServiceMock.getExecutionDetails(any(), any(), any(UUID.class)))
+                .thenReturn(requestExecutionDetails);
         lenient().when(executionHistoryServiceMock.logRequestJsExecution(any(), any(), any(), any(), anyBoolean()))
                 .thenReturn(new JsExecutionResult(true, null));
         lenient().when(requestResponseSizePropertiesMock.getRequestSizeLimitInMb()).thenReturn(100);
         lenient().when(requestResponseSizePropertiesMock.getResponseSizeLimitInMb()).thenReturn(100);
+        lenient().when(requestResponseSizePropertiesMock.getResponseInMemoryThresholdInKb()).thenReturn(1024);
 
         CurlFormatToRequestConverter curlConverter = spy(new CurlFormatToRequestConverter());
         curlToRequestConverter.set(curlConverter);
@@ -297,7 +304,8 @@ public class RequestServiceTest {
                 folderServiceMock, requestAuthorizationServiceMock, environmentVariableServiceMock,
                 requestSpecificationServiceMock, metricServiceMock, httpClientServiceMock, macrosServiceMock, scriptServiceMock,
                 fileServiceMock, templateResolverServiceMock, ramServiceMock, dynamicVariablesServiceMock, writePermissionsServiceMock,
-                cookieServiceMock, detailsRepositoryMock, nextRequestServiceMock, requestResponseSizePropertiesMock, deleteHistoryServiceMock));
+                cookieServiceMock, detailsRepositoryMock, nextRequestServiceMock, requestResponseSizePropertiesMock, deleteHistoryServiceMock,
+                mock(ProjectTreeCacheService.class)));
     }
 
     @Test
@@ -1562,15 +1570,16 @@ public class RequestServiceTest {
         // when
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         mockTimer(metricService.get());
         RequestExecutionDetails requestExecutionDetails = new RequestExecutionDetails();
         requestExecutionDetails.setId(UUID.randomUUID());
         RequestExecution requestExecution = new RequestExecution();
         requestExecution.setId(UUID.randomUUID());
         requestExecutionDetails.setRequestExecution(requestExecution);
-        when(detailsRepository.get().findByRequestExecutionSseId(any(UUID.class))).thenReturn(Optional.of(requestExecutionDetails));
+        when(executionHistoryService.get().getExecutionDetails(any(), any(), any(UUID.class)))
+                .thenReturn(requestExecutionDetails);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -1594,6 +1603,7 @@ public class RequestServiceTest {
                 .build();
         // then
         assertEquals(expectedResponse, actualResponse);
+        verify(executionHistoryService.get()).persistExecutionDetails(sseId);
     }
 
     @Test
@@ -1659,8 +1669,8 @@ public class RequestServiceTest {
         // when
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -1721,14 +1731,14 @@ public class RequestServiceTest {
         when(response.getReasonPhrase()).thenReturn("OK");
         ArgumentCaptor<HttpUriRequest> httpRequestCaptor = ArgumentCaptor.forClass(HttpUriRequest.class);
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
 
         requestService.get().executeRequest(httpSaveRequest, "", "", sseId,
                 Optional.empty(), httpSaveRequest.getEnvironmentId(), null);
 
         // then
-        verify(httpClient).execute(httpRequestCaptor.capture());
+        verify(httpClient).execute(httpRequestCaptor.capture(), any(HttpContext.class));
         HttpUriRequest request = httpRequestCaptor.getValue();
         Header cookieHeader = request.getFirstHeader("Cookie");
         assertNotNull(cookieHeader);
@@ -1763,8 +1773,8 @@ public class RequestServiceTest {
         when(response.getCode()).thenReturn(HttpStatus.OK.value());
         when(response.getReasonPhrase()).thenReturn("OK");
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
         mockTimer(metricService.get());
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
@@ -1773,7 +1783,7 @@ public class RequestServiceTest {
         requestService.get().executeRequest(request, "", "", sseId, Optional.empty(),
                 request.getEnvironmentId(), null);
         // then
-        verify(httpClient).execute(requestCaptor.capture());
+        verify(httpClient).execute(requestCaptor.capture(), any(HttpContext.class));
         final HttpUriRequestBase capturedRequest = requestCaptor.getValue();
         assertNotNull(capturedRequest.getUri(), "Captured URL shouldn't be null");
         String url = capturedRequest.getUri().toString();
@@ -1798,8 +1808,8 @@ public class RequestServiceTest {
         // when
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenThrow(
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenThrow(
                 new ItfLiteException(expectedExceptionMessage));
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
@@ -1842,8 +1852,8 @@ public class RequestServiceTest {
         // when
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(itfFeignService.get().processVelocity(any(), any())).thenReturn(itfResponse);
         when(feignClientsProperties.get().getIsFeignAtpItfEnabled()).thenReturn(true);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
@@ -1886,8 +1896,8 @@ public class RequestServiceTest {
         // when
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -1933,8 +1943,8 @@ public class RequestServiceTest {
         when(response.getCode()).thenReturn(HttpStatus.OK.value());
         when(response.getReasonPhrase()).thenReturn("OK");
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         HttpRequestEntitySaveRequest httpSaveRequest = generateRandomHttpRequestEntitySaveRequest();
 
         // when
@@ -1947,7 +1957,7 @@ public class RequestServiceTest {
 
         // then
         ArgumentCaptor<HttpUriRequest> requestCaptor = ArgumentCaptor.forClass(HttpUriRequest.class);
-        verify(httpClient).execute(requestCaptor.capture());
+        verify(httpClient).execute(requestCaptor.capture(), any(HttpContext.class));
 
         final HttpUriRequest capturedRequest = requestCaptor.getValue();
         assertNotNull(capturedRequest, "Captured URL shouldn't be null");
@@ -2037,6 +2047,7 @@ public class RequestServiceTest {
                 r6
         ));
         final UUID changedRequestId = r6.getId();
+        when(repository.get().findRootSiblingOrders(projectId, changedRequestId)).thenReturn(asList(0, 1, 2, 3, 4));
         when(repository.get().findAllByProjectIdAndFolderId(projectId, null)).thenReturn(requests);
         // when
         requestService.get().order(changedRequestId, request);
@@ -2049,7 +2060,66 @@ public class RequestServiceTest {
         assertEquals(requests.size(), savedRequests.size(), "Saved requests list size should be equal to fetched from the db");
         final Request changedRequest = requests.get(order);
         assertEquals(changedRequestId, changedRequest.getId(), "Changed request id should be equal to the requested one");
-        assertEquals(order, changedRequest.getOrder(), "Changed request order should be equal to the requested value");
+        assertEquals(OrderUtils.getRebalancedOrder(order), changedRequest.getOrder(),
+                "Changed request order should be equal to the requested position order");
+    }
+
+    @Test
+    void requestsHaveGapAtPosition_testOrder_expectedOnlyChangedRequestSaved() {
+        // given
+        final UUID projectId = UUID.randomUUID();
+        final UUID folderId = UUID.randomUUID();
+        final Request changedRequest = generateHttpRequest("r", projectId, folderId, 0);
+        final UUID changedRequestId = changedRequest.getId();
+        final RequestOrderChangeRequest request = new RequestOrderChangeRequest(projectId, folderId, 2);
+        when(repository.get().findSiblingOrders(projectId, folderId, changedRequestId))
+                .thenReturn(asList(1024, 2048, 3072));
+        when(repository.get().findById(changedRequestId)).thenReturn(Optional.of(changedRequest));
+        when(repository.get().save(changedRequest)).thenReturn(changedRequest);
+        // when
+        requestService.get().order(changedRequestId, request);
+        // then
+        assertEquals(2560, changedRequest.getOrder(), "Changed request should be placed between neighbours");
+        verify(repository.get()).save(changedRequest);
+        verify(repository.get(), never()).saveAll(any());
+        verify(repository.get(), never()).findAllByProjectIdAndFolderId(any(), any());
+    }
+
+    @Test
+    void requestFromAnotherFolder_testOrder_expectedExceptionAndNothingSaved() {
+        // given
+        final UUID projectId = UUID.randomUUID();
+        final UUID folderId = UUID.randomUUID();
+        final Request changedRequest = generateHttpRequest("r", projectId, UUID.randomUUID(), 0);
+        final UUID changedRequestId = changedRequest.getId();
+        final RequestOrderChangeRequest request = new RequestOrderChangeRequest(projectId, folderId, 1);
+        when(repository.get().findSiblingOrders(projectId, folderId, changedRequestId))
+                .thenReturn(asList(1024, 2048));
+        when(repository.get().findById(changedRequestId)).thenReturn(Optional.of(changedRequest));
+        // when, then
+        assertThrows(IllegalStateException.class, () -> requestService.get().order(changedRequestId, request));
+        assertEquals(0, changedRequest.getOrder());
+        verify(repository.get(), never()).save(any());
+    }
+
+    @Test
+    void lastRequestHasMaxOrder_testSetOrder_expectedRequestsRebalancedAndNewRequestPlacedLast() {
+        // given
+        final UUID projectId = UUID.randomUUID();
+        final UUID folderId = UUID.randomUUID();
+        final Request first = generateHttpRequest("r1", projectId, folderId, 0);
+        final Request last = generateHttpRequest("r2", projectId, folderId, Integer.MAX_VALUE);
+        final Request newRequest = generateHttpRequest("r3", projectId, folderId, null);
+        when(repository.get().findMaxOrder(projectId, folderId)).thenReturn(Integer.MAX_VALUE);
+        when(repository.get().findAllByProjectIdAndFolderId(projectId, folderId))
+                .thenReturn(new ArrayList<>(asList(last, first)));
+        // when
+        requestService.get().setOrder(newRequest);
+        // then
+        assertEquals(OrderUtils.getRebalancedOrder(0), first.getOrder());
+        assertEquals(OrderUtils.getRebalancedOrder(1), last.getOrder());
+        assertEquals(OrderUtils.getRebalancedOrder(2), newRequest.getOrder());
+        verify(repository.get()).saveAll(asList(first, last));
     }
 
     @Test
@@ -2087,8 +2157,8 @@ public class RequestServiceTest {
         when(response.getCode()).thenReturn(HttpStatus.OK.value());
         when(response.getReasonPhrase()).thenReturn("OK");
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
 
         requestService.get().executeRequestWithRamAdapterLogging(requestExecuteRequest, httpRequest, null);
     }
@@ -2129,13 +2199,13 @@ public class RequestServiceTest {
         when(response.getReasonPhrase()).thenReturn("OK");
         ArgumentCaptor<HttpUriRequest> httpRequestCaptor = ArgumentCaptor.forClass(HttpUriRequest.class);
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
 
         requestService.get().executeRequestWithRamAdapterLogging(requestExecuteRequest, httpRequest, null);
 
         // then
-        verify(httpClient).execute(httpRequestCaptor.capture());
+        verify(httpClient).execute(httpRequestCaptor.capture(), any(HttpContext.class));
         HttpUriRequest request = httpRequestCaptor.getValue();
         Header cookieHeader = request.getFirstHeader("Cookie");
         assertNotNull(cookieHeader);
@@ -2151,8 +2221,8 @@ public class RequestServiceTest {
         // when
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenThrow(new ItfLiteHttpRequestExecuteException());
+        when(httpClientService.get().acquireHttpClient(any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenThrow(new ItfLiteHttpRequestExecuteException());
         // then
         ExecuteStepResponse res = requestService.get().executeRequestWithRamAdapterLogging(requestExecuteRequest,
                 httpRequest, null);
@@ -2249,8 +2319,8 @@ public class RequestServiceTest {
         // when
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -2304,8 +2374,8 @@ public class RequestServiceTest {
         when(response.getEntity().getContent()).thenReturn(new ByteArrayInputStream(new byte[11534336]));
         when(response.getEntity().getContentLength()).thenReturn(10L);
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(requestResponseSizeProperties.get().getResponseSizeLimitInMb()).thenReturn(1);
         // then
         assertThrows(ItfLiteResponseSizeLimitException.class, () -> requestService.get().executeRequest(
@@ -2335,8 +2405,8 @@ public class RequestServiceTest {
         when(response.getEntity()).thenReturn(entity);
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -2374,7 +2444,7 @@ public class RequestServiceTest {
         assertEquals(expectedResponse, actualResponse);
         ArgumentCaptor<HttpUriRequestBase> requestCapture =
                 ArgumentCaptor.forClass(HttpUriRequestBase.class);
-        verify(httpClient, times(1)).execute(requestCapture.capture());
+        verify(httpClient, times(1)).execute(requestCapture.capture(), any(HttpContext.class));
         HttpUriRequestBase httpRequest = requestCapture.getValue();
         assertTrue(httpRequest.getHeaders("Content-Type")[0].getValue().contains("boundary"));
     }
@@ -2402,8 +2472,8 @@ public class RequestServiceTest {
         when(response.getEntity()).thenReturn(entity);
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -2441,7 +2511,7 @@ public class RequestServiceTest {
         assertEquals(expectedResponse, actualResponse);
         ArgumentCaptor<HttpUriRequestBase> requestCapture =
                 ArgumentCaptor.forClass(HttpUriRequestBase.class);
-        verify(httpClient, times(1)).execute(requestCapture.capture());
+        verify(httpClient, times(1)).execute(requestCapture.capture(), any(HttpContext.class));
         HttpUriRequestBase httpRequest = requestCapture.getValue();
         assertTrue(httpRequest.getHeaders("Content-Type")[0].getValue().contains("boundary=test"));
     }
@@ -2468,8 +2538,8 @@ public class RequestServiceTest {
         when(response.getCode()).thenReturn(HttpStatus.OK.value());
         when(response.getReasonPhrase()).thenReturn("OK");
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -2516,8 +2586,8 @@ public class RequestServiceTest {
         when(response.getEntity()).thenReturn(entity);
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         mockTimer(metricService.get());
         List<ContextVariable> expectedGlobalVariables = new ArrayList<>();
         expectedGlobalVariables.add(new ContextVariable("key_1", "value_1", ContextVariableType.GLOBAL));
@@ -2573,8 +2643,8 @@ public class RequestServiceTest {
         when(response.getEntity()).thenReturn(entity);
         mockTimer(metricService.get());
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -2600,8 +2670,8 @@ public class RequestServiceTest {
                 new BasicHeader("Content-Type", "application/json")
         });
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any())).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(), any(HttpContext.class))).thenReturn(response);
 
         requestService.get().executeHttpRequest(UUID.randomUUID(), httpSaveRequest, null, Optional.of(testFile),
                 RequestTestUtils.generateContext(), null, new RequestRuntimeOptions());
@@ -2628,8 +2698,8 @@ public class RequestServiceTest {
 
         // when
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any())).thenReturn(responseWithCharset).thenReturn(responseWithoutCharset);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(), any(HttpContext.class))).thenReturn(responseWithCharset).thenReturn(responseWithoutCharset);
 
         RequestExecutionResponse actualResponseWithCharset = requestService.get().executeHttpRequest(UUID.randomUUID(),
                 httpSaveRequest,
@@ -2656,8 +2726,8 @@ public class RequestServiceTest {
         CloseableHttpResponse response = mock(CloseableHttpResponse.class);
         // when
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any())).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(), any(HttpContext.class))).thenReturn(response);
         when(response.getCode()).thenReturn(HttpStatus.OK.value());
         when(response.getReasonPhrase()).thenReturn("OK");
         when(response.getHeaders()).thenReturn(new Header[]{
@@ -2669,7 +2739,7 @@ public class RequestServiceTest {
         // then
         ArgumentCaptor<HttpUriRequestBase> requestCaptor =
                 ArgumentCaptor.forClass(HttpUriRequestBase.class);
-        verify(httpClient, times(1)).execute(requestCaptor.capture());
+        verify(httpClient, times(1)).execute(requestCaptor.capture(), any(HttpContext.class));
         HttpUriRequestBase request = requestCaptor.getValue();
 
         String actualFullUrl = request.getScheme() + "://" + request.getAuthority() + request.getRequestUri();
@@ -2691,8 +2761,8 @@ public class RequestServiceTest {
         CloseableHttpResponse response = mock(CloseableHttpResponse.class);
         // when
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any())).thenReturn(httpClient);
-        when(httpClient.execute(any())).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(), any(HttpContext.class))).thenReturn(response);
         when(response.getCode()).thenReturn(HttpStatus.OK.value());
         when(response.getReasonPhrase()).thenReturn("OK");
         when(response.getHeaders()).thenReturn(new Header[]{
@@ -2866,7 +2936,8 @@ public class RequestServiceTest {
         String expectedHeaderValue = "attachment; filename=\"%s\"".formatted("Request_with_spaces_" + timeStamp + ".json");
         // when
         when(detailsRepository.get().findByRequestExecutionByExecutionId(any())).thenReturn(Optional.of(details));
-        requestService.get().writeResponseAsFile(UUID.randomUUID(), UUID.randomUUID(), responseMock);
+        requestService.get().writeResponseAsFile(UUID.randomUUID(), UUID.randomUUID(), new MockHttpServletRequest(),
+                responseMock);
 
         // then
         assertEquals(response.getBody(), responseMock.getContentAsString());
@@ -2895,7 +2966,8 @@ public class RequestServiceTest {
         String expectedHeaderValue = "attachment; filename=\"%s\"".formatted("Request_with_spaces_" + timeStamp + ".xlsx");
         // when
         when(detailsRepository.get().findByRequestExecutionByExecutionId(any())).thenReturn(Optional.of(details));
-        requestService.get().writeResponseAsFile(UUID.randomUUID(), UUID.randomUUID(), responseMock);
+        requestService.get().writeResponseAsFile(UUID.randomUUID(), UUID.randomUUID(), new MockHttpServletRequest(),
+                responseMock);
 
         // then
         assertArrayEquals(response.getBody().getBytes(StandardCharsets.UTF_8),
@@ -2923,8 +2995,8 @@ public class RequestServiceTest {
         when(response.getReasonPhrase()).thenReturn("OK");
 
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -2971,8 +3043,8 @@ public class RequestServiceTest {
         when(response.getCode()).thenReturn(HttpStatus.OK.value());
         when(response.getReasonPhrase()).thenReturn("OK");
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -3024,8 +3096,8 @@ public class RequestServiceTest {
         when(response.getCode()).thenReturn(HttpStatus.OK.value());
         when(response.getReasonPhrase()).thenReturn("OK");
         CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
-        when(httpClientService.get().getHttpClient(any(), any(), any(), any())).thenReturn(httpClient);
-        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(response);
+        when(httpClientService.get().acquireHttpClient(any(), any(), any())).thenReturn(lease(httpClient));
+        when(httpClient.execute(any(HttpUriRequest.class), any(HttpContext.class))).thenReturn(response);
         when(scriptService.get().evaluateRequestPreScript(any(), any()))
                 .thenReturn(new PostmanExecuteScriptResponseDto().hasNextRequest(false));
         when(scriptService.get().evaluateRequestPostScript(any(), any(), any()))
@@ -3053,4 +3125,9 @@ public class RequestServiceTest {
         assertThat(historyBody).contains(plainMacroResult);
         assertThat(historyBody).doesNotContain("$RAND");
     }
+
+    private HttpClientLease lease(CloseableHttpClient httpClient) {
+        return new HttpClientLease(httpClient, () -> {
+        });
+    }
 }
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -16,6 +17,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -31,11 +33,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.qubership.atp.integration.configuration.service.NotificationService;
 import org.qubership.atp.itf.lite.backend.configuration.MapperConfiguration;
+import org.qubership.atp.itf.lite.backend.configuration.RequestResponseSizeProperties;
 import org.qubership.atp.itf.lite.backend.configuration.SseProperties;
 import org.qubership.atp.itf.lite.backend.enums.ContextVariableType;
 import org.qubership.atp.itf.lite.backend.exceptions.ExceptionConstants;
 import org.qubership.atp.itf.lite.backend.exceptions.ItfLiteException;
 import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteHttpRequestExecuteException;
+import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteSseEmittersLimitException;
 import org.qubership.atp.itf.lite.backend.mocks.EntitiesGenerator;
 import org.qubership.atp.itf.lite.backend.model.api.dto.ResponseCookie;
 import org.qubership.atp.itf.lite.backend.model.api.kafka.ItfLiteExecutionFinishEvent;
@@ -74,7 +78,8 @@ public class SseEmitterServiceTest {
         SseProperties ssePropertiesMock = mock(SseProperties.class);
         SseEmitterService sseEmitterServiceMock = new SseEmitterService(requestServiceMock, notificationServiceMock,
                 kafkaExecutionFinishSendingServiceMock, requestExecutionHistoryServiceMock, modelMapper,
-                ssePropertiesMock, mock(GridFsService.class));
+                ssePropertiesMock, mock(GridFsService.class), mock(MetricService.class),
+                new RequestResponseSizeProperties(10, 10, 1));
 
         requestService.set(requestServiceMock);
         kafkaExecutionFinishSendingService.set(kafkaExecutionFinishSendingServiceMock);
@@ -114,6 +119,34 @@ public class SseEmitterServiceTest {
         assertEquals("test", response.getBody());
     }
 
+    @Test
+    public void fillHttpExecutionResponse_bigResponseBody_setPreviewOfBody() {
+        RequestExecutionResponse response = new RequestExecutionResponse();
+        HttpRequestExecutionDetails httpExecutionDetails = new HttpRequestExecutionDetails();
+        httpExecutionDetails.setRequestExecution(new RequestExecution());
+        httpExecutionDetails.setResponseBodyByte("a".repeat(1500).getBytes(StandardCharsets.UTF_8));
+
+        sseEmitterService.get().fillHttpExecutionResponse(httpExecutionDetails, UUID.randomUUID(), response);
+
+        assertTrue(response.isBodyTruncated());
+        assertEquals("a".repeat(1024), response.getBody());
+    }
+
+    @Test
+    public void fillHttpExecutionResponse_binaryResponseBody_decodedWithResponseCharset() {
+        RequestExecutionResponse response = new RequestExecutionResponse();
+        HttpRequestExecutionDetails httpExecutionDetails = new HttpRequestExecutionDetails();
+        httpExecutionDetails.setRequestExecution(new RequestExecution());
+        httpExecutionDetails.setResponseHeaders(Collections.singletonMap("Content-Type",
+                Collections.singletonList("application/octet-stream; charset=ISO-8859-1")));
+        httpExecutionDetails.setResponseBodyByte("caf\u00e9".getBytes(StandardCharsets.ISO_8859_1));
+
+        sseEmitterService.get().fillHttpExecutionResponse(httpExecutionDetails, UUID.randomUUID(), response);
+
+        assertFalse(response.isBodyTruncated());
+        assertEquals("caf\u00e9", response.getBody());
+    }
+
     @Test
     public void fillHttpExecutionResponse_successfullySetResponseHeaders() {
         // given
@@ -175,6 +208,54 @@ public class SseEmitterServiceTest {
         assertNull(actualEmitter);
     }
 
+    @Test
+    public void generateAndConfigureEmitterTest_userEmittersLimitReached_oldestEmitterCompleted() {
+        // given
+        final UUID userId = UUID.randomUUID();
+        final UUID oldestSseId = UUID.randomUUID();
+        final UUID sseId = UUID.randomUUID();
+        final UUID newSseId = UUID.randomUUID();
+        when(sseProperties.get().getSseEmitterTimeout()).thenReturn(10000L);
+        when(sseProperties.get().getMaxEmittersPerUser()).thenReturn(2);
+        sseEmitterService.get().generateAndConfigureEmitter(oldestSseId, userId);
+        sseEmitterService.get().generateAndConfigureEmitter(sseId, userId);
+        sseEmitterService.get().generateAndConfigureEmitter(UUID.randomUUID(), UUID.randomUUID());
+        // when
+        sseEmitterService.get().generateAndConfigureEmitter(newSseId, userId);
+        // then
+        assertNull(sseEmitterService.get().getEmitter(oldestSseId));
+        assertNotNull(sseEmitterService.get().getEmitter(sseId));
+        assertNotNull(sseEmitterService.get().getEmitter(newSseId));
+    }
+
+    @Test
+    public void generateAndConfigureEmitterTest_podEmittersLimitReached_exceptionThrown() {
+        // given
+        when(sseProperties.get().getSseEmitterTimeout()).thenReturn(10000L);
+        when(sseProperties.get().getMaxEmitters()).thenReturn(1);
+        sseEmitterService.get().generateAndConfigureEmitter(UUID.randomUUID(), UUID.randomUUID());
+        // when, then
+        assertThrows(ItfLiteSseEmittersLimitException.class,
+                () -> sseEmitterService.get().generateAndConfigureEmitter(UUID.randomUUID(), UUID.randomUUID()));
+    }
+
+    @Test
+    public void pingEmittersTest_emitterIsCompleted_emitterRemoved() {
+        // given
+        final UUID completedSseId = UUID.randomUUID();
+        final UUID sseId = UUID.randomUUID();
+        when(sseProperties.get().getSseEmitterTimeout()).thenReturn(10000L);
+        when(sseProperties.get().getSseEmitterPingBatchSize()).thenReturn(1);
+        when(sseProperties.get().getSseEmitterPingSendTimeout()).thenReturn(10000L);
+        sseEmitterService.get().generateAndConfigureEmitter(completedSseId, UUID.randomUUID()).complete();
+        sseEmitterService.get().generateAndConfigureEmitter(sseId, UUID.randomUUID());
+        // when
+        sseEmitterService.get().pingEmitters().join();
+        // then
+        assertNull(sseEmitterService.get().getEmitter(completedSseId));
+        assertNotNull(sseEmitterService.get().getEmitter(sseId));
+    }
+
     @Test
     public void emitterCompleteWithErrorTest_sendNotification() {
         // given
@@ -1,9 +1,13 @@
 package org.qubership.atp.itf.lite.backend.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,8 +17,12 @@ import org.qubership.atp.crypt.api.Decryptor;
 import org.qubership.atp.crypt.exception.AtpDecryptException;
 import org.qubership.atp.itf.lite.backend.components.replacer.ContextVariablesReplacer;
 import org.qubership.atp.itf.lite.backend.components.replacer.EnvironmentReplacer;
+import org.qubership.atp.itf.lite.backend.components.replacer.ParsedTemplateCache;
+import org.qubership.atp.itf.lite.backend.configuration.TemplateCacheProperties;
 import org.qubership.atp.itf.lite.backend.mocks.EntitiesGenerator;
 import org.qubership.atp.itf.lite.backend.model.api.request.HttpRequestEntitySaveRequest;
+import org.qubership.atp.itf.lite.backend.model.context.SaveRequestResolvingContext;
+import org.qubership.atp.macros.core.processor.Evaluator;
 
 @ExtendWith(MockitoExtension.class)
 public class TemplateResolverServiceTest {
@@ -35,7 +43,8 @@ public class TemplateResolverServiceTest {
         templateResolverService.set(new TemplateResolverService(
                 contextVariablesReplacerMock,
                 environmentReplacerMock,
-                decryptorMock
+                decryptorMock,
+                new ParsedTemplateCache(new TemplateCacheProperties())
         ));
     }
 
@@ -56,4 +65,52 @@ public class TemplateResolverServiceTest {
         Assertions.assertEquals(request.getUrl(), "test");
     }
 
+    @Test
+    public void resolveTemplatesWithOrder_contextAndEnvironmentVariables_resolvedInOnePass() throws AtpDecryptException {
+        // given
+        EncryptionService encryptionService = mock(EncryptionService.class);
+        when(encryptionService.decryptIfEncrypted(anyString())).thenAnswer(args -> args.getArgument(0));
+        TemplateResolverService service = new TemplateResolverService(new ContextVariablesReplacer(encryptionService),
+                new EnvironmentReplacer(), decryptor.get(), new ParsedTemplateCache(new TemplateCacheProperties()));
+        Evaluator evaluator = mock(Evaluator.class);
+        when(evaluator.evaluate(anyString(), any())).thenAnswer(args -> args.getArgument(0));
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("host", "${ENV.QA.http.host}");
+        variables.put("id", "1");
+        Map<String, Object> environmentVariables = new HashMap<>();
+        environmentVariables.put("qa.http.host", "localhost");
+        environmentVariables.put("qa.http.port", "8080");
+        SaveRequestResolvingContext context = SaveRequestResolvingContext.builder()
+                .variables(variables)
+                .environmentVariables(environmentVariables)
+                .build();
+        HttpRequestEntitySaveRequest request = EntitiesGenerator.generateRandomHttpRequestEntitySaveRequest();
+        request.setUrl("http://{{host}}:${ENV.qa.http.port}/items/${id}?q=${unknown}");
+        // when
+        service.resolveTemplatesWithOrder(request, context, evaluator);
+        // then
+        Assertions.assertEquals("http://localhost:8080/items/1?q=${unknown}", request.getUrl());
+    }
+
+    @Test
+    public void resolveTemplatesWithOrderMasked_encryptedVariable_maskedValueReturned() {
+        // given
+        EncryptionService encryptionService = mock(EncryptionService.class);
+        when(encryptionService.isEncrypted("secret")).thenReturn(true);
+        TemplateResolverService service = new TemplateResolverService(new ContextVariablesReplacer(encryptionService),
+                new EnvironmentReplacer(), decryptor.get(), new ParsedTemplateCache(new TemplateCacheProperties()));
+        Evaluator evaluator = mock(Evaluator.class);
+        when(evaluator.evaluate(anyString(), any())).thenAnswer(args -> args.getArgument(0));
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("password", "secret");
+        SaveRequestResolvingContext context = SaveRequestResolvingContext.builder()
+                .variables(variables)
+                .build();
+        HttpRequestEntitySaveRequest request = EntitiesGenerator.generateRandomHttpRequestEntitySaveRequest();
+        request.setUrl("http://localhost/login?password=${password}");
+        // when
+        service.resolveTemplatesWithOrderMasked(request, context, evaluator);
+        // then
+        Assertions.assertEquals("http://localhost/login?password=***", request.getUrl());
+    }
 }
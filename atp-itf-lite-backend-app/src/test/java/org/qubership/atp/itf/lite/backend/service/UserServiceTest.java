@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.qubership.atp.auth.springbootstarter.entities.UserInfo;
 import org.qubership.atp.itf.lite.backend.configuration.MapperConfiguration;
+import org.qubership.atp.itf.lite.backend.configuration.UserInfoCacheProperties;
 import org.qubership.atp.itf.lite.backend.dataaccess.repository.UserSettingsRepository;
 import org.qubership.atp.itf.lite.backend.mocks.EntitiesGenerator;
 import org.qubership.atp.itf.lite.backend.model.entities.user.UserSettings;
@@ -38,7 +41,8 @@ public class UserServiceTest {
         UserSettingsRepository repositoryMock = mock(UserSettingsRepository.class);
         m2mRestTemplate.set(m2mRestTemplateMock);
         repository.set(repositoryMock);
-        service.set(new UserService(m2mRestTemplateMock, repositoryMock, modelMapper));
+        service.set(new UserService(m2mRestTemplateMock, repositoryMock, modelMapper,
+                new UserInfoCacheProperties()));
     }
 
     @Test
@@ -110,4 +114,50 @@ public class UserServiceTest {
         // then
         assertNull(actualUserInfo);
     }
+
+    @Test
+    public void getUserInfoByToken_calledTwiceForSameUser_usersServiceCalledOnce() {
+        // given
+        String jwtToken = JwtTokenUtils.generateJwtTokenWithUserId(UUID.randomUUID(), service.get().sub);
+        UserInfo expectedUserInfo = new UserInfo();
+        expectedUserInfo.setUsername("username");
+        // when
+        when(m2mRestTemplate.get().getForObject(any(String.class), any())).thenReturn(expectedUserInfo);
+        service.get().getUserInfoByToken(jwtToken);
+        UserInfo actualUserInfo = service.get().getUserInfoByToken(jwtToken);
+
+        // then
+        assertEquals(expectedUserInfo, actualUserInfo);
+        verify(m2mRestTemplate.get(), times(1)).getForObject(any(String.class), any());
+    }
+
+    @Test
+    public void getUserInfoByToken_usersServiceFailed_failureCachedForNextCall() {
+        // given
+        String jwtToken = JwtTokenUtils.generateJwtTokenWithUserId(UUID.randomUUID(), service.get().sub);
+        // when
+        doThrow(new RuntimeException("RuntimeExceptionMessage")).when(m2mRestTemplate.get()).getForObject(any(), any());
+        service.get().getUserInfoByToken(jwtToken);
+        UserInfo actualUserInfo = service.get().getUserInfoByToken(jwtToken);
+
+        // then
+        assertNull(actualUserInfo);
+        verify(m2mRestTemplate.get(), times(1)).getForObject(any(), any());
+    }
+
+    @Test
+    public void getUserInfoByToken_tokenContainsUserName_usersServiceNotCalled() {
+        // given
+        UUID userId = UUID.randomUUID();
+        String jwtToken = JwtTokenUtils.generateJwtTokenWithUserName(userId, "username", "First", "Last");
+        // when
+        UserInfo actualUserInfo = service.get().getUserInfoByToken(jwtToken);
+
+        // then
+        assertEquals(userId, actualUserInfo.getId());
+        assertEquals("username", actualUserInfo.getUsername());
+        assertEquals("First", actualUserInfo.getFirstName());
+        assertEquals("Last", actualUserInfo.getLastName());
+        verify(m2mRestTemplate.get(), never()).getForObject(any(String.class), any());
+    }
 }
@@ -2,6 +2,8 @@ package org.qubership.atp.itf.lite.backend.service.kafka.listeners;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.io.IOException;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.parallel.Isolated;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.qubership.atp.itf.lite.backend.mocks.EntitiesGenerator;
 import org.qubership.atp.itf.lite.backend.service.CertificateService;
+import org.qubership.atp.itf.lite.backend.service.rest.HttpClientService;
 import org.qubership.atp.itf.lite.backend.utils.FileUtils;
 import org.slf4j.LoggerFactory;
 
@@ -24,9 +27,11 @@ import ch.qos.logback.core.read.ListAppender;
 
 @ExtendWith(MockitoExtension.class)
 @Isolated
-public class ProjectEventKafkaListenerTest {
+public class ProjectCertificateKafkaListenerTest {
 
-    private static final ProjectEventKafkaListener eventListener = new ProjectEventKafkaListener();
+    private static final HttpClientService httpClientService = mock(HttpClientService.class);
+    private static final ProjectCertificateKafkaListener eventListener =
+            new ProjectCertificateKafkaListener(httpClientService);
     private UUID projectId;
 
     @BeforeEach
@@ -50,6 +55,7 @@ public class ProjectEventKafkaListenerTest {
         //then
         assertTrue(file.getParentFile().exists());
         assertFalse(file.exists());
+        verify(httpClientService).evictProjectHttpClients(projectId);
     }
 
     @Test
@@ -57,7 +63,7 @@ public class ProjectEventKafkaListenerTest {
         //when
         ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
         listAppender.start();
-        ((Logger) LoggerFactory.getLogger(ProjectEventKafkaListener.class)).addAppender(listAppender);
+        ((Logger) LoggerFactory.getLogger(ProjectCertificateKafkaListener.class)).addAppender(listAppender);
 
         eventListener.listen(EntitiesGenerator.generateRandomProjectEvent(projectId));
 
@@ -2,14 +2,21 @@ package org.qubership.atp.itf.lite.backend.service.rest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
 import java.util.UUID;
 
+import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +31,7 @@ import org.qubership.atp.itf.lite.backend.mocks.EntitiesGenerator;
 import org.qubership.atp.itf.lite.backend.model.RequestRuntimeOptions;
 import org.qubership.atp.itf.lite.backend.service.CertificateService;
 import org.qubership.atp.itf.lite.backend.service.EncryptionService;
+import org.qubership.atp.itf.lite.backend.service.MetricService;
 
 @ExtendWith(MockitoExtension.class)
 public class HttpClientServiceTest {
@@ -31,6 +39,7 @@ public class HttpClientServiceTest {
     private final ThreadLocal<HttpClientProperties> httpClientProperties = new ThreadLocal<>();
     private final ThreadLocal<CertificateService> certificateService = new ThreadLocal<>();
     private final ThreadLocal<EncryptionService> encryptionService = new ThreadLocal<>();
+    private final ThreadLocal<MetricService> metricService = new ThreadLocal<>();
     private final ThreadLocal<HttpClientService> httpClientService = new ThreadLocal<>();
 
     @BeforeEach
@@ -38,10 +47,13 @@ public class HttpClientServiceTest {
         HttpClientProperties httpClientPropertiesMock = mock(HttpClientProperties.class);
         CertificateService certificateServiceMock = mock(CertificateService.class);
         EncryptionService encryptionServiceMock = mock(EncryptionService.class);
+        MetricService metricServiceMock = mock(MetricService.class);
         httpClientProperties.set(httpClientPropertiesMock);
         certificateService.set(certificateServiceMock);
         encryptionService.set(encryptionServiceMock);
-        httpClientService.set(new HttpClientService(httpClientPropertiesMock, certificateServiceMock, encryptionServiceMock));
+        metricService.set(metricServiceMock);
+        httpClientService.set(new HttpClientService(httpClientPropertiesMock, certificateServiceMock,
+                encryptionServiceMock, metricServiceMock));
     }
 
     @Test
@@ -56,9 +68,9 @@ public class HttpClientServiceTest {
         when(httpClientProperties.get().getMaxTotalConnections()).thenReturn(2);
         when(encryptionService.get().decryptIfEncrypted(any())).thenReturn("password");
         when(certificateService.get().getCertificate(any())).thenReturn(cert);
-        when(certificateService.get().getCertificateVerificationFile(any()))
+        when(certificateService.get().getCertificateVerificationFile(any(), any()))
                 .thenReturn(new File("./src/test/resources/identity.jks"));
-        CloseableHttpClient result  = httpClientService.get().getHttpClient(projectId);
+        CloseableHttpClient result  = httpClientService.get().acquireHttpClient(projectId).getClient();
 
         //then
         assertNotNull(result);
@@ -76,9 +88,9 @@ public class HttpClientServiceTest {
         when(httpClientProperties.get().getMaxTotalConnections()).thenReturn(2);
         when(encryptionService.get().decryptIfEncrypted(any())).thenReturn("password");
         when(certificateService.get().getCertificate(any())).thenReturn(cert);
-        when(certificateService.get().getClientCertificateFile(any()))
+        when(certificateService.get().getClientCertificateFile(any(), any()))
                 .thenReturn(new File("./src/test/resources/identity.jks"));
-        CloseableHttpClient result  = httpClientService.get().getHttpClient(projectId);
+        CloseableHttpClient result  = httpClientService.get().acquireHttpClient(projectId).getClient();
 
         //then
         assertNotNull(result);
@@ -96,12 +108,13 @@ public class HttpClientServiceTest {
         when(httpClientProperties.get().getMaxTotalConnections()).thenReturn(2);
         when(encryptionService.get().decryptIfEncrypted(any())).thenReturn("password");
         when(certificateService.get().getCertificate(any())).thenReturn(cert);
-        when(certificateService.get().getClientCertificateFile(any()))
+        when(certificateService.get().getClientCertificateFile(any(), any()))
                 .thenReturn(new File("./src/test/resources/identity.jks"));
 
         RequestRuntimeOptions runtimeOptions = new RequestRuntimeOptions();
         runtimeOptions.setDisableFollowingRedirect(true);
-        CloseableHttpClient result  = httpClientService.get().getHttpClient(projectId, runtimeOptions);
+        CloseableHttpClient result  =
+                httpClientService.get().acquireHttpClient(projectId, runtimeOptions, "").getClient();
 
         //then
         assertNotNull(result);
@@ -119,12 +132,13 @@ public class HttpClientServiceTest {
         when(httpClientProperties.get().getMaxTotalConnections()).thenReturn(2);
         when(encryptionService.get().decryptIfEncrypted(any())).thenReturn("password");
         when(certificateService.get().getCertificate(any())).thenReturn(cert);
-        when(certificateService.get().getClientCertificateFile(any()))
+        when(certificateService.get().getClientCertificateFile(any(), any()))
                 .thenReturn(new File("./src/test/resources/identity.jks"));
 
         RequestRuntimeOptions runtimeOptions = new RequestRuntimeOptions();
         runtimeOptions.setDisableSslCertificateVerification(true);
-        CloseableHttpClient result  = httpClientService.get().getHttpClient(projectId, runtimeOptions);
+        CloseableHttpClient result  =
+                httpClientService.get().acquireHttpClient(projectId, runtimeOptions, "").getClient();
 
         //then
         assertNotNull(result);
@@ -144,12 +158,110 @@ public class HttpClientServiceTest {
 
         RequestRuntimeOptions runtimeOptions = new RequestRuntimeOptions();
         runtimeOptions.setDisableSslClientCertificate(true);
-        CloseableHttpClient result  = httpClientService.get().getHttpClient(projectId, runtimeOptions);
+        CloseableHttpClient result  =
+                httpClientService.get().acquireHttpClient(projectId, runtimeOptions, "").getClient();
 
         //then
         assertNotNull(result);
     }
 
+    @Test
+    public void getHttpClient_whenSameProjectAndOptions_shouldReuseClient() {
+        //given
+        final UUID projectId = UUID.randomUUID();
+        RequestRuntimeOptions runtimeOptions = new RequestRuntimeOptions();
+        runtimeOptions.setDisableSslCertificateVerification(true);
+        runtimeOptions.setDisableSslClientCertificate(true);
+
+        //when
+        when(httpClientProperties.get().getMaxTotalConnections()).thenReturn(2);
+        CloseableHttpClient first =
+                httpClientService.get().acquireHttpClient(projectId, runtimeOptions, "").getClient();
+        CloseableHttpClient second =
+                httpClientService.get().acquireHttpClient(projectId, runtimeOptions, "").getClient();
+        RequestRuntimeOptions noRedirectOptions = new RequestRuntimeOptions();
+        noRedirectOptions.setDisableSslCertificateVerification(true);
+        noRedirectOptions.setDisableSslClientCertificate(true);
+        noRedirectOptions.setDisableFollowingRedirect(true);
+        CloseableHttpClient noRedirect =
+                httpClientService.get().acquireHttpClient(projectId, noRedirectOptions, "").getClient();
+
+        //then
+        assertSame(first, second);
+        assertNotSame(first, noRedirect);
+        verify(certificateService.get(), never()).getCertificate(any());
+    }
+
+    @Test
+    public void getHttpClient_whenOnlyRedirectPolicyDiffers_shouldReuseSslContext() throws AtpDecryptException {
+        //given
+        final UUID projectId = UUID.randomUUID();
+        CertificateDto cert = EntitiesGenerator.generateRandomCertificate();
+        cert.setProtocol("TLS");
+        cert.setEnableCertificateVerification(true);
+        cert.setEnableClientCertificate(false);
+        RequestRuntimeOptions noRedirectOptions = new RequestRuntimeOptions();
+        noRedirectOptions.setDisableFollowingRedirect(true);
+
+        //when
+        when(httpClientProperties.get().getMaxTotalConnections()).thenReturn(2);
+        when(encryptionService.get().decryptIfEncrypted(any())).thenReturn("password");
+        when(certificateService.get().getCertificate(any())).thenReturn(cert);
+        when(certificateService.get().getCertificateVerificationFile(any(), any()))
+                .thenReturn(new File("./src/test/resources/identity.jks"));
+        httpClientService.get().acquireHttpClient(projectId).getClient();
+        httpClientService.get().acquireHttpClient(projectId, noRedirectOptions, "").getClient();
+
+        //then
+        verify(certificateService.get()).getCertificateVerificationFile(any(), any());
+        verify(metricService.get()).registerCacheMiss(any());
+        verify(metricService.get()).registerCacheHit(any());
+    }
+
+    @Test
+    public void evictProjectHttpClients_shouldCreateNewClientForProject() {
+        //given
+        final UUID projectId = UUID.randomUUID();
+        RequestRuntimeOptions runtimeOptions = new RequestRuntimeOptions();
+        runtimeOptions.setDisableSslCertificateVerification(true);
+        runtimeOptions.setDisableSslClientCertificate(true);
+
+        //when
+        when(httpClientProperties.get().getMaxTotalConnections()).thenReturn(2);
+        CloseableHttpClient beforeEviction =
+                httpClientService.get().acquireHttpClient(projectId, runtimeOptions, "").getClient();
+        httpClientService.get().evictProjectHttpClients(projectId);
+        CloseableHttpClient afterEviction =
+                httpClientService.get().acquireHttpClient(projectId, runtimeOptions, "").getClient();
+
+        //then
+        assertNotSame(beforeEviction, afterEviction);
+    }
+
+    @Test
+    public void evictProjectHttpClients_whenClientIsLeased_shouldCloseClientWhenLeaseIsClosed() throws Exception {
+        //given
+        final UUID projectId = UUID.randomUUID();
+        RequestRuntimeOptions runtimeOptions = new RequestRuntimeOptions();
+        runtimeOptions.setDisableSslCertificateVerification(true);
+        runtimeOptions.setDisableSslClientCertificate(true);
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        HttpGet request = new HttpGet("http://localhost:" + closedPort);
+
+        //when
+        when(httpClientProperties.get().getMaxTotalConnections()).thenReturn(2);
+        HttpClientLease lease = httpClientService.get().acquireHttpClient(projectId, runtimeOptions, "");
+        httpClientService.get().evictProjectHttpClients(projectId);
+
+        //then
+        assertThrows(IOException.class, () -> lease.getClient().execute(request));
+        lease.close();
+        assertThrows(IllegalStateException.class, () -> lease.getClient().execute(request));
+    }
+
     @Test
     public void whenNoCertFile_returnError() throws AtpDecryptException {
         //given
@@ -163,7 +275,7 @@ public class HttpClientServiceTest {
         when(certificateService.get().getCertificate(any())).thenReturn(cert);
         ItfLiteSslCertificateVerificationFileException exception = assertThrows(
                 ItfLiteSslCertificateVerificationFileException.class,
-                () -> httpClientService.get().getHttpClient(projectId));
+                () -> httpClientService.get().acquireHttpClient(projectId).getClient());
 
         //then
         String expectedErrorMessage = ItfLiteSslCertificateVerificationFileException.DEFAULT_MESSAGE;
@@ -183,7 +295,7 @@ public class HttpClientServiceTest {
         when(certificateService.get().getCertificate(any())).thenReturn(cert);
         ItfLiteSslClientVerificationFileException exception = assertThrows(
                 ItfLiteSslClientVerificationFileException.class,
-                () -> httpClientService.get().getHttpClient(projectId));
+                () -> httpClientService.get().acquireHttpClient(projectId).getClient());
 
         //then
         String expectedErrorMessage = ItfLiteSslClientVerificationFileException.DEFAULT_MESSAGE;
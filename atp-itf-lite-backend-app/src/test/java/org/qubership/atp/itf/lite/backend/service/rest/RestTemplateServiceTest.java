@@ -1,11 +1,14 @@
 package org.qubership.atp.itf.lite.backend.service.rest;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
@@ -28,16 +31,22 @@ public class RestTemplateServiceTest {
     }
 
     @Test
-    public void restTemplate() {
+    public void execute_callCompleted_httpClientLeaseClosed() {
         //given
         UUID projectID = UUID.randomUUID();
         CloseableHttpClient httpClient = HttpClients.createDefault();
+        AtomicBoolean released = new AtomicBoolean();
         //when
-        when(clientService.getHttpClient(any())).thenReturn(httpClient);
+        when(clientService.acquireHttpClient(any())).thenReturn(new HttpClientLease(httpClient,
+                () -> released.set(true)));
 
-        RestTemplate result = templateService.restTemplate(projectID);
+        RestTemplate result = templateService.execute(projectID, restTemplate -> {
+            assertFalse(released.get());
+            return restTemplate;
+        });
 
         // then
         assertNotNull(result);
+        assertTrue(released.get());
     }
 }
@@ -0,0 +1,252 @@
+package org.qubership.atp.itf.lite.backend.service.script;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.configuration.LocalScriptRuntimeProperties;
+import org.qubership.atp.itf.lite.backend.feign.dto.HeaderDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptRequestDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanExecuteScriptResponseTestResultsInnerDto;
+import org.qubership.atp.itf.lite.backend.feign.dto.PostmanPostmanResponseDto;
+
+public class LocalScriptRuntimeTest {
+
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+
+    private LocalScriptRuntime runtime;
+
+    @BeforeEach
+    public void setUp() {
+        runtime = createRuntime(true, new HashSet<>());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        runtime.shutdown();
+    }
+
+    @Test
+    public void execute_postScriptWithTests_returnsVariablesAndTestResults() {
+        String script = "pm.environment.set('token', pm.response.json().token);\n"
+                + "pm.test('Status is 200', function () { pm.response.to.have.status(200); });\n"
+                + "pm.test('Body has items', function () { pm.expect(pm.response.json().items).to.eql([1, 2]); });\n"
+                + "pm.test('Token is empty', function () { pm.expect(pm.response.json().token).to.be.empty; });";
+
+        PostmanExecuteScriptResponseDto response = runtime.execute(createRequest(script, createResponse()));
+
+        assertNotNull(response);
+        assertEquals("abc", response.getPostman().getEnvironment().get("token"));
+        assertEquals("http://host", response.getPostman().getEnvironment().get("url"));
+        List<PostmanExecuteScriptResponseTestResultsInnerDto> testResults = response.getTestResults();
+        assertEquals(3, testResults.size());
+        assertTrue(testResults.get(0).getPassed());
+        assertTrue(testResults.get(1).getPassed());
+        assertFalse(testResults.get(2).getPassed());
+        assertEquals("AssertionError", testResults.get(2).getError().getName());
+        assertFalse(response.getHasNextRequest());
+    }
+
+    @Test
+    public void execute_variablesOfDifferentScopes_resolvedWithPostmanPriorityAndConvertedToJava() {
+        String script = "pm.variables.set('resolved', pm.variables.get('shared'));\n"
+                + "pm.collectionVariables.unset('shared');\n"
+                + "pm.globals.set('count', pm.globals.get('count') + 1);\n"
+                + "pm.globals.set('object', {list: [1, 'two']});\n"
+                + "console.log('url is', pm.variables.replaceIn('{{url}}/path'));";
+        PostmanExecuteScriptRequestDto request = createRequest(script, null);
+        request.getPostman().getGlobals().put("count", 1);
+
+        PostmanExecuteScriptResponseDto response = runtime.execute(request);
+
+        assertNotNull(response);
+        PostmanDto postman = response.getPostman();
+        assertEquals("environment", postman.getVariables().get("resolved"));
+        assertFalse(postman.getCollectionVariables().containsKey("shared"));
+        assertEquals(2, postman.getGlobals().get("count"));
+        assertEquals(Collections.singletonMap("list", Arrays.asList(1, "two")), postman.getGlobals().get("object"));
+        assertEquals("url is http://host/path", response.getConsoleLogs().get(0).getMessage());
+    }
+
+    @Test
+    public void execute_requestContextIsNotModified() {
+        PostmanExecuteScriptRequestDto request = createRequest("pm.environment.set('url', 'changed');", null);
+
+        runtime.execute(request);
+
+        assertEquals("http://host", request.getPostman().getEnvironment().get("url"));
+    }
+
+    @Test
+    public void execute_scriptUsesUnsupportedApi_returnsNull() {
+        assertNull(runtime.execute(createRequest("pm.sendRequest('http://host', function () {});", null)));
+        assertNull(runtime.execute(createRequest("postman.setNextRequest('next');", null)));
+        assertNull(runtime.execute(createRequest("for (var i = 0; i < 10; i++) { console.log(i); }", null)));
+    }
+
+    @Test
+    public void execute_scriptFailedNotByAssertion_returnsNull() {
+        PostmanPostmanResponseDto notJsonResponse = createResponse().body("not json");
+
+        assertNull(runtime.execute(createRequest("pm.environment.set('token', pm.response.json().token);",
+                notJsonResponse)));
+        assertNull(runtime.execute(createRequest(
+                "pm.test('Body', function () { pm.expect(pm.response.json().token).to.eql('abc'); });",
+                notJsonResponse)));
+        assertNull(runtime.execute(createRequest("pm.test('Status', function () { pm.response.to.be.ok; });",
+                null)));
+    }
+
+    @Test
+    public void execute_runtimeDisabledOrProjectNotSelected_returnsNull() {
+        runtime.shutdown();
+        runtime = createRuntime(false, new HashSet<>());
+        assertNull(runtime.execute(createRequest("pm.environment.set('a', 'b');", null)));
+
+        runtime.shutdown();
+        runtime = createRuntime(true, new HashSet<>(Collections.singletonList(UUID.randomUUID())));
+        assertNull(runtime.execute(createRequest("pm.environment.set('a', 'b');", null)));
+    }
+
+    @Test
+    public void instrument_keywordsInStringsAndComments_areIgnored() {
+        assertNotNull(LocalScriptValidator.instrument(
+                "// check token for user\npm.test('Token for user', function () { pm.expect(1).to.eql(1); });"));
+        assertNull(LocalScriptValidator.instrument("pm.cookies.get('session');"));
+        assertNull(LocalScriptValidator.instrument("var x = 0; while (x < 1) { x++; }"));
+        assertNull(LocalScriptValidator.instrument("var api = require('lodash');"));
+    }
+
+    @Test
+    public void instrument_constructsWithUnboundedWork_areNotSupported() {
+        assertNull(LocalScriptValidator.instrument("pm.test('a', function f() { f(); });"));
+        assertNull(LocalScriptValidator.instrument("var f = function () {}; f();"));
+        assertNull(LocalScriptValidator.instrument("[1, 2].forEach(function () {});"));
+        assertNull(LocalScriptValidator.instrument("var f = ''['constr' + 'uctor'];"));
+        assertNull(LocalScriptValidator.instrument("var a = 'x'; a = a + a; a = a + a; a = a + a; a = a + a; "
+                + "a = a + a;"));
+        assertNull(LocalScriptValidator.instrument("pm.expect('a').to.match(/(a+)+b/);"));
+    }
+
+    @Test
+    public void execute_scriptExceededWorkLimit_returnsNull() {
+        String script = "var a = [1, 2, 3, 4, 5, 6, 7, 8, 9, 10];\n"
+                + "var b = [a, a, a, a, a, a, a, a, a, a];\n"
+                + "var c = [b, b, b, b, b, b, b, b, b, b];\n"
+                + "var d = [c, c, c, c, c, c, c, c, c, c];\n"
+                + "var e = [d, d, d, d, d, d, d, d, d, d];\n"
+                + "try { console.log(e); } catch (error) {}";
+
+        assertNull(runtime.execute(createRequest(script, null)));
+        assertNull(runtime.execute(createRequest("var s = 'x'.repeat(1000000000);", null)));
+    }
+
+    @Test
+    public void execute_assertionsWithFlags_resultsAreTheSameAsOfChai() {
+        // assertion and its result in chai used by script engine
+        Map<String, Boolean> assertions = new LinkedHashMap<>();
+        assertions.put("pm.expect({a: 1}).to.deep.equal({a: 1})", true);
+        assertions.put("pm.expect({a: 1}).to.equal({a: 1})", false);
+        assertions.put("pm.expect({a: 1}).to.not.deep.equal({a: 2})", true);
+        assertions.put("pm.expect([1]).to.not.deep.equal([1])", false);
+        assertions.put("pm.expect([1]).to.deep.not.equal([1])", false);
+        assertions.put("pm.expect([{a: 1}]).to.include({a: 1})", false);
+        assertions.put("pm.expect([{a: 1}]).to.deep.include({a: 1})", true);
+        assertions.put("pm.expect({a: {b: 1}}).to.include({a: {b: 1}})", false);
+        assertions.put("pm.expect({a: {b: 1}}).to.deep.include({a: {b: 1}})", true);
+        assertions.put("pm.expect({a: 1}).to.include({b: undefined})", false);
+        assertions.put("pm.expect({a: {b: 1}}).to.have.property('a', {b: 1})", false);
+        assertions.put("pm.expect({a: {b: 1}}).to.have.deep.property('a', {b: 1})", true);
+        assertions.put("pm.expect({a: {b: 1}}).to.have.property('a').that.has.property('b', 1)", true);
+        assertions.put("pm.expect({a: 1}).to.have.property('a').that.equals(2)", false);
+        assertions.put("pm.expect('abc').to.have.property('length', 3)", true);
+        assertions.put("pm.expect([{a: 1}]).to.not.include({a: 1})", true);
+        assertions.put("pm.expect({a: 1}).to.be.oneOf([{a: 1}])", false);
+        assertions.put("pm.expect({a: 1}).to.be.deep.oneOf([{a: 1}])", true);
+        assertions.put("pm.expect(NaN).to.eql(NaN)", true);
+        assertions.put("pm.expect(NaN).to.equal(NaN)", false);
+        assertions.put("pm.expect('abc').to.have.lengthOf(3)", true);
+        StringBuilder script = new StringBuilder();
+        assertions.keySet().forEach(assertion -> script.append("pm.test(\"").append(assertion)
+                .append("\", function () { ").append(assertion).append("; });\n"));
+
+        PostmanExecuteScriptResponseDto response = runtime.execute(createRequest(script.toString(), null));
+
+        assertNotNull(response);
+        List<PostmanExecuteScriptResponseTestResultsInnerDto> testResults = response.getTestResults();
+        assertEquals(assertions.size(), testResults.size());
+        testResults.forEach(result -> assertEquals(assertions.get(result.getName()), result.getPassed(),
+                result.getName()));
+    }
+
+    @Test
+    public void execute_assertionOfChaiUnsupportedByLocalRuntime_returnsNull() {
+        assertNull(runtime.execute(createRequest("pm.test('a', function () { pm.expect(1).to.include(1); });",
+                null)));
+        assertNull(runtime.execute(createRequest("pm.test('a', function () { pm.expect('2').to.be.above(1); });",
+                null)));
+        assertNull(runtime.execute(createRequest("pm.test('a', function () { pm.expect(1).to.not.be.empty; });",
+                null)));
+        assertNull(runtime.execute(createRequest(
+                "pm.test('a', function () { pm.expect({a: 1}).to.have.lengthOf(1); });", null)));
+    }
+
+    @Test
+    public void instrument_assertionMembersNotImplementedByLocalRuntime_areNotSupported() {
+        assertNotNull(LocalScriptValidator.instrument("pm.expect({a: 1}).to.not.have.deep.property('a', 1);"));
+        assertNull(LocalScriptValidator.instrument("pm.expect(1).to.be.closeTo(1, 0.1);"));
+        assertNull(LocalScriptValidator.instrument("pm.expect([1]).to.have.members([1]);"));
+        assertNull(LocalScriptValidator.instrument("pm.expect({a: {b: 1}}).to.have.nested.property('a.b');"));
+        assertNull(LocalScriptValidator.instrument("pm.expect([1, 2]).to.have.ordered['members']([1, 2]);"));
+    }
+
+    private LocalScriptRuntime createRuntime(boolean enabled, HashSet<UUID> projectIds) {
+        LocalScriptRuntime localScriptRuntime = new LocalScriptRuntime(
+                new LocalScriptRuntimeProperties(enabled, projectIds, 1, 10000, 10000, 1048576, 10000));
+        localScriptRuntime.warmUp();
+        return localScriptRuntime;
+    }
+
+    private PostmanPostmanResponseDto createResponse() {
+        return new PostmanPostmanResponseDto()
+                .code(200)
+                .status("OK")
+                .responseTime(10)
+                .header(Collections.singletonList(new HeaderDto().key("Content-Type").value("application/json")))
+                .body("{\"token\": \"abc\", \"items\": [1, 2]}");
+    }
+
+    private PostmanExecuteScriptRequestDto createRequest(String script, PostmanPostmanResponseDto response) {
+        Map<String, Object> environment = new HashMap<>();
+        environment.put("url", "http://host");
+        environment.put("shared", "environment");
+        Map<String, Object> collectionVariables = new HashMap<>();
+        collectionVariables.put("shared", "collection");
+        return new PostmanExecuteScriptRequestDto()
+                .projectId(PROJECT_ID)
+                .script(script)
+                .postman(new PostmanDto()
+                        .postmanResponse(response)
+                        .globals(new HashMap<>())
+                        .collectionVariables(collectionVariables)
+                        .environment(environment)
+                        .iterationData(new HashMap<>())
+                        .variables(new HashMap<>()));
+    }
+}
@@ -0,0 +1,137 @@
+package org.qubership.atp.itf.lite.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.bson.BsonObjectId;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.atp.itf.lite.backend.model.entities.gridfs.FileInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class FileDownloadUtilsTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void writeFile_withoutRange_shouldWriteWholeFileWithHeaders() throws IOException {
+        Path file = Files.write(tempDir.resolve("file.txt"), CONTENT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileDownloadUtils.writeFile(file, UUID.randomUUID(), "text/plain", new MockHttpServletRequest(), response);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+        assertEquals(CONTENT.length, response.getContentLengthLong());
+        assertEquals("attachment; filename=\"file.txt\"", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void writeFile_withRange_shouldWritePartialContent() throws IOException {
+        Path file = Files.write(tempDir.resolve("file.txt"), CONTENT);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileDownloadUtils.writeFile(file, UUID.randomUUID(), null, request, response);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    public void writeFile_gridFsFileWithSuffixRange_shouldSkipBeginningOfStream() throws IOException {
+        FileInfo fileInfo = new FileInfo(new BsonObjectId(new ObjectId()), "file.bin", UUID.randomUUID(),
+                UUID.randomUUID(), "binary", "application/octet-stream", (long) CONTENT.length);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileDownloadUtils.writeFile(fileInfo, () -> new ByteArrayInputStream(CONTENT), request, response);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("789", response.getContentAsString());
+        assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("application/octet-stream", response.getHeader(HttpHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    public void writeContent_rangeNotSatisfiable_shouldReturn416() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileDownloadUtils.writeContent(CONTENT, "etag", request, response);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void writeContent_ifRangeDoesNotMatchEtag_shouldWriteWholeContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileDownloadUtils.writeContent(CONTENT, "etag", request, response);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void writeContent_ifNoneMatchEtag_shouldReturnNotModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"etag\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileDownloadUtils.writeContent(CONTENT, "etag", request, response);
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void writeFile_cachedAndGridFsCopiesOfSameFile_shouldHaveSameEtag() throws IOException {
+        UUID fileId = UUID.randomUUID();
+        Path file = Files.write(tempDir.resolve("file.bin"), CONTENT);
+        FileInfo fileInfo = new FileInfo(new BsonObjectId(new ObjectId()), "file.bin", UUID.randomUUID(),
+                fileId, "binary", "application/octet-stream", (long) CONTENT.length);
+        FileInfo rechunkedFileInfo = new FileInfo(new BsonObjectId(new ObjectId()), "file.bin",
+                fileInfo.getRequestId(), fileId, "binary", "application/octet-stream", (long) CONTENT.length);
+        MockHttpServletResponse cachedResponse = new MockHttpServletResponse();
+        MockHttpServletResponse gridFsResponse = new MockHttpServletResponse();
+        MockHttpServletResponse rechunkedResponse = new MockHttpServletResponse();
+
+        FileDownloadUtils.writeFile(file, fileId, null, new MockHttpServletRequest(), cachedResponse);
+        FileDownloadUtils.writeFile(fileInfo, () -> new ByteArrayInputStream(CONTENT), new MockHttpServletRequest(),
+                gridFsResponse);
+        FileDownloadUtils.writeFile(rechunkedFileInfo, () -> new ByteArrayInputStream(CONTENT),
+                new MockHttpServletRequest(), rechunkedResponse);
+
+        assertNotNull(cachedResponse.getHeader(HttpHeaders.ETAG));
+        assertEquals(cachedResponse.getHeader(HttpHeaders.ETAG), gridFsResponse.getHeader(HttpHeaders.ETAG));
+        assertEquals(gridFsResponse.getHeader(HttpHeaders.ETAG), rechunkedResponse.getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -33,6 +33,21 @@ public class JwtTokenUtils {
         return generateJwtToken(payloadInfo);
     }
 
+    /**
+     * Generates jwt token with user id and user name claims.
+     * @param userId user id
+     * @param username username
+     * @param firstName first name
+     * @param lastName last name
+     * @return bearer token
+     */
+    public static String generateJwtTokenWithUserName(UUID userId, String username, String firstName,
+                                                      String lastName) {
+        String payloadInfo = "{\"sub\": \"" + userId + "\", \"preferred_username\": \"" + username
+                + "\", \"given_name\": \"" + firstName + "\", \"family_name\": \"" + lastName + "\"}";
+        return generateJwtToken(payloadInfo);
+    }
+
     private static String generateJwtToken(String payloadInfo) {
         String header = "{ \"alg\": \"HS256\", \"typ\": \"JWT\"}";
         String unsignedToken = Base64.getUrlEncoder().encodeToString(header.getBytes())
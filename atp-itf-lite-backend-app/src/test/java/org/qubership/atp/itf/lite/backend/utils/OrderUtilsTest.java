@@ -0,0 +1,45 @@
+package org.qubership.atp.itf.lite.backend.utils;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class OrderUtilsTest {
+
+    @Test
+    public void getNextOrder_noSiblings_shouldReturnZero() {
+        assertEquals(0, OrderUtils.getNextOrder(null));
+    }
+
+    @Test
+    public void getNextOrder_siblingsExist_shouldReturnOrderAfterMaxWithGap() {
+        assertEquals(2048 + OrderUtils.ORDER_STEP, OrderUtils.getNextOrder(2048));
+    }
+
+    @Test
+    public void getNextOrder_noGapAfterMax_shouldReturnNull() {
+        assertNull(OrderUtils.getNextOrder(Integer.MAX_VALUE - 1));
+        assertNull(OrderUtils.getNextOrder(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void getOrderAtPosition_positionBetweenSiblings_shouldReturnMiddleOrder() {
+        assertEquals(1536, OrderUtils.getOrderAtPosition(asList(1024, 2048), 1));
+    }
+
+    @Test
+    public void getOrderAtPosition_firstAndLastPositions_shouldReturnOrderOutsideSiblingsRange() {
+        assertEquals(0, OrderUtils.getOrderAtPosition(emptyList(), 5));
+        assertEquals(-1024, OrderUtils.getOrderAtPosition(asList(0, 1024), 0));
+        assertEquals(2048, OrderUtils.getOrderAtPosition(asList(0, 1024), 10));
+    }
+
+    @Test
+    public void getOrderAtPosition_noGapBetweenSiblings_shouldReturnNull() {
+        assertNull(OrderUtils.getOrderAtPosition(asList(0, 1, 2), 1));
+        assertNull(OrderUtils.getOrderAtPosition(asList(5, Integer.MAX_VALUE), 2));
+    }
+}
@@ -0,0 +1,108 @@
+package org.qubership.atp.itf.lite.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.junit.jupiter.api.Test;
+import org.qubership.atp.itf.lite.backend.exceptions.requests.ItfLiteResponseSizeLimitException;
+
+public class PayloadSizeUtilsTest {
+
+    @Test
+    public void utf8Length_mixedCharacters_shouldBeEqualToEncodedLength() {
+        String value = "ascii кириллица € 😀";
+
+        assertEquals(value.getBytes(StandardCharsets.UTF_8).length, PayloadSizeUtils.utf8Length(value));
+        assertEquals(0, PayloadSizeUtils.utf8Length(null));
+    }
+
+    @Test
+    public void calculateEntitySize_unknownContentLength_shouldCountWrittenBytes() throws IOException {
+        byte[] content = new byte[4096];
+        InputStreamEntity entity = new InputStreamEntity(new ByteArrayInputStream(content), -1,
+                ContentType.APPLICATION_OCTET_STREAM);
+
+        assertEquals(content.length, PayloadSizeUtils.calculateEntitySize(entity));
+        assertEquals(11, PayloadSizeUtils.calculateEntitySize(new StringEntity("{\"id\":\"1\"}!")));
+    }
+
+    @Test
+    public void sizeLimitedHttpEntity_contentBelowLimit_shouldCountReadBytes() throws Exception {
+        SizeLimitedHttpEntity entity = new SizeLimitedHttpEntity(new StringEntity("response body"), 1024,
+                ItfLiteResponseSizeLimitException::new);
+
+        assertEquals("response body", EntityUtils.toString(entity));
+        assertEquals(13, entity.getReadBytes());
+    }
+
+    @Test
+    public void sizeLimitedHttpEntity_contentAboveLimit_shouldThrowException() {
+        InputStreamEntity unknownLength = new InputStreamEntity(new ByteArrayInputStream(new byte[2048]), -1,
+                ContentType.APPLICATION_OCTET_STREAM);
+        SizeLimitedHttpEntity streamedEntity = new SizeLimitedHttpEntity(unknownLength, 1024,
+                ItfLiteResponseSizeLimitException::new);
+        SizeLimitedHttpEntity declaredEntity = new SizeLimitedHttpEntity(new ByteArrayEntity(new byte[2048],
+                ContentType.APPLICATION_OCTET_STREAM), 1024, ItfLiteResponseSizeLimitException::new);
+
+        assertThrows(ItfLiteResponseSizeLimitException.class, () -> EntityUtils.toByteArray(streamedEntity));
+        assertThrows(ItfLiteResponseSizeLimitException.class, declaredEntity::getContent);
+    }
+
+    @Test
+    public void isLimitExceeded_sizeEqualToLimit_shouldNotBeExceeded() {
+        long limit = PayloadSizeUtils.megabytesToBytes(1);
+
+        assertFalse(PayloadSizeUtils.isLimitExceeded(limit, limit));
+        assertTrue(PayloadSizeUtils.isLimitExceeded(limit + 1, limit));
+        assertFalse(PayloadSizeUtils.isLimitExceeded(limit + 1, 0));
+    }
+
+    @Test
+    public void sizeLimitedHttpEntity_contentEqualToLimit_shouldBeReadAndOneMoreByteShouldFail() throws Exception {
+        InputStreamEntity atLimit = new InputStreamEntity(new ByteArrayInputStream(new byte[1024]), -1,
+                ContentType.APPLICATION_OCTET_STREAM);
+        SizeLimitedHttpEntity streamedEntity = new SizeLimitedHttpEntity(atLimit, 1024,
+                ItfLiteResponseSizeLimitException::new);
+        SizeLimitedHttpEntity declaredEntity = new SizeLimitedHttpEntity(new ByteArrayEntity(new byte[1024],
+                ContentType.APPLICATION_OCTET_STREAM), 1024, ItfLiteResponseSizeLimitException::new);
+        SizeLimitedHttpEntity aboveLimitEntity = new SizeLimitedHttpEntity(new ByteArrayEntity(new byte[1025],
+                ContentType.APPLICATION_OCTET_STREAM), 1024, ItfLiteResponseSizeLimitException::new);
+
+        assertEquals(1024, EntityUtils.toByteArray(streamedEntity).length);
+        assertEquals(1024, EntityUtils.toByteArray(declaredEntity).length);
+        assertThrows(ItfLiteResponseSizeLimitException.class, aboveLimitEntity::getContent);
+    }
+
+    @Test
+    public void responseBodyBuffer_contentAboveThreshold_shouldSpillToFileAndKeepContent() throws Exception {
+        String body = "кириллица response body";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (ResponseBodyBuffer buffer = new ResponseBodyBuffer(8)) {
+            new StringEntity(body, ContentType.TEXT_PLAIN.withCharset(StandardCharsets.UTF_8)).writeTo(buffer);
+
+            assertFalse(buffer.isInMemory());
+            assertEquals(bytes.length, buffer.size());
+            assertEquals(body, buffer.toString(StandardCharsets.UTF_8));
+            assertEquals("кири", buffer.preview(StandardCharsets.UTF_8, 8));
+            assertArrayEquals(bytes, buffer.toByteArray());
+        }
+        try (ResponseBodyBuffer buffer = new ResponseBodyBuffer(1024)) {
+            buffer.write(bytes);
+
+            assertTrue(buffer.isInMemory());
+            assertEquals(body, buffer.toString(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.qubership.atp.itf.lite.backend.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+
+import org.junit.jupiter.api.Test;
+
+public class ResponseBodyBufferTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void write_bodyNotBiggerThanThreshold_shouldKeepBodyInMemory() throws IOException {
+        try (ResponseBodyBuffer buffer = new ResponseBodyBuffer(CONTENT.length)) {
+            buffer.write(CONTENT);
+
+            assertTrue(buffer.isInMemory());
+            assertEquals(CONTENT.length, buffer.size());
+            assertArrayEquals(CONTENT, buffer.toByteArray());
+        }
+    }
+
+    @Test
+    public void write_bodyBiggerThanThreshold_shouldSpillWholeBodyToFile() throws IOException {
+        try (ResponseBodyBuffer buffer = new ResponseBodyBuffer(CONTENT.length - 1)) {
+            buffer.write(CONTENT, 0, 4);
+            assertTrue(buffer.isInMemory());
+
+            buffer.write(CONTENT, 4, CONTENT.length - 4);
+
+            assertFalse(buffer.isInMemory());
+            assertEquals(CONTENT.length, buffer.size());
+            assertArrayEquals(CONTENT, buffer.toByteArray());
+            assertEquals("0123456789", buffer.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void preview_spilledBody_shouldDecodeOnlyBeginningOfBody() throws IOException {
+        try (ResponseBodyBuffer buffer = new ResponseBodyBuffer(4)) {
+            buffer.write(CONTENT);
+
+            assertFalse(buffer.isInMemory());
+            assertEquals("0123", buffer.preview(StandardCharsets.UTF_8, 4));
+        }
+    }
+
+    @Test
+    public void close_spilledBody_shouldDeleteTemporaryFile() throws IOException {
+        ResponseBodyBuffer buffer = new ResponseBodyBuffer(4);
+        buffer.write(CONTENT);
+        try (InputStream inputStream = buffer.getInputStream()) {
+            assertArrayEquals(CONTENT, inputStream.readAllBytes());
+        }
+
+        buffer.close();
+
+        assertThrows(NoSuchFileException.class, buffer::getInputStream);
+    }
+}
@@ -64,17 +64,55 @@ ATP_HTTP_LOGGING_HEADERS: "{{ .Values.ATP_HTTP_LOGGING_HEADERS }}"
 ATP_HTTP_LOGGING_HEADERS_IGNORE: "{{ .Values.ATP_HTTP_LOGGING_HEADERS_IGNORE }}"
 ATP_HTTP_LOGGING_URI_IGNORE: "{{ .Values.ATP_HTTP_LOGGING_URI_IGNORE }}"
 ATP_INTERNAL_GATEWAY_ENABLED: "{{ .Values.ATP_INTERNAL_GATEWAY_ENABLED }}"
+ATP_ITF_LITE_ASYNC_REQUEST_TIMEOUT: "{{ .Values.ATP_ITF_LITE_ASYNC_REQUEST_TIMEOUT }}"
 ATP_ITF_LITE_CLOSE_IDLE_CONNECTION_WAIT_TIME: "{{ .Values.ATP_ITF_LITE_CLOSE_IDLE_CONNECTION_WAIT_TIME }}"
 ATP_ITF_LITE_CONNECTION_TIMEOUT: "{{ .Values.ATP_ITF_LITE_CONNECTION_TIMEOUT }}"
 ATP_ITF_LITE_DB: "{{ include "env.default" (dict "ctx" . "val" .Values.ATP_ITF_LITE_DB "def" "atp-itf-lite") }}"
 ATP_ITF_LITE_DEFAULT_KEEP_ALIVE_TIME_MILLIS: "{{ .Values.ATP_ITF_LITE_DEFAULT_KEEP_ALIVE_TIME_MILLIS }}"
+ATP_ITF_LITE_ENVIRONMENT_NEAR_CACHE_MAX_RUNS: "{{ .Values.ATP_ITF_LITE_ENVIRONMENT_NEAR_CACHE_MAX_RUNS }}"
+ATP_ITF_LITE_ENVIRONMENT_NEAR_CACHE_MAX_SIZE: "{{ .Values.ATP_ITF_LITE_ENVIRONMENT_NEAR_CACHE_MAX_SIZE }}"
+ATP_ITF_LITE_ENVIRONMENT_NEAR_CACHE_RUN_SNAPSHOT_TTL_SEC: "{{ .Values.ATP_ITF_LITE_ENVIRONMENT_NEAR_CACHE_RUN_SNAPSHOT_TTL_SEC }}"
+ATP_ITF_LITE_ENVIRONMENT_NEAR_CACHE_TTL_SEC: "{{ .Values.ATP_ITF_LITE_ENVIRONMENT_NEAR_CACHE_TTL_SEC }}"
+ATP_ITF_LITE_EXECUTION_MAX_CONCURRENT_PER_PROJECT: "{{ .Values.ATP_ITF_LITE_EXECUTION_MAX_CONCURRENT_PER_PROJECT }}"
+ATP_ITF_LITE_EXECUTION_MAX_QUEUED_PER_PROJECT: "{{ .Values.ATP_ITF_LITE_EXECUTION_MAX_QUEUED_PER_PROJECT }}"
+ATP_ITF_LITE_EXECUTION_VIRTUAL_THREADS_ENABLED: "{{ .Values.ATP_ITF_LITE_EXECUTION_VIRTUAL_THREADS_ENABLED }}"
 ATP_ITF_LITE_HTTP_REQUEST_SIZE_MB: "{{ .Values.ATP_ITF_LITE_HTTP_REQUEST_SIZE_MB }}"
+ATP_ITF_LITE_HTTP_RESPONSE_IN_MEMORY_THRESHOLD_KB: "{{ .Values.ATP_ITF_LITE_HTTP_RESPONSE_IN_MEMORY_THRESHOLD_KB }}"
 ATP_ITF_LITE_HTTP_RESPONSE_SIZE_MB: "{{ .Values.ATP_ITF_LITE_HTTP_RESPONSE_SIZE_MB }}"
+ATP_ITF_LITE_MACROS_CACHE_MAX_SIZE: "{{ .Values.ATP_ITF_LITE_MACROS_CACHE_MAX_SIZE }}"
+ATP_ITF_LITE_MACROS_CACHE_TTL_SEC: "{{ .Values.ATP_ITF_LITE_MACROS_CACHE_TTL_SEC }}"
+ATP_ITF_LITE_MAX_CONNECTIONS_PER_ROUTE: "{{ .Values.ATP_ITF_LITE_MAX_CONNECTIONS_PER_ROUTE }}"
 ATP_ITF_LITE_MAX_TOTAL_CONNECTIONS: "{{ .Values.ATP_ITF_LITE_MAX_TOTAL_CONNECTIONS }}"
+ATP_ITF_LITE_OAUTH2_TOKEN_CACHE_ENABLED: "{{ .Values.ATP_ITF_LITE_OAUTH2_TOKEN_CACHE_ENABLED }}"
+ATP_ITF_LITE_OAUTH2_TOKEN_CACHE_MAX_SIZE: "{{ .Values.ATP_ITF_LITE_OAUTH2_TOKEN_CACHE_MAX_SIZE }}"
+ATP_ITF_LITE_OAUTH2_TOKEN_CACHE_SAFETY_MARGIN_SEC: "{{ .Values.ATP_ITF_LITE_OAUTH2_TOKEN_CACHE_SAFETY_MARGIN_SEC }}"
+ATP_ITF_LITE_OAUTH2_TOKEN_CACHE_SHARED: "{{ .Values.ATP_ITF_LITE_OAUTH2_TOKEN_CACHE_SHARED }}"
 ATP_ITF_LITE_PING_SSE_TIMEOUT: "{{ .Values.ATP_ITF_LITE_PING_SSE_TIMEOUT }}"
+ATP_ITF_LITE_RAM_LOG_CHANNEL_BATCH_SIZE: "{{ .Values.ATP_ITF_LITE_RAM_LOG_CHANNEL_BATCH_SIZE }}"
+ATP_ITF_LITE_RAM_LOG_CHANNEL_ENABLED: "{{ .Values.ATP_ITF_LITE_RAM_LOG_CHANNEL_ENABLED }}"
+ATP_ITF_LITE_RAM_LOG_CHANNEL_WINDOW_MS: "{{ .Values.ATP_ITF_LITE_RAM_LOG_CHANNEL_WINDOW_MS }}"
 ATP_ITF_LITE_REQUEST_TIMEOUT: "{{ .Values.ATP_ITF_LITE_REQUEST_TIMEOUT }}"
+ATP_ITF_LITE_SCRIPT_ENGINE_SESSION_ENABLED: "{{ .Values.ATP_ITF_LITE_SCRIPT_ENGINE_SESSION_ENABLED }}"
+ATP_ITF_LITE_SCRIPT_ENGINE_SESSION_MAX_SESSIONS: "{{ .Values.ATP_ITF_LITE_SCRIPT_ENGINE_SESSION_MAX_SESSIONS }}"
+ATP_ITF_LITE_SCRIPT_ENGINE_SESSION_TTL_SEC: "{{ .Values.ATP_ITF_LITE_SCRIPT_ENGINE_SESSION_TTL_SEC }}"
+ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_ENABLED: "{{ .Values.ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_ENABLED }}"
+ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_MAX_OPERATIONS: "{{ .Values.ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_MAX_OPERATIONS }}"
+ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_MAX_RESPONSE_BODY_SIZE: "{{ .Values.ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_MAX_RESPONSE_BODY_SIZE }}"
+ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_MAX_SCRIPT_LENGTH: "{{ .Values.ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_MAX_SCRIPT_LENGTH }}"
+ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_POOL_SIZE: "{{ .Values.ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_POOL_SIZE }}"
+ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_PROJECT_IDS: "{{ .Values.ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_PROJECT_IDS }}"
+ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_TIMEOUT_MS: "{{ .Values.ATP_ITF_LITE_SCRIPT_LOCAL_RUNTIME_TIMEOUT_MS }}"
 ATP_ITF_LITE_SOCKET_TIMEOUT: "{{ .Values.ATP_ITF_LITE_SOCKET_TIMEOUT }}"
+ATP_ITF_LITE_SSE_MAX_EMITTERS: "{{ .Values.ATP_ITF_LITE_SSE_MAX_EMITTERS }}"
+ATP_ITF_LITE_SSE_MAX_EMITTERS_PER_USER: "{{ .Values.ATP_ITF_LITE_SSE_MAX_EMITTERS_PER_USER }}"
+ATP_ITF_LITE_SSE_PING_BATCH_SIZE: "{{ .Values.ATP_ITF_LITE_SSE_PING_BATCH_SIZE }}"
+ATP_ITF_LITE_SSE_PING_SEND_TIMEOUT: "{{ .Values.ATP_ITF_LITE_SSE_PING_SEND_TIMEOUT }}"
 ATP_ITF_LITE_SSE_TIMEOUT: "{{ .Values.ATP_ITF_LITE_SSE_TIMEOUT }}"
+ATP_ITF_LITE_SSL_CONTEXT_TTL_MINUTES: "{{ .Values.ATP_ITF_LITE_SSL_CONTEXT_TTL_MINUTES }}"
+ATP_ITF_LITE_TEMPLATE_CACHE_MAX_CHARS: "{{ .Values.ATP_ITF_LITE_TEMPLATE_CACHE_MAX_CHARS }}"
+ATP_ITF_LITE_USER_INFO_CACHE_MAX_SIZE: "{{ .Values.ATP_ITF_LITE_USER_INFO_CACHE_MAX_SIZE }}"
+ATP_ITF_LITE_USER_INFO_CACHE_NEGATIVE_TTL_SEC: "{{ .Values.ATP_ITF_LITE_USER_INFO_CACHE_NEGATIVE_TTL_SEC }}"
+ATP_ITF_LITE_USER_INFO_CACHE_TTL_SEC: "{{ .Values.ATP_ITF_LITE_USER_INFO_CACHE_TTL_SEC }}"
 ATP_NOTIFICATION_MODE: "{{ .Values.ATP_NOTIFICATION_MODE }}"
 AUDIT_LOGGING_ENABLE: "{{ .Values.AUDIT_LOGGING_ENABLE }}"
 AUDIT_LOGGING_TOPIC_NAME: "{{ include "env.default" (dict "ctx" . "val" .Values.AUDIT_LOGGING_TOPIC_NAME "def" "audit_logging_topic") }}"
@@ -145,6 +183,12 @@ GRIDFS_DB_PORT: "{{ .Values.GRIDFS_DB_PORT }}"
 GRID_CHUNK_SIZE: "{{ .Values.GRID_CHUNK_SIZE }}"
 GRID_DBNAME: "{{ include "env.default" (dict "ctx" . "val" .Values.ATP_ITF_LITE_GRIDFS_DB "def" "atp-itf-lite-gridfs") }}"
 GRID_DICTIONARY_REMOVE_DAYS: "{{ .Values.GRID_DICTIONARY_REMOVE_DAYS }}"
+GRID_LARGE_FILE_CHUNK_SIZE: "{{ .Values.GRID_LARGE_FILE_CHUNK_SIZE }}"
+GRID_LARGE_FILE_THRESHOLD: "{{ .Values.GRID_LARGE_FILE_THRESHOLD }}"
+GRID_RECHUNK_BATCH_SIZE: "{{ .Values.GRID_RECHUNK_BATCH_SIZE }}"
+GRID_RECHUNK_CRON_EXPRESSION: "{{ .Values.GRID_RECHUNK_CRON_EXPRESSION }}"
+GRID_RECHUNK_ENABLED: "{{ .Values.GRID_RECHUNK_ENABLED }}"
+GRID_RECHUNK_READ_GRACE_MINUTES: "{{ .Values.GRID_RECHUNK_READ_GRACE_MINUTES }}"
 HAZELCAST_CLIENT_ENABLED: "{{ .Values.HAZELCAST_CLIENT_ENABLED }}"
 HAZELCAST_CLUSTER_NAME: "{{ .Values.HAZELCAST_CLUSTER_NAME }}"
 HAZELCAST_SERVER_ENABLED: "{{ .Values.HAZELCAST_SERVER_ENABLED }}"
@@ -222,6 +266,11 @@ ATP_ITF_LITE_DB_PASSWORD: "{{ include "env.default" (dict "ctx" . "val" .Values.
 ATP_ITF_LITE_DB_USER: "{{ include "env.default" (dict "ctx" . "val" .Values.ATP_ITF_LITE_DB_USER "def" "atp-itf-lite") }}"
 ATP_ITF_LITE_GRIDFS_DB_PASSWORD: "{{ include "env.default" (dict "ctx" . "val" .Values.ATP_ITF_LITE_GRIDFS_DB_PASSWORD "def" "atp-itf-lite-gridfs") }}"
 ATP_ITF_LITE_GRIDFS_DB_USER: "{{ include "env.default" (dict "ctx" . "val" .Values.ATP_ITF_LITE_GRIDFS_DB_USER "def" "atp-itf-lite-gridfs") }}"
+ATP_ITF_LITE_HISTORY_WRITER_BATCH_SIZE: "{{ .Values.ATP_ITF_LITE_HISTORY_WRITER_BATCH_SIZE }}"
+ATP_ITF_LITE_HISTORY_WRITER_FLUSH_TIMEOUT_MS: "{{ .Values.ATP_ITF_LITE_HISTORY_WRITER_FLUSH_TIMEOUT_MS }}"
+ATP_ITF_LITE_HISTORY_WRITER_OFFER_TIMEOUT_MS: "{{ .Values.ATP_ITF_LITE_HISTORY_WRITER_OFFER_TIMEOUT_MS }}"
+ATP_ITF_LITE_HISTORY_WRITER_QUEUE_CAPACITY: "{{ .Values.ATP_ITF_LITE_HISTORY_WRITER_QUEUE_CAPACITY }}"
+ATP_ITF_LITE_HISTORY_WRITER_QUEUE_CAPACITY_MB: "{{ .Values.ATP_ITF_LITE_HISTORY_WRITER_QUEUE_CAPACITY_MB }}"
 EI_GRIDFS_PASSWORD: "{{ include "env.default" (dict "ctx" . "val" .Values.EI_GRIDFS_PASSWORD "def" "atp-ei-gridfs") }}"
 EI_GRIDFS_USER: "{{ include "env.default" (dict "ctx" . "val" .Values.EI_GRIDFS_USER "def" "atp-ei-gridfs") }}"
 KEYCLOAK_CLIENT_NAME: "{{ default "atp-itf-lite" .Values.KEYCLOAK_CLIENT_NAME }}"